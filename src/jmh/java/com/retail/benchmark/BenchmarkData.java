@@ -0,0 +1,63 @@
+package com.retail.benchmark;
+
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic transaction fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final LocalDate START = LocalDate.of(2024, 1, 1);
+    static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds {@code count} transactions for one customer, spread over {@link #START} to {@link #END}
+     * with amounts covering every reward tier.
+     */
+    static List<Transaction> transactions(Customer customer, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int days = (int) (END.toEpochDay() - START.toEpochDay()) + 1;
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(new Transaction((long) i, random.nextInt(30_000),
+                    START.plusDays(random.nextInt(days)), customer));
+        }
+        return transactions;
+    }
+
+    /**
+     * Inserts customers {@code 1..customers}, each with {@code transactionsPerCustomer} transactions
+     * spread over {@link #START} to {@link #END}.
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int customers, int transactionsPerCustomer) {
+        List<Object[]> customerRows = new ArrayList<>(customers);
+        for (long id = 1; id <= customers; id++) {
+            customerRows.add(new Object[]{id, "Customer " + id});
+        }
+        jdbcTemplate.batchUpdate("insert into customers (customer_id, customer_name) values (?, ?)", customerRows);
+
+        SplittableRandom random = new SplittableRandom(42);
+        int days = (int) (END.toEpochDay() - START.toEpochDay()) + 1;
+        List<Object[]> transactionRows = new ArrayList<>(customers * transactionsPerCustomer);
+        long transactionId = 1;
+        for (long customerId = 1; customerId <= customers; customerId++) {
+            for (int i = 0; i < transactionsPerCustomer; i++) {
+                transactionRows.add(new Object[]{transactionId++, (long) random.nextInt(30_000),
+                        Date.valueOf(START.plusDays(random.nextInt(days))), customerId});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into transactions (transaction_id, transaction_amount_cents, transaction_date, customer_id) "
+                + "values (?, ?, ?, ?)", transactionRows);
+    }
+}
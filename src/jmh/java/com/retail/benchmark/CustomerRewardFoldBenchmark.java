@@ -0,0 +1,68 @@
+package com.retail.benchmark;
+
+import com.retail.benchmark.LegacyRewardFold.LegacyCustomerRewardResponse;
+import com.retail.benchmark.LegacyRewardFold.LegacyTransaction;
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.util.MonthlyRewardAccumulator;
+import com.retail.util.RewardAggregationUtil;
+import com.retail.util.RewardRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of folding one customer's transactions into a {@link CustomerRewardResponse}:
+ * points calculation, monthly grouping, total and transaction mapping.
+ * <p>
+ * {@code legacyFold} runs {@link LegacyRewardFold}, a frozen copy of the original stream-based
+ * fold with its own types, and is kept as the fixed baseline; {@code currentFold} is the
+ * production implementation. Both fold the same transactions.
+ * Run with {@code -prof gc} (the benchmark profile default) to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerRewardFoldBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int transactionsPerCustomer;
+
+    private Customer customer;
+    private List<Transaction> transactions;
+    private List<LegacyTransaction> legacyTransactions;
+    private MonthlyRewardAccumulator accumulator;
+
+    @Setup
+    public void setUp() {
+        customer = new Customer(1L, "Benchmark Customer");
+        transactions = BenchmarkData.transactions(customer, transactionsPerCustomer, 42);
+        legacyTransactions = LegacyRewardFold.transactions(transactions);
+        accumulator = new MonthlyRewardAccumulator(BenchmarkData.START, BenchmarkData.END);
+    }
+
+    @Benchmark
+    public LegacyCustomerRewardResponse legacyFold() {
+        return LegacyRewardFold.fold(customer, legacyTransactions);
+    }
+
+    @Benchmark
+    public CustomerRewardResponse currentFold() {
+        return RewardAggregationUtil.buildCustomerReward(customer, transactions, RewardRules.DEFAULT, accumulator);
+    }
+}
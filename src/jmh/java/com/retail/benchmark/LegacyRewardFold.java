@@ -0,0 +1,139 @@
+package com.retail.benchmark;
+
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Frozen copy of the original per-customer fold from RewardServiceImpl, with the types it used:
+ * {@code double} dollar amounts, month-name keys and the original point formula.
+ * <p>
+ * The fold is verbatim apart from its log statements. Nothing here may be changed to follow the
+ * production code, or {@link CustomerRewardFoldBenchmark} stops measuring against a fixed baseline.
+ */
+public final class LegacyRewardFold {
+
+    private LegacyRewardFold() {
+    }
+
+    /**
+     * Converts current transactions to the original shape, outside the measured code.
+     */
+    static List<LegacyTransaction> transactions(List<Transaction> transactions) {
+        List<LegacyTransaction> legacy = new ArrayList<>(transactions.size());
+        for (Transaction tx : transactions) {
+            legacy.add(new LegacyTransaction(tx.getTransactionId(), tx.getTransactionAmountCents() / 100.0, tx.getTransactionDate()));
+        }
+        return legacy;
+    }
+
+    static LegacyCustomerRewardResponse fold(Customer customer, List<LegacyTransaction> transactions) {
+        Map<String, Integer> monthlyRewards = new HashMap<>();
+        AtomicInteger totalRewards = new AtomicInteger();
+
+        List<LegacyTransactionResponse> transactionResponses = transactions.stream().map(tx -> {
+            int points = calculateRewardPoints(tx.getTransactionAmount());
+            String month = tx.getTransactionDate().getMonth().toString();
+
+            monthlyRewards.put(month, monthlyRewards.getOrDefault(month, 0) + points);
+            totalRewards.addAndGet(points);
+
+            return new LegacyTransactionResponse(tx.getTransactionId(), tx.getTransactionAmount(), tx.getTransactionDate());
+        }).collect(Collectors.toList());
+
+        LegacyCustomerRewardResponse customerRewardResponse = new LegacyCustomerRewardResponse();
+        customerRewardResponse.setCustomerId(customer.getCustomerId());
+        customerRewardResponse.setCustomerName(customer.getCustomerName());
+        customerRewardResponse.setMonthlyRewards(monthlyRewards);
+        customerRewardResponse.setTotalRewards(totalRewards.get());
+        customerRewardResponse.setTransactions(transactionResponses);
+
+        return customerRewardResponse;
+    }
+
+    /**
+     * Calculates reward points:
+     * - 2 points for every dollar spent over $100,
+     * - 1 point for every dollar spent between $50 and $100.
+     */
+    static int calculateRewardPoints(double amount) {
+        if (amount > 100) {
+            return (int) Math.round(2 * (amount - 100) + 50);
+        } else if (amount > 50) {
+            return (int) Math.round(amount - 50);
+        } else {
+            return 0;
+        }
+    }
+
+    public static final class LegacyTransaction {
+        private final Long transactionId;
+        private final Double transactionAmount;
+        private final LocalDate transactionDate;
+
+        LegacyTransaction(Long transactionId, Double transactionAmount, LocalDate transactionDate) {
+            this.transactionId = transactionId;
+            this.transactionAmount = transactionAmount;
+            this.transactionDate = transactionDate;
+        }
+
+        Long getTransactionId() {
+            return transactionId;
+        }
+
+        Double getTransactionAmount() {
+            return transactionAmount;
+        }
+
+        LocalDate getTransactionDate() {
+            return transactionDate;
+        }
+    }
+
+    public static final class LegacyTransactionResponse {
+        private final Long transactionId;
+        private final Double transactionAmount;
+        private final LocalDate transactionDate;
+
+        LegacyTransactionResponse(Long id, Double amt, LocalDate date) {
+            this.transactionId = id;
+            this.transactionAmount = amt;
+            this.transactionDate = date;
+        }
+    }
+
+    public static final class LegacyCustomerRewardResponse {
+        private Long customerId;
+        private String customerName;
+        private Map<String, Integer> monthlyRewards;
+        private int totalRewards;
+        private List<LegacyTransactionResponse> transactions;
+
+        void setCustomerId(Long customerId) {
+            this.customerId = customerId;
+        }
+
+        void setCustomerName(String customerName) {
+            this.customerName = customerName;
+        }
+
+        void setMonthlyRewards(Map<String, Integer> monthlyRewards) {
+            this.monthlyRewards = monthlyRewards;
+        }
+
+        void setTotalRewards(int totalRewards) {
+            this.totalRewards = totalRewards;
+        }
+
+        void setTransactions(List<LegacyTransactionResponse> transactions) {
+            this.transactions = transactions;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.retail.benchmark;
+
+import com.retail.CustomerRewardsApplication;
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.service.RewardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All-customer reward computation on an embedded H2 database, sequential versus partitioned.
+ * <p>
+ * {@code threads=0} runs the sequential path; other values enable parallel computation with that
+ * many threads and the same number of concurrent database connections. Speed-up is the ratio
+ * of the {@code threads=0} score to each parallel score and should grow close to linearly up to
+ * the number of available cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelRewardBenchmark {
+
+    private static final int CUSTOMERS = 2_000;
+    private static final int TRANSACTIONS_PER_CUSTOMER = 50;
+
+    @Param({"0", "1", "2", "4", "8"})
+    private int threads;
+
+    private ConfigurableApplicationContext context;
+    private RewardService rewardService;
+
+    @Setup
+    public void setUp() {
+        int workers = Math.max(threads, 1);
+        context = new SpringApplicationBuilder(CustomerRewardsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench" + threads + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.hikari.maximum-pool-size=" + (workers + 2),
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "rewards.cache.max-size=0",
+                        "rewards.parallel.enabled=" + (threads > 0),
+                        "rewards.parallel.threads=" + workers,
+                        "rewards.parallel.max-db-connections=" + workers)
+                .run();
+        BenchmarkData.seed(context.getBean(JdbcTemplate.class), CUSTOMERS, TRANSACTIONS_PER_CUSTOMER);
+        rewardService = context.getBean(RewardService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerRewardResponse> allCustomerRewards() {
+        return rewardService.getAllCustomerRewards(BenchmarkData.START, BenchmarkData.END);
+    }
+}
@@ -0,0 +1,119 @@
+package com.retail.benchmark;
+
+import com.retail.util.RewardRules;
+import com.retail.util.RewardUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link RewardUtil#calculateRewardPoints} over a fixed set of amounts
+ * spread across all reward tiers.
+ * <p>
+ * {@code boxedDoubleAmounts} replays the original money model, where amounts were read as
+ * boxed {@link Double}s and points computed with floating-point math and rounding;
+ * {@code longCentsAmounts} is the production integer-cents path, evaluated through the compiled
+ * {@link RewardRules#DEFAULT}. {@code hardCodedTiers} is the former if/else implementation on cents,
+ * the baseline the compiled rules must match; {@code datedFiveTierRules} evaluates a rule set with
+ * two effective-dated versions and five tiers, looked up by transaction date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RewardCalculationBenchmark {
+
+    private static final int AMOUNTS = 1024;
+
+    private static final long CENTS_PER_DOLLAR = 100;
+    private static final LocalDate TRANSACTION_DATE = LocalDate.of(2024, 6, 15);
+
+    private long[] amountsCents;
+    private Double[] amountsDollars;
+    private RewardRules datedRules;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        amountsCents = new long[AMOUNTS];
+        amountsDollars = new Double[AMOUNTS];
+        for (int i = 0; i < AMOUNTS; i++) {
+            amountsCents[i] = random.nextInt(30_000);
+            amountsDollars[i] = Double.valueOf(amountsCents[i] / 100.0);
+        }
+        datedRules = RewardRules.builder()
+                .version(LocalDate.of(2023, 1, 1)).tier(50, 1).tier(100, 2)
+                .version(LocalDate.of(2024, 1, 1)).tier(25, 1).tier(50, 2).tier(100, 3).tier(200, 4).tier(250, 5)
+                .build();
+    }
+
+    @Benchmark
+    public long longCentsAmounts() {
+        long points = 0;
+        for (long amountCents : amountsCents) {
+            points += RewardUtil.calculateRewardPoints(amountCents);
+        }
+        return points;
+    }
+
+    @Benchmark
+    public long hardCodedTiers() {
+        long points = 0;
+        for (long amountCents : amountsCents) {
+            points += hardCodedRewardPoints(amountCents);
+        }
+        return points;
+    }
+
+    @Benchmark
+    public long datedFiveTierRules() {
+        long points = 0;
+        for (long amountCents : amountsCents) {
+            points += datedRules.points(amountCents, TRANSACTION_DATE);
+        }
+        return points;
+    }
+
+    @Benchmark
+    public long boxedDoubleAmounts() {
+        long points = 0;
+        for (Double amount : amountsDollars) {
+            points += legacyCalculateRewardPoints(amount);
+        }
+        return points;
+    }
+
+    private static int legacyCalculateRewardPoints(double amount) {
+        if (amount > 100) {
+            return (int) Math.round(2 * (amount - 100) + 50);
+        } else if (amount > 50) {
+            return (int) Math.round(amount - 50);
+        } else {
+            return 0;
+        }
+    }
+
+    private static int hardCodedRewardPoints(long amountCents) {
+        long dollars = amountCents / CENTS_PER_DOLLAR;
+        if (dollars > 100) {
+            return (int) (2 * (dollars - 100) + 50);
+        } else if (dollars > 50) {
+            return (int) (dollars - 50);
+        } else {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.retail.benchmark;
+
+import com.retail.CustomerRewardsApplication;
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.service.RewardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All-customer rewards on an embedded H2 database, full responses versus {@code include=summary}.
+ * <p>
+ * {@code full} loads every transaction entity and maps it to a response row; {@code summary}
+ * reads per-month aggregates only. {@code gc.alloc.rate.norm} from the GC profiler is the heap
+ * cost of one request in each mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RewardSummaryBenchmark {
+
+    private static final int CUSTOMERS = 2_000;
+
+    @Param({"10", "100"})
+    private int transactionsPerCustomer;
+
+    private ConfigurableApplicationContext context;
+    private RewardService rewardService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CustomerRewardsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:summary" + transactionsPerCustomer + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "rewards.cache.max-size=0")
+                .run();
+        BenchmarkData.seed(context.getBean(JdbcTemplate.class), CUSTOMERS, transactionsPerCustomer);
+        rewardService = context.getBean(RewardService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerRewardResponse> full() {
+        return rewardService.getAllCustomerRewards(BenchmarkData.START, BenchmarkData.END);
+    }
+
+    @Benchmark
+    public List<CustomerRewardResponse> summary() {
+        return rewardService.getAllCustomerRewardSummaries(BenchmarkData.START, BenchmarkData.END);
+    }
+}
@@ -0,0 +1,107 @@
+package com.retail.benchmark;
+
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.CustomerTransactionRow;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.snapshot.TransactionSnapshot;
+import com.retail.snapshot.TransactionSnapshotWriter;
+import com.retail.util.MonthlyRewardAccumulator;
+import com.retail.util.RewardAggregationUtil;
+import com.retail.util.RewardRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of totalling the rewards of every customer over a year of transactions.
+ * <p>
+ * {@code entityFold} folds in-memory {@link Transaction} entities the way the all-customers
+ * endpoint does, without the database round trip; {@code snapshotScan} scans the memory-mapped
+ * columnar snapshot. Run with {@code -prof gc} to confirm the scan allocates nothing per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotScanBenchmark {
+
+    private static final int TRANSACTIONS_PER_CUSTOMER = 100;
+
+    @Param({"1000", "10000"})
+    private int customers;
+
+    private List<Customer> customerList;
+    private List<Transaction> transactions;
+    private Path directory;
+    private TransactionSnapshot snapshot;
+    private MonthlyRewardAccumulator accumulator;
+
+    @Setup
+    public void setUp() throws IOException {
+        customerList = new ArrayList<>(customers);
+        transactions = new ArrayList<>(customers * TRANSACTIONS_PER_CUSTOMER);
+        for (long id = 1; id <= customers; id++) {
+            Customer customer = new Customer(id, "Customer " + id);
+            customerList.add(customer);
+            List<Transaction> customerTransactions = BenchmarkData.transactions(customer, TRANSACTIONS_PER_CUSTOMER, id);
+            customerTransactions.sort(Comparator.comparing(Transaction::getTransactionDate));
+            transactions.addAll(customerTransactions);
+        }
+
+        List<CustomerTransactionRow> rows = new ArrayList<>(transactions.size());
+        for (Transaction tx : transactions) {
+            rows.add(new CustomerTransactionRow(tx.getCustomer().getCustomerId(), tx.getCustomer().getCustomerName(),
+                    tx.getTransactionId(), tx.getTransactionAmountCents(), tx.getTransactionDate()));
+        }
+        directory = Files.createTempDirectory("snapshot-benchmark");
+        Path file = directory.resolve("transactions.snapshot");
+        TransactionSnapshotWriter.write(rows.iterator(), file);
+        snapshot = TransactionSnapshot.open(file);
+        accumulator = new MonthlyRewardAccumulator(BenchmarkData.START, BenchmarkData.END);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        snapshot.close();
+        Files.deleteIfExists(snapshot.getPath());
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public long entityFold() {
+        long total = 0;
+        for (CustomerRewardResponse response : RewardAggregationUtil.buildCustomerRewards(customerList, transactions,
+                RewardRules.DEFAULT, accumulator)) {
+            total += response.getTotalRewards();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long snapshotScan() {
+        long[] total = new long[1];
+        snapshot.forEachCustomer(BenchmarkData.START, BenchmarkData.END, RewardRules.DEFAULT, accumulator,
+                (customerId, customerRewards) -> total[0] += customerRewards.getTotalRewards());
+        return total[0];
+    }
+}
@@ -0,0 +1,287 @@
+package com.retail.backfill;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Forward-only cursor over the rows of a historical transaction export held in a byte buffer,
+ * typically one memory-mapped chunk of the file.
+ * <p>
+ * Each line is {@code customerId,customerName,transactionDate,amount}, e.g.
+ * {@code 1042,"Smith, Jane",2021-03-14,120.50}: the date is ISO {@code yyyy-MM-dd}, the amount
+ * is in dollars with up to two decimals and the name may be double-quoted (with {@code ""} as an
+ * escaped quote). Lines end with {@code \n} or {@code \r\n}; blank lines are skipped, and so is a
+ * header line at the start of the file.
+ * <p>
+ * Fields are parsed straight from the bytes into the primitive accessors, so reading a row
+ * allocates nothing; the customer name is only decoded into a {@code String} when asked for.
+ * An invalid row does not stop the cursor: {@link #isValid()} is {@code false} and
+ * {@link #getError()} says why.
+ */
+public class CsvTransactionReader {
+
+    /**
+     * Longest customer name accepted, matching {@code customers.customer_name}.
+     */
+    public static final int MAX_NAME_LENGTH = 100;
+
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private static final int MAX_ID_DIGITS = 18;
+    private static final int MAX_DOLLAR_DIGITS = 13;
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private boolean skipHeader;
+    private int position;
+
+    private int lineStart;
+    private String error;
+    private long customerId;
+    private int nameStart;
+    private int nameEnd;
+    private boolean nameQuoted;
+    private long epochDay;
+    private long amountCents;
+
+    /**
+     * @param buffer     bytes to read, from its position to its limit; must start at a line start
+     * @param fileStart  whether the bytes are the start of the file, where a header may appear
+     */
+    public CsvTransactionReader(ByteBuffer buffer, boolean fileStart) {
+        this.buffer = buffer;
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+        this.skipHeader = fileStart;
+    }
+
+    /**
+     * Advances to the next non-blank line.
+     *
+     * @return {@code false} once the buffer is exhausted
+     */
+    public boolean next() {
+        while (position < limit) {
+            int start = position;
+            int end = start;
+            while (end < limit && buffer.get(end) != LF) {
+                end++;
+            }
+            position = end + 1;
+            if (end > start && buffer.get(end - 1) == CR) {
+                end--;
+            }
+            if (end == start) {
+                continue;
+            }
+            boolean header = skipHeader && !isDigit(buffer.get(start));
+            skipHeader = false;
+            if (header) {
+                continue;
+            }
+            lineStart = start;
+            error = parse(start, end);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} when the current row parsed; its accessors are only meaningful then
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * @return why the current row is invalid, or {@code null}
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return offset of the current line within the buffer
+     */
+    public int getLineStart() {
+        return lineStart;
+    }
+
+    public long getCustomerId() {
+        return customerId;
+    }
+
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    /**
+     * Decodes the customer name of the current row.
+     */
+    public String customerName() {
+        byte[] bytes = new byte[nameEnd - nameStart];
+        buffer.get(nameStart, bytes);
+        String name = new String(bytes, StandardCharsets.UTF_8);
+        return nameQuoted ? name.replace("\"\"", "\"") : name;
+    }
+
+    private String parse(int start, int end) {
+        int p = start;
+        long id = 0;
+        int digits = 0;
+        while (p < end && isDigit(buffer.get(p))) {
+            id = id * 10 + (buffer.get(p++) - '0');
+            digits++;
+        }
+        if (digits == 0 || digits > MAX_ID_DIGITS || id <= 0) {
+            return "Customer ID must be a positive number";
+        }
+        if (p >= end || buffer.get(p++) != COMMA) {
+            return "Expected 4 comma-separated fields";
+        }
+
+        boolean quoted = p < end && buffer.get(p) == QUOTE;
+        int nameFrom;
+        int nameTo;
+        if (quoted) {
+            nameFrom = ++p;
+            while (true) {
+                if (p >= end) {
+                    return "Unterminated quoted customer name";
+                }
+                if (buffer.get(p) == QUOTE) {
+                    if (p + 1 < end && buffer.get(p + 1) == QUOTE) {
+                        p += 2;
+                        continue;
+                    }
+                    break;
+                }
+                p++;
+            }
+            nameTo = p++;
+        } else {
+            nameFrom = p;
+            while (p < end && buffer.get(p) != COMMA) {
+                p++;
+            }
+            nameTo = p;
+        }
+        if (nameTo == nameFrom) {
+            return "Customer name is required";
+        }
+        if (characters(nameFrom, nameTo) > MAX_NAME_LENGTH) {
+            return "Customer name must be at most " + MAX_NAME_LENGTH + " characters";
+        }
+        if (p >= end || buffer.get(p++) != COMMA) {
+            return "Expected 4 comma-separated fields";
+        }
+
+        if (end - p < 11 || buffer.get(p + 4) != '-' || buffer.get(p + 7) != '-' || buffer.get(p + 10) != COMMA) {
+            return "Transaction date must be yyyy-MM-dd";
+        }
+        int year = digits(p, 4);
+        int month = digits(p + 5, 2);
+        int day = digits(p + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return "Transaction date must be yyyy-MM-dd";
+        }
+        p += 11;
+
+        long dollars = 0;
+        int dollarDigits = 0;
+        while (p < end && isDigit(buffer.get(p))) {
+            dollars = dollars * 10 + (buffer.get(p++) - '0');
+            dollarDigits++;
+        }
+        long cents = 0;
+        int centDigits = 0;
+        if (p < end && buffer.get(p) == '.') {
+            p++;
+            while (p < end && isDigit(buffer.get(p)) && centDigits < 2) {
+                cents = cents * 10 + (buffer.get(p++) - '0');
+                centDigits++;
+            }
+            if (centDigits == 0) {
+                return "Amount must be a number with up to two decimals";
+            }
+            if (centDigits == 1) {
+                cents *= 10;
+            }
+        }
+        if (p != end || dollarDigits == 0 || dollarDigits > MAX_DOLLAR_DIGITS) {
+            return "Amount must be a number with up to two decimals";
+        }
+        long amount = dollars * 100 + cents;
+        if (amount <= 0) {
+            return "Amount must be positive";
+        }
+
+        customerId = id;
+        nameStart = nameFrom;
+        nameEnd = nameTo;
+        nameQuoted = quoted;
+        epochDay = epochDay(year, month, day);
+        amountCents = amount;
+        return null;
+    }
+
+    /**
+     * @return the value of {@code count} decimal digits at {@code from}, or -1 if any is not a digit
+     */
+    private int digits(int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            byte b = buffer.get(i);
+            if (!isDigit(b)) {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    /**
+     * @return number of UTF-8 encoded characters between two offsets, i.e. of non-continuation bytes
+     */
+    private int characters(int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if ((buffer.get(i) & 0xC0) != 0x80) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Days since 1970-01-01 of a proleptic Gregorian date, as {@link java.time.LocalDate#toEpochDay()}
+     * computes it, without creating a {@code LocalDate}.
+     */
+    static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
@@ -0,0 +1,256 @@
+package com.retail.cache;
+
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.RewardCacheStats;
+import com.retail.entity.Transaction;
+import com.retail.event.RewardRulesChangedEvent;
+import com.retail.event.TransactionsBackfilledEvent;
+import com.retail.event.TransactionsRecordedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-evicting in-process cache of single-customer reward responses.
+ * <p>
+ * Entries are evicted least-recently-used once {@code rewards.cache.max-size} is reached and
+ * expire {@code rewards.cache.ttl} after they were stored. A {@code max-size} of 0 disables caching.
+ * <p>
+ * Invalidation is precise per customer: recording a transaction drops every cached range of
+ * that customer once the writing transaction commits. To rule out stale reads, callers capture
+ * {@link #version(Long)} before loading a value and pass it to {@link #put}; the put is ignored
+ * when the customer was invalidated in between, so a value computed from pre-commit data can
+ * never outlive the commit. A change of reward rules invalidates every customer, and a backfill
+ * every imported customer.
+ */
+@Component
+public class RewardCache {
+
+    private static final int VERSION_STRIPES = 4096;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<RewardCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Set<RewardCacheKey>> keysByCustomer = new HashMap<>();
+    private final long[] versions = new long[VERSION_STRIPES];
+    private long allCustomersVersion;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RewardCache(@Value("${rewards.cache.max-size:10000}") int maxSize,
+                       @Value("${rewards.cache.ttl:5m}") Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    RewardCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the cached response for the key, or {@code null} when absent or expired.
+     */
+    public CustomerRewardResponse get(RewardCacheKey key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - nanoClock.getAsLong() <= 0) {
+                removeEntry(key);
+                evictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current invalidation version of a customer, to be captured before loading a value.
+     */
+    public long version(Long customerId) {
+        lock.lock();
+        try {
+            return versions[stripe(customerId)];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a version that changes whenever any customer is invalidated, to be captured before
+     * loading a result that covers all customers.
+     */
+    public long allCustomersVersion() {
+        lock.lock();
+        try {
+            return allCustomersVersion;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a loaded value unless the customer has been invalidated since {@code version} was captured.
+     */
+    public void put(RewardCacheKey key, CustomerRewardResponse value, long version) {
+        if (maxSize <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (versions[stripe(key.getCustomerId())] != version) {
+                return;
+            }
+            entries.put(key, new Entry(value, nanoClock.getAsLong() + ttlNanos));
+            keysByCustomer.computeIfAbsent(key.getCustomerId(), id -> new HashSet<>()).add(key);
+
+            Iterator<RewardCacheKey> eldest = entries.keySet().iterator();
+            while (entries.size() > maxSize && eldest.hasNext()) {
+                RewardCacheKey evicted = eldest.next();
+                eldest.remove();
+                forgetKey(evicted);
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every cached range of the customer and rejects puts of values loaded before this call.
+     */
+    public void invalidateCustomer(Long customerId) {
+        lock.lock();
+        try {
+            versions[stripe(customerId)]++;
+            allCustomersVersion++;
+            Set<RewardCacheKey> keys = keysByCustomer.remove(customerId);
+            if (keys != null) {
+                for (RewardCacheKey key : keys) {
+                    entries.remove(key);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every cached entry and rejects puts of values loaded before this call.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            for (int stripe = 0; stripe < VERSION_STRIPES; stripe++) {
+                versions[stripe]++;
+            }
+            allCustomersVersion++;
+            entries.clear();
+            keysByCustomer.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops everything computed under the previous reward rules.
+     */
+    @EventListener
+    public void onRewardRulesChanged(RewardRulesChangedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Invalidates the customers of newly recorded transactions once the writing transaction commits.
+     */
+    @EventListener
+    public void onTransactionsRecorded(TransactionsRecordedEvent event) {
+        Set<Long> customerIds = new HashSet<>();
+        for (Transaction transaction : event.getTransactions()) {
+            customerIds.add(transaction.getCustomer().getCustomerId());
+        }
+        customerIds.forEach(this::invalidateCustomer);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    customerIds.forEach(RewardCache.this::invalidateCustomer);
+                }
+            });
+        }
+    }
+
+    /**
+     * Invalidates the customers of a committed backfill.
+     */
+    @EventListener
+    public void onTransactionsBackfilled(TransactionsBackfilledEvent event) {
+        event.getCustomerIds().forEach(this::invalidateCustomer);
+    }
+
+    public RewardCacheStats stats() {
+        lock.lock();
+        try {
+            return new RewardCacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeEntry(RewardCacheKey key) {
+        entries.remove(key);
+        forgetKey(key);
+    }
+
+    private void forgetKey(RewardCacheKey key) {
+        Set<RewardCacheKey> keys = keysByCustomer.get(key.getCustomerId());
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByCustomer.remove(key.getCustomerId());
+            }
+        }
+    }
+
+    private static int stripe(Long customerId) {
+        return (Long.hashCode(customerId) & 0x7fffffff) % VERSION_STRIPES;
+    }
+
+    private static final class Entry {
+        private final CustomerRewardResponse value;
+        private final long expiresAt;
+
+        private Entry(CustomerRewardResponse value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.retail.cache;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Cache key of a single customer's reward query.
+ */
+public class RewardCacheKey {
+
+    private final Long customerId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final boolean summary;
+
+    public RewardCacheKey(Long customerId, LocalDate startDate, LocalDate endDate, boolean summary) {
+        this.customerId = customerId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.summary = summary;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public boolean isSummary() {
+        return summary;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RewardCacheKey)) {
+            return false;
+        }
+        RewardCacheKey that = (RewardCacheKey) o;
+        return summary == that.summary
+                && Objects.equals(customerId, that.customerId)
+                && Objects.equals(startDate, that.startDate)
+                && Objects.equals(endDate, that.endDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(customerId, startDate, endDate, summary);
+    }
+}
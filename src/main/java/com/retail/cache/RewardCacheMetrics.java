@@ -0,0 +1,51 @@
+package com.retail.cache;
+
+import com.retail.dto.RewardCacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@link RewardCache} statistics as meters.
+ * <p>
+ * Values are read from the cache's own counters when the registry is scraped, so cache
+ * lookups carry no additional cost.
+ */
+@Component
+public class RewardCacheMetrics implements MeterBinder {
+
+    private final RewardCache rewardCache;
+
+    public RewardCacheMetrics(RewardCache rewardCache) {
+        this.rewardCache = rewardCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("rewards.cache.requests", rewardCache, cache -> cache.stats().getHits())
+                .description("Reward cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("rewards.cache.requests", rewardCache, cache -> cache.stats().getMisses())
+                .description("Reward cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("rewards.cache.evictions", rewardCache, cache -> cache.stats().getEvictions())
+                .description("Reward cache entries evicted for size")
+                .register(registry);
+        Gauge.builder("rewards.cache.size", rewardCache, cache -> cache.stats().getSize())
+                .description("Reward cache entries")
+                .register(registry);
+        Gauge.builder("rewards.cache.hit.ratio", rewardCache, RewardCacheMetrics::hitRatio)
+                .description("Share of reward cache lookups served from the cache since startup")
+                .register(registry);
+    }
+
+    private static double hitRatio(RewardCache cache) {
+        RewardCacheStats stats = cache.stats();
+        long lookups = stats.getHits() + stats.getMisses();
+        return lookups == 0 ? 0 : (double) stats.getHits() / lookups;
+    }
+}
@@ -0,0 +1,139 @@
+package com.retail.cache;
+
+import com.retail.exceptionhandler.RewardQueryTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reward queries into a single computation ("single flight").
+ * <p>
+ * The first caller for a key runs the query on its own thread; callers arriving while it runs
+ * wait for and share its result instead of querying the database again. A failure of the
+ * computation is rethrown to every waiting caller. Waiting callers give up after
+ * {@code rewards.coalescing.wait-timeout} with {@link RewardQueryTimeoutException}; the running
+ * computation is not affected.
+ * <p>
+ * Keys carry the {@link RewardCache} version captured by the caller, so a caller whose customer
+ * changed after a computation started never joins it and always sees its own writes. Results are
+ * shared between callers and must not be modified.
+ */
+@Component
+public class RewardQueryCoalescer {
+
+    private final ConcurrentHashMap<Flight, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long waitTimeoutNanos;
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public RewardQueryCoalescer(@Value("${rewards.coalescing.enabled:true}") boolean enabled,
+                                @Value("${rewards.coalescing.wait-timeout:10s}") Duration waitTimeout) {
+        this.enabled = enabled;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+    }
+
+    /**
+     * Runs the query, or joins an identical one already running.
+     *
+     * @param key     the query; a {@code null} customer ID stands for all customers
+     * @param version the cache version the caller captured before the query
+     * @param query   computes the result
+     * @return the result, possibly shared with other callers
+     * @throws RewardQueryTimeoutException if the running query does not finish within the wait timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(RewardCacheKey key, long version, Supplier<T> query) {
+        if (!enabled) {
+            executed.increment();
+            return query.get();
+        }
+        Flight flight = new Flight(key, version);
+        CompletableFuture<Object> running = flights.get(flight);
+        if (running == null) {
+            CompletableFuture<Object> own = new CompletableFuture<>();
+            running = flights.putIfAbsent(flight, own);
+            if (running == null) {
+                return (T) lead(flight, own, query);
+            }
+        }
+        deduplicated.increment();
+        return (T) await(running);
+    }
+
+    private Object lead(Flight flight, CompletableFuture<Object> future, Supplier<?> query) {
+        executed.increment();
+        try {
+            Object result = query.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(flight, future);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> running) {
+        try {
+            return running.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException ex) {
+            timeouts.increment();
+            throw new RewardQueryTimeoutException("Timed out waiting for an identical reward query; retry later.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RewardQueryTimeoutException("Interrupted while waiting for an identical reward query.");
+        }
+    }
+
+    /**
+     * @return queries computed, i.e. calls that did not join a running query
+     */
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    /**
+     * @return calls served by joining an identical running query
+     */
+    public long getDeduplicated() {
+        return deduplicated.sum();
+    }
+
+    /**
+     * @return calls that gave up waiting for an identical running query
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * @return queries currently running
+     */
+    public int getInFlight() {
+        return flights.size();
+    }
+
+    private record Flight(RewardCacheKey key, long version) {
+    }
+}
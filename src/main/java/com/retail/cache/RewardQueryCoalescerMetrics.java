@@ -0,0 +1,45 @@
+package com.retail.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@link RewardQueryCoalescer} statistics as meters.
+ * <p>
+ * Meters:
+ * - {@code rewards.coalescing.calls} counter, tagged {@code result}: {@code executed} for calls that
+ *   computed their query, {@code deduplicated} for calls that shared a running one and {@code timeout}
+ *   for calls that gave up waiting for it.
+ * - {@code rewards.coalescing.in.flight} gauge: queries currently running.
+ */
+@Component
+public class RewardQueryCoalescerMetrics implements MeterBinder {
+
+    private final RewardQueryCoalescer coalescer;
+
+    public RewardQueryCoalescerMetrics(RewardQueryCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("rewards.coalescing.calls", coalescer, RewardQueryCoalescer::getExecuted)
+                .description("Reward queries by whether they were computed or shared with an identical running query")
+                .tag("result", "executed")
+                .register(registry);
+        FunctionCounter.builder("rewards.coalescing.calls", coalescer, RewardQueryCoalescer::getDeduplicated)
+                .description("Reward queries by whether they were computed or shared with an identical running query")
+                .tag("result", "deduplicated")
+                .register(registry);
+        FunctionCounter.builder("rewards.coalescing.calls", coalescer, RewardQueryCoalescer::getTimeouts)
+                .description("Reward queries by whether they were computed or shared with an identical running query")
+                .tag("result", "timeout")
+                .register(registry);
+        Gauge.builder("rewards.coalescing.in.flight", coalescer, RewardQueryCoalescer::getInFlight)
+                .description("Reward queries currently running")
+                .register(registry);
+    }
+}
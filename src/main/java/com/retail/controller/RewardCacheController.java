@@ -0,0 +1,30 @@
+package com.retail.controller;
+
+import com.retail.cache.RewardCache;
+import com.retail.dto.RewardCacheStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller to expose reward cache statistics.
+ * <p>
+ * Endpoints:
+ * - GET /api/rewards/cache/stats → Hit, miss and eviction counters and current size of the reward cache
+ */
+@RestController
+@RequestMapping("/api/rewards/cache")
+public class RewardCacheController {
+
+    private final RewardCache rewardCache;
+
+    public RewardCacheController(RewardCache rewardCache) {
+        this.rewardCache = rewardCache;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<RewardCacheStats> getCacheStats() {
+        return ResponseEntity.ok(rewardCache.stats());
+    }
+}
@@ -1,13 +1,23 @@
 package com.retail.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.RewardBatchRequest;
+import com.retail.dto.RewardBatchResponse;
 import com.retail.service.RewardService;
+import com.retail.service.RewardVersionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -18,6 +28,14 @@ import java.util.List;
  * Endpoints:
  * - GET /api?startDate=yyyy-MM-dd&endDate=yyyy-MM-dd → Rewards for all customers
  * - GET /api/{customerId}?startDate=yyyy-MM-dd&endDate=yyyy-MM-dd → Rewards for a specific customer
+ * - GET /api?startDate=yyyy-MM-dd&endDate=yyyy-MM-dd&stream=true (or Accept: application/x-ndjson)
+ * → Rewards for all customers streamed as newline-delimited JSON; streaming cannot be combined with include=summary
+ * - GET /api?startDate=yyyy-MM-dd&endDate=yyyy-MM-dd&include=summary → Monthly and total rewards for all customers
+ * - GET /api/{customerId}?startDate=yyyy-MM-dd&endDate=yyyy-MM-dd&include=summary → Monthly and total rewards for a specific customer
+ * - POST /api/batch with {customerIds, startDate, endDate} → Rewards for many customers, keyed by customer ID
+ * <p>
+ * Single-customer responses carry a strong ETag. A request whose {@code If-None-Match} matches
+ * is answered with 304 Not Modified before any transaction is read.
  */
 @RestController
 @RequestMapping("/api/rewards")
@@ -26,9 +44,13 @@ public class RewardController {
     private static final Logger logger = LoggerFactory.getLogger(RewardController.class);
 
     private final RewardService rewardService;
+    private final RewardVersionService rewardVersionService;
+    private final ObjectMapper objectMapper;
 
-    public RewardController(RewardService rewardService) {
+    public RewardController(RewardService rewardService, RewardVersionService rewardVersionService, ObjectMapper objectMapper) {
         this.rewardService = rewardService;
+        this.rewardVersionService = rewardVersionService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -51,25 +73,182 @@ public class RewardController {
         return ResponseEntity.ok(rewards);
     }
 
+    /**
+     * Fetch monthly and total rewards for all customers, without transaction details.
+     * <p>
+     * Selected by {@code include=summary}. Points are aggregated per month by the database,
+     * so no transaction rows are loaded or serialized.
+     *
+     * @param startDate the start date in yyyy-MM-dd format
+     * @param endDate   the end date in yyyy-MM-dd format
+     * @return ResponseEntity containing list of customer reward responses without transactions
+     */
+    @GetMapping(params = "include=summary")
+    public ResponseEntity<List<CustomerRewardResponse>> getAllCustomerRewardSummaries(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+
+        logger.info("Fetching reward summaries for all customers from {} to {}", startDate, endDate);
+
+        List<CustomerRewardResponse> rewards = rewardService.getAllCustomerRewardSummaries(startDate, endDate);
+
+        logger.debug("Total customer reward summaries retrieved: {}", rewards.size());
+        return ResponseEntity.ok(rewards);
+    }
+
+    /**
+     * Stream rewards for all customers, with their transactions, as newline-delimited JSON.
+     * <p>
+     * Selected when the client sends {@code Accept: application/x-ndjson}. Each customer's
+     * reward is written as one JSON line as soon as it is computed, so heap use does not grow
+     * with the number of customers.
+     * <p>
+     * The request is validated by {@link RewardService#validateStreamRequest} before the body is
+     * built, since an error raised while streaming arrives after the 200 status has been sent.
+     *
+     * @param startDate the start date in yyyy-MM-dd format
+     * @param endDate   the end date in yyyy-MM-dd format
+     * @return ResponseEntity streaming one customer reward response per line
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCustomerRewards(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+
+        logger.info("Streaming rewards for all customers from {} to {}", startDate, endDate);
+
+        rewardService.validateStreamRequest(startDate, endDate);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                rewardService.streamAllCustomerRewards(startDate, endDate, reward -> {
+                    try {
+                        objectMapper.writeValue(generator, reward);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Stream rewards for all customers, with their transactions, as newline-delimited JSON when
+     * {@code stream=true} is passed, for clients that cannot set the Accept header.
+     *
+     * @param startDate the start date in yyyy-MM-dd format
+     * @param endDate   the end date in yyyy-MM-dd format
+     * @return ResponseEntity streaming one customer reward response per line
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllCustomerRewardsByParam(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+        return streamAllCustomerRewards(startDate, endDate);
+    }
+
+    /**
+     * Reject {@code stream=true} combined with {@code include=summary}: only full rewards are
+     * streamed, and silently answering with either representation would surprise the client.
+     * Being the most specific mapping, it wins over both the streaming and the summary handler.
+     *
+     * @throws IllegalArgumentException always
+     */
+    @GetMapping(params = {"stream=true", "include=summary"})
+    public ResponseEntity<StreamingResponseBody> rejectStreamedSummaries() {
+        throw new IllegalArgumentException("stream=true cannot be combined with include=summary.");
+    }
+
     /**
      * Fetch reward summary for a specific customer between the specified date range.
      *
      * @param customerId the unique identifier of the customer
      * @param startDate  the start date in yyyy-MM-dd format
      * @param endDate    the end date in yyyy-MM-dd format
-     * @return ResponseEntity containing reward response of the specified customer
+     * @param webRequest the current request, used to evaluate {@code If-None-Match}
+     * @return ResponseEntity containing reward response of the specified customer, or 304 Not Modified
      */
     @GetMapping("/{customerId}")
     public ResponseEntity<CustomerRewardResponse> getCustomerRewardById(
             @PathVariable Long customerId,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
-            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            WebRequest webRequest) {
+
+        String eTag = rewardVersionService.customerRewardETag(customerId, startDate, endDate, false);
+        if (webRequest.checkNotModified(eTag)) {
+            logger.debug("Reward for customerId={} not modified", customerId);
+            return null;
+        }
 
         logger.info("Fetching reward for customerId={} from {} to {}", customerId, startDate, endDate);
 
         CustomerRewardResponse response = rewardService.getCustomerRewardById(customerId, startDate, endDate);
 
         logger.debug("Customer {} reward total: {}", customerId, response.getTotalRewards());
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    /**
+     * Fetch monthly and total rewards for a specific customer, without transaction details.
+     * <p>
+     * Selected by {@code include=summary}. Whole months are read from the monthly reward ledger
+     * and partial months are aggregated by the database.
+     *
+     * @param customerId the unique identifier of the customer
+     * @param startDate  the start date in yyyy-MM-dd format
+     * @param endDate    the end date in yyyy-MM-dd format
+     * @param webRequest the current request, used to evaluate {@code If-None-Match}
+     * @return ResponseEntity containing reward response of the specified customer without transactions, or 304 Not Modified
+     */
+    @GetMapping(value = "/{customerId}", params = "include=summary")
+    public ResponseEntity<CustomerRewardResponse> getCustomerRewardSummary(
+            @PathVariable Long customerId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            WebRequest webRequest) {
+
+        String eTag = rewardVersionService.customerRewardETag(customerId, startDate, endDate, true);
+        if (webRequest.checkNotModified(eTag)) {
+            logger.debug("Reward summary for customerId={} not modified", customerId);
+            return null;
+        }
+
+        logger.info("Fetching reward summary for customerId={} from {} to {}", customerId, startDate, endDate);
+
+        CustomerRewardResponse response = rewardService.getCustomerRewardSummary(customerId, startDate, endDate);
+
+        logger.debug("Customer {} reward summary total: {}", customerId, response.getTotalRewards());
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    /**
+     * Fetch rewards for a list of customers in one call.
+     * <p>
+     * IDs without a customer are reported per entry with status {@code NOT_FOUND}; the
+     * request only fails as a whole on invalid dates or an empty or oversized ID list.
+     *
+     * @param request customer IDs and the date range
+     * @return ResponseEntity containing one entry per distinct customer ID
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RewardBatchResponse> getCustomerRewardsBatch(@RequestBody RewardBatchRequest request) {
+
+        logger.info("Fetching rewards for a batch of customers from {} to {}", request.getStartDate(), request.getEndDate());
+
+        if (request.getStartDate() == null || request.getEndDate() == null) {
+            throw new IllegalArgumentException("startDate and endDate are required.");
+        }
+        RewardBatchResponse response = rewardService.getCustomerRewardsBatch(request.getCustomerIds(),
+                request.getStartDate(), request.getEndDate());
+
+        logger.debug("Batch rewards: {} found, {} not found", response.getFound(), response.getNotFound());
         return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,111 @@
+package com.retail.controller;
+
+import com.retail.dto.RewardExportInfo;
+import com.retail.export.StatementFormat;
+import com.retail.service.RewardExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for bulk reward statement exports.
+ * <p>
+ * Endpoints:
+ * - POST /api/rewards/exports?startDate=yyyy-MM-dd&endDate=yyyy-MM-dd&format=ndjson|csv → Starts an export (202 Accepted)
+ * - GET /api/rewards/exports → Known exports, newest first
+ * - GET /api/rewards/exports/{exportId} → Status, statement count and files of an export
+ * - GET /api/rewards/exports/{exportId}/files/{fileName} → Downloads a gzip file of a finished export
+ * <p>
+ * Downloads are handed to the servlet container's sendfile support when it offers it (Tomcat's
+ * NIO connector copies the file to the socket with {@link FileChannel#transferTo}), so the file is
+ * not read onto the heap. Otherwise, e.g. over TLS, it is copied to the response output stream
+ * through a heap buffer, one chunk at a time; such downloads are logged.
+ */
+@RestController
+@RequestMapping("/api/rewards/exports")
+public class RewardExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardExportController.class);
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final RewardExportService rewardExportService;
+
+    public RewardExportController(RewardExportService rewardExportService) {
+        this.rewardExportService = rewardExportService;
+    }
+
+    @PostMapping
+    public ResponseEntity<RewardExportInfo> startExport(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        logger.info("Starting {} reward export from {} to {}", format, startDate, endDate);
+        return ResponseEntity.accepted().body(rewardExportService.startExport(startDate, endDate, StatementFormat.fromExtension(format)));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RewardExportInfo>> listExports() {
+        return ResponseEntity.ok(rewardExportService.listExports());
+    }
+
+    @GetMapping("/{exportId}")
+    public ResponseEntity<RewardExportInfo> getExport(@PathVariable String exportId) {
+        return ResponseEntity.ok(rewardExportService.getExport(exportId));
+    }
+
+    /**
+     * Download one file of a finished export.
+     *
+     * @param exportId the export
+     * @param fileName one of the export's files
+     */
+    @GetMapping("/{exportId}/files/{fileName}")
+    public void downloadExportFile(@PathVariable String exportId, @PathVariable String fileName,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = rewardExportService.getExportFile(exportId, fileName);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType("application/gzip");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+            response.setContentLengthLong(size);
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                logger.debug("Sending reward export file {} with sendfile", file);
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+            logger.info("Sendfile unavailable, copying reward export file {} ({} bytes) through the heap", file, size);
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            for (long position = 0; position < size; ) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+}
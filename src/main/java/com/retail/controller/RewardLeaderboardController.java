@@ -0,0 +1,46 @@
+package com.retail.controller;
+
+import com.retail.dto.RewardLeaderboardResponse;
+import com.retail.leaderboard.LeaderboardPeriod;
+import com.retail.service.RewardLeaderboardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller to expose reward leaderboards.
+ * <p>
+ * Endpoints:
+ * - GET /api/rewards/leaderboard?period=MONTH|QUARTER&date=yyyy-MM-dd&limit=100
+ * → Customers with the most reward points in the month or quarter containing {@code date} (default today)
+ */
+@RestController
+@RequestMapping("/api/rewards/leaderboard")
+public class RewardLeaderboardController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardLeaderboardController.class);
+
+    private final RewardLeaderboardService rewardLeaderboardService;
+
+    public RewardLeaderboardController(RewardLeaderboardService rewardLeaderboardService) {
+        this.rewardLeaderboardService = rewardLeaderboardService;
+    }
+
+    @GetMapping
+    public ResponseEntity<RewardLeaderboardResponse> getLeaderboard(
+            @RequestParam(defaultValue = "MONTH") LeaderboardPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        LocalDate day = date == null ? LocalDate.now() : date;
+        logger.info("Fetching top {} customers for the {} of {}", limit, period, day);
+        return ResponseEntity.ok(rewardLeaderboardService.getLeaderboard(period, day, limit));
+    }
+}
@@ -0,0 +1,57 @@
+package com.retail.controller;
+
+import com.retail.dto.RewardSnapshotReport;
+import com.retail.dto.TransactionSnapshotInfo;
+import com.retail.service.TransactionSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for bulk reward reporting from the columnar transaction snapshot.
+ * <p>
+ * Endpoints:
+ * - POST /api/rewards/snapshot → Writes a new snapshot of all transactions
+ * - GET /api/rewards/snapshot → Creation time, transaction count and size of the current snapshot
+ * - GET /api/rewards/snapshot/report?startDate=yyyy-MM-dd&endDate=yyyy-MM-dd → Monthly and total rewards of all customers
+ */
+@RestController
+@RequestMapping("/api/rewards/snapshot")
+public class RewardSnapshotController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardSnapshotController.class);
+
+    private final TransactionSnapshotService transactionSnapshotService;
+
+    public RewardSnapshotController(TransactionSnapshotService transactionSnapshotService) {
+        this.transactionSnapshotService = transactionSnapshotService;
+    }
+
+    @PostMapping
+    public ResponseEntity<TransactionSnapshotInfo> createSnapshot() {
+        logger.info("Creating transaction snapshot");
+        return ResponseEntity.ok(transactionSnapshotService.createSnapshot());
+    }
+
+    @GetMapping
+    public ResponseEntity<TransactionSnapshotInfo> getSnapshotInfo() {
+        return ResponseEntity.ok(transactionSnapshotService.getSnapshotInfo());
+    }
+
+    @GetMapping("/report")
+    public ResponseEntity<RewardSnapshotReport> getRewardReport(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+
+        logger.info("Building snapshot reward report from {} to {}", startDate, endDate);
+        return ResponseEntity.ok(transactionSnapshotService.getRewardReport(startDate, endDate));
+    }
+}
@@ -0,0 +1,106 @@
+package com.retail.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.dto.TransactionBatchResponse;
+import com.retail.dto.TransactionEventPipelineStats;
+import com.retail.dto.TransactionEventResponse;
+import com.retail.dto.TransactionRequest;
+import com.retail.service.TransactionEventService;
+import com.retail.service.TransactionIngestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * REST Controller to expose transaction ingestion endpoints.
+ * <p>
+ * Base Path: /api/transactions
+ * Endpoints:
+ * - POST /api/transactions/batch → Bulk insert of transactions sent as a JSON array or newline-delimited JSON
+ * - POST /api/transactions/events → Queue transaction events for asynchronous group commit
+ * - GET /api/transactions/events/stats → Lag and outcome counters of the event pipeline
+ */
+@RestController
+@RequestMapping("/api/transactions")
+public class TransactionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionController.class);
+
+    private final TransactionIngestionService transactionIngestionService;
+    private final TransactionEventService transactionEventService;
+    private final ObjectMapper objectMapper;
+
+    public TransactionController(TransactionIngestionService transactionIngestionService,
+                                 TransactionEventService transactionEventService,
+                                 ObjectMapper objectMapper) {
+        this.transactionIngestionService = transactionIngestionService;
+        this.transactionEventService = transactionEventService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Bulk insert transactions.
+     * <p>
+     * The body is either a JSON array of transactions or one transaction per line
+     * (application/x-ndjson). Rows are parsed lazily while they are inserted, so the
+     * payload is never held in memory as a whole.
+     *
+     * @param body the raw request body
+     * @return ResponseEntity with inserted and rejected row counts and throughput
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<TransactionBatchResponse> ingestBatch(InputStream body) throws IOException {
+        logger.info("Receiving transaction batch");
+
+        try (MappingIterator<TransactionRequest> rows = objectMapper.readerFor(TransactionRequest.class).readValues(body)) {
+            TransactionBatchResponse response = transactionIngestionService.ingest(rows);
+            logger.debug("Transaction batch inserted {} rows, rejected {}", response.getInserted(), response.getRejected());
+            return ResponseEntity.ok(response);
+        }
+    }
+
+    /**
+     * Queue transaction events for the asynchronous ingestion pipeline.
+     * <p>
+     * Every event needs an {@code externalRef}; replaying an event that was already recorded is
+     * harmless. Without {@code await} the events are only queued. With {@code await=true} the call
+     * returns once they are committed, or once the await timeout passes.
+     *
+     * @param events the events, as a JSON array
+     * @param await  whether to wait for the events to be committed
+     * @return 200 with per-event outcomes once committed, 202 when the events are only queued,
+     * 503 with {@code Retry-After} when the pipeline is full
+     */
+    @PostMapping(value = "/events", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TransactionEventResponse> submitEvents(@RequestBody List<TransactionRequest> events,
+                                                                 @RequestParam(defaultValue = "false") boolean await) {
+        logger.debug("Receiving {} transaction events", events.size());
+
+        TransactionEventResponse response = transactionEventService.submit(events, await);
+        return ResponseEntity.status(response.isCommitted() ? HttpStatus.OK : HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * Returns the lag and outcome counters of the transaction event pipeline.
+     *
+     * @return ResponseEntity with the pipeline statistics
+     */
+    @GetMapping("/events/stats")
+    public ResponseEntity<TransactionEventPipelineStats> getEventStats() {
+        return ResponseEntity.ok(transactionEventService.stats());
+    }
+}
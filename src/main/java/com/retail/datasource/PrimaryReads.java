@@ -0,0 +1,42 @@
+package com.retail.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the reads of the current thread to the primary database.
+ * <p>
+ * Read-only transactions normally go to a replica, which may trail the primary. Code that must
+ * see every committed write, such as seeding in-memory state that is then kept current from
+ * commit events, runs its queries inside {@link #call(Supplier)}. The pin decides where a
+ * transaction's connection comes from, so it has to be in place before the transaction's first
+ * statement; a connection already taken from a replica stays in use.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Runs the query with reads pinned to the primary.
+     */
+    public static <T> T call(Supplier<T> query) {
+        if (isActive()) {
+            return query.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    /**
+     * @return whether the current thread is inside {@link #call(Supplier)}
+     */
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
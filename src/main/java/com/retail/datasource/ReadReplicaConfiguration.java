@@ -0,0 +1,81 @@
+package com.retail.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single application data source with a {@link ReadReplicaRoutingDataSource} once
+ * {@code rewards.datasource.replica.urls} lists at least one replica.
+ * <p>
+ * The primary pool is built from the usual {@code spring.datasource.*} and
+ * {@code spring.datasource.hikari.*} properties. Each replica gets its own pool of
+ * {@code rewards.datasource.replica.maximum-pool-size} read-only connections, with the primary's
+ * credentials unless {@code rewards.datasource.replica.username} and {@code password} are set.
+ * Schema migrations run on the primary only; replicas receive them through replication.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rewards.datasource.replica.urls")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${rewards.datasource.replica.urls}") List<String> urls,
+            @Value("${rewards.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${rewards.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${rewards.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${rewards.datasource.replica.selection:round-robin}") String selection) {
+        if (maximumPoolSize < 1) {
+            throw new IllegalArgumentException("rewards.datasource.replica.maximum-pool-size must be positive.");
+        }
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                    .url(url.trim()).username(username).password(password).build();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.add(replica);
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas, ReplicaSelection.fromPropertyValue(selection.trim()));
+    }
+
+    /**
+     * The data source used by JPA, JDBC templates and migrations.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadReplicaRoutingMetrics readReplicaRoutingMetrics(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new ReadReplicaRoutingMetrics(readReplicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,132 @@
+package com.retail.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Routes the connections of read-only transactions to replica pools and every other connection
+ * to the primary.
+ * <p>
+ * A connection goes to a replica when the current transaction is read-only and the thread is not
+ * inside {@link PrimaryReads}; writes, read-write transactions and work outside any transaction
+ * use the primary. The route is decided when the connection is fetched, which is why this data
+ * source sits behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager asks for its connection before it marks the transaction read-only, and
+ * the proxy defers the fetch to the first statement.
+ * <p>
+ * Replicas are picked by the configured {@link ReplicaSelection}. Closing this data source closes
+ * the replica pools; the primary is managed by its owner.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<DataSource> replicas;
+    private final ReplicaSelection selection;
+    private final ToIntFunction<DataSource> load;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, ReplicaSelection selection) {
+        this(primary, replicas, selection, ReadReplicaRoutingDataSource::activeConnections);
+    }
+
+    /**
+     * @param load number of connections a replica pool has in use or awaited, for {@link ReplicaSelection#LEAST_LOADED}
+     */
+    ReadReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, ReplicaSelection selection,
+                                 ToIntFunction<DataSource> load) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.load = load;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(i, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PrimaryReads.isActive()) {
+            primaryConnections.increment();
+            return PRIMARY;
+        }
+        replicaConnections.increment();
+        return selectReplica();
+    }
+
+    /**
+     * @return connections handed out from the primary
+     */
+    public long getPrimaryConnections() {
+        return primaryConnections.sum();
+    }
+
+    /**
+     * @return connections handed out from any replica
+     */
+    public long getReplicaConnections() {
+        return replicaConnections.sum();
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private int selectReplica() {
+        int first = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        if (selection == ReplicaSelection.ROUND_ROBIN) {
+            return first;
+        }
+        // Starting the scan at the round-robin position spreads connections evenly among equally loaded replicas.
+        int selected = first;
+        int lowest = load.applyAsInt(replicas.get(first));
+        for (int i = 1; i < replicas.size() && lowest > 0; i++) {
+            int candidate = (first + i) % replicas.size();
+            int candidateLoad = load.applyAsInt(replicas.get(candidate));
+            if (candidateLoad < lowest) {
+                selected = candidate;
+                lowest = candidateLoad;
+            }
+        }
+        return selected;
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool != null) {
+                return pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            }
+        }
+        return 0;
+    }
+}
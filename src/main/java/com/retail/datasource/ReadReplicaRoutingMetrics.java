@@ -0,0 +1,32 @@
+package com.retail.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes where {@link ReadReplicaRoutingDataSource} sent its connections.
+ * <p>
+ * Meters:
+ * - {@code rewards.datasource.connections} counter, tagged {@code target}: {@code primary} or {@code replica}.
+ */
+public class ReadReplicaRoutingMetrics implements MeterBinder {
+
+    private final ReadReplicaRoutingDataSource routingDataSource;
+
+    public ReadReplicaRoutingMetrics(ReadReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("rewards.datasource.connections", routingDataSource, ReadReplicaRoutingDataSource::getPrimaryConnections)
+                .description("Database connections by the database they were routed to")
+                .tag("target", "primary")
+                .register(registry);
+        FunctionCounter.builder("rewards.datasource.connections", routingDataSource, ReadReplicaRoutingDataSource::getReplicaConnections)
+                .description("Database connections by the database they were routed to")
+                .tag("target", "replica")
+                .register(registry);
+    }
+}
@@ -0,0 +1,129 @@
+package com.retail.datasource;
+
+import com.retail.entity.Transaction;
+import com.retail.event.TransactionsRecordedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keeps reads of recently written customers on the primary, so a client always reads its own writes.
+ * <p>
+ * Customers of newly recorded transactions are remembered for {@code rewards.datasource.replica.max-lag},
+ * counted from the commit; reward queries for them run inside {@link PrimaryReads}. Once that time has
+ * passed every replica is assumed to have caught up, so {@code max-lag} must exceed the worst
+ * replication lag. Only writes made through this instance are known.
+ * <p>
+ * Does nothing unless replicas are configured.
+ */
+@Component
+public class RecentWriteTracker {
+
+    /**
+     * Expired customers are dropped every this many recorded transactions.
+     */
+    private static final int PRUNE_INTERVAL = 1024;
+
+    private final boolean enabled;
+    private final long maxLagNanos;
+    private final Map<Long, Long> writtenAt = new ConcurrentHashMap<>();
+    private final AtomicInteger recordsSincePrune = new AtomicInteger();
+
+    public RecentWriteTracker(@Value("${rewards.datasource.replica.urls:}") List<String> replicaUrls,
+                              @Value("${rewards.datasource.replica.max-lag:5s}") Duration maxLag) {
+        if (maxLag.isNegative()) {
+            throw new IllegalArgumentException("rewards.datasource.replica.max-lag must not be negative.");
+        }
+        this.enabled = !replicaUrls.isEmpty();
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs a query for one customer, on the primary if the customer was written within {@code max-lag}.
+     */
+    public <T> T read(Long customerId, Supplier<T> query) {
+        return isRecentlyWritten(customerId) ? PrimaryReads.call(query) : query.get();
+    }
+
+    /**
+     * Runs a query for several customers, on the primary if any of them was written within {@code max-lag}.
+     */
+    public <T> T read(Collection<Long> customerIds, Supplier<T> query) {
+        if (customerIds != null) {
+            for (Long customerId : customerIds) {
+                if (isRecentlyWritten(customerId)) {
+                    return PrimaryReads.call(query);
+                }
+            }
+        }
+        return query.get();
+    }
+
+    public boolean isRecentlyWritten(Long customerId) {
+        if (!enabled || customerId == null) {
+            return false;
+        }
+        Long at = writtenAt.get(customerId);
+        return at != null && System.nanoTime() - at < maxLagNanos;
+    }
+
+    /**
+     * Remembers the customers of newly recorded transactions, once now and again when the writing
+     * transaction commits: a reader between the two cannot see the write on any database yet, and
+     * the second record starts the lag window at the commit.
+     */
+    @EventListener
+    public void onTransactionsRecorded(TransactionsRecordedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> customerIds = new HashSet<>();
+        for (Transaction transaction : event.getTransactions()) {
+            customerIds.add(transaction.getCustomer().getCustomerId());
+        }
+        record(customerIds);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(customerIds);
+                }
+            });
+        }
+    }
+
+    /**
+     * @return customers currently remembered, including expired ones not yet pruned
+     */
+    public int size() {
+        return writtenAt.size();
+    }
+
+    private void record(Set<Long> customerIds) {
+        long now = System.nanoTime();
+        for (Long customerId : customerIds) {
+            writtenAt.put(customerId, now);
+        }
+        if (recordsSincePrune.addAndGet(customerIds.size()) >= PRUNE_INTERVAL) {
+            recordsSincePrune.set(0);
+            writtenAt.values().removeIf(at -> now - at >= maxLagNanos);
+        }
+    }
+}
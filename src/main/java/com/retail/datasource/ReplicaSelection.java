@@ -0,0 +1,39 @@
+package com.retail.datasource;
+
+/**
+ * How {@link ReadReplicaRoutingDataSource} picks a replica for a read-only transaction.
+ */
+public enum ReplicaSelection {
+    /**
+     * Each replica in turn.
+     */
+    ROUND_ROBIN("round-robin"),
+    /**
+     * The replica whose pool has the fewest connections in use or awaited, in turn among equals.
+     */
+    LEAST_LOADED("least-loaded");
+
+    private final String propertyValue;
+
+    ReplicaSelection(String propertyValue) {
+        this.propertyValue = propertyValue;
+    }
+
+    public String getPropertyValue() {
+        return propertyValue;
+    }
+
+    /**
+     * Resolves a selection from its property value, ignoring case.
+     *
+     * @throws IllegalArgumentException if no selection has that value
+     */
+    public static ReplicaSelection fromPropertyValue(String value) {
+        for (ReplicaSelection selection : values()) {
+            if (selection.propertyValue.equalsIgnoreCase(value)) {
+                return selection;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported replica selection: " + value + ". Use round-robin or least-loaded.");
+    }
+}
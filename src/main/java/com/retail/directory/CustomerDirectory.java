@@ -0,0 +1,282 @@
+package com.retail.directory;
+
+import com.retail.datasource.PrimaryReads;
+import com.retail.dto.CustomerNameRow;
+import com.retail.entity.Customer;
+import com.retail.event.CustomersRecordedEvent;
+import com.retail.exceptionhandler.NoCustomerFoundException;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.util.TransactionCommitBarrier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory directory of every customer's ID and name, held in a {@link PackedCustomerMap}.
+ * <p>
+ * Serves the customer existence checks, name lookups and ID-ordered customer lists of the reward
+ * queries without reading the {@code customers} table. The directory is loaded with one projection
+ * query the first time it is used, from the primary database. Customers inserted by this instance
+ * are added from {@link CustomersRecordedEvent}s once the inserting transaction commits; loads and
+ * commits are ordered by a {@link TransactionCommitBarrier}. Customers created elsewhere are picked
+ * up by {@link #refreshIfChanged()}, and in the meantime a lookup of an unknown ID falls back to the
+ * database and adds the customer it finds.
+ * <p>
+ * Customers are returned as transient {@link Customer} objects carrying only the ID and name.
+ * With {@code rewards.directory.enabled=false} every call goes to the database instead.
+ */
+@Component
+public class CustomerDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerDirectory.class);
+
+    private final CustomerRepositoryHelper customerRepositoryHelper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final TransactionCommitBarrier commitBarrier = new TransactionCommitBarrier();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private PackedCustomerMap customers;
+    private long[] sortedIds;
+
+    public CustomerDirectory(CustomerRepositoryHelper customerRepositoryHelper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${rewards.directory.enabled:true}") boolean enabled) {
+        this.customerRepositoryHelper = customerRepositoryHelper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Looks up a customer by ID.
+     *
+     * @param customerId the unique ID of the customer.
+     * @return the customer, with ID and name only.
+     * @throws NoCustomerFoundException if no customer exists with the provided ID.
+     */
+    public Customer getCustomer(Long customerId) {
+        if (!enabled || customerId == null) {
+            return customerRepositoryHelper.fetchCustomerById(customerId);
+        }
+        loadIfNeeded();
+        String name;
+        lock.readLock().lock();
+        try {
+            name = customers.name(customerId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (name != null) {
+            return new Customer(customerId, name);
+        }
+
+        // Possibly created by another instance since the last refresh.
+        Customer customer = customerRepositoryHelper.fetchCustomerById(customerId);
+        lock.writeLock().lock();
+        try {
+            add(customer.getCustomerId(), customer.getCustomerName());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return customer;
+    }
+
+    /**
+     * Lists all customers ordered by customer ID.
+     * <p>
+     * The list is an unmodifiable view over a snapshot of the directory; its elements are created
+     * as they are read.
+     *
+     * @return List of customers, with ID and name only.
+     */
+    public List<Customer> getCustomers() {
+        if (!enabled) {
+            return customerRepositoryHelper.fetchAllCustomers();
+        }
+        loadIfNeeded();
+        lock.readLock().lock();
+        try {
+            if (sortedIds != null) {
+                return new CustomerList(customers, sortedIds);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (sortedIds == null) {
+                sortedIds = customers.sortedIds();
+            }
+            return new CustomerList(customers, sortedIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether any customer exists. An empty directory is confirmed against the database,
+     * since customers may have been created elsewhere since the last refresh.
+     *
+     * @return {@code true} if at least one customer exists
+     */
+    public boolean hasCustomers() {
+        if (enabled) {
+            loadIfNeeded();
+            if (size() > 0) {
+                return true;
+            }
+        }
+        return customerRepositoryHelper.countCustomers() > 0;
+    }
+
+    /**
+     * Reloads a loaded directory if the number of customers in the database differs from it,
+     * e.g. after another instance or a backfill run created customers.
+     *
+     * @return {@code true} if the directory was reloaded
+     */
+    public boolean refreshIfChanged() {
+        if (!enabled || size() < 0) {
+            return false;
+        }
+        long count = PrimaryReads.call(customerRepositoryHelper::countCustomers);
+        if (count == size()) {
+            return false;
+        }
+        load(false);
+        return true;
+    }
+
+    /**
+     * Adds newly inserted customers once the inserting transaction commits.
+     */
+    @EventListener
+    public void onCustomersRecorded(CustomersRecordedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, String> customerNames = new HashMap<>(event.getCustomerNames());
+        commitBarrier.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (customers != null) {
+                    customerNames.forEach(this::add);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * @return the number of customers in the directory, or -1 before it is loaded
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return customers == null ? -1 : customers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return bytes held by the directory, on and off the heap
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return customers == null ? 0 : customers.memoryBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void loadIfNeeded() {
+        if (size() < 0) {
+            load(true);
+        }
+    }
+
+    private void load(boolean onlyIfUnloaded) {
+        // Loaded from the primary: inserts are applied from commits, which a replica may not show yet.
+        commitBarrier.reload(() -> PrimaryReads.call(() -> {
+            if (onlyIfUnloaded && size() >= 0) {
+                return null;
+            }
+            PackedCustomerMap loaded = transactionTemplate.execute(status -> {
+                PackedCustomerMap map = new PackedCustomerMap((int) customerRepositoryHelper.countCustomers());
+                try (Stream<CustomerNameRow> rows = customerRepositoryHelper.streamCustomerNames()) {
+                    rows.forEach(row -> map.put(row.getCustomerId(), row.getCustomerName()));
+                }
+                return map;
+            });
+            lock.writeLock().lock();
+            try {
+                customers = loaded;
+                sortedIds = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Loaded customer directory with {} customers in {} bytes", loaded.size(), loaded.memoryBytes());
+            return null;
+        }));
+    }
+
+    /**
+     * Must hold the write lock.
+     */
+    private void add(Long customerId, String customerName) {
+        if (customers.put(customerId, customerName)) {
+            sortedIds = null;
+        }
+    }
+
+    /**
+     * ID-ordered view of the customers of one directory state. Names are read under the lock,
+     * since the map may still gain customers while the view is in use.
+     */
+    private final class CustomerList extends AbstractList<Customer> implements RandomAccess {
+
+        private final PackedCustomerMap map;
+        private final long[] ids;
+
+        private CustomerList(PackedCustomerMap map, long[] ids) {
+            this.map = map;
+            this.ids = ids;
+        }
+
+        @Override
+        public Customer get(int index) {
+            long customerId = ids[index];
+            lock.readLock().lock();
+            try {
+                return new Customer(customerId, map.name(customerId));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+}
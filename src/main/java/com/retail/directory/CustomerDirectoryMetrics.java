@@ -0,0 +1,30 @@
+package com.retail.directory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the size and footprint of the {@link CustomerDirectory} as meters.
+ */
+@Component
+public class CustomerDirectoryMetrics implements MeterBinder {
+
+    private final CustomerDirectory customerDirectory;
+
+    public CustomerDirectoryMetrics(CustomerDirectory customerDirectory) {
+        this.customerDirectory = customerDirectory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rewards.directory.customers", customerDirectory, directory -> Math.max(0, directory.size()))
+                .description("Customers in the customer directory")
+                .register(registry);
+        Gauge.builder("rewards.directory.memory", customerDirectory, CustomerDirectory::memoryBytes)
+                .description("Bytes held by the customer directory, on and off the heap")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,189 @@
+package com.retail.directory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Map from customer ID to customer name, packed into primitive arrays and an off-heap name arena.
+ * <p>
+ * IDs live in an open-addressing table of {@code long}s with linear probing; the parallel
+ * {@code int} array holds each name's offset into a direct {@link ByteBuffer}, where names are
+ * stored back to back as an unsigned 16-bit byte length followed by the UTF-8 bytes. A customer
+ * therefore costs about 24 bytes of heap for its table slots plus its encoded name off-heap,
+ * instead of a boxed key, a map entry, an entity and a {@code String} on the heap.
+ * <p>
+ * Entries can be added and renamed but not removed; a renamed customer's old bytes stay in the
+ * arena until the map is rebuilt. ID 0 marks an empty slot, so only positive IDs are accepted.
+ * Not thread-safe.
+ */
+public class PackedCustomerMap {
+
+    private static final float MAX_LOAD = 0.75f;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MIN_ARENA_BYTES = 1024;
+    private static final int LENGTH_BYTES = Short.BYTES;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    private long[] keys;
+    private int[] offsets;
+    private int shift;
+    private int size;
+    private ByteBuffer arena;
+
+    /**
+     * @param expectedSize number of customers to size the table and arena for
+     */
+    public PackedCustomerMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative.");
+        }
+        int capacity = tableCapacity(expectedSize);
+        keys = new long[capacity];
+        offsets = new int[capacity];
+        shift = Long.numberOfLeadingZeros(capacity - 1L);
+        arena = ByteBuffer.allocateDirect(Math.max(MIN_ARENA_BYTES, expectedSize * 16));
+    }
+
+    /**
+     * Adds a customer, or replaces the name of an existing one.
+     *
+     * @return {@code true} if the customer was not in the map yet
+     * @throws IllegalArgumentException if the ID is not positive or the name is longer than 65535 UTF-8 bytes
+     */
+    public boolean put(long customerId, String customerName) {
+        if (customerId <= 0) {
+            throw new IllegalArgumentException("Customer ID must be positive.");
+        }
+        byte[] bytes = customerName.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Customer name must be at most " + MAX_NAME_BYTES + " bytes.");
+        }
+        int slot = slot(customerId);
+        if (keys[slot] == customerId) {
+            if (!sameName(offsets[slot], bytes)) {
+                offsets[slot] = append(bytes);
+            }
+            return false;
+        }
+        if (size + 1 > keys.length * MAX_LOAD) {
+            resize(keys.length * 2);
+            slot = slot(customerId);
+        }
+        keys[slot] = customerId;
+        offsets[slot] = append(bytes);
+        size++;
+        return true;
+    }
+
+    public boolean contains(long customerId) {
+        return customerId > 0 && keys[slot(customerId)] == customerId;
+    }
+
+    /**
+     * @return the customer's name, or {@code null} if the customer is not in the map
+     */
+    public String name(long customerId) {
+        if (customerId <= 0) {
+            return null;
+        }
+        int slot = slot(customerId);
+        if (keys[slot] != customerId) {
+            return null;
+        }
+        int offset = offsets[slot];
+        byte[] bytes = new byte[Short.toUnsignedInt(arena.getShort(offset))];
+        arena.get(offset + LENGTH_BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the customer IDs in ascending order, as a new array
+     */
+    public long[] sortedIds() {
+        long[] ids = new long[size];
+        int count = 0;
+        for (long key : keys) {
+            if (key != 0) {
+                ids[count++] = key;
+            }
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * @return bytes held by the table (heap) and the name arena (off-heap)
+     */
+    public long memoryBytes() {
+        return (long) keys.length * (Long.BYTES + Integer.BYTES) + arena.capacity();
+    }
+
+    /**
+     * @return the slot holding the ID, or the empty slot where it would be inserted
+     */
+    private int slot(long customerId) {
+        int mask = keys.length - 1;
+        int slot = (int) ((customerId * 0x9E3779B97F4A7C15L) >>> shift);
+        while (keys[slot] != 0 && keys[slot] != customerId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldOffsets = offsets;
+        keys = new long[capacity];
+        offsets = new int[capacity];
+        shift = Long.numberOfLeadingZeros(capacity - 1L);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                offsets[slot] = oldOffsets[i];
+            }
+        }
+    }
+
+    private int append(byte[] bytes) {
+        int needed = LENGTH_BYTES + bytes.length;
+        if (arena.remaining() < needed) {
+            long capacity = Math.max((long) arena.capacity() * 2, (long) arena.position() + needed);
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Customer name arena is full.");
+            }
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+            grown.put(arena.flip());
+            arena = grown;
+        }
+        int offset = arena.position();
+        arena.putShort((short) bytes.length);
+        arena.put(bytes);
+        return offset;
+    }
+
+    private boolean sameName(int offset, byte[] bytes) {
+        if (Short.toUnsignedInt(arena.getShort(offset)) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (arena.get(offset + LENGTH_BYTES + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int tableCapacity(int expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / (double) MAX_LOAD) + 1;
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many customers for one map.");
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+}
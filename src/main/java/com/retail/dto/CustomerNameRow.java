@@ -0,0 +1,22 @@
+package com.retail.dto;
+
+/**
+ * Projection of a customer's ID and name, read without hydrating the entity.
+ */
+public class CustomerNameRow {
+    private final Long customerId;
+    private final String customerName;
+
+    public CustomerNameRow(Long customerId, String customerName) {
+        this.customerId = customerId;
+        this.customerName = customerName;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+}
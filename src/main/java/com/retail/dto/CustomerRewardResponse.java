@@ -1,16 +1,20 @@
 package com.retail.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.YearMonth;
 import java.util.List;
-import java.util.Map;
+import java.util.SortedMap;
 
 public class CustomerRewardResponse {
     private Long customerId;
     private String customerName;
-    private Map<String, Integer> monthlyRewards;
+    private SortedMap<YearMonth, Integer> monthlyRewards;
     private int totalRewards;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<TransactionResponse> transactions;
 
-    public CustomerRewardResponse(Long customerId, String customerName, Map<String, Integer> monthlyRewards, int totalPoints, List<TransactionResponse> transactions) {
+    public CustomerRewardResponse(Long customerId, String customerName, SortedMap<YearMonth, Integer> monthlyRewards, int totalPoints, List<TransactionResponse> transactions) {
         this.customerId = customerId;
         this.customerName = customerName;
         this.monthlyRewards = monthlyRewards;
@@ -39,11 +43,11 @@ public class CustomerRewardResponse {
         this.customerName = customerName;
     }
 
-    public Map<String, Integer> getMonthlyRewards() {
+    public SortedMap<YearMonth, Integer> getMonthlyRewards() {
         return monthlyRewards;
     }
 
-    public void setMonthlyRewards(Map<String, Integer> monthlyRewards) {
+    public void setMonthlyRewards(SortedMap<YearMonth, Integer> monthlyRewards) {
         this.monthlyRewards = monthlyRewards;
     }
 
@@ -0,0 +1,45 @@
+package com.retail.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Flat projection of a customer joined with one of their transactions.
+ * <p>
+ * Transaction fields are {@code null} (and the amount {@code 0}) for customers without transactions
+ * in the requested period.
+ */
+public class CustomerTransactionRow {
+    private final Long customerId;
+    private final String customerName;
+    private final Long transactionId;
+    private final long transactionAmountCents;
+    private final LocalDate transactionDate;
+
+    public CustomerTransactionRow(Long customerId, String customerName, Long transactionId, Long transactionAmountCents, LocalDate transactionDate) {
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.transactionId = transactionId;
+        this.transactionAmountCents = transactionAmountCents == null ? 0 : transactionAmountCents;
+        this.transactionDate = transactionDate;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public long getTransactionAmountCents() {
+        return transactionAmountCents;
+    }
+
+    public LocalDate getTransactionDate() {
+        return transactionDate;
+    }
+}
@@ -0,0 +1,40 @@
+package com.retail.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Reward points and spend of one customer on one day, aggregated by the database.
+ */
+public class DailyRewardRow {
+    private final LocalDate transactionDate;
+    private final long rewardPoints;
+    private final long spendCents;
+    private final long transactionCount;
+
+    /**
+     * Aggregates are taken as {@link Number} because the type of {@code sum} over a
+     * {@code case} expression differs between databases.
+     */
+    public DailyRewardRow(LocalDate transactionDate, Number rewardPoints, Number spendCents, Number transactionCount) {
+        this.transactionDate = transactionDate;
+        this.rewardPoints = rewardPoints == null ? 0 : rewardPoints.longValue();
+        this.spendCents = spendCents == null ? 0 : spendCents.longValue();
+        this.transactionCount = transactionCount == null ? 0 : transactionCount.longValue();
+    }
+
+    public LocalDate getTransactionDate() {
+        return transactionDate;
+    }
+
+    public long getRewardPoints() {
+        return rewardPoints;
+    }
+
+    public long getSpendCents() {
+        return spendCents;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
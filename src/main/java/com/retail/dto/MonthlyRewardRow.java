@@ -0,0 +1,42 @@
+package com.retail.dto;
+
+import java.time.YearMonth;
+
+/**
+ * Reward points of one customer in one calendar month, aggregated by the database.
+ * <p>
+ * Built directly from an aggregate query, so no {@code Transaction} entity is hydrated.
+ */
+public class MonthlyRewardRow {
+    private final Long customerId;
+    private final YearMonth month;
+    private final long rewardPoints;
+    private final long transactionCount;
+
+    /**
+     * Aggregates are taken as {@link Number} because the type of {@code sum} over a
+     * {@code case} expression differs between databases.
+     */
+    public MonthlyRewardRow(Long customerId, Integer year, Integer month, Number rewardPoints, Number transactionCount) {
+        this.customerId = customerId;
+        this.month = YearMonth.of(year, month);
+        this.rewardPoints = rewardPoints == null ? 0 : rewardPoints.longValue();
+        this.transactionCount = transactionCount == null ? 0 : transactionCount.longValue();
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public long getRewardPoints() {
+        return rewardPoints;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
@@ -0,0 +1,59 @@
+package com.retail.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome for one customer ID of a batch reward lookup: either the reward or the reason it is missing.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RewardBatchEntry {
+
+    public enum Status {
+        OK, NOT_FOUND
+    }
+
+    private Status status;
+    private CustomerRewardResponse reward;
+    private String error;
+
+    public RewardBatchEntry() {
+    }
+
+    public RewardBatchEntry(Status status, CustomerRewardResponse reward, String error) {
+        this.status = status;
+        this.reward = reward;
+        this.error = error;
+    }
+
+    public static RewardBatchEntry found(CustomerRewardResponse reward) {
+        return new RewardBatchEntry(Status.OK, reward, null);
+    }
+
+    public static RewardBatchEntry notFound(Long customerId) {
+        return new RewardBatchEntry(Status.NOT_FOUND, null, "Customer not found with ID: " + customerId);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public CustomerRewardResponse getReward() {
+        return reward;
+    }
+
+    public void setReward(CustomerRewardResponse reward) {
+        this.reward = reward;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
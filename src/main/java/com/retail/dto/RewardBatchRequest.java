@@ -0,0 +1,43 @@
+package com.retail.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class RewardBatchRequest {
+    private List<Long> customerIds;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    public RewardBatchRequest() {
+    }
+
+    public RewardBatchRequest(List<Long> customerIds, LocalDate startDate, LocalDate endDate) {
+        this.customerIds = customerIds;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public List<Long> getCustomerIds() {
+        return customerIds;
+    }
+
+    public void setCustomerIds(List<Long> customerIds) {
+        this.customerIds = customerIds;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
@@ -0,0 +1,34 @@
+package com.retail.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class RewardBatchResponse {
+    private int found;
+    private int notFound;
+    private Map<Long, RewardBatchEntry> results = new LinkedHashMap<>();
+
+    public int getFound() {
+        return found;
+    }
+
+    public void setFound(int found) {
+        this.found = found;
+    }
+
+    public int getNotFound() {
+        return notFound;
+    }
+
+    public void setNotFound(int notFound) {
+        this.notFound = notFound;
+    }
+
+    public Map<Long, RewardBatchEntry> getResults() {
+        return results;
+    }
+
+    public void setResults(Map<Long, RewardBatchEntry> results) {
+        this.results = results;
+    }
+}
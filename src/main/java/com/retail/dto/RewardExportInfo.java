@@ -0,0 +1,128 @@
+package com.retail.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.retail.export.StatementFormat;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RewardExportInfo {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private String exportId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private StatementFormat format;
+    private Status status;
+    private Instant startedAt;
+    private Instant completedAt;
+    private long statementCount;
+    private long sizeBytes;
+    private List<String> files;
+    private String error;
+
+    public RewardExportInfo() {
+    }
+
+    public RewardExportInfo(String exportId, LocalDate startDate, LocalDate endDate, StatementFormat format, Instant startedAt) {
+        this.exportId = exportId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.format = format;
+        this.status = Status.RUNNING;
+        this.startedAt = startedAt;
+    }
+
+    public String getExportId() {
+        return exportId;
+    }
+
+    public void setExportId(String exportId) {
+        this.exportId = exportId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public StatementFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(StatementFormat format) {
+        this.format = format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public long getStatementCount() {
+        return statementCount;
+    }
+
+    public void setStatementCount(long statementCount) {
+        this.statementCount = statementCount;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public List<String> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<String> files) {
+        this.files = files;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
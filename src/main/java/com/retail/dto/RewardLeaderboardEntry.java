@@ -0,0 +1,47 @@
+package com.retail.dto;
+
+public class RewardLeaderboardEntry {
+    private int rank;
+    private Long customerId;
+    private String customerName;
+    private long rewardPoints;
+
+    public RewardLeaderboardEntry(int rank, Long customerId, String customerName, long rewardPoints) {
+        this.rank = rank;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.rewardPoints = rewardPoints;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public long getRewardPoints() {
+        return rewardPoints;
+    }
+
+    public void setRewardPoints(long rewardPoints) {
+        this.rewardPoints = rewardPoints;
+    }
+}
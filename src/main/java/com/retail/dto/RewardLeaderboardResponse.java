@@ -0,0 +1,55 @@
+package com.retail.dto;
+
+import com.retail.leaderboard.LeaderboardPeriod;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RewardLeaderboardResponse {
+    private LeaderboardPeriod period;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int customerCount;
+    private List<RewardLeaderboardEntry> entries = new ArrayList<>();
+
+    public LeaderboardPeriod getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(LeaderboardPeriod period) {
+        this.period = period;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public int getCustomerCount() {
+        return customerCount;
+    }
+
+    public void setCustomerCount(int customerCount) {
+        this.customerCount = customerCount;
+    }
+
+    public List<RewardLeaderboardEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<RewardLeaderboardEntry> entries) {
+        this.entries = entries;
+    }
+}
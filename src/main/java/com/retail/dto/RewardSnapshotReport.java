@@ -0,0 +1,64 @@
+package com.retail.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+public class RewardSnapshotReport {
+    private Instant snapshotCreatedAt;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long customerCount;
+    private long totalRewards;
+    private SortedMap<YearMonth, Long> monthlyRewards = new TreeMap<>();
+
+    public Instant getSnapshotCreatedAt() {
+        return snapshotCreatedAt;
+    }
+
+    public void setSnapshotCreatedAt(Instant snapshotCreatedAt) {
+        this.snapshotCreatedAt = snapshotCreatedAt;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public long getCustomerCount() {
+        return customerCount;
+    }
+
+    public void setCustomerCount(long customerCount) {
+        this.customerCount = customerCount;
+    }
+
+    public long getTotalRewards() {
+        return totalRewards;
+    }
+
+    public void setTotalRewards(long totalRewards) {
+        this.totalRewards = totalRewards;
+    }
+
+    public SortedMap<YearMonth, Long> getMonthlyRewards() {
+        return monthlyRewards;
+    }
+
+    public void setMonthlyRewards(SortedMap<YearMonth, Long> monthlyRewards) {
+        this.monthlyRewards = monthlyRewards;
+    }
+}
@@ -0,0 +1,85 @@
+package com.retail.dto;
+
+public class TransactionBackfillReport {
+    private String file;
+    private int chunks;
+    private int skippedChunks;
+    private long rowsLoaded;
+    private long rowsRejected;
+    private int customersCreated;
+    private long elapsedMillis;
+
+    public TransactionBackfillReport(String file, int chunks, int skippedChunks, long rowsLoaded, long rowsRejected,
+                                     int customersCreated, long elapsedMillis) {
+        this.file = file;
+        this.chunks = chunks;
+        this.skippedChunks = skippedChunks;
+        this.rowsLoaded = rowsLoaded;
+        this.rowsRejected = rowsRejected;
+        this.customersCreated = customersCreated;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public int getSkippedChunks() {
+        return skippedChunks;
+    }
+
+    public void setSkippedChunks(int skippedChunks) {
+        this.skippedChunks = skippedChunks;
+    }
+
+    public long getRowsLoaded() {
+        return rowsLoaded;
+    }
+
+    public void setRowsLoaded(long rowsLoaded) {
+        this.rowsLoaded = rowsLoaded;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public int getCustomersCreated() {
+        return customersCreated;
+    }
+
+    public void setCustomersCreated(int customersCreated) {
+        this.customersCreated = customersCreated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * @return rows loaded by this run per second of wall-clock time
+     */
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsLoaded * 1000 : rowsLoaded * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,61 @@
+package com.retail.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TransactionBatchResponse {
+    private long received;
+    private long inserted;
+    private long rejected;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    private List<TransactionRowError> errors = new ArrayList<>();
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(long inserted) {
+        this.inserted = inserted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<TransactionRowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<TransactionRowError> errors) {
+        this.errors = errors;
+    }
+}
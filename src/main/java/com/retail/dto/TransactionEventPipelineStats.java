@@ -0,0 +1,101 @@
+package com.retail.dto;
+
+/**
+ * Point-in-time view of the transaction event pipeline.
+ * <p>
+ * {@code lag} is the number of accepted events not yet committed; {@code lagMillis} is the age
+ * of the oldest of them, or 0 when the pipeline is idle. {@code dropped} counts events that could
+ * not be committed before shutdown and must be replayed by their producers.
+ */
+public class TransactionEventPipelineStats {
+    private int capacity;
+    private long lag;
+    private long lagMillis;
+    private long accepted;
+    private long recorded;
+    private long duplicates;
+    private long rejected;
+    private long dropped;
+    private long batches;
+    private long failedCommits;
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public long getLag() {
+        return lag;
+    }
+
+    public void setLag(long lag) {
+        this.lag = lag;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public void setLagMillis(long lagMillis) {
+        this.lagMillis = lagMillis;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(long accepted) {
+        this.accepted = accepted;
+    }
+
+    public long getRecorded() {
+        return recorded;
+    }
+
+    public void setRecorded(long recorded) {
+        this.recorded = recorded;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(long duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public void setBatches(long batches) {
+        this.batches = batches;
+    }
+
+    public long getFailedCommits() {
+        return failedCommits;
+    }
+
+    public void setFailedCommits(long failedCommits) {
+        this.failedCommits = failedCommits;
+    }
+}
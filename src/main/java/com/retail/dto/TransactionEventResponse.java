@@ -0,0 +1,68 @@
+package com.retail.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of submitting transaction events to the ingestion pipeline.
+ * <p>
+ * {@code committed} is {@code false} when the events were only queued; the per-event counts
+ * are then zero. Once committed, every event is counted as recorded, duplicate (its
+ * {@code externalRef} was already stored) or rejected.
+ */
+public class TransactionEventResponse {
+    private int accepted;
+    private boolean committed;
+    private int recorded;
+    private int duplicates;
+    private int rejected;
+    private List<TransactionRowError> errors = new ArrayList<>();
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public void setCommitted(boolean committed) {
+        this.committed = committed;
+    }
+
+    public int getRecorded() {
+        return recorded;
+    }
+
+    public void setRecorded(int recorded) {
+        this.recorded = recorded;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(int duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<TransactionRowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<TransactionRowError> errors) {
+        this.errors = errors;
+    }
+}
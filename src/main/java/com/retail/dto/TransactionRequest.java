@@ -0,0 +1,56 @@
+package com.retail.dto;
+
+import java.time.LocalDate;
+
+public class TransactionRequest {
+    private Long customerId;
+    private Long transactionAmountCents;
+    private LocalDate transactionDate;
+    private String externalRef;
+
+    public TransactionRequest() {
+    }
+
+    public TransactionRequest(Long customerId, Long transactionAmountCents, LocalDate transactionDate) {
+        this.customerId = customerId;
+        this.transactionAmountCents = transactionAmountCents;
+        this.transactionDate = transactionDate;
+    }
+
+    public TransactionRequest(String externalRef, Long customerId, Long transactionAmountCents, LocalDate transactionDate) {
+        this(customerId, transactionAmountCents, transactionDate);
+        this.externalRef = externalRef;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Long getTransactionAmountCents() {
+        return transactionAmountCents;
+    }
+
+    public void setTransactionAmountCents(Long transactionAmountCents) {
+        this.transactionAmountCents = transactionAmountCents;
+    }
+
+    public LocalDate getTransactionDate() {
+        return transactionDate;
+    }
+
+    public void setTransactionDate(LocalDate transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+
+    public String getExternalRef() {
+        return externalRef;
+    }
+
+    public void setExternalRef(String externalRef) {
+        this.externalRef = externalRef;
+    }
+}
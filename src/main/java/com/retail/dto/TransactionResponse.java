@@ -4,12 +4,12 @@ import java.time.LocalDate;
 
 public class TransactionResponse {
     private Long transactionId;
-    private Double transactionAmount;
+    private long transactionAmountCents;
     private LocalDate transactionDate;
 
-    public TransactionResponse(Long id, Double amt, LocalDate date) {
+    public TransactionResponse(Long id, long amountCents, LocalDate date) {
         this.transactionId = id;
-        this.transactionAmount = amt;
+        this.transactionAmountCents = amountCents;
         this.transactionDate = date;
     }
 
@@ -21,12 +21,12 @@ public class TransactionResponse {
         this.transactionId = transactionId;
     }
 
-    public Double getTransactionAmount() {
-        return transactionAmount;
+    public long getTransactionAmountCents() {
+        return transactionAmountCents;
     }
 
-    public void setTransactionAmount(Double transactionAmount) {
-        this.transactionAmount = transactionAmount;
+    public void setTransactionAmountCents(long transactionAmountCents) {
+        this.transactionAmountCents = transactionAmountCents;
     }
 
     public LocalDate getTransactionDate() {
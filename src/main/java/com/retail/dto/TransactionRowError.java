@@ -0,0 +1,27 @@
+package com.retail.dto;
+
+public class TransactionRowError {
+    private long row;
+    private String message;
+
+    public TransactionRowError(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,39 @@
+package com.retail.dto;
+
+import java.time.Instant;
+
+public class TransactionSnapshotInfo {
+    private Instant createdAt;
+    private long transactionCount;
+    private long sizeBytes;
+
+    public TransactionSnapshotInfo(Instant createdAt, long transactionCount, long sizeBytes) {
+        this.createdAt = createdAt;
+        this.transactionCount = transactionCount;
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+}
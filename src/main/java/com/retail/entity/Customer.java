@@ -15,6 +15,12 @@ public class Customer {
     @Column(nullable = false, length = 100)
     private String customerName;
 
+    /**
+     * Bumped by a bulk update whenever the customer's rewards change; never written through the entity.
+     */
+    @Column(name = "reward_version", nullable = false, updatable = false)
+    private long rewardVersion;
+
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Transaction> transactions;
 
@@ -42,6 +48,10 @@ public class Customer {
         this.customerName = customerName;
     }
 
+    public long getRewardVersion() {
+        return rewardVersion;
+    }
+
     public List<Transaction> getTransactions() {
         return transactions;
     }
@@ -0,0 +1,106 @@
+package com.retail.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+
+/**
+ * Per-customer, per-month rollup of reward points, spend and transaction count.
+ * <p>
+ * {@code periodStart} is always the first day of the month. Rows are maintained
+ * incrementally as transactions are recorded and can be rebuilt from the raw
+ * transactions table at any time.
+ */
+@Entity
+@Table(name = "monthly_reward_ledger")
+@IdClass(MonthlyRewardLedgerId.class)
+public class MonthlyRewardLedger implements Persistable<MonthlyRewardLedgerId> {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Id
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    @Column(name = "reward_points", nullable = false)
+    private long rewardPoints;
+
+    @Column(name = "total_spend_cents", nullable = false)
+    private long totalSpendCents;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Transient
+    private boolean isNew = true;
+
+    public MonthlyRewardLedger() {
+    }
+
+    public MonthlyRewardLedger(Long customerId, LocalDate periodStart, long rewardPoints, long totalSpendCents, long transactionCount) {
+        this.customerId = customerId;
+        this.periodStart = periodStart;
+        this.rewardPoints = rewardPoints;
+        this.totalSpendCents = totalSpendCents;
+        this.transactionCount = transactionCount;
+    }
+
+    @Override
+    public MonthlyRewardLedgerId getId() {
+        return new MonthlyRewardLedgerId(customerId, periodStart);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public long getRewardPoints() {
+        return rewardPoints;
+    }
+
+    public void setRewardPoints(long rewardPoints) {
+        this.rewardPoints = rewardPoints;
+    }
+
+    public long getTotalSpendCents() {
+        return totalSpendCents;
+    }
+
+    public void setTotalSpendCents(long totalSpendCents) {
+        this.totalSpendCents = totalSpendCents;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+}
@@ -0,0 +1,47 @@
+package com.retail.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Composite primary key of {@link MonthlyRewardLedger}: one row per customer and month.
+ */
+public class MonthlyRewardLedgerId implements Serializable {
+
+    private Long customerId;
+    private LocalDate periodStart;
+
+    public MonthlyRewardLedgerId() {
+    }
+
+    public MonthlyRewardLedgerId(Long customerId, LocalDate periodStart) {
+        this.customerId = customerId;
+        this.periodStart = periodStart;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MonthlyRewardLedgerId)) {
+            return false;
+        }
+        MonthlyRewardLedgerId that = (MonthlyRewardLedgerId) o;
+        return Objects.equals(customerId, that.customerId) && Objects.equals(periodStart, that.periodStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(customerId, periodStart);
+    }
+}
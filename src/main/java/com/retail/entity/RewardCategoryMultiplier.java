@@ -0,0 +1,66 @@
+package com.retail.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Scales the reward points of a transaction category within one reward rule version.
+ * <p>
+ * {@code multiplierPercent} is an integer percentage: 100 leaves points unchanged, 200 doubles them.
+ */
+@Entity
+@Table(name = "reward_category_multipliers")
+public class RewardCategoryMultiplier {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "multiplier_id")
+    private Long multiplierId;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    @Column(nullable = false, length = 32)
+    private String category;
+
+    @Column(name = "multiplier_percent", nullable = false)
+    private int multiplierPercent;
+
+    public RewardCategoryMultiplier() {
+    }
+
+    public RewardCategoryMultiplier(LocalDate effectiveFrom, String category, int multiplierPercent) {
+        this.effectiveFrom = effectiveFrom;
+        this.category = category;
+        this.multiplierPercent = multiplierPercent;
+    }
+
+    public Long getMultiplierId() {
+        return multiplierId;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public int getMultiplierPercent() {
+        return multiplierPercent;
+    }
+
+    public void setMultiplierPercent(int multiplierPercent) {
+        this.multiplierPercent = multiplierPercent;
+    }
+}
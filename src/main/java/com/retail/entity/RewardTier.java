@@ -0,0 +1,69 @@
+package com.retail.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * One tier of a reward rule version.
+ * <p>
+ * All tiers sharing an {@code effectiveFrom} date form one version, which applies to
+ * transactions dated on or after that date until the next version starts. Every whole
+ * dollar above {@code thresholdDollars}, up to the next tier's threshold, earns
+ * {@code pointsPerDollar}.
+ */
+@Entity
+@Table(name = "reward_tiers")
+public class RewardTier {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tier_id")
+    private Long tierId;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    @Column(name = "threshold_dollars", nullable = false)
+    private long thresholdDollars;
+
+    @Column(name = "points_per_dollar", nullable = false)
+    private long pointsPerDollar;
+
+    public RewardTier() {
+    }
+
+    public RewardTier(LocalDate effectiveFrom, long thresholdDollars, long pointsPerDollar) {
+        this.effectiveFrom = effectiveFrom;
+        this.thresholdDollars = thresholdDollars;
+        this.pointsPerDollar = pointsPerDollar;
+    }
+
+    public Long getTierId() {
+        return tierId;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public long getThresholdDollars() {
+        return thresholdDollars;
+    }
+
+    public void setThresholdDollars(long thresholdDollars) {
+        this.thresholdDollars = thresholdDollars;
+    }
+
+    public long getPointsPerDollar() {
+        return pointsPerDollar;
+    }
+
+    public void setPointsPerDollar(long pointsPerDollar) {
+        this.pointsPerDollar = pointsPerDollar;
+    }
+}
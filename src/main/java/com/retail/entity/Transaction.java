@@ -9,12 +9,13 @@ import java.time.LocalDate;
 @Table(name = "transactions")
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 100)
     @Column(name = "transaction_id")
     private Long transactionId;
 
-    @Column(name = "transaction_amount", nullable = false)
-    private Double transactionAmount;
+    @Column(name = "transaction_amount_cents", nullable = false)
+    private long transactionAmountCents;
 
     @Column(name = "transaction_date")
     private LocalDate transactionDate;
@@ -23,12 +24,15 @@ public class Transaction {
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
+    @Column(name = "external_ref", length = 64, unique = true)
+    private String externalRef;
+
     public Transaction() {
     }
 
-    public Transaction(Long transactionId, Double transactionAmount, LocalDate transactionDate, Customer customer) {
+    public Transaction(Long transactionId, long transactionAmountCents, LocalDate transactionDate, Customer customer) {
         this.transactionId = transactionId;
-        this.transactionAmount = transactionAmount;
+        this.transactionAmountCents = transactionAmountCents;
         this.transactionDate = transactionDate;
         this.customer = customer;
     }
@@ -41,12 +45,12 @@ public class Transaction {
         this.transactionId = transactionId;
     }
 
-    public Double getTransactionAmount() {
-        return transactionAmount;
+    public long getTransactionAmountCents() {
+        return transactionAmountCents;
     }
 
-    public void setTransactionAmount(Double transactionAmount) {
-        this.transactionAmount = transactionAmount;
+    public void setTransactionAmountCents(long transactionAmountCents) {
+        this.transactionAmountCents = transactionAmountCents;
     }
 
     public LocalDate getTransactionDate() {
@@ -64,4 +68,12 @@ public class Transaction {
     public void setCustomer(Customer customer) {
         this.customer = customer;
     }
+
+    public String getExternalRef() {
+        return externalRef;
+    }
+
+    public void setExternalRef(String externalRef) {
+        this.externalRef = externalRef;
+    }
 }
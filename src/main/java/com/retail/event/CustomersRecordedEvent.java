@@ -0,0 +1,25 @@
+package com.retail.event;
+
+import java.util.Map;
+
+/**
+ * Published synchronously, inside the writing transaction, after new customers
+ * have been inserted.
+ * <p>
+ * Listeners use it to keep in-memory customer state up to date.
+ */
+public class CustomersRecordedEvent {
+
+    private final Map<Long, String> customerNames;
+
+    public CustomersRecordedEvent(Map<Long, String> customerNames) {
+        this.customerNames = customerNames;
+    }
+
+    /**
+     * @return the new customers' names by customer ID
+     */
+    public Map<Long, String> getCustomerNames() {
+        return customerNames;
+    }
+}
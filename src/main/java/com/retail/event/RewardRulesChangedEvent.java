@@ -0,0 +1,21 @@
+package com.retail.event;
+
+import com.retail.util.RewardRules;
+
+/**
+ * Published after a new set of reward rules has been swapped in.
+ * <p>
+ * Listeners use it to drop reward state computed under the previous rules.
+ */
+public class RewardRulesChangedEvent {
+
+    private final RewardRules rules;
+
+    public RewardRulesChangedEvent(RewardRules rules) {
+        this.rules = rules;
+    }
+
+    public RewardRules getRules() {
+        return rules;
+    }
+}
@@ -0,0 +1,26 @@
+package com.retail.event;
+
+import java.util.Set;
+
+/**
+ * Published after a backfill has committed imported transactions, rebuilt the monthly reward
+ * ledger and bumped the reward versions of the imported customers.
+ * <p>
+ * Imported transactions bypass {@link TransactionsRecordedEvent}, so listeners use this event
+ * to drop reward state derived before the import.
+ */
+public class TransactionsBackfilledEvent {
+
+    private final Set<Long> customerIds;
+
+    public TransactionsBackfilledEvent(Set<Long> customerIds) {
+        this.customerIds = customerIds;
+    }
+
+    /**
+     * @return the IDs of the customers whose transactions were imported
+     */
+    public Set<Long> getCustomerIds() {
+        return customerIds;
+    }
+}
@@ -0,0 +1,24 @@
+package com.retail.event;
+
+import com.retail.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * Published synchronously, inside the writing transaction, after new transactions
+ * have been persisted.
+ * <p>
+ * Listeners use it to keep reward state derived from transactions up to date.
+ */
+public class TransactionsRecordedEvent {
+
+    private final List<Transaction> transactions;
+
+    public TransactionsRecordedEvent(List<Transaction> transactions) {
+        this.transactions = transactions;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+}
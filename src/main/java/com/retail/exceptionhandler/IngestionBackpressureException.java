@@ -0,0 +1,7 @@
+package com.retail.exceptionhandler;
+
+public class IngestionBackpressureException extends RuntimeException {
+    public IngestionBackpressureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.retail.exceptionhandler;
+
+public class NoExportFoundException extends RuntimeException {
+    public NoExportFoundException(String message) {
+        super(message);
+    }
+}
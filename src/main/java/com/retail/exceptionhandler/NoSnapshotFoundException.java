@@ -0,0 +1,7 @@
+package com.retail.exceptionhandler;
+
+public class NoSnapshotFoundException extends RuntimeException {
+    public NoSnapshotFoundException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,11 @@
 package com.retail.exceptionhandler;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -20,6 +24,11 @@ import java.time.format.DateTimeParseException;
  * - DateTimeParseException: Triggered when the input date format is invalid.
  * - IllegalArgumentException: Triggered for invalid arguments like start date after end date.
  * - NoTransactionFoundException: Custom exception thrown when no transactions are found.
+ * - JsonProcessingException / RuntimeJsonMappingException: Triggered by malformed transaction payloads.
+ * - HttpMessageNotReadableException: Triggered by malformed JSON request bodies.
+ * - IngestionBackpressureException: Triggered when the transaction event pipeline cannot take more events.
+ * - RewardQueryTimeoutException: Triggered when waiting for an identical running reward query takes too long.
+ * - NoExportFoundException: Triggered when a reward export, or a file of it, does not exist or is not finished.
  * - Exception: Catches all other unhandled exceptions as a fallback.
  * <p>
  * Each handler returns an appropriate HTTP status code and a user-friendly error message.
@@ -80,6 +89,16 @@ public class RewardExceptionHandler {
     }
 
 
+    @ExceptionHandler({JsonProcessingException.class, RuntimeJsonMappingException.class})
+    public ResponseEntity<ErrorResponse> handleMalformedPayload(Exception ex) {
+        return buildResponse(HttpStatus.BAD_REQUEST, "Malformed transaction payload: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        return buildResponse(HttpStatus.BAD_REQUEST, "Malformed request body.");
+    }
+
     @ExceptionHandler(NoTransactionFoundException.class)
     public ResponseEntity<ErrorResponse> handleNoTransaction(NoTransactionFoundException ex) {
         return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
@@ -90,6 +109,30 @@ public class RewardExceptionHandler {
         return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
+    @ExceptionHandler(NoSnapshotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNoSnapshot(NoSnapshotFoundException ex) {
+        return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(NoExportFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNoExport(NoExportFoundException ex) {
+        return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(RewardQueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleRewardQueryTimeout(RewardQueryTimeoutException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage()));
+    }
+
+    @ExceptionHandler(IngestionBackpressureException.class)
+    public ResponseEntity<ErrorResponse> handleIngestionBackpressure(IngestionBackpressureException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage()));
+    }
+
     private ResponseEntity<ErrorResponse> buildResponse(HttpStatus status, String message) {
         return new ResponseEntity<>(new ErrorResponse(status.value(), message), status);
     }
@@ -0,0 +1,7 @@
+package com.retail.exceptionhandler;
+
+public class RewardQueryTimeoutException extends RuntimeException {
+    public RewardQueryTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,106 @@
+package com.retail.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a gzip file through a {@link FileChannel}.
+ * <p>
+ * Input is deflated straight from the caller's buffer into a direct output buffer that is
+ * handed to the channel when full, so compressed bytes never pass through a stream or a heap
+ * array. The gzip header and trailer (CRC-32 and length of the input) are written by hand
+ * around a raw deflate stream, which is what {@link java.util.zip.GZIPOutputStream} does.
+ */
+public final class GzipChannelWriter implements Closeable {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final byte[] NO_INPUT = new byte[0];
+
+    private final FileChannel channel;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer output;
+    private long inputBytes;
+    private boolean closed;
+
+    /**
+     * Writes the gzip header to an empty channel.
+     *
+     * @param channel     channel to write to, closed by {@link #close()}
+     * @param bufferBytes size of the direct buffer collecting compressed output
+     */
+    public GzipChannelWriter(FileChannel channel, int bufferBytes) throws IOException {
+        this.channel = channel;
+        this.output = ByteBuffer.allocateDirect(bufferBytes);
+        output.put(HEADER);
+    }
+
+    /**
+     * Compresses the remaining bytes of {@code input}, consuming all of them.
+     */
+    public void write(ByteBuffer input) throws IOException {
+        crc.update(input.duplicate());
+        inputBytes += input.remaining();
+        deflater.setInput(input);
+        while (!deflater.needsInput()) {
+            deflate();
+        }
+        // The deflater keeps a reference to its input; drop it so that reusing the buffer cannot feed it again.
+        deflater.setInput(NO_INPUT);
+    }
+
+    /**
+     * @return compressed bytes produced so far; the deflater may still hold some input back
+     */
+    public long compressedBytes() throws IOException {
+        return channel.position() + output.position();
+    }
+
+    /**
+     * Finishes the deflate stream, writes the trailer and closes the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate();
+            }
+            if (output.remaining() < 8) {
+                flushOutput();
+            }
+            output.order(ByteOrder.LITTLE_ENDIAN);
+            output.putInt((int) crc.getValue());
+            output.putInt((int) inputBytes);
+            flushOutput();
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    private void deflate() throws IOException {
+        deflater.deflate(output);
+        if (!output.hasRemaining()) {
+            flushOutput();
+        }
+    }
+
+    private void flushOutput() throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+        output.clear();
+    }
+}
@@ -0,0 +1,196 @@
+package com.retail.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.dto.CustomerRewardResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes reward statements into gzip-compressed files of about {@code maxFileBytes} each.
+ * <p>
+ * Statements are encoded into a direct staging buffer and compressed through a
+ * {@link GzipChannelWriter}, so heap use does not depend on the number of statements. A new
+ * part, {@code <prefix>-part-00001.ndjson.gz} and so on, is started once the current one has
+ * reached the size limit; a statement is never split between two parts, and every CSV part
+ * starts with the header line.
+ */
+public final class RewardStatementWriter implements Closeable {
+
+    static final String CSV_HEADER = "customer_id,customer_name,total_rewards,monthly_rewards\n";
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final String prefix;
+    private final StatementFormat format;
+    private final long maxFileBytes;
+    private final ObjectMapper objectMapper;
+
+    private final ByteBuffer staging = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final OutputStream stagingStream = new StagingOutputStream();
+    private final List<Path> files = new ArrayList<>();
+    private final StringBuilder line = new StringBuilder();
+    private GzipChannelWriter part;
+    private JsonGenerator generator;
+    private long statements;
+
+    /**
+     * @param directory    existing directory to write the parts to
+     * @param prefix       file name prefix of the parts
+     * @param format       file format
+     * @param maxFileBytes compressed size after which a new part is started
+     * @param objectMapper mapper used for NDJSON statements
+     */
+    public RewardStatementWriter(Path directory, String prefix, StatementFormat format, long maxFileBytes,
+                                 ObjectMapper objectMapper) {
+        if (maxFileBytes < 1) {
+            throw new IllegalArgumentException("Export file size limit must be positive.");
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.format = format;
+        this.maxFileBytes = maxFileBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends one customer's statement, starting a new part first if the current one is full.
+     */
+    public void write(CustomerRewardResponse reward) throws IOException {
+        if (part == null || part.compressedBytes() >= maxFileBytes) {
+            nextPart();
+        }
+        if (format == StatementFormat.NDJSON) {
+            objectMapper.writeValue(generator, reward);
+            generator.writeRaw('\n');
+            generator.flush();
+        } else {
+            writeCsv(reward);
+        }
+        statements++;
+    }
+
+    /**
+     * @return the parts written so far, in order
+     */
+    public List<Path> getFiles() {
+        return List.copyOf(files);
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    /**
+     * Finishes the current part. An export without statements still consists of one (empty) part.
+     */
+    @Override
+    public void close() throws IOException {
+        if (part == null) {
+            nextPart();
+        }
+        closePart();
+    }
+
+    private void nextPart() throws IOException {
+        closePart();
+        Path file = directory.resolve(String.format("%s-part-%05d.%s.gz", prefix, files.size() + 1, format.getExtension()));
+        part = new GzipChannelWriter(FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), BUFFER_BYTES);
+        files.add(file);
+        if (format == StatementFormat.NDJSON) {
+            generator = objectMapper.getFactory().createGenerator(stagingStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        } else {
+            stagingStream.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void closePart() throws IOException {
+        if (part == null) {
+            return;
+        }
+        if (generator != null) {
+            generator.close();
+            generator = null;
+        }
+        flushStaging();
+        part.close();
+        part = null;
+    }
+
+    private void writeCsv(CustomerRewardResponse reward) throws IOException {
+        line.setLength(0);
+        line.append(reward.getCustomerId()).append(',');
+        appendQuoted(reward.getCustomerName());
+        line.append(',').append(reward.getTotalRewards()).append(',');
+        if (reward.getMonthlyRewards() != null) {
+            boolean first = true;
+            for (Map.Entry<YearMonth, Integer> month : reward.getMonthlyRewards().entrySet()) {
+                if (!first) {
+                    line.append(';');
+                }
+                line.append(month.getKey()).append('=').append(month.getValue());
+                first = false;
+            }
+        }
+        line.append('\n');
+        stagingStream.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void appendQuoted(String value) {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private void flushStaging() throws IOException {
+        staging.flip();
+        part.write(staging);
+        staging.clear();
+    }
+
+    /**
+     * Copies encoded statements into the staging buffer, compressing it whenever it fills up.
+     */
+    private final class StagingOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!staging.hasRemaining()) {
+                flushStaging();
+            }
+            staging.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!staging.hasRemaining()) {
+                    flushStaging();
+                }
+                int count = Math.min(length, staging.remaining());
+                staging.put(bytes, offset, count);
+                offset += count;
+                length -= count;
+            }
+        }
+    }
+}
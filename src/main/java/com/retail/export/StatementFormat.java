@@ -0,0 +1,39 @@
+package com.retail.export;
+
+/**
+ * File formats of reward statement exports.
+ */
+public enum StatementFormat {
+    /**
+     * One JSON document per customer and line, as served by the streaming rewards endpoint.
+     */
+    NDJSON("ndjson"),
+    /**
+     * One line per customer: ID, name, total points and the points of each month.
+     */
+    CSV("csv");
+
+    private final String extension;
+
+    StatementFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolves a format from its file extension, ignoring case.
+     *
+     * @throws IllegalArgumentException if no format has that extension
+     */
+    public static StatementFormat fromExtension(String value) {
+        for (StatementFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value + ". Use ndjson or csv.");
+    }
+}
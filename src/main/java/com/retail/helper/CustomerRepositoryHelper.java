@@ -1,13 +1,21 @@
 package com.retail.helper;
 
+import com.retail.dto.CustomerNameRow;
+import com.retail.dto.CustomerTransactionRow;
 import com.retail.entity.Customer;
 import com.retail.exceptionhandler.NoCustomerFoundException;
 import com.retail.repository.CustomerRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Helper class for interacting with the CustomerRepository.
@@ -26,12 +34,12 @@ public class CustomerRepositoryHelper {
     }
 
     /**
-     * Fetches all customers from the repository.
+     * Fetches all customers from the repository, ordered by customer ID.
      *
      * @return List of all {@link Customer} entities.
      */
     public List<Customer> fetchAllCustomers() {
-        List<Customer> customers = customerRepository.findAll();
+        List<Customer> customers = customerRepository.findAll(Sort.by(Sort.Direction.ASC, "customerId"));
         logger.debug("Fetched {} customers from database", customers.size());
         return customers;
     }
@@ -50,4 +58,88 @@ public class CustomerRepositoryHelper {
                     return new NoCustomerFoundException("Customer not found with ID: " + customerId);
                 });
     }
+
+    /**
+     * Fetches the reward version of a customer without loading the customer or its transactions.
+     *
+     * @param customerId the unique ID of the customer.
+     * @return the customer's reward version.
+     * @throws NoCustomerFoundException if no customer exists with the provided ID.
+     */
+    public long fetchRewardVersion(Long customerId) {
+        return customerRepository.findRewardVersionByCustomerId(customerId)
+                .orElseThrow(() -> {
+                    logger.warn("Customer not found with ID: {}", customerId);
+                    return new NoCustomerFoundException("Customer not found with ID: " + customerId);
+                });
+    }
+
+    /**
+     * Increments the reward version of the given customers. Must run in the transaction
+     * that changes their rewards.
+     *
+     * @param customerIds the IDs of the customers whose rewards changed.
+     */
+    public void incrementRewardVersions(Collection<Long> customerIds) {
+        if (customerIds.isEmpty()) {
+            return;
+        }
+        int updated = customerRepository.incrementRewardVersions(customerIds);
+        logger.debug("Incremented reward version of {} customers", updated);
+    }
+
+    /**
+     * Fetches the customers with the given IDs in a single query.
+     * <p>
+     * IDs without a matching customer are simply absent from the result.
+     *
+     * @param customerIds the IDs of the customers to be fetched.
+     * @return Map of customer ID to {@link Customer} entity.
+     */
+    public Map<Long, Customer> fetchCustomersByIds(Collection<Long> customerIds) {
+        List<Customer> customers = customerRepository.findAllById(customerIds);
+        logger.debug("Resolved {} of {} requested customers", customers.size(), customerIds.size());
+        Map<Long, Customer> customersById = new HashMap<>(customers.size() * 2);
+        for (Customer customer : customers) {
+            customersById.put(customer.getCustomerId(), customer);
+        }
+        return customersById;
+    }
+
+    /**
+     * Counts all customers.
+     *
+     * @return the number of customers in the database.
+     */
+    public long countCustomers() {
+        return customerRepository.count();
+    }
+
+    /**
+     * Streams the ID and name of every customer, in no particular order.
+     * <p>
+     * The stream is backed by a database cursor; it must be consumed inside a
+     * transaction and closed by the caller.
+     *
+     * @return Stream of {@link CustomerNameRow}
+     */
+    public Stream<CustomerNameRow> streamCustomerNames() {
+        logger.debug("Streaming customer names");
+        return customerRepository.streamCustomerNames();
+    }
+
+    /**
+     * Streams all customers joined with their transactions within a date range.
+     * <p>
+     * The stream is backed by a database cursor; it must be consumed inside a
+     * transaction and closed by the caller.
+     *
+     * @param startDate the start date of the period
+     * @param endDate   the end date of the period
+     * @return Stream of {@link CustomerTransactionRow} ordered by customer ID
+     */
+    public Stream<CustomerTransactionRow> streamCustomerTransactions(LocalDate startDate, LocalDate endDate) {
+        logger.debug("Streaming customer transactions between {} and {}", startDate, endDate);
+        return customerRepository.streamCustomerTransactions(startDate, endDate);
+    }
 }
@@ -1,19 +1,32 @@
 package com.retail.helper;
 
+import com.retail.dto.CustomerTransactionRow;
+import com.retail.dto.DailyRewardRow;
+import com.retail.dto.MonthlyRewardRow;
 import com.retail.entity.Transaction;
+import com.retail.event.TransactionsRecordedEvent;
 import com.retail.repository.TransactionRepository;
+import com.retail.util.RewardRules;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Helper component that encapsulates transaction-related data access operations.
  * <p>
  * This class interacts with {@link TransactionRepository} to fetch transactions
- * for specific customers and date ranges.
+ * for specific customers, or for all customers at once, within date ranges.
+ * It is also the single write path for transactions: every save publishes a
+ * {@link TransactionsRecordedEvent} so derived reward state stays in step.
  */
 @Component
 public class TransactionRepositoryHelper {
@@ -21,9 +34,11 @@ public class TransactionRepositoryHelper {
     private static final Logger logger = LoggerFactory.getLogger(TransactionRepositoryHelper.class);
 
     private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TransactionRepositoryHelper(TransactionRepository transactionRepository) {
+    public TransactionRepositoryHelper(TransactionRepository transactionRepository, ApplicationEventPublisher eventPublisher) {
         this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -38,4 +53,139 @@ public class TransactionRepositoryHelper {
         logger.debug("Fetching transactions for customerId={} between {} and {}", customerId, startDate, endDate);
         return transactionRepository.findByCustomerIdAndTransactionDateBetween(customerId, startDate, endDate);
     }
+
+    /**
+     * Retrieves the transactions of all customers within a given date range in a single query.
+     *
+     * @param startDate the start date of the period
+     * @param endDate   the end date of the period
+     * @return List of {@link Transaction} entities ordered by customer ID and transaction date
+     */
+    public List<Transaction> findAllByTransactionDate(LocalDate startDate, LocalDate endDate) {
+        logger.debug("Fetching transactions for all customers between {} and {}", startDate, endDate);
+        return transactionRepository.findAllByTransactionDateBetweenOrderByCustomer(startDate, endDate);
+    }
+
+    /**
+     * Retrieves the transactions of the customers within an ID range and a date range.
+     *
+     * @param fromCustomerId lowest customer ID of the range
+     * @param toCustomerId   highest customer ID of the range
+     * @param startDate      the start date of the period
+     * @param endDate        the end date of the period
+     * @return List of {@link Transaction} entities ordered by customer ID and transaction date
+     */
+    public List<Transaction> findAllByCustomerRangeAndTransactionDate(Long fromCustomerId, Long toCustomerId,
+                                                                      LocalDate startDate, LocalDate endDate) {
+        logger.debug("Fetching transactions for customers {} to {} between {} and {}", fromCustomerId, toCustomerId, startDate, endDate);
+        return transactionRepository.findAllByCustomerIdBetweenAndTransactionDateBetweenOrderByCustomer(
+                fromCustomerId, toCustomerId, startDate, endDate);
+    }
+
+    /**
+     * Retrieves the transactions of the given customers within a date range in a single query.
+     *
+     * @param customerIds the IDs of the customers, bounded by the caller
+     * @param startDate   the start date of the period
+     * @param endDate     the end date of the period
+     * @return List of {@link Transaction} entities ordered by customer ID and transaction date
+     */
+    public List<Transaction> findAllByCustomerIdsAndTransactionDate(Collection<Long> customerIds, LocalDate startDate, LocalDate endDate) {
+        logger.debug("Fetching transactions for {} customers between {} and {}", customerIds.size(), startDate, endDate);
+        return transactionRepository.findAllByCustomerIdInAndTransactionDateBetweenOrderByCustomer(customerIds, startDate, endDate);
+    }
+
+    /**
+     * Retrieves a customer's reward points per month within a date range, aggregated by the database.
+     *
+     * @param customerId the unique identifier of the customer
+     * @param startDate  the start date of the period
+     * @param endDate    the end date of the period
+     * @param rules      the reward rules to evaluate
+     * @return List of {@link MonthlyRewardRow} projections
+     */
+    public List<MonthlyRewardRow> findMonthlyRewards(Long customerId, LocalDate startDate, LocalDate endDate, RewardRules rules) {
+        logger.debug("Aggregating monthly rewards for customerId={} between {} and {}", customerId, startDate, endDate);
+        return transactionRepository.findMonthlyRewards(customerId, startDate, endDate, rules);
+    }
+
+    /**
+     * Retrieves every customer's reward points per month within a date range, aggregated by the database.
+     *
+     * @param startDate the start date of the period
+     * @param endDate   the end date of the period
+     * @param rules     the reward rules to evaluate
+     * @return List of {@link MonthlyRewardRow} projections ordered by customer ID
+     */
+    public List<MonthlyRewardRow> findAllMonthlyRewards(LocalDate startDate, LocalDate endDate, RewardRules rules) {
+        logger.debug("Aggregating monthly rewards for all customers between {} and {}", startDate, endDate);
+        return transactionRepository.findAllMonthlyRewards(startDate, endDate, rules);
+    }
+
+    /**
+     * Counts all transactions of a customer.
+     *
+     * @param customerId the unique identifier of the customer
+     * @return number of transactions of the customer
+     */
+    public long countTransactions(Long customerId) {
+        logger.debug("Counting transactions for customerId={}", customerId);
+        return transactionRepository.countByCustomerId(customerId);
+    }
+
+    /**
+     * Retrieves a customer's reward points, spend and transaction count per day within a date range,
+     * aggregated by the database.
+     *
+     * @param customerId the unique identifier of the customer
+     * @param startDate  the start date of the period
+     * @param endDate    the end date of the period
+     * @param rules      the reward rules to evaluate
+     * @return List of {@link DailyRewardRow} projections ordered by date
+     */
+    public List<DailyRewardRow> findDailyRewards(Long customerId, LocalDate startDate, LocalDate endDate, RewardRules rules) {
+        logger.debug("Aggregating daily rewards for customerId={} between {} and {}", customerId, startDate, endDate);
+        return transactionRepository.findDailyRewards(customerId, startDate, endDate, rules);
+    }
+
+    /**
+     * Streams every recorded transaction ordered by customer ID and transaction date.
+     * <p>
+     * The stream is backed by a database cursor; it must be consumed inside a
+     * transaction and closed by the caller.
+     *
+     * @return Stream of {@link CustomerTransactionRow} projections
+     */
+    public Stream<CustomerTransactionRow> streamAllTransactions() {
+        logger.debug("Streaming all transactions");
+        return transactionRepository.streamAllOrderByCustomer();
+    }
+
+    /**
+     * Returns which of the given external references already have a transaction.
+     *
+     * @param externalRefs producer-assigned transaction references
+     * @return the references already stored, empty when none are given
+     */
+    public Set<String> findExistingExternalRefs(Collection<String> externalRefs) {
+        if (externalRefs.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(transactionRepository.findExistingExternalRefs(externalRefs));
+    }
+
+    /**
+     * Persists new transactions and publishes a {@link TransactionsRecordedEvent}
+     * within the same database transaction.
+     *
+     * @param transactions the transactions to persist
+     * @return the persisted {@link Transaction} entities
+     */
+    @Transactional
+    public List<Transaction> saveTransactions(List<Transaction> transactions) {
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        logger.debug("Saved {} transactions", saved.size());
+        eventPublisher.publishEvent(new TransactionsRecordedEvent(saved));
+        return saved;
+    }
 }
@@ -0,0 +1,232 @@
+package com.retail.index;
+
+import com.retail.util.MonthlyRewardAccumulator;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Per-day reward points, spend and transaction counts of one customer in Fenwick trees
+ * (binary indexed trees) keyed by epoch day.
+ * <p>
+ * The trees cover a contiguous range of days starting at {@code firstDay}. Adding a day and
+ * summing any range of days both cost O(log days), so a reward summary over an arbitrary
+ * date range costs O(months × log days) regardless of how many transactions the customer has.
+ * The covered range grows on either side when a transaction falls outside it.
+ * <p>
+ * Instances are thread-safe.
+ */
+public class CustomerRewardIndex {
+
+    /**
+     * Extra days allocated past the last transaction, so daily transactions do not grow the trees every day.
+     */
+    private static final int HEADROOM_DAYS = 64;
+
+    private static final long BYTES_PER_DAY = 2L * Long.BYTES + Integer.BYTES;
+    private static final long BASE_BYTES = 96;
+
+    private long firstDay;
+    private long[] points;
+    private long[] spendCents;
+    private int[] counts;
+    private long transactionCount;
+
+    /**
+     * Creates an empty index covering {@code days} days from {@code firstDay}.
+     */
+    public CustomerRewardIndex(LocalDate firstDay, int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("An index must cover at least one day.");
+        }
+        this.firstDay = firstDay.toEpochDay();
+        allocate(days + HEADROOM_DAYS);
+    }
+
+    /**
+     * Adds the points, spend and transactions of one day.
+     *
+     * @param date             the day
+     * @param rewardPoints     points earned on that day
+     * @param spendCents       amount spent on that day, in cents
+     * @param transactionCount number of transactions behind the points
+     */
+    public synchronized void add(LocalDate date, long rewardPoints, long spendCents, long transactionCount) {
+        long day = date.toEpochDay();
+        ensureCovers(day);
+        int slot = (int) (day - firstDay) + 1;
+        for (int i = slot; i < points.length; i += i & -i) {
+            points[i] += rewardPoints;
+            this.spendCents[i] += spendCents;
+            counts[i] += (int) transactionCount;
+        }
+        this.transactionCount += transactionCount;
+    }
+
+    /**
+     * @return the customer's reward points between the two dates (inclusive)
+     */
+    public synchronized long rewardPointsBetween(LocalDate startDate, LocalDate endDate) {
+        return sumBetween(points, startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * @return the customer's spend in cents between the two dates (inclusive)
+     */
+    public synchronized long spendCentsBetween(LocalDate startDate, LocalDate endDate) {
+        return sumBetween(spendCents, startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * Adds the customer's points of every month between the two dates to the accumulator.
+     * Months without transactions are skipped, matching a fold over the transactions themselves.
+     *
+     * @param accumulator accumulator covering at least the given range
+     * @param startDate   start of the range, inclusive
+     * @param endDate     end of the range, inclusive
+     */
+    public synchronized void addTo(MonthlyRewardAccumulator accumulator, LocalDate startDate, LocalDate endDate) {
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+            long from = Math.max(startDate.toEpochDay(), month.atDay(1).toEpochDay());
+            long to = Math.min(endDate.toEpochDay(), month.atEndOfMonth().toEpochDay());
+            long count = sumBetween(counts, from, to);
+            if (count > 0) {
+                accumulator.addMonth(month, (int) sumBetween(points, from, to), count);
+            }
+        }
+    }
+
+    public synchronized long getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * @return approximate heap footprint of the index in bytes
+     */
+    public synchronized long memoryBytes() {
+        return BASE_BYTES + (long) points.length * BYTES_PER_DAY;
+    }
+
+    /**
+     * Estimates the footprint of an index over the given number of days, before it is built.
+     */
+    public static long estimateMemoryBytes(int days) {
+        return BASE_BYTES + (days + HEADROOM_DAYS + 1L) * BYTES_PER_DAY;
+    }
+
+    private long sumBetween(long[] tree, long fromDay, long toDay) {
+        return prefix(tree, toDay) - prefix(tree, fromDay - 1);
+    }
+
+    private long sumBetween(int[] tree, long fromDay, long toDay) {
+        return prefix(tree, toDay) - prefix(tree, fromDay - 1);
+    }
+
+    /**
+     * @return the sum of all days up to and including {@code day}
+     */
+    private long prefix(long[] tree, long day) {
+        long slot = Math.min(day - firstDay + 1, tree.length - 1);
+        long sum = 0;
+        for (int i = (int) Math.max(slot, 0); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private long prefix(int[] tree, long day) {
+        long slot = Math.min(day - firstDay + 1, tree.length - 1);
+        long sum = 0;
+        for (int i = (int) Math.max(slot, 0); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Re-allocates the trees when {@code day} is outside the covered range, keeping every day's values.
+     */
+    private void ensureCovers(long day) {
+        long lastDay = firstDay + points.length - 2;
+        if (day >= firstDay && day <= lastDay) {
+            return;
+        }
+        long newFirstDay = Math.min(firstDay, day);
+        long newLastDay = Math.max(lastDay, day + HEADROOM_DAYS);
+        long days = newLastDay - newFirstDay + 1;
+        if (days > Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException("Date " + LocalDate.ofEpochDay(day) + " is too far from the indexed range.");
+        }
+
+        long[] dailyPoints = daily(points);
+        long[] dailySpend = daily(spendCents);
+        long[] dailyCounts = daily(counts);
+        int shift = (int) (firstDay - newFirstDay);
+        firstDay = newFirstDay;
+        allocate((int) days);
+        for (int offset = 0; offset < dailyPoints.length; offset++) {
+            int slot = offset + shift + 1;
+            points[slot] = dailyPoints[offset];
+            spendCents[slot] = dailySpend[offset];
+            counts[slot] = (int) dailyCounts[offset];
+        }
+        build(points);
+        build(spendCents);
+        build(counts);
+    }
+
+    private void allocate(int days) {
+        points = new long[days + 1];
+        spendCents = new long[days + 1];
+        counts = new int[days + 1];
+    }
+
+    /**
+     * Converts a tree back to per-day values in O(days).
+     */
+    private static long[] daily(long[] tree) {
+        long[] values = tree.clone();
+        for (int i = values.length - 1; i > 0; i--) {
+            int parent = i + (i & -i);
+            if (parent < values.length) {
+                values[parent] -= values[i];
+            }
+        }
+        return slice(values);
+    }
+
+    private static long[] daily(int[] tree) {
+        long[] values = new long[tree.length];
+        for (int i = 0; i < tree.length; i++) {
+            values[i] = tree[i];
+        }
+        return daily(values);
+    }
+
+    private static long[] slice(long[] values) {
+        long[] days = new long[values.length - 1];
+        System.arraycopy(values, 1, days, 0, days.length);
+        return days;
+    }
+
+    /**
+     * Turns per-day values into a tree in place in O(days).
+     */
+    private static void build(long[] tree) {
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private static void build(int[] tree) {
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.retail.index;
+
+import com.retail.datasource.PrimaryReads;
+import com.retail.dto.DailyRewardRow;
+import com.retail.entity.Transaction;
+import com.retail.event.RewardRulesChangedEvent;
+import com.retail.event.TransactionsBackfilledEvent;
+import com.retail.event.TransactionsRecordedEvent;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.service.RewardRuleService;
+import com.retail.util.RewardRules;
+import com.retail.util.TransactionCommitBarrier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory-bounded, least-recently-used set of {@link CustomerRewardIndex}es for customers with a
+ * long transaction history.
+ * <p>
+ * The first time a customer's summary is requested, an indexed count decides whether they have at
+ * least {@code rewards.index.min-transactions} transactions. Customers below the threshold, and
+ * customers whose history is too long for the memory budget, are remembered with their transaction
+ * count, so they are not queried again; the former until new transactions take them over the
+ * threshold. For the others the index is built from one per-day aggregate query.
+ * <p>
+ * Indexes are kept current from {@link TransactionsRecordedEvent}s once the writing transaction
+ * commits. The count, and the start and end of a build, are ordered against commits by a
+ * {@link TransactionCommitBarrier}; the aggregate query itself runs outside it, so commits are not
+ * held up by it. Transactions of the customer committed meanwhile are collected, and a recount at
+ * the end tells whether the query already saw them, so every transaction is counted exactly once.
+ * Counts and builds read from the primary database, since a replica may not show a commit already applied.
+ * <p>
+ * The estimated footprint of all indexes is kept within {@code rewards.index.max-memory} by
+ * evicting the least recently used customers. A {@code max-memory} of 0 disables indexing.
+ * A change of reward rules drops every index, and a backfill the indexes of the imported customers.
+ */
+@Component
+public class CustomerRewardIndexCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerRewardIndexCache.class);
+
+    /**
+     * The per-day query covers every date a transaction can carry.
+     */
+    private static final LocalDate FIRST_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate LAST_DATE = LocalDate.of(9999, 12, 31);
+
+    /**
+     * Footprint charged for remembering a customer without an index.
+     */
+    private static final long SMALL_CUSTOMER_BYTES = 64;
+
+    private final TransactionRepositoryHelper transactionRepositoryHelper;
+    private final RewardRuleService rewardRuleService;
+    private final long maxMemoryBytes;
+    private final long minTransactions;
+
+    private final TransactionCommitBarrier commitBarrier = new TransactionCommitBarrier();
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Transactions committed for customers whose index is being built, guarded by {@link #entries}.
+     */
+    private final Map<Long, List<Transaction>> building = new HashMap<>();
+    private long usedBytes;
+
+    public CustomerRewardIndexCache(TransactionRepositoryHelper transactionRepositoryHelper,
+                                    RewardRuleService rewardRuleService,
+                                    @Value("${rewards.index.max-memory:64MB}") DataSize maxMemory,
+                                    @Value("${rewards.index.min-transactions:1000}") long minTransactions) {
+        if (minTransactions < 1) {
+            throw new IllegalArgumentException("rewards.index.min-transactions must be positive.");
+        }
+        this.transactionRepositoryHelper = transactionRepositoryHelper;
+        this.rewardRuleService = rewardRuleService;
+        this.maxMemoryBytes = maxMemory.toBytes();
+        this.minTransactions = minTransactions;
+    }
+
+    public boolean isEnabled() {
+        return maxMemoryBytes > 0;
+    }
+
+    /**
+     * Returns the customer's index, building it if the customer qualifies.
+     *
+     * @param customerId the customer
+     * @return the index, or {@code null} when indexing is disabled or the customer has too few transactions
+     */
+    public CustomerRewardIndex getIndex(Long customerId) {
+        if (!isEnabled()) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(customerId);
+            if (entry != null) {
+                return entry.index;
+            }
+        }
+        return PrimaryReads.call(() -> build(customerId));
+    }
+
+    /**
+     * Applies newly recorded transactions to the loaded indexes once the writing transaction commits.
+     */
+    @EventListener
+    public void onTransactionsRecorded(TransactionsRecordedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Transaction> transactions = List.copyOf(event.getTransactions());
+        commitBarrier.afterCommit(() -> apply(transactions));
+    }
+
+    /**
+     * Drops every index computed under the previous reward rules.
+     */
+    @EventListener
+    public void onRewardRulesChanged(RewardRulesChangedEvent event) {
+        commitBarrier.exclusive(() -> {
+            synchronized (entries) {
+                entries.clear();
+                building.clear();
+                usedBytes = 0;
+            }
+        });
+    }
+
+    /**
+     * Drops the indexes of the customers of a committed backfill, which imported transactions they do not count.
+     */
+    @EventListener
+    public void onTransactionsBackfilled(TransactionsBackfilledEvent event) {
+        commitBarrier.exclusive(() -> {
+            synchronized (entries) {
+                event.getCustomerIds().forEach(customerId -> {
+                    remove(customerId);
+                    building.remove(customerId);
+                });
+            }
+        });
+    }
+
+    /**
+     * @return the estimated footprint of all indexes, in bytes
+     */
+    public long usedBytes() {
+        synchronized (entries) {
+            return usedBytes;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private CustomerRewardIndex build(Long customerId) {
+        boolean qualifies = commitBarrier.reload(() -> {
+            synchronized (entries) {
+                if (entries.containsKey(customerId) || building.containsKey(customerId)) {
+                    return false;
+                }
+            }
+            long transactions = transactionRepositoryHelper.countTransactions(customerId);
+            synchronized (entries) {
+                if (transactions < minTransactions) {
+                    store(customerId, new Entry(null, transactions, false));
+                    return false;
+                }
+                building.put(customerId, new ArrayList<>());
+                return true;
+            }
+        });
+        if (!qualifies) {
+            synchronized (entries) {
+                Entry entry = entries.get(customerId);
+                return entry == null ? null : entry.index;
+            }
+        }
+
+        RewardRules rules = rewardRuleService.currentRules();
+        List<DailyRewardRow> days;
+        try {
+            days = transactionRepositoryHelper.findDailyRewards(customerId, FIRST_DATE, LAST_DATE, rules);
+        } catch (RuntimeException ex) {
+            synchronized (entries) {
+                building.remove(customerId);
+            }
+            throw ex;
+        }
+        return commitBarrier.reload(() -> {
+            List<Transaction> committed;
+            synchronized (entries) {
+                committed = building.remove(customerId);
+            }
+            if (committed == null) {
+                // Dropped by a rule change or a backfill while building.
+                return null;
+            }
+            List<DailyRewardRow> history = days;
+            long transactions = countDays(history);
+            long total = transactionRepositoryHelper.countTransactions(customerId);
+            if (transactions == total) {
+                committed = List.of();
+            } else if (transactions + committed.size() != total) {
+                // Saw some of the transactions committed meanwhile but not all: query again, now ordered with commits.
+                history = transactionRepositoryHelper.findDailyRewards(customerId, FIRST_DATE, LAST_DATE, rules);
+                committed = List.of();
+            }
+            return index(customerId, history, committed, total, rules);
+        });
+    }
+
+    /**
+     * Must run while commits are held back by the barrier.
+     */
+    private CustomerRewardIndex index(Long customerId, List<DailyRewardRow> days, List<Transaction> committed,
+                                      long transactions, RewardRules rules) {
+        LocalDate first = null;
+        LocalDate last = null;
+        if (!days.isEmpty()) {
+            first = days.get(0).getTransactionDate();
+            last = days.get(days.size() - 1).getTransactionDate();
+        }
+        for (Transaction tx : committed) {
+            first = first == null || tx.getTransactionDate().isBefore(first) ? tx.getTransactionDate() : first;
+            last = last == null || tx.getTransactionDate().isAfter(last) ? tx.getTransactionDate() : last;
+        }
+        if (first == null) {
+            store(customerId, new Entry(null, transactions, false));
+            return null;
+        }
+        long span = last.toEpochDay() - first.toEpochDay() + 1;
+        if (span > Integer.MAX_VALUE / 2 || CustomerRewardIndex.estimateMemoryBytes((int) span) > maxMemoryBytes) {
+            logger.debug("History of customer {} spans {} days, too large to index", customerId, span);
+            store(customerId, new Entry(null, transactions, true));
+            return null;
+        }
+        CustomerRewardIndex index = new CustomerRewardIndex(first, (int) span);
+        for (DailyRewardRow day : days) {
+            index.add(day.getTransactionDate(), day.getRewardPoints(), day.getSpendCents(), day.getTransactionCount());
+        }
+        for (Transaction tx : committed) {
+            index.add(tx.getTransactionDate(), rules.points(tx.getTransactionAmountCents(), tx.getTransactionDate()),
+                    tx.getTransactionAmountCents(), 1);
+        }
+        store(customerId, new Entry(index, transactions, false));
+        logger.debug("Indexed {} transactions of customer {} over {} days", transactions, customerId, span);
+        return index;
+    }
+
+    private static long countDays(List<DailyRewardRow> days) {
+        long transactions = 0;
+        for (DailyRewardRow day : days) {
+            transactions += day.getTransactionCount();
+        }
+        return transactions;
+    }
+
+    private void apply(List<Transaction> transactions) {
+        RewardRules rules = rewardRuleService.currentRules();
+        synchronized (entries) {
+            for (Transaction tx : transactions) {
+                Long customerId = tx.getCustomer().getCustomerId();
+                List<Transaction> pending = building.get(customerId);
+                if (pending != null) {
+                    pending.add(tx);
+                }
+                Entry entry = entries.get(customerId);
+                if (entry == null) {
+                    continue;
+                }
+                if (entry.index == null) {
+                    entry.transactionCount++;
+                    if (!entry.tooLarge && entry.transactionCount >= minTransactions) {
+                        // Rebuilt on the next request, now that the customer qualifies.
+                        remove(customerId);
+                    }
+                    continue;
+                }
+                long before = entry.index.memoryBytes();
+                entry.index.add(tx.getTransactionDate(), rules.points(tx.getTransactionAmountCents(), tx.getTransactionDate()),
+                        tx.getTransactionAmountCents(), 1);
+                usedBytes += entry.index.memoryBytes() - before;
+            }
+            evictToBudget();
+        }
+    }
+
+    private void store(Long customerId, Entry entry) {
+        synchronized (entries) {
+            remove(customerId);
+            entries.put(customerId, entry);
+            usedBytes += entry.memoryBytes();
+            evictToBudget();
+        }
+    }
+
+    private void remove(Long customerId) {
+        Entry removed = entries.remove(customerId);
+        if (removed != null) {
+            usedBytes -= removed.memoryBytes();
+        }
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxMemoryBytes && eldest.hasNext()) {
+            Map.Entry<Long, Entry> evicted = eldest.next();
+            usedBytes -= evicted.getValue().memoryBytes();
+            eldest.remove();
+            logger.debug("Evicted reward index of customer {}", evicted.getKey());
+        }
+    }
+
+    private static final class Entry {
+        private final CustomerRewardIndex index;
+        private long transactionCount;
+        /**
+         * The history spans too many days for the memory budget; not indexed until evicted.
+         */
+        private final boolean tooLarge;
+
+        private Entry(CustomerRewardIndex index, long transactionCount, boolean tooLarge) {
+            this.index = index;
+            this.transactionCount = transactionCount;
+            this.tooLarge = tooLarge;
+        }
+
+        private long memoryBytes() {
+            return index == null ? SMALL_CUSTOMER_BYTES : index.memoryBytes();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.retail.ingest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free ring buffer for many producer threads and a single consumer thread.
+ * <p>
+ * Every slot carries a sequence number that says whose turn it is: a slot whose sequence
+ * equals a position is free for the producer claiming that position, and one whose sequence
+ * is the position plus one holds a published element for the consumer. Producers claim a
+ * run of positions with one compare-and-set on the tail, write their elements and publish
+ * each slot with a release store; the consumer reads slots in order and hands each one back
+ * to the producers {@code capacity} positions later. Nobody blocks: a full buffer makes
+ * {@link #offerAll} return {@code false}, and the caller decides how to back off.
+ * <p>
+ * {@link #offerAll} is all-or-nothing, so the elements of one call are never split by a full
+ * buffer and are consumed contiguously and in order.
+ *
+ * @param <E> element type
+ */
+public class MpscRingBuffer<E> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int capacity;
+    private final int mask;
+
+    /**
+     * Next position to be claimed by a producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Next position to be read by the consumer; written by the consumer only.
+     */
+    private volatile long head;
+
+    /**
+     * Creates a buffer holding at least {@code capacity} elements, rounded up to a power of two.
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring buffer capacity must be between 1 and 2^30.");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new Object[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends all elements, or none of them when the buffer has too little free space.
+     * Safe to call from any number of threads.
+     *
+     * @param elements elements to append, at most {@link #capacity()}
+     * @return {@code true} when the elements were appended, {@code false} when the buffer is full
+     */
+    public boolean offerAll(List<? extends E> elements) {
+        int count = elements.size();
+        if (count > capacity) {
+            throw new IllegalArgumentException("Cannot offer " + count + " elements to a ring buffer of " + capacity + ".");
+        }
+        if (count == 0) {
+            return true;
+        }
+        long first;
+        while (true) {
+            first = tail.get();
+            long last = first + count - 1;
+            // The consumer frees slots in order, so the claim fits when its last slot is free.
+            long sequence = sequences.get((int) (last & mask));
+            if (sequence < last) {
+                return false;
+            }
+            if (sequence == last && tail.compareAndSet(first, first + count)) {
+                break;
+            }
+            // Another producer claimed these positions first; retry from the new tail.
+        }
+        for (int i = 0; i < count; i++) {
+            long position = first + i;
+            int index = (int) (position & mask);
+            slots[index] = elements.get(i);
+            sequences.lazySet(index, position + 1);
+        }
+        return true;
+    }
+
+    /**
+     * Moves up to {@code maxElements} published elements into {@code sink}, oldest first.
+     * Must only be called from the single consumer thread.
+     *
+     * @return number of elements moved
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super E> sink, int maxElements) {
+        long position = head;
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            sink.add((E) slots[index]);
+            slots[index] = null;
+            sequences.lazySet(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * @return number of claimed positions not yet consumed, including ones still being written
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,39 @@
+package com.retail.job;
+
+import com.retail.directory.CustomerDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically compares the customer directory with the {@code customers} table, so customers
+ * created by other instances or a backfill run are listed without a restart.
+ * <p>
+ * Runs every {@code rewards.directory.refresh-interval}. A failed refresh is logged and the
+ * directory in use is kept.
+ */
+@Component
+@EnableScheduling
+public class CustomerDirectoryRefreshJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerDirectoryRefreshJob.class);
+
+    private final CustomerDirectory customerDirectory;
+
+    public CustomerDirectoryRefreshJob(CustomerDirectory customerDirectory) {
+        this.customerDirectory = customerDirectory;
+    }
+
+    @Scheduled(initialDelayString = "${rewards.directory.refresh-interval:PT1M}", fixedDelayString = "${rewards.directory.refresh-interval:PT1M}")
+    public void refresh() {
+        try {
+            if (customerDirectory.refreshIfChanged()) {
+                logger.info("Customer directory refreshed");
+            }
+        } catch (RuntimeException e) {
+            logger.error("Customer directory refresh failed, keeping the directory in use", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.retail.job;
+
+import com.retail.service.RewardLeaderboardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically rebuilds the loaded reward leaderboards from the database, so transactions
+ * recorded by other instances show up in the rankings without a restart.
+ * <p>
+ * Runs every {@code rewards.leaderboard.refresh-interval}. A failed refresh is logged and the
+ * leaderboards in use are kept.
+ */
+@Component
+@EnableScheduling
+public class RewardLeaderboardRefreshJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardLeaderboardRefreshJob.class);
+
+    private final RewardLeaderboardService rewardLeaderboardService;
+
+    public RewardLeaderboardRefreshJob(RewardLeaderboardService rewardLeaderboardService) {
+        this.rewardLeaderboardService = rewardLeaderboardService;
+    }
+
+    @Scheduled(initialDelayString = "${rewards.leaderboard.refresh-interval:PT5M}", fixedDelayString = "${rewards.leaderboard.refresh-interval:PT5M}")
+    public void refresh() {
+        try {
+            int rebuilt = rewardLeaderboardService.refreshLeaderboards();
+            if (rebuilt > 0) {
+                logger.info("Rebuilt {} reward leaderboards", rebuilt);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Reward leaderboard refresh failed, keeping the leaderboards in use", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.retail.job;
+
+import com.retail.service.RewardLedgerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repair job that rebuilds the monthly reward ledger from raw transactions on startup.
+ * <p>
+ * Enabled with {@code rewards.ledger.rebuild-on-startup=true}, e.g. after a bulk load
+ * that bypassed the application or when the ledger is suspected to have drifted.
+ */
+@Component
+@ConditionalOnProperty(name = "rewards.ledger.rebuild-on-startup", havingValue = "true")
+public class RewardLedgerRepairJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardLedgerRepairJob.class);
+
+    private final RewardLedgerService rewardLedgerService;
+
+    public RewardLedgerRepairJob(RewardLedgerService rewardLedgerService) {
+        this.rewardLedgerService = rewardLedgerService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long rows = rewardLedgerService.rebuildLedger();
+        logger.info("Ledger repair job finished, {} monthly rows rebuilt", rows);
+    }
+}
@@ -0,0 +1,51 @@
+package com.retail.job;
+
+import com.retail.service.RewardLedgerService;
+import com.retail.service.RewardRuleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically re-reads the reward tier definitions so rule changes made in the database
+ * take effect without a restart.
+ * <p>
+ * Runs every {@code rewards.rules.refresh-interval}. Invalid definitions are logged and
+ * the rules in force are kept. Whenever the monthly reward ledger was built under other rules,
+ * whether swapped in here, by another instance or while the application was down, it is rebuilt
+ * under the rules in force; a failed or skipped rebuild is retried on the next run.
+ */
+@Component
+@EnableScheduling
+public class RewardRuleRefreshJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardRuleRefreshJob.class);
+
+    private final RewardRuleService rewardRuleService;
+    private final RewardLedgerService rewardLedgerService;
+
+    public RewardRuleRefreshJob(RewardRuleService rewardRuleService, RewardLedgerService rewardLedgerService) {
+        this.rewardRuleService = rewardRuleService;
+        this.rewardLedgerService = rewardLedgerService;
+    }
+
+    @Scheduled(initialDelayString = "${rewards.rules.refresh-interval:PT1M}", fixedDelayString = "${rewards.rules.refresh-interval:PT1M}")
+    public void refresh() {
+        try {
+            if (rewardRuleService.reloadRules()) {
+                logger.info("Reward rules refreshed");
+            }
+        } catch (RuntimeException e) {
+            logger.error("Reward rule refresh failed, keeping the rules in force", e);
+        }
+        try {
+            if (rewardLedgerService.rebuildLedgerIfStale()) {
+                logger.info("Reward ledger rebuilt under the current reward rules");
+            }
+        } catch (RuntimeException e) {
+            logger.error("Reward ledger rebuild failed, summaries keep bypassing the ledger", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.retail.job;
+
+import com.retail.export.StatementFormat;
+import com.retail.service.RewardExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Month-end job that exports the reward statements of the previous month for the mailing vendor.
+ * <p>
+ * Runs on the {@code rewards.export.cron} schedule, which is disabled ({@code -}) by default,
+ * in the {@code rewards.export.format} file format.
+ */
+@Component
+public class RewardStatementExportJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardStatementExportJob.class);
+
+    private final RewardExportService rewardExportService;
+    private final StatementFormat format;
+
+    public RewardStatementExportJob(RewardExportService rewardExportService,
+                                    @Value("${rewards.export.format:ndjson}") String format) {
+        this.rewardExportService = rewardExportService;
+        this.format = StatementFormat.fromExtension(format);
+    }
+
+    @Scheduled(cron = "${rewards.export.cron:-}")
+    public void exportPreviousMonth() {
+        YearMonth month = YearMonth.now().minusMonths(1);
+        try {
+            String exportId = rewardExportService.startExport(month.atDay(1), month.atEndOfMonth(), format).getExportId();
+            logger.info("Started month-end reward statement export {} for {}", exportId, month);
+        } catch (RuntimeException e) {
+            logger.error("Month-end reward statement export for {} could not be started", month, e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.retail.job;
+
+import com.retail.dto.TransactionBackfillReport;
+import com.retail.service.TransactionBackfillService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Command-line mode that imports a historical transaction export on startup, e.g.
+ * {@code java -jar customer-rewards.jar --spring.main.web-application-type=none --rewards.backfill.file=history.csv}.
+ * <p>
+ * Enabled by setting {@code rewards.backfill.file}. The application exits once the import is done
+ * unless {@code rewards.backfill.exit-on-completion=false}; a failed import fails startup, and
+ * running the same command again resumes it.
+ */
+@Component
+@ConditionalOnProperty(name = "rewards.backfill.file")
+public class TransactionBackfillJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionBackfillJob.class);
+
+    private final TransactionBackfillService transactionBackfillService;
+    private final ConfigurableApplicationContext applicationContext;
+    private final Path file;
+    private final boolean exitOnCompletion;
+
+    public TransactionBackfillJob(TransactionBackfillService transactionBackfillService,
+                                  ConfigurableApplicationContext applicationContext,
+                                  @Value("${rewards.backfill.file}") Path file,
+                                  @Value("${rewards.backfill.exit-on-completion:true}") boolean exitOnCompletion) {
+        this.transactionBackfillService = transactionBackfillService;
+        this.applicationContext = applicationContext;
+        this.file = file;
+        this.exitOnCompletion = exitOnCompletion;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        TransactionBackfillReport report = transactionBackfillService.importFile(file);
+        logger.info("Backfill job finished, {} rows loaded at {} rows/s", report.getRowsLoaded(), report.getRowsPerSecond());
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.retail.leaderboard;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Calendar periods a reward leaderboard can rank customers over.
+ */
+public enum LeaderboardPeriod {
+    MONTH(1),
+    QUARTER(3);
+
+    private final int months;
+
+    LeaderboardPeriod(int months) {
+        this.months = months;
+    }
+
+    /**
+     * @param date any day of the period
+     * @return the first day of the period containing {@code date}
+     */
+    public LocalDate startOf(LocalDate date) {
+        YearMonth month = YearMonth.from(date);
+        return month.minusMonths((month.getMonthValue() - 1) % months).atDay(1);
+    }
+
+    /**
+     * @param startDate the first day of a period, as returned by {@link #startOf(LocalDate)}
+     * @return the last day of that period
+     */
+    public LocalDate endOf(LocalDate startDate) {
+        return startDate.plusMonths(months).minusDays(1);
+    }
+}
@@ -0,0 +1,102 @@
+package com.retail.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Running reward totals of one period with the highest-ranked customers kept in order.
+ * <p>
+ * Every customer's total is held in a hash map, but only the best {@code capacity} standings
+ * are kept in a sorted set, ordered by points descending and customer ID ascending. Points only
+ * ever grow, so a customer outside the set can enter it only by overtaking its last entry;
+ * each update therefore costs O(log capacity) and reading the top N costs O(N), independent of
+ * the number of customers.
+ * <p>
+ * Instances are thread-safe.
+ */
+public class RewardLeaderboard {
+
+    private static final Comparator<Standing> RANKING = Comparator.comparingLong(Standing::rewardPoints).reversed()
+            .thenComparingLong(Standing::customerId);
+
+    private final int capacity;
+    private final Map<Long, Long> totals = new HashMap<>();
+    private final TreeSet<Standing> top = new TreeSet<>(RANKING);
+
+    /**
+     * @param capacity the largest N that {@link #top(int)} can answer
+     */
+    public RewardLeaderboard(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Leaderboard capacity must be positive.");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds reward points to a customer's total and moves the customer up the ranking if needed.
+     *
+     * @param customerId the customer
+     * @param points     points to add; must not be negative
+     */
+    public synchronized void add(long customerId, long points) {
+        if (points < 0) {
+            throw new IllegalArgumentException("Leaderboard points must not be negative.");
+        }
+        Long previous = totals.get(customerId);
+        if (previous != null && points == 0) {
+            return;
+        }
+        long total = previous == null ? points : previous + points;
+        totals.put(customerId, total);
+        if (previous != null) {
+            top.remove(new Standing(customerId, previous));
+        }
+
+        Standing standing = new Standing(customerId, total);
+        if (top.size() < capacity) {
+            top.add(standing);
+        } else if (RANKING.compare(standing, top.last()) < 0) {
+            top.pollLast();
+            top.add(standing);
+        }
+    }
+
+    /**
+     * @param limit the number of standings to return, at most the capacity
+     * @return the best {@code limit} standings, highest first
+     */
+    public synchronized List<Standing> top(int limit) {
+        if (limit > capacity) {
+            throw new IllegalArgumentException("Leaderboard holds only the top " + capacity + " customers.");
+        }
+        List<Standing> standings = new ArrayList<>(Math.min(limit, top.size()));
+        Iterator<Standing> iterator = top.iterator();
+        while (standings.size() < limit && iterator.hasNext()) {
+            standings.add(iterator.next());
+        }
+        return standings;
+    }
+
+    /**
+     * @return the number of customers with a total in this period
+     */
+    public synchronized int customerCount() {
+        return totals.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * A customer's total reward points in the period.
+     */
+    public record Standing(long customerId, long rewardPoints) {
+    }
+}
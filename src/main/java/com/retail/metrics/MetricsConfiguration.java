@@ -0,0 +1,42 @@
+package com.retail.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wires per-request SQL statement counting into Hibernate and the servlet filter chain.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new SqlStatementCounter(configuredInspector(properties.get(AvailableSettings.STATEMENT_INSPECTOR))));
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(RewardMetrics rewardMetrics) {
+        FilterRegistrationBean<SqlStatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementMetricsFilter(rewardMetrics));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    private static StatementInspector configuredInspector(Object setting) {
+        if (setting == null) {
+            return null;
+        }
+        if (setting instanceof StatementInspector inspector) {
+            return inspector;
+        }
+        Class<?> type = setting instanceof Class<?> c ? c : ClassUtils.resolveClassName(setting.toString(), null);
+        return (StatementInspector) BeanUtils.instantiateClass(type);
+    }
+}
@@ -0,0 +1,114 @@
+package com.retail.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records where time goes inside reward requests.
+ * <p>
+ * All meters are registered up front and looked up by array index, so recording a phase costs
+ * one {@link System#nanoTime()} call and a histogram update. Nothing is recorded per transaction;
+ * callers time whole phases and report row counts once per request.
+ * <p>
+ * Meters:
+ * - {@code rewards.phase} timer, tagged {@code operation} and {@code phase}.
+ * - {@code rewards.rows.fetched} summary, tagged {@code operation}.
+ * - {@code rewards.sql.statements} summary, tagged {@code uri}.
+ */
+@Component
+public class RewardMetrics {
+
+    public enum Operation {
+        ALL_CUSTOMERS, ALL_CUSTOMERS_SUMMARY, CUSTOMER, SUMMARY, STREAM, BATCH
+    }
+
+    /**
+     * {@code PARTITIONED_COMPUTATION} is the elapsed time of a parallel computation, whose
+     * partitions fetch transactions and compute points concurrently.
+     */
+    public enum Phase {
+        CUSTOMER_FETCH, TRANSACTION_FETCH, POINTS_COMPUTATION, PARTITIONED_COMPUTATION
+    }
+
+    private final MeterRegistry registry;
+    private final Timer[][] phaseTimers;
+    private final DistributionSummary[] rowsFetched;
+
+    public RewardMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.phaseTimers = new Timer[Operation.values().length][Phase.values().length];
+        this.rowsFetched = new DistributionSummary[Operation.values().length];
+        for (Operation operation : Operation.values()) {
+            for (Phase phase : Phase.values()) {
+                phaseTimers[operation.ordinal()][phase.ordinal()] = Timer.builder("rewards.phase")
+                        .description("Time spent in each phase of a reward request")
+                        .tag("operation", tagValue(operation))
+                        .tag("phase", tagValue(phase))
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+            rowsFetched[operation.ordinal()] = DistributionSummary.builder("rewards.rows.fetched")
+                    .description("Transaction or ledger rows read per reward request")
+                    .baseUnit("rows")
+                    .tag("operation", tagValue(operation))
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Records a phase that started at {@code startNanos} and ends now.
+     *
+     * @param operation  the reward operation being served
+     * @param phase      the phase that just finished
+     * @param startNanos {@link System#nanoTime()} at the start of the phase
+     * @return the current {@link System#nanoTime()}, to be used as the start of the next phase
+     */
+    public long recordPhase(Operation operation, Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        phaseTimers[operation.ordinal()][phase.ordinal()].record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Records a phase whose time was accumulated over several steps, e.g. the chunks of a batch.
+     *
+     * @param operation    the reward operation being served
+     * @param phase        the phase that was measured
+     * @param elapsedNanos total time spent in the phase
+     */
+    public void recordPhaseNanos(Operation operation, Phase phase, long elapsedNanos) {
+        phaseTimers[operation.ordinal()][phase.ordinal()].record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the number of rows read from the database to serve one request.
+     */
+    public void recordRowsFetched(Operation operation, long rows) {
+        rowsFetched[operation.ordinal()].record(rows);
+    }
+
+    /**
+     * Records the number of SQL statements issued while serving one request.
+     *
+     * @param uri        the matched request mapping, e.g. {@code /api/rewards/{customerId}}
+     * @param statements number of statements
+     */
+    public void recordSqlStatements(String uri, long statements) {
+        DistributionSummary.builder("rewards.sql.statements")
+                .description("SQL statements issued per request")
+                .baseUnit("statements")
+                .tag("uri", uri)
+                .register(registry)
+                .record(statements);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
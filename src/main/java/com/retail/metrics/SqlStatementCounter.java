@@ -0,0 +1,49 @@
+package com.retail.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} that counts the SQL statements issued on the current
+ * thread between {@link #begin()} and {@link #end()}.
+ * <p>
+ * Statements outside a counting scope, such as those of streamed responses written on an
+ * async thread, are not counted. An inspector configured through
+ * {@code hibernate.session_factory.statement_inspector} is kept as the delegate.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    private final StatementInspector delegate;
+
+    public SqlStatementCounter(StatementInspector delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = CURRENT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return delegate == null ? sql : delegate.inspect(sql);
+    }
+
+    /**
+     * Starts counting statements issued on the current thread.
+     */
+    public static void begin() {
+        CURRENT.set(new long[1]);
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return the number of statements issued since {@link #begin()}
+     */
+    public static long end() {
+        long[] count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
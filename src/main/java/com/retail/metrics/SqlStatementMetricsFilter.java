@@ -0,0 +1,39 @@
+package com.retail.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements issued while handling each API request and records them
+ * against the matched request mapping.
+ */
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final RewardMetrics rewardMetrics;
+
+    public SqlStatementMetricsFilter(RewardMetrics rewardMetrics) {
+        this.rewardMetrics = rewardMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = SqlStatementCounter.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // Streamed responses query on another thread; a count of the request thread alone would be misleading.
+            if (pattern != null && !request.isAsyncStarted()) {
+                rewardMetrics.recordSqlStatements(pattern.toString(), statements);
+            }
+        }
+    }
+}
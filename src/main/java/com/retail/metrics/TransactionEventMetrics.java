@@ -0,0 +1,61 @@
+package com.retail.metrics;
+
+import com.retail.service.TransactionEventService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the transaction event pipeline's lag and outcomes as meters.
+ * <p>
+ * Values are read from the pipeline's counters when the registry is scraped, so submitting
+ * and committing events carry no additional cost.
+ * <p>
+ * Meters:
+ * - {@code rewards.ingestion.lag} gauge: events accepted but not yet committed.
+ * - {@code rewards.ingestion.lag.age} gauge: age in seconds of the oldest of them.
+ * - {@code rewards.ingestion.events} counter, tagged {@code outcome}.
+ * - {@code rewards.ingestion.commit.failures} counter: batch commits that were retried or dropped.
+ */
+@Component
+public class TransactionEventMetrics implements MeterBinder {
+
+    private final TransactionEventService transactionEventService;
+
+    public TransactionEventMetrics(TransactionEventService transactionEventService) {
+        this.transactionEventService = transactionEventService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rewards.ingestion.lag", transactionEventService, service -> service.stats().getLag())
+                .description("Transaction events accepted but not yet committed")
+                .baseUnit("events")
+                .register(registry);
+        Gauge.builder("rewards.ingestion.lag.age", transactionEventService, service -> service.stats().getLagMillis() / 1000.0)
+                .description("Age of the oldest transaction event not yet committed")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("rewards.ingestion.events", transactionEventService, service -> service.stats().getRecorded())
+                .description("Transaction events committed by the ingestion pipeline")
+                .tag("outcome", "recorded")
+                .register(registry);
+        FunctionCounter.builder("rewards.ingestion.events", transactionEventService, service -> service.stats().getDuplicates())
+                .description("Transaction events committed by the ingestion pipeline")
+                .tag("outcome", "duplicate")
+                .register(registry);
+        FunctionCounter.builder("rewards.ingestion.events", transactionEventService, service -> service.stats().getRejected())
+                .description("Transaction events committed by the ingestion pipeline")
+                .tag("outcome", "rejected")
+                .register(registry);
+        FunctionCounter.builder("rewards.ingestion.events", transactionEventService, service -> service.stats().getDropped())
+                .description("Transaction events committed by the ingestion pipeline")
+                .tag("outcome", "dropped")
+                .register(registry);
+        FunctionCounter.builder("rewards.ingestion.commit.failures", transactionEventService, service -> service.stats().getFailedCommits())
+                .description("Failed group commits of the ingestion pipeline")
+                .register(registry);
+    }
+}
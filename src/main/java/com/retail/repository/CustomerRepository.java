@@ -1,9 +1,22 @@
 package com.retail.repository;
 
+import com.retail.dto.CustomerNameRow;
+import com.retail.dto.CustomerTransactionRow;
 import com.retail.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Repository interface for Customer entity.
  * <p>
@@ -12,4 +25,61 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    /**
+     * Reads a customer's reward version by primary key, without loading the entity.
+     *
+     * @param customerId the ID of the customer
+     * @return the reward version, or empty if the customer does not exist
+     */
+    @Query("select c.rewardVersion from Customer c where c.customerId = :customerId")
+    Optional<Long> findRewardVersionByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Increments the reward version of the given customers in one statement.
+     *
+     * @param customerIds the IDs of the customers whose rewards changed
+     * @return the number of customers updated
+     */
+    @Modifying
+    @Query("update Customer c set c.rewardVersion = c.rewardVersion + 1 where c.customerId in :customerIds")
+    int incrementRewardVersions(@Param("customerIds") Collection<Long> customerIds);
+
+    /**
+     * Streams the ID and name of every customer through a database cursor, without hydrating
+     * entities or their transaction collections. The returned stream must be consumed inside
+     * a transaction and closed by the caller.
+     *
+     * @return Stream of {@link CustomerNameRow} projections
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.retail.dto.CustomerNameRow(c.customerId, c.customerName) from Customer c")
+    Stream<CustomerNameRow> streamCustomerNames();
+
+    /**
+     * Streams every customer joined with their transactions within the given date range.
+     * <p>
+     * Rows are ordered by customer ID, then transaction date, and are read through a
+     * database cursor without hydrating entities. Customers without transactions in the
+     * range produce a single row with empty transaction fields. The returned stream must
+     * be consumed inside a transaction and closed by the caller.
+     *
+     * @param startDate start of the transaction date range
+     * @param endDate   end of the transaction date range
+     * @return Stream of {@link CustomerTransactionRow} projections
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.retail.dto.CustomerTransactionRow(c.customerId, c.customerName, "
+            + "t.transactionId, t.transactionAmountCents, t.transactionDate) "
+            + "from Customer c left join Transaction t "
+            + "on t.customer = c and t.transactionDate between :startDate and :endDate "
+            + "order by c.customerId, t.transactionDate, t.transactionId")
+    Stream<CustomerTransactionRow> streamCustomerTransactions(@Param("startDate") LocalDate startDate,
+                                                              @Param("endDate") LocalDate endDate);
 }
@@ -0,0 +1,53 @@
+package com.retail.repository;
+
+import com.retail.entity.MonthlyRewardLedger;
+import com.retail.entity.MonthlyRewardLedgerId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for the {@link MonthlyRewardLedger} rollup.
+ * <p>
+ * Methods:
+ * - findByCustomerIdAndPeriodStartBetweenOrderByPeriodStart:
+ * Retrieves a customer's monthly rollups between two month starts (inclusive).
+ * - incrementPeriod:
+ * Adds reward points, spend and transaction count to an existing monthly rollup in place.
+ */
+public interface MonthlyRewardLedgerRepository extends JpaRepository<MonthlyRewardLedger, MonthlyRewardLedgerId> {
+
+    /**
+     * Fetches the monthly rollups of a customer between the given month starts.
+     *
+     * @param customerId the ID of the customer
+     * @param fromPeriod first day of the first month
+     * @param toPeriod   first day of the last month
+     * @return List of ledger rows ordered by month
+     */
+    List<MonthlyRewardLedger> findByCustomerIdAndPeriodStartBetweenOrderByPeriodStart(Long customerId, LocalDate fromPeriod, LocalDate toPeriod);
+
+    /**
+     * Adds the given deltas to an existing monthly rollup.
+     *
+     * @param customerId  the ID of the customer
+     * @param periodStart first day of the month
+     * @param points      reward points to add
+     * @param spendCents  spend to add, in cents
+     * @param count       number of transactions to add
+     * @return the number of rows updated; 0 when the month has no rollup yet
+     */
+    @Modifying
+    @Query("update MonthlyRewardLedger l set l.rewardPoints = l.rewardPoints + :points, "
+            + "l.totalSpendCents = l.totalSpendCents + :spendCents, l.transactionCount = l.transactionCount + :count "
+            + "where l.customerId = :customerId and l.periodStart = :periodStart")
+    int incrementPeriod(@Param("customerId") Long customerId,
+                        @Param("periodStart") LocalDate periodStart,
+                        @Param("points") long points,
+                        @Param("spendCents") long spendCents,
+                        @Param("count") long count);
+}
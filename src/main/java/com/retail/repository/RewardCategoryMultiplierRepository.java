@@ -0,0 +1,10 @@
+package com.retail.repository;
+
+import com.retail.entity.RewardCategoryMultiplier;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for {@link RewardCategoryMultiplier} rule definitions.
+ */
+public interface RewardCategoryMultiplierRepository extends JpaRepository<RewardCategoryMultiplier, Long> {
+}
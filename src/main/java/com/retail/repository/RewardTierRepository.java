@@ -0,0 +1,17 @@
+package com.retail.repository;
+
+import com.retail.entity.RewardTier;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repository interface for {@link RewardTier} rule definitions.
+ */
+public interface RewardTierRepository extends JpaRepository<RewardTier, Long> {
+
+    /**
+     * @return every tier of every rule version, ordered by version and threshold
+     */
+    List<RewardTier> findAllByOrderByEffectiveFromAscThresholdDollarsAsc();
+}
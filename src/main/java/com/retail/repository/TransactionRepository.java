@@ -1,23 +1,43 @@
 package com.retail.repository;
 
+import com.retail.dto.CustomerTransactionRow;
 import com.retail.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link Transaction} entities.
  * <p>
  * This interface extends {@link JpaRepository} to provide standard CRUD operations
- * and includes a custom method to fetch transactions for a specific customer
- * within a given date range.
+ * and includes custom methods to fetch transactions within a given date range.
  * <p>
  * Methods:
  * - findByCustomerIdAndTransactionDateBetween:
  * Retrieves all transactions made by a specific customer between two dates (inclusive).
+ * - findAllByTransactionDateBetweenOrderByCustomer:
+ * Retrieves the transactions of every customer between two dates (inclusive) in a single
+ * query, ordered by customer ID so they can be folded per customer in one pass.
+ * - findAllByCustomerIdBetweenAndTransactionDateBetweenOrderByCustomer:
+ * Same as above, restricted to a range of customer IDs, for partitioned computation.
+ * - findAllByCustomerIdInAndTransactionDateBetweenOrderByCustomer:
+ * Same as above, restricted to a list of customer IDs, for batch lookups.
+ * - findMonthlyRewards / findAllMonthlyRewards (from {@link TransactionRewardAggregateRepository}):
+ * Aggregate reward points per customer and month in the database, for summary responses.
+ * - streamAllOrderByCustomer:
+ * Streams every transaction ever recorded, ordered by customer ID and date, for rebuilding rollups.
+ * - findExistingExternalRefs:
+ * Returns which of the given producer references are already stored, so replayed events are skipped.
  */
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRewardAggregateRepository {
 
     /**
      * Fetches all transactions for the specified customer within the given date range.
@@ -27,5 +47,99 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @param endDate    end of the transaction date range
      * @return List of Transaction objects matching the criteria
      */
-    List<Transaction> findByCustomerIdAndTransactionDateBetween(Long customerId, LocalDate startDate, LocalDate endDate);
+    @Query("select t from Transaction t where t.customer.customerId = :customerId "
+            + "and t.transactionDate between :startDate and :endDate")
+    List<Transaction> findByCustomerIdAndTransactionDateBetween(@Param("customerId") Long customerId,
+                                                                @Param("startDate") LocalDate startDate,
+                                                                @Param("endDate") LocalDate endDate);
+
+    /**
+     * Counts the transactions of a customer, using the index leading with the customer ID.
+     *
+     * @param customerId the ID of the customer
+     * @return number of transactions of the customer
+     */
+    @Query("select count(t) from Transaction t where t.customer.customerId = :customerId")
+    long countByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Fetches the transactions of all customers within the given date range.
+     * <p>
+     * Results are ordered by customer ID, then transaction date, so callers can merge
+     * them against an ID-ordered customer list without any further lookups.
+     *
+     * @param startDate start of the transaction date range
+     * @param endDate   end of the transaction date range
+     * @return List of Transaction objects with their customer fetched
+     */
+    @Query("select t from Transaction t join fetch t.customer c "
+            + "where t.transactionDate between :startDate and :endDate "
+            + "order by c.customerId, t.transactionDate, t.transactionId")
+    List<Transaction> findAllByTransactionDateBetweenOrderByCustomer(@Param("startDate") LocalDate startDate,
+                                                                     @Param("endDate") LocalDate endDate);
+
+    /**
+     * Fetches the transactions of the customers within an ID range and a date range.
+     *
+     * @param fromCustomerId lowest customer ID of the range
+     * @param toCustomerId   highest customer ID of the range
+     * @param startDate      start of the transaction date range
+     * @param endDate        end of the transaction date range
+     * @return List of Transaction objects with their customer fetched, ordered by customer ID
+     */
+    @Query("select t from Transaction t join fetch t.customer c "
+            + "where c.customerId between :fromCustomerId and :toCustomerId "
+            + "and t.transactionDate between :startDate and :endDate "
+            + "order by c.customerId, t.transactionDate, t.transactionId")
+    List<Transaction> findAllByCustomerIdBetweenAndTransactionDateBetweenOrderByCustomer(@Param("fromCustomerId") Long fromCustomerId,
+                                                                                         @Param("toCustomerId") Long toCustomerId,
+                                                                                         @Param("startDate") LocalDate startDate,
+                                                                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * Fetches the transactions of the given customers within a date range.
+     * <p>
+     * Callers bound the size of {@code customerIds}; the list becomes a single SQL IN list.
+     *
+     * @param customerIds IDs of the customers
+     * @param startDate   start of the transaction date range
+     * @param endDate     end of the transaction date range
+     * @return List of Transaction objects with their customer fetched, ordered by customer ID
+     */
+    @Query("select t from Transaction t join fetch t.customer c "
+            + "where c.customerId in :customerIds "
+            + "and t.transactionDate between :startDate and :endDate "
+            + "order by c.customerId, t.transactionDate, t.transactionId")
+    List<Transaction> findAllByCustomerIdInAndTransactionDateBetweenOrderByCustomer(@Param("customerIds") Collection<Long> customerIds,
+                                                                                    @Param("startDate") LocalDate startDate,
+                                                                                    @Param("endDate") LocalDate endDate);
+
+    /**
+     * Streams every transaction, ordered by customer ID and transaction date.
+     * <p>
+     * Rows are read through a database cursor without hydrating entities. The returned
+     * stream must be consumed inside a transaction and closed by the caller.
+     *
+     * @return Stream of {@link CustomerTransactionRow} projections
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.retail.dto.CustomerTransactionRow(c.customerId, c.customerName, "
+            + "t.transactionId, t.transactionAmountCents, t.transactionDate) "
+            + "from Transaction t join t.customer c "
+            + "order by c.customerId, t.transactionDate, t.transactionId")
+    Stream<CustomerTransactionRow> streamAllOrderByCustomer();
+
+    /**
+     * Returns the given external references that are already stored.
+     * <p>
+     * Callers bound the size of {@code externalRefs}; the list becomes a single SQL IN list.
+     *
+     * @param externalRefs producer-assigned transaction references
+     * @return the references that already have a transaction
+     */
+    @Query("select t.externalRef from Transaction t where t.externalRef in :externalRefs")
+    List<String> findExistingExternalRefs(@Param("externalRefs") Collection<String> externalRefs);
 }
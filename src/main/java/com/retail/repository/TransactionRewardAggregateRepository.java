@@ -0,0 +1,49 @@
+package com.retail.repository;
+
+import com.retail.dto.DailyRewardRow;
+import com.retail.dto.MonthlyRewardRow;
+import com.retail.util.RewardRules;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Database-side reward aggregation over transactions.
+ * <p>
+ * The points expression depends on the reward rules in force, so these queries are built
+ * from a {@link RewardRules} snapshot rather than declared statically.
+ */
+public interface TransactionRewardAggregateRepository {
+
+    /**
+     * Aggregates the reward points of one customer per month within the given date range.
+     *
+     * @param customerId the ID of the customer
+     * @param startDate  start of the transaction date range
+     * @param endDate    end of the transaction date range
+     * @param rules      reward rules to evaluate
+     * @return {@link MonthlyRewardRow} rows; a month is split across rows when a rule version starts within it
+     */
+    List<MonthlyRewardRow> findMonthlyRewards(Long customerId, LocalDate startDate, LocalDate endDate, RewardRules rules);
+
+    /**
+     * Aggregates the reward points of every customer per month within the given date range.
+     *
+     * @param startDate start of the transaction date range
+     * @param endDate   end of the transaction date range
+     * @param rules     reward rules to evaluate
+     * @return {@link MonthlyRewardRow} rows ordered by customer ID
+     */
+    List<MonthlyRewardRow> findAllMonthlyRewards(LocalDate startDate, LocalDate endDate, RewardRules rules);
+
+    /**
+     * Aggregates the reward points, spend and transaction count of one customer per day within the given date range.
+     *
+     * @param customerId the ID of the customer
+     * @param startDate  start of the transaction date range
+     * @param endDate    end of the transaction date range
+     * @param rules      reward rules to evaluate
+     * @return {@link DailyRewardRow} rows ordered by date
+     */
+    List<DailyRewardRow> findDailyRewards(Long customerId, LocalDate startDate, LocalDate endDate, RewardRules rules);
+}
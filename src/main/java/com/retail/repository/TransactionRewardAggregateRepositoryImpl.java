@@ -0,0 +1,87 @@
+package com.retail.repository;
+
+import com.retail.dto.DailyRewardRow;
+import com.retail.dto.MonthlyRewardRow;
+import com.retail.util.RewardRules;
+import com.retail.util.RewardRules.VersionRange;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Builds the monthly reward aggregate queries from the compiled reward rules.
+ * <p>
+ * The date range is split by rule version and each part is aggregated with that version's
+ * points expression. With a single version in range, which is the common case, this is one
+ * query. Query strings only change when the rules do, so Hibernate's query plan cache still applies.
+ */
+public class TransactionRewardAggregateRepositoryImpl implements TransactionRewardAggregateRepository {
+
+    private static final String AMOUNT = "t.transactionAmountCents";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MonthlyRewardRow> findMonthlyRewards(Long customerId, LocalDate startDate, LocalDate endDate, RewardRules rules) {
+        List<MonthlyRewardRow> rows = new ArrayList<>();
+        for (VersionRange range : rules.versionsBetween(startDate, endDate)) {
+            TypedQuery<MonthlyRewardRow> query = entityManager.createQuery(select(range)
+                    + "where c.customerId = :customerId and t.transactionDate between :startDate and :endDate "
+                    + "group by c.customerId, year(t.transactionDate), month(t.transactionDate)", MonthlyRewardRow.class);
+            query.setParameter("customerId", customerId);
+            rows.addAll(bind(query, range).getResultList());
+        }
+        return rows;
+    }
+
+    @Override
+    public List<MonthlyRewardRow> findAllMonthlyRewards(LocalDate startDate, LocalDate endDate, RewardRules rules) {
+        List<VersionRange> ranges = rules.versionsBetween(startDate, endDate);
+        List<MonthlyRewardRow> rows = new ArrayList<>();
+        for (VersionRange range : ranges) {
+            TypedQuery<MonthlyRewardRow> query = entityManager.createQuery(select(range)
+                    + "where t.transactionDate between :startDate and :endDate "
+                    + "group by c.customerId, year(t.transactionDate), month(t.transactionDate) "
+                    + "order by c.customerId", MonthlyRewardRow.class);
+            rows.addAll(bind(query, range).getResultList());
+        }
+        if (ranges.size() > 1) {
+            rows.sort(Comparator.comparing(MonthlyRewardRow::getCustomerId));
+        }
+        return rows;
+    }
+
+    @Override
+    public List<DailyRewardRow> findDailyRewards(Long customerId, LocalDate startDate, LocalDate endDate, RewardRules rules) {
+        List<DailyRewardRow> rows = new ArrayList<>();
+        for (VersionRange range : rules.versionsBetween(startDate, endDate)) {
+            TypedQuery<DailyRewardRow> query = entityManager.createQuery(
+                    "select new com.retail.dto.DailyRewardRow(t.transactionDate, sum(" + range.version().toHql(AMOUNT) + "), "
+                            + "sum(" + AMOUNT + "), count(t)) from Transaction t "
+                            + "where t.customer.customerId = :customerId and t.transactionDate between :startDate and :endDate "
+                            + "group by t.transactionDate order by t.transactionDate", DailyRewardRow.class);
+            query.setParameter("customerId", customerId);
+            query.setParameter("startDate", range.startDate());
+            query.setParameter("endDate", range.endDate());
+            rows.addAll(query.getResultList());
+        }
+        return rows;
+    }
+
+    private static String select(VersionRange range) {
+        return "select new com.retail.dto.MonthlyRewardRow(c.customerId, year(t.transactionDate), month(t.transactionDate), "
+                + "sum(" + range.version().toHql(AMOUNT) + "), count(t)) from Transaction t join t.customer c ";
+    }
+
+    private static TypedQuery<MonthlyRewardRow> bind(TypedQuery<MonthlyRewardRow> query, VersionRange range) {
+        query.setParameter("startDate", range.startDate());
+        query.setParameter("endDate", range.endDate());
+        return query;
+    }
+}
@@ -0,0 +1,98 @@
+package com.retail.service;
+
+import com.retail.cache.RewardCache;
+import com.retail.cache.RewardCacheKey;
+import com.retail.cache.RewardQueryCoalescer;
+import com.retail.datasource.RecentWriteTracker;
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.RewardBatchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link RewardService} that serves single-customer rewards from the {@link RewardCache}
+ * and delegates everything else, and every cache miss, to {@link RewardServiceImpl}.
+ * <p>
+ * Cache misses and all-customer queries go through the {@link RewardQueryCoalescer}, so
+ * concurrent identical requests share one computation. Queries for customers written within the
+ * replica lag are computed on the primary database, see {@link RecentWriteTracker}.
+ */
+@Service
+@Primary
+public class CachingRewardService implements RewardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingRewardService.class);
+
+    private final RewardServiceImpl rewardService;
+    private final RewardCache rewardCache;
+    private final RewardQueryCoalescer coalescer;
+    private final RecentWriteTracker recentWriteTracker;
+
+    public CachingRewardService(RewardServiceImpl rewardService, RewardCache rewardCache, RewardQueryCoalescer coalescer,
+                                RecentWriteTracker recentWriteTracker) {
+        this.rewardService = rewardService;
+        this.rewardCache = rewardCache;
+        this.coalescer = coalescer;
+        this.recentWriteTracker = recentWriteTracker;
+    }
+
+    @Override
+    public List<CustomerRewardResponse> getAllCustomerRewards(LocalDate startDate, LocalDate endDate) {
+        return coalescer.execute(new RewardCacheKey(null, startDate, endDate, false), rewardCache.allCustomersVersion(),
+                () -> rewardService.getAllCustomerRewards(startDate, endDate));
+    }
+
+    @Override
+    public List<CustomerRewardResponse> getAllCustomerRewardSummaries(LocalDate startDate, LocalDate endDate) {
+        return coalescer.execute(new RewardCacheKey(null, startDate, endDate, true), rewardCache.allCustomersVersion(),
+                () -> rewardService.getAllCustomerRewardSummaries(startDate, endDate));
+    }
+
+    @Override
+    public CustomerRewardResponse getCustomerRewardById(Long customerId, LocalDate startDate, LocalDate endDate) {
+        return cached(new RewardCacheKey(customerId, startDate, endDate, false),
+                () -> rewardService.getCustomerRewardById(customerId, startDate, endDate));
+    }
+
+    @Override
+    public RewardBatchResponse getCustomerRewardsBatch(List<Long> customerIds, LocalDate startDate, LocalDate endDate) {
+        return recentWriteTracker.read(customerIds, () -> rewardService.getCustomerRewardsBatch(customerIds, startDate, endDate));
+    }
+
+    @Override
+    public CustomerRewardResponse getCustomerRewardSummary(Long customerId, LocalDate startDate, LocalDate endDate) {
+        return cached(new RewardCacheKey(customerId, startDate, endDate, true),
+                () -> rewardService.getCustomerRewardSummary(customerId, startDate, endDate));
+    }
+
+    @Override
+    public void validateStreamRequest(LocalDate startDate, LocalDate endDate) {
+        rewardService.validateStreamRequest(startDate, endDate);
+    }
+
+    @Override
+    public void streamAllCustomerRewards(LocalDate startDate, LocalDate endDate, Consumer<CustomerRewardResponse> consumer) {
+        rewardService.streamAllCustomerRewards(startDate, endDate, consumer);
+    }
+
+    private CustomerRewardResponse cached(RewardCacheKey key, Supplier<CustomerRewardResponse> loader) {
+        CustomerRewardResponse cached = rewardCache.get(key);
+        if (cached != null) {
+            logger.debug("Reward cache hit for customer {}", key.getCustomerId());
+            return cached;
+        }
+        long version = rewardCache.version(key.getCustomerId());
+        return coalescer.execute(key, version, () -> {
+            CustomerRewardResponse loaded = recentWriteTracker.read(key.getCustomerId(), loader);
+            rewardCache.put(key, loaded, version);
+            return loaded;
+        });
+    }
+}
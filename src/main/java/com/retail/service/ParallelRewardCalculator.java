@@ -0,0 +1,184 @@
+package com.retail.service;
+
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.metrics.RewardMetrics;
+import com.retail.metrics.RewardMetrics.Operation;
+import com.retail.metrics.RewardMetrics.Phase;
+import com.retail.util.MonthlyRewardAccumulator;
+import com.retail.util.RewardAggregationUtil;
+import com.retail.util.RewardRules;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Computes all-customer rewards in parallel over partitions of the customer list.
+ * <p>
+ * The customers, ordered by ID, are split into contiguous partitions of about equal size.
+ * Each partition loads the transactions of its customer ID range in its own read-only
+ * transaction on a dedicated thread pool and folds them with {@link RewardAggregationUtil}.
+ * A semaphore caps the number of partitions holding a database connection at once,
+ * independently of the pool size, so CPU-bound folding can overlap with a smaller number of
+ * concurrent queries. The calling thread holds no connection while it waits, so at most
+ * {@code rewards.parallel.max-db-connections} connections are used per request.
+ * Partition results are concatenated in partition order, which keeps customer ID order.
+ * The elapsed time of the whole computation and the transactions read by all partitions are
+ * recorded once per request.
+ */
+@Component
+public class ParallelRewardCalculator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelRewardCalculator.class);
+
+    private final TransactionRepositoryHelper transactionRepositoryHelper;
+    private final TransactionTemplate transactionTemplate;
+    private final RewardMetrics rewardMetrics;
+    private final boolean enabled;
+    private final int partitions;
+    private final Semaphore connectionPermits;
+    private final ExecutorService executor;
+
+    public ParallelRewardCalculator(TransactionRepositoryHelper transactionRepositoryHelper,
+                                    PlatformTransactionManager transactionManager,
+                                    RewardMetrics rewardMetrics,
+                                    @Value("${rewards.parallel.enabled:false}") boolean enabled,
+                                    @Value("${rewards.parallel.threads:4}") int threads,
+                                    @Value("${rewards.parallel.partitions:0}") int partitions,
+                                    @Value("${rewards.parallel.max-db-connections:4}") int maxDbConnections) {
+        if (threads < 1 || maxDbConnections < 1 || partitions < 0) {
+            throw new IllegalArgumentException("rewards.parallel.threads and max-db-connections must be positive, partitions must not be negative.");
+        }
+        this.transactionRepositoryHelper = transactionRepositoryHelper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.rewardMetrics = rewardMetrics;
+        this.enabled = enabled;
+        this.partitions = partitions == 0 ? threads * 4 : partitions;
+        this.connectionPermits = new Semaphore(maxDbConnections);
+        this.executor = Executors.newFixedThreadPool(threads, new PartitionThreadFactory());
+    }
+
+    /**
+     * @return whether all-customer rewards should be computed by this calculator
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Computes the rewards of the given customers for the given period. Must not be called
+     * inside a transaction, which would hold a connection beyond the configured maximum.
+     *
+     * @param customers Customers ordered by customer ID, not empty.
+     * @param startDate Start of the transaction period.
+     * @param endDate   End of the transaction period.
+     * @param rules     Reward rules to evaluate.
+     * @return List of CustomerRewardResponse ordered by customer ID.
+     */
+    public List<CustomerRewardResponse> calculate(List<Customer> customers, LocalDate startDate, LocalDate endDate, RewardRules rules) {
+        long start = System.nanoTime();
+        LongAdder rowsFetched = new LongAdder();
+        List<long[]> ranges = split(0, customers.size() - 1L, partitions);
+        logger.debug("Computing rewards for {} customers in {} partitions", customers.size(), ranges.size());
+
+        List<CompletableFuture<List<CustomerRewardResponse>>> futures = new ArrayList<>(ranges.size());
+        for (long[] range : ranges) {
+            List<Customer> partition = customers.subList((int) range[0], (int) range[1] + 1);
+            futures.add(CompletableFuture.supplyAsync(() -> calculatePartition(partition, startDate, endDate, rules, rowsFetched), executor));
+        }
+
+        List<CustomerRewardResponse> responses = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<CustomerRewardResponse>> future : futures) {
+                responses.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        rewardMetrics.recordPhase(Operation.ALL_CUSTOMERS, Phase.PARTITIONED_COMPUTATION, start);
+        rewardMetrics.recordRowsFetched(Operation.ALL_CUSTOMERS, rowsFetched.sum());
+        return responses;
+    }
+
+    private List<CustomerRewardResponse> calculatePartition(List<Customer> customers, LocalDate startDate, LocalDate endDate,
+                                                            RewardRules rules, LongAdder rowsFetched) {
+        Long fromCustomerId = customers.get(0).getCustomerId();
+        Long toCustomerId = customers.get(customers.size() - 1).getCustomerId();
+        List<Transaction> transactions;
+        acquireConnectionPermit();
+        try {
+            transactions = transactionTemplate.execute(status ->
+                    transactionRepositoryHelper.findAllByCustomerRangeAndTransactionDate(fromCustomerId, toCustomerId, startDate, endDate));
+        } finally {
+            connectionPermits.release();
+        }
+        rowsFetched.add(transactions.size());
+        return RewardAggregationUtil.buildCustomerRewards(customers, transactions, rules,
+                new MonthlyRewardAccumulator(startDate, endDate));
+    }
+
+    private void acquireConnectionPermit() {
+        try {
+            connectionPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a database connection permit.", e);
+        }
+    }
+
+    /**
+     * Splits {@code [min, max]} into at most {@code count} contiguous, non-empty ranges.
+     */
+    static List<long[]> split(long min, long max, int count) {
+        long span = max - min + 1;
+        int parts = (int) Math.min(count, span);
+        List<long[]> ranges = new ArrayList<>(parts);
+        long from = min;
+        for (int i = 0; i < parts; i++) {
+            long size = span / parts + (i < span % parts ? 1 : 0);
+            ranges.add(new long[]{from, from + size - 1});
+            from += size;
+        }
+        return ranges;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class PartitionThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "reward-partition-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.retail.service;
+
+import com.retail.dto.RewardExportInfo;
+import com.retail.export.StatementFormat;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RewardExportService {
+    RewardExportInfo startExport(LocalDate startDate, LocalDate endDate, StatementFormat format);
+
+    List<RewardExportInfo> listExports();
+
+    RewardExportInfo getExport(String exportId);
+
+    Path getExportFile(String exportId, String fileName);
+}
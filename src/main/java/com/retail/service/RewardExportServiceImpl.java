@@ -0,0 +1,246 @@
+package com.retail.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.dto.RewardExportInfo;
+import com.retail.exceptionhandler.NoExportFoundException;
+import com.retail.export.RewardStatementWriter;
+import com.retail.export.StatementFormat;
+import com.retail.util.DateValidatorUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Writes reward statements of all customers to compressed, size-rotated files for bulk delivery.
+ * <p>
+ * Exports run one at a time on a background thread. Statements are streamed from
+ * {@link RewardService#streamAllCustomerRewards} into a {@link RewardStatementWriter}, so memory
+ * use does not depend on the number of customers. Each export is written to
+ * {@code <directory>/<exportId>.tmp} and renamed to {@code <directory>/<exportId>} together with
+ * a {@value #MANIFEST} describing it once complete, so finished exports survive restarts and
+ * half-written ones are never served. Running and failed exports are only known to the process
+ * that started them.
+ */
+@Service
+public class RewardExportServiceImpl implements RewardExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardExportServiceImpl.class);
+
+    static final String MANIFEST = "manifest.json";
+
+    private static final String IN_PROGRESS_SUFFIX = ".tmp";
+    private static final DateTimeFormatter EXPORT_ID_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS").withZone(ZoneOffset.UTC);
+    private static final Pattern EXPORT_ID = Pattern.compile("[0-9A-Za-z_-]+");
+
+    private final RewardService rewardService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long maxFileBytes;
+
+    private final Map<String, RewardExportInfo> exports = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reward-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RewardExportServiceImpl(RewardService rewardService,
+                                   ObjectMapper objectMapper,
+                                   @Value("${rewards.export.directory:data/exports}") Path directory,
+                                   @Value("${rewards.export.max-file-size:256MB}") DataSize maxFileSize) {
+        if (maxFileSize.toBytes() < 1) {
+            throw new IllegalArgumentException("rewards.export.max-file-size must be positive.");
+        }
+        this.rewardService = rewardService;
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.maxFileBytes = maxFileSize.toBytes();
+    }
+
+    /**
+     * Removes exports left half-written by a previous run.
+     */
+    @PostConstruct
+    void removeUnfinishedExports() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> unfinished = Files.newDirectoryStream(directory, "*" + IN_PROGRESS_SUFFIX)) {
+            for (Path path : unfinished) {
+                logger.warn("Removing unfinished reward export {}", path);
+                FileSystemUtils.deleteRecursively(path);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues an export of the statements of all customers between two dates.
+     *
+     * @return the export, still running
+     * @throws IllegalArgumentException if the dates are invalid
+     */
+    @Override
+    public RewardExportInfo startExport(LocalDate startDate, LocalDate endDate, StatementFormat format) {
+        DateValidatorUtil.validateDates(startDate, endDate);
+        Instant now = Instant.now();
+        String exportId = EXPORT_ID_TIME.format(now) + "-" + startDate + "-" + endDate + "-" + format.getExtension();
+        RewardExportInfo export = new RewardExportInfo(exportId, startDate, endDate, format, now);
+        if (exports.putIfAbsent(exportId, export) != null) {
+            throw new IllegalArgumentException("An identical export was started at the same time.");
+        }
+        executor.execute(() -> runExport(export));
+        logger.info("Queued reward export {}", exportId);
+        return export;
+    }
+
+    /**
+     * @return exports of this process and finished exports on disk, newest first
+     */
+    @Override
+    public List<RewardExportInfo> listExports() {
+        Map<String, RewardExportInfo> all = new HashMap<>();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> finished = Files.newDirectoryStream(directory, Files::isDirectory)) {
+                for (Path path : finished) {
+                    String exportId = path.getFileName().toString();
+                    if (!exportId.endsWith(IN_PROGRESS_SUFFIX)) {
+                        readManifest(exportId).ifPresent(export -> all.put(exportId, export));
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot list reward exports in " + directory, ex);
+            }
+        }
+        all.putAll(exports);
+        List<RewardExportInfo> sorted = new ArrayList<>(all.values());
+        sorted.sort(Comparator.comparing(RewardExportInfo::getStartedAt).reversed());
+        return sorted;
+    }
+
+    @Override
+    public RewardExportInfo getExport(String exportId) {
+        RewardExportInfo export = exports.get(exportId);
+        if (export != null) {
+            return export;
+        }
+        if (!EXPORT_ID.matcher(exportId).matches()) {
+            throw new NoExportFoundException("Reward export not found: " + exportId);
+        }
+        return readManifest(exportId)
+                .orElseThrow(() -> new NoExportFoundException("Reward export not found: " + exportId));
+    }
+
+    /**
+     * Resolves a file of a finished export.
+     *
+     * @throws NoExportFoundException if the export is unknown or not finished, or has no such file
+     */
+    @Override
+    public Path getExportFile(String exportId, String fileName) {
+        RewardExportInfo export = getExport(exportId);
+        if (export.getStatus() != RewardExportInfo.Status.COMPLETED) {
+            throw new NoExportFoundException("Reward export " + exportId + " has not completed.");
+        }
+        if (!export.getFiles().contains(fileName)) {
+            throw new NoExportFoundException("Reward export " + exportId + " has no file " + fileName);
+        }
+        return directory.resolve(exportId).resolve(fileName);
+    }
+
+    private void runExport(RewardExportInfo running) {
+        String exportId = running.getExportId();
+        Path work = directory.resolve(exportId + IN_PROGRESS_SUFFIX);
+        try {
+            Files.createDirectories(work);
+            String prefix = "rewards-" + running.getStartDate() + "-" + running.getEndDate();
+            RewardStatementWriter writer = new RewardStatementWriter(work, prefix, running.getFormat(), maxFileBytes, objectMapper);
+            try (writer) {
+                rewardService.streamAllCustomerRewards(running.getStartDate(), running.getEndDate(), reward -> {
+                    try {
+                        writer.write(reward);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+
+            RewardExportInfo completed = copy(running, RewardExportInfo.Status.COMPLETED);
+            completed.setStatementCount(writer.getStatements());
+            List<String> files = new ArrayList<>();
+            long sizeBytes = 0;
+            for (Path file : writer.getFiles()) {
+                files.add(file.getFileName().toString());
+                sizeBytes += Files.size(file);
+            }
+            completed.setFiles(files);
+            completed.setSizeBytes(sizeBytes);
+            objectMapper.writeValue(work.resolve(MANIFEST).toFile(), completed);
+            Files.move(work, directory.resolve(exportId), StandardCopyOption.ATOMIC_MOVE);
+            exports.put(exportId, completed);
+            logger.info("Reward export {} completed: {} statements in {} files, {} bytes",
+                    exportId, completed.getStatementCount(), files.size(), sizeBytes);
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Reward export {} failed", exportId, ex);
+            try {
+                FileSystemUtils.deleteRecursively(work);
+            } catch (IOException cleanup) {
+                logger.warn("Cannot remove unfinished reward export {}", work, cleanup);
+            }
+            RewardExportInfo failed = copy(running, RewardExportInfo.Status.FAILED);
+            failed.setError(ex.getMessage());
+            exports.put(exportId, failed);
+        }
+    }
+
+    private Optional<RewardExportInfo> readManifest(String exportId) {
+        Path manifest = directory.resolve(exportId).resolve(MANIFEST);
+        if (!Files.isRegularFile(manifest)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(manifest.toFile(), RewardExportInfo.class));
+        } catch (IOException ex) {
+            logger.warn("Ignoring unreadable reward export manifest {}: {}", manifest, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static RewardExportInfo copy(RewardExportInfo export, RewardExportInfo.Status status) {
+        RewardExportInfo copy = new RewardExportInfo(export.getExportId(), export.getStartDate(), export.getEndDate(),
+                export.getFormat(), export.getStartedAt());
+        copy.setStatus(status);
+        copy.setCompletedAt(Instant.now());
+        return copy;
+    }
+}
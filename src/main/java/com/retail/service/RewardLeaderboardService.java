@@ -0,0 +1,12 @@
+package com.retail.service;
+
+import com.retail.dto.RewardLeaderboardResponse;
+import com.retail.leaderboard.LeaderboardPeriod;
+
+import java.time.LocalDate;
+
+public interface RewardLeaderboardService {
+    RewardLeaderboardResponse getLeaderboard(LeaderboardPeriod period, LocalDate date, int limit);
+
+    int refreshLeaderboards();
+}
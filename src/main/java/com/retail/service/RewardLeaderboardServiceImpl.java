@@ -0,0 +1,247 @@
+package com.retail.service;
+
+import com.retail.datasource.PrimaryReads;
+import com.retail.dto.MonthlyRewardRow;
+import com.retail.dto.RewardLeaderboardEntry;
+import com.retail.dto.RewardLeaderboardResponse;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.event.RewardRulesChangedEvent;
+import com.retail.event.TransactionsBackfilledEvent;
+import com.retail.event.TransactionsRecordedEvent;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.leaderboard.LeaderboardPeriod;
+import com.retail.leaderboard.RewardLeaderboard;
+import com.retail.leaderboard.RewardLeaderboard.Standing;
+import com.retail.util.RewardRules;
+import com.retail.util.TransactionCommitBarrier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves top-N reward leaderboards per month and quarter from in-memory {@link RewardLeaderboard}s.
+ * <p>
+ * A period's leaderboard is built from the database-side monthly aggregates the first time it
+ * is requested, then kept current from {@link TransactionsRecordedEvent}s once the writing
+ * transaction commits. At most {@code rewards.leaderboard.max-periods} leaderboards are kept,
+ * least recently used first out; an evicted period is simply rebuilt on its next request.
+ * A change of reward rules or a backfill drops every leaderboard. Since transactions recorded by
+ * other instances are not seen, {@link #refreshLeaderboards()} rebuilds the loaded leaderboards
+ * from the database periodically.
+ * <p>
+ * Builds and commits are ordered by a {@link TransactionCommitBarrier}, so every commit is
+ * counted exactly once: either by the build query or by the update applied after it.
+ */
+@Service
+public class RewardLeaderboardServiceImpl implements RewardLeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardLeaderboardServiceImpl.class);
+
+    private final TransactionRepositoryHelper transactionRepositoryHelper;
+    private final CustomerRepositoryHelper customerRepositoryHelper;
+    private final RewardRuleService rewardRuleService;
+    private final int capacity;
+    private final int maxPeriods;
+
+    private final TransactionCommitBarrier commitBarrier = new TransactionCommitBarrier();
+    private final LinkedHashMap<PeriodKey, RewardLeaderboard> leaderboards = new LinkedHashMap<>(16, 0.75f, true);
+
+    public RewardLeaderboardServiceImpl(TransactionRepositoryHelper transactionRepositoryHelper,
+                                        CustomerRepositoryHelper customerRepositoryHelper,
+                                        RewardRuleService rewardRuleService,
+                                        @Value("${rewards.leaderboard.capacity:1000}") int capacity,
+                                        @Value("${rewards.leaderboard.max-periods:8}") int maxPeriods) {
+        if (capacity < 1 || maxPeriods < 1) {
+            throw new IllegalArgumentException("rewards.leaderboard.capacity and max-periods must be positive.");
+        }
+        this.transactionRepositoryHelper = transactionRepositoryHelper;
+        this.customerRepositoryHelper = customerRepositoryHelper;
+        this.rewardRuleService = rewardRuleService;
+        this.capacity = capacity;
+        this.maxPeriods = maxPeriods;
+    }
+
+    /**
+     * Returns the customers with the most reward points in the period containing {@code date}.
+     *
+     * @param period the calendar period to rank over
+     * @param date   any day of the period
+     * @param limit  number of customers to return, between 1 and {@code rewards.leaderboard.capacity}
+     * @return the leaderboard, highest points first, ties broken by customer ID
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RewardLeaderboardResponse getLeaderboard(LeaderboardPeriod period, LocalDate date, int limit) {
+        if (period == null || date == null) {
+            throw new IllegalArgumentException("Period and date are required.");
+        }
+        if (limit < 1 || limit > capacity) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + capacity + ".");
+        }
+        LocalDate startDate = period.startOf(date);
+        PeriodKey key = new PeriodKey(period, startDate);
+
+        RewardLeaderboard leaderboard = find(key);
+        if (leaderboard == null) {
+            leaderboard = build(key);
+        }
+
+        List<Standing> standings = leaderboard.top(limit);
+        List<Long> customerIds = new ArrayList<>(standings.size());
+        for (Standing standing : standings) {
+            customerIds.add(standing.customerId());
+        }
+        Map<Long, Customer> customers = customerRepositoryHelper.fetchCustomersByIds(customerIds);
+
+        RewardLeaderboardResponse response = new RewardLeaderboardResponse();
+        response.setPeriod(period);
+        response.setStartDate(startDate);
+        response.setEndDate(period.endOf(startDate));
+        response.setCustomerCount(leaderboard.customerCount());
+        int rank = 0;
+        for (Standing standing : standings) {
+            Customer customer = customers.get(standing.customerId());
+            response.getEntries().add(new RewardLeaderboardEntry(++rank, standing.customerId(),
+                    customer == null ? null : customer.getCustomerName(), standing.rewardPoints()));
+        }
+        return response;
+    }
+
+    /**
+     * Applies newly recorded transactions to the loaded leaderboards once the writing transaction commits.
+     */
+    @EventListener
+    public void onTransactionsRecorded(TransactionsRecordedEvent event) {
+        List<Transaction> transactions = List.copyOf(event.getTransactions());
+        commitBarrier.afterCommit(() -> apply(transactions));
+    }
+
+    /**
+     * Drops every leaderboard computed under the previous reward rules.
+     */
+    @EventListener
+    public void onRewardRulesChanged(RewardRulesChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * Drops every leaderboard once a backfill has committed transactions they do not count.
+     */
+    @EventListener
+    public void onTransactionsBackfilled(TransactionsBackfilledEvent event) {
+        clear();
+    }
+
+    /**
+     * Rebuilds every loaded leaderboard from the database, picking up transactions recorded by
+     * other instances. Requests keep being served from the previous leaderboard while it is rebuilt.
+     *
+     * @return the number of leaderboards rebuilt
+     */
+    @Override
+    public int refreshLeaderboards() {
+        List<PeriodKey> keys;
+        synchronized (leaderboards) {
+            keys = new ArrayList<>(leaderboards.keySet());
+        }
+        int rebuilt = 0;
+        for (PeriodKey key : keys) {
+            if (rebuild(key) != null) {
+                rebuilt++;
+            }
+        }
+        return rebuilt;
+    }
+
+    private void clear() {
+        commitBarrier.exclusive(() -> {
+            synchronized (leaderboards) {
+                leaderboards.clear();
+            }
+        });
+    }
+
+    private void apply(List<Transaction> transactions) {
+        RewardRules rules = rewardRuleService.currentRules();
+        for (Transaction tx : transactions) {
+            long points = rules.points(tx.getTransactionAmountCents(), tx.getTransactionDate());
+            for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+                RewardLeaderboard leaderboard = find(new PeriodKey(period, period.startOf(tx.getTransactionDate())));
+                if (leaderboard != null) {
+                    leaderboard.add(tx.getCustomer().getCustomerId(), points);
+                }
+            }
+        }
+    }
+
+    private RewardLeaderboard build(PeriodKey key) {
+        // Seeded from the primary: updates are applied from commits, which a replica may not show yet.
+        return commitBarrier.reload(() -> PrimaryReads.call(() -> {
+            RewardLeaderboard leaderboard = find(key);
+            if (leaderboard != null) {
+                return leaderboard;
+            }
+            leaderboard = query(key);
+            logger.info("Built {} leaderboard from {} for {} customers", key.period(), key.startDate(), leaderboard.customerCount());
+
+            synchronized (leaderboards) {
+                leaderboards.put(key, leaderboard);
+                if (leaderboards.size() > maxPeriods) {
+                    PeriodKey eldest = leaderboards.keySet().iterator().next();
+                    leaderboards.remove(eldest);
+                    logger.debug("Evicted {} leaderboard from {}", eldest.period(), eldest.startDate());
+                }
+            }
+            return leaderboard;
+        }));
+    }
+
+    /**
+     * Replaces a loaded leaderboard with a fresh one, unless it was evicted or dropped meanwhile.
+     *
+     * @return the new leaderboard, or {@code null} if the period is no longer loaded
+     */
+    private RewardLeaderboard rebuild(PeriodKey key) {
+        return commitBarrier.reload(() -> PrimaryReads.call(() -> {
+            if (find(key) == null) {
+                return null;
+            }
+            RewardLeaderboard leaderboard = query(key);
+            synchronized (leaderboards) {
+                leaderboards.replace(key, leaderboard);
+            }
+            logger.debug("Rebuilt {} leaderboard from {} for {} customers", key.period(), key.startDate(), leaderboard.customerCount());
+            return leaderboard;
+        }));
+    }
+
+    private RewardLeaderboard query(PeriodKey key) {
+        RewardLeaderboard leaderboard = new RewardLeaderboard(capacity);
+        List<MonthlyRewardRow> rows = transactionRepositoryHelper.findAllMonthlyRewards(key.startDate(),
+                key.period().endOf(key.startDate()), rewardRuleService.currentRules());
+        for (MonthlyRewardRow row : rows) {
+            leaderboard.add(row.getCustomerId(), row.getRewardPoints());
+        }
+        return leaderboard;
+    }
+
+    private RewardLeaderboard find(PeriodKey key) {
+        synchronized (leaderboards) {
+            return leaderboards.get(key);
+        }
+    }
+
+    private record PeriodKey(LeaderboardPeriod period, LocalDate startDate) {
+    }
+}
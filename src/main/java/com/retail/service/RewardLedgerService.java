@@ -0,0 +1,19 @@
+package com.retail.service;
+
+import com.retail.entity.MonthlyRewardLedger;
+import com.retail.entity.Transaction;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface RewardLedgerService {
+    void recordTransactions(List<Transaction> transactions);
+
+    long rebuildLedger();
+
+    List<MonthlyRewardLedger> findLedger(Long customerId, YearMonth fromMonth, YearMonth toMonth);
+
+    boolean isCurrent();
+
+    boolean rebuildLedgerIfStale();
+}
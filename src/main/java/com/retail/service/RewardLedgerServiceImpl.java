@@ -0,0 +1,267 @@
+package com.retail.service;
+
+import com.retail.dto.CustomerTransactionRow;
+import com.retail.entity.MonthlyRewardLedger;
+import com.retail.entity.MonthlyRewardLedgerId;
+import com.retail.entity.Transaction;
+import com.retail.event.TransactionsRecordedEvent;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.repository.MonthlyRewardLedgerRepository;
+import com.retail.util.RewardRules;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the {@link MonthlyRewardLedger} rollup.
+ * <p>
+ * Responsibilities:
+ * - Applies newly recorded transactions to their customer's monthly rollup, in the writing transaction.
+ * - Rebuilds the whole rollup from the raw transactions table as a repair job.
+ * - Serves monthly rollups for reward summaries.
+ * <p>
+ * Points are stored as computed under the rule version effective on each transaction's date.
+ * The fingerprint of the rules of the last rebuild is stored in {@code reward_ledger_state}, and
+ * {@link #isCurrent()} compares it with the rules in force: after a rule change, in this or
+ * another instance or while the application was down, summaries fall back to aggregating
+ * transactions until {@link #rebuildLedgerIfStale()} has rebuilt the rollup. Rebuilds lock the
+ * state row, so one instance rebuilds while the others skip or wait.
+ * <p>
+ * Concurrent first writes to the same customer and month may both try to insert the
+ * rollup row; the losing transaction fails on the primary key and can be retried.
+ */
+@Service
+public class RewardLedgerServiceImpl implements RewardLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardLedgerServiceImpl.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final String SELECT_FINGERPRINT = "select rules_fingerprint from reward_ledger_state where state_id = 1";
+    private static final String LOCK_STATE = SELECT_FINGERPRINT + " for update";
+    private static final String TRY_LOCK_STATE = LOCK_STATE + " skip locked";
+    private static final String UPDATE_STATE =
+            "update reward_ledger_state set rules_fingerprint = ?, rebuilt_at = ? where state_id = 1";
+
+    private final MonthlyRewardLedgerRepository ledgerRepository;
+    private final TransactionRepositoryHelper transactionRepositoryHelper;
+    private final EntityManager entityManager;
+    private final RewardRuleService rewardRuleService;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stored rules fingerprint as last read or written by this instance; {@code null} before the first rebuild.
+     */
+    private volatile Long ledgerFingerprint;
+    private volatile boolean stateLoaded;
+
+    public RewardLedgerServiceImpl(
+            MonthlyRewardLedgerRepository ledgerRepository,
+            TransactionRepositoryHelper transactionRepositoryHelper,
+            EntityManager entityManager,
+            RewardRuleService rewardRuleService,
+            JdbcTemplate jdbcTemplate) {
+        this.ledgerRepository = ledgerRepository;
+        this.transactionRepositoryHelper = transactionRepositoryHelper;
+        this.entityManager = entityManager;
+        this.rewardRuleService = rewardRuleService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener
+    public void onTransactionsRecorded(TransactionsRecordedEvent event) {
+        recordTransactions(event.getTransactions());
+    }
+
+    /**
+     * The stored fingerprint is read once and then kept up to date by {@link #rebuildLedgerIfStale()},
+     * so a rebuild by another instance is seen after that instance's next run.
+     *
+     * @return whether the rollup was computed under the reward rules in force
+     */
+    @Override
+    public boolean isCurrent() {
+        if (!stateLoaded) {
+            ledgerFingerprint = jdbcTemplate.queryForObject(SELECT_FINGERPRINT, Long.class);
+            stateLoaded = true;
+        }
+        Long stored = ledgerFingerprint;
+        return stored != null && stored == rewardRuleService.currentRules().fingerprint();
+    }
+
+    /**
+     * Rebuilds the rollup if it was built under other reward rules than the ones in force.
+     * Skipped while another instance holds the state row for its own rebuild.
+     *
+     * @return {@code true} if the rollup was rebuilt
+     */
+    @Override
+    @Transactional
+    public boolean rebuildLedgerIfStale() {
+        List<Long> state = jdbcTemplate.queryForList(TRY_LOCK_STATE, Long.class);
+        if (state.isEmpty()) {
+            logger.debug("Monthly reward ledger is being rebuilt elsewhere");
+            return false;
+        }
+        RewardRules rules = rewardRuleService.currentRules();
+        Long stored = state.get(0);
+        if (stored != null && stored == rules.fingerprint()) {
+            remember(stored);
+            return false;
+        }
+        rebuild(rules);
+        return true;
+    }
+
+    /**
+     * Adds the given transactions to their monthly rollups.
+     * <p>
+     * Transactions are first grouped per customer and month so each affected rollup row
+     * is touched once, regardless of how many transactions fall into it.
+     *
+     * @param transactions newly persisted transactions
+     */
+    @Override
+    @Transactional
+    public void recordTransactions(List<Transaction> transactions) {
+        RewardRules rules = rewardRuleService.currentRules();
+        Map<MonthlyRewardLedgerId, MonthlyRewardLedger> deltas = new LinkedHashMap<>();
+        for (Transaction tx : transactions) {
+            Long customerId = tx.getCustomer().getCustomerId();
+            LocalDate periodStart = tx.getTransactionDate().withDayOfMonth(1);
+            MonthlyRewardLedger delta = deltas.computeIfAbsent(new MonthlyRewardLedgerId(customerId, periodStart),
+                    id -> new MonthlyRewardLedger(customerId, periodStart, 0, 0, 0));
+            addTransaction(delta, tx.getTransactionAmountCents(), rules.points(tx.getTransactionAmountCents(), tx.getTransactionDate()));
+        }
+
+        for (MonthlyRewardLedger delta : deltas.values()) {
+            int updated = ledgerRepository.incrementPeriod(delta.getCustomerId(), delta.getPeriodStart(),
+                    delta.getRewardPoints(), delta.getTotalSpendCents(), delta.getTransactionCount());
+            if (updated == 0) {
+                ledgerRepository.save(delta);
+            }
+        }
+        logger.debug("Applied {} transactions to {} ledger rows", transactions.size(), deltas.size());
+    }
+
+    /**
+     * Discards the rollup and recomputes it from every recorded transaction.
+     *
+     * @return the number of ledger rows written
+     */
+    @Override
+    @Transactional
+    public long rebuildLedger() {
+        jdbcTemplate.queryForList(LOCK_STATE, Long.class);
+        return rebuild(rewardRuleService.currentRules());
+    }
+
+    /**
+     * Must run in a transaction holding the lock on the state row.
+     */
+    private long rebuild(RewardRules rules) {
+        logger.info("Rebuilding monthly reward ledger");
+        // The bulk delete bypasses the persistence context: write pending changes first and detach
+        // the deleted rows afterwards, so the rebuilt rows do not collide with ones read earlier.
+        entityManager.flush();
+        ledgerRepository.deleteAllInBatch();
+        entityManager.clear();
+
+        long written = 0;
+        List<MonthlyRewardLedger> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        try (Stream<CustomerTransactionRow> rows = transactionRepositoryHelper.streamAllTransactions()) {
+            MonthlyRewardLedger current = null;
+            for (CustomerTransactionRow row : (Iterable<CustomerTransactionRow>) rows::iterator) {
+                LocalDate periodStart = row.getTransactionDate().withDayOfMonth(1);
+                if (current == null
+                        || !current.getCustomerId().equals(row.getCustomerId())
+                        || !current.getPeriodStart().equals(periodStart)) {
+                    if (current != null) {
+                        batch.add(current);
+                        written += flushIfFull(batch);
+                    }
+                    current = new MonthlyRewardLedger(row.getCustomerId(), periodStart, 0, 0, 0);
+                }
+                addTransaction(current, row.getTransactionAmountCents(), rules.points(row.getTransactionAmountCents(), row.getTransactionDate()));
+            }
+            if (current != null) {
+                batch.add(current);
+            }
+        }
+        written += flush(batch);
+
+        jdbcTemplate.update(UPDATE_STATE, rules.fingerprint(), Timestamp.valueOf(LocalDateTime.now()));
+        logger.info("Rebuilt monthly reward ledger with {} rows", written);
+        rememberAfterCommit(rules.fingerprint());
+        return written;
+    }
+
+    /**
+     * Fetches a customer's monthly rollups between two months (inclusive).
+     *
+     * @param customerId ID of the customer.
+     * @param fromMonth  First month.
+     * @param toMonth    Last month.
+     * @return Ledger rows ordered by month; months without transactions are absent.
+     */
+    @Override
+    public List<MonthlyRewardLedger> findLedger(Long customerId, YearMonth fromMonth, YearMonth toMonth) {
+        return ledgerRepository.findByCustomerIdAndPeriodStartBetweenOrderByPeriodStart(
+                customerId, fromMonth.atDay(1), toMonth.atDay(1));
+    }
+
+    private void rememberAfterCommit(long fingerprint) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(fingerprint);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(fingerprint);
+            }
+        });
+    }
+
+    private void remember(long fingerprint) {
+        ledgerFingerprint = fingerprint;
+        stateLoaded = true;
+    }
+
+    private static void addTransaction(MonthlyRewardLedger ledger, long amountCents, int points) {
+        ledger.setRewardPoints(ledger.getRewardPoints() + points);
+        ledger.setTotalSpendCents(ledger.getTotalSpendCents() + amountCents);
+        ledger.setTransactionCount(ledger.getTransactionCount() + 1);
+    }
+
+    private int flushIfFull(List<MonthlyRewardLedger> batch) {
+        return batch.size() >= REBUILD_BATCH_SIZE ? flush(batch) : 0;
+    }
+
+    private int flush(List<MonthlyRewardLedger> batch) {
+        int size = batch.size();
+        if (size > 0) {
+            ledgerRepository.saveAll(batch);
+            ledgerRepository.flush();
+            entityManager.clear();
+            batch.clear();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,9 @@
+package com.retail.service;
+
+import com.retail.util.RewardRules;
+
+public interface RewardRuleService {
+    RewardRules currentRules();
+
+    boolean reloadRules();
+}
@@ -0,0 +1,114 @@
+package com.retail.service;
+
+import com.retail.entity.RewardCategoryMultiplier;
+import com.retail.entity.RewardTier;
+import com.retail.event.RewardRulesChangedEvent;
+import com.retail.repository.RewardCategoryMultiplierRepository;
+import com.retail.repository.RewardTierRepository;
+import com.retail.util.RewardRules;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads reward tier definitions from the database and serves them as compiled {@link RewardRules}.
+ * <p>
+ * The compiled rules are held in an {@link AtomicReference}. A reload compiles the new
+ * definitions off to the side and swaps them in with a single write, so callers always see
+ * either the old or the new rules, never a mix. Callers take one snapshot per request and use
+ * it for every transaction of that request.
+ */
+@Service
+public class RewardRuleServiceImpl implements RewardRuleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardRuleServiceImpl.class);
+
+    private final RewardTierRepository tierRepository;
+    private final RewardCategoryMultiplierRepository multiplierRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<RewardRules> rules = new AtomicReference<>(RewardRules.DEFAULT);
+    private String loadedDefinitions;
+
+    public RewardRuleServiceImpl(RewardTierRepository tierRepository,
+                                 RewardCategoryMultiplierRepository multiplierRepository,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.tierRepository = tierRepository;
+        this.multiplierRepository = multiplierRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Loads the rules once at startup. Invalid definitions fail startup rather than
+     * silently falling back to the built-in tiers.
+     */
+    @PostConstruct
+    void loadRules() {
+        reloadRules();
+    }
+
+    @Override
+    public RewardRules currentRules() {
+        return rules.get();
+    }
+
+    /**
+     * Re-reads the tier definitions and swaps in the compiled result if they changed.
+     *
+     * @return {@code true} if new rules were swapped in
+     * @throws IllegalArgumentException if the stored definitions are invalid; the current rules stay in force
+     */
+    @Override
+    public synchronized boolean reloadRules() {
+        List<RewardTier> tiers = tierRepository.findAllByOrderByEffectiveFromAscThresholdDollarsAsc();
+        List<RewardCategoryMultiplier> multipliers = multiplierRepository.findAll();
+
+        String definitions = describe(tiers, multipliers);
+        if (definitions.equals(loadedDefinitions)) {
+            return false;
+        }
+        if (tiers.isEmpty()) {
+            logger.warn("No reward tiers defined, keeping {}", rules.get());
+            loadedDefinitions = definitions;
+            return false;
+        }
+
+        RewardRules compiled = compile(tiers, multipliers);
+        rules.set(compiled);
+        loadedDefinitions = definitions;
+        logger.info("Swapped in reward rules {}", compiled);
+        eventPublisher.publishEvent(new RewardRulesChangedEvent(compiled));
+        return true;
+    }
+
+    private static RewardRules compile(List<RewardTier> tiers, List<RewardCategoryMultiplier> multipliers) {
+        RewardRules.Builder builder = RewardRules.builder();
+        for (RewardTier tier : tiers) {
+            builder.version(tier.getEffectiveFrom()).tier(tier.getThresholdDollars(), tier.getPointsPerDollar());
+        }
+        for (RewardCategoryMultiplier multiplier : multipliers) {
+            builder.version(multiplier.getEffectiveFrom()).multiplier(multiplier.getCategory(), multiplier.getMultiplierPercent());
+        }
+        return builder.build();
+    }
+
+    private static String describe(List<RewardTier> tiers, List<RewardCategoryMultiplier> multipliers) {
+        StringBuilder description = new StringBuilder();
+        for (RewardTier tier : tiers) {
+            description.append(tier.getEffectiveFrom()).append(':').append(tier.getThresholdDollars())
+                    .append('=').append(tier.getPointsPerDollar()).append(';');
+        }
+        Map<String, Integer> sortedMultipliers = new TreeMap<>();
+        for (RewardCategoryMultiplier multiplier : multipliers) {
+            sortedMultipliers.put(multiplier.getEffectiveFrom() + ":" + multiplier.getCategory(), multiplier.getMultiplierPercent());
+        }
+        return description.append(sortedMultipliers).toString();
+    }
+}
@@ -1,12 +1,24 @@
 package com.retail.service;
 
 import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.RewardBatchResponse;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface RewardService {
     List<CustomerRewardResponse> getAllCustomerRewards(LocalDate startDate, LocalDate endDate);
 
+    List<CustomerRewardResponse> getAllCustomerRewardSummaries(LocalDate startDate, LocalDate endDate);
+
     CustomerRewardResponse getCustomerRewardById(Long customerId, LocalDate startDate, LocalDate endDate);
+
+    RewardBatchResponse getCustomerRewardsBatch(List<Long> customerIds, LocalDate startDate, LocalDate endDate);
+
+    CustomerRewardResponse getCustomerRewardSummary(Long customerId, LocalDate startDate, LocalDate endDate);
+
+    void validateStreamRequest(LocalDate startDate, LocalDate endDate);
+
+    void streamAllCustomerRewards(LocalDate startDate, LocalDate endDate, Consumer<CustomerRewardResponse> consumer);
 }
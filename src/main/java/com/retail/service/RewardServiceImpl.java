@@ -1,56 +1,125 @@
 package com.retail.service;
 
+import com.retail.directory.CustomerDirectory;
 import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.RewardBatchEntry;
+import com.retail.dto.RewardBatchResponse;
+import com.retail.dto.CustomerTransactionRow;
+import com.retail.dto.MonthlyRewardRow;
 import com.retail.dto.TransactionResponse;
 import com.retail.entity.Customer;
+import com.retail.entity.MonthlyRewardLedger;
 import com.retail.entity.Transaction;
+import com.retail.exceptionhandler.NoCustomerFoundException;
 import com.retail.helper.CustomerRepositoryHelper;
 import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.index.CustomerRewardIndex;
+import com.retail.index.CustomerRewardIndexCache;
+import com.retail.metrics.RewardMetrics;
+import com.retail.metrics.RewardMetrics.Operation;
+import com.retail.metrics.RewardMetrics.Phase;
 import com.retail.util.DateValidatorUtil;
-import com.retail.util.RewardUtil;
+import com.retail.util.MonthlyRewardAccumulator;
+import com.retail.util.RewardAggregationUtil;
+import com.retail.util.RewardRules;
 import com.retail.util.RewardValidationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementation of RewardService to handle business logic for reward point calculation.
  * <p>
  * Responsibilities:
  * - Validates input dates.
- * - Retrieves customer and transaction data from the database.
- * - Calculates reward points for individual and all customers.
- * - Groups reward points by transaction month.
+ * - Retrieves customers from the in-memory {@link CustomerDirectory} and transaction data from the database.
+ * - Calculates reward points for individual and all customers under one snapshot of the reward rules per request.
+ * - Groups reward points by calendar month of the transaction (year-qualified).
+ * - Serves reward summaries from the monthly ledger and database-side monthly aggregates,
+ *   without loading transaction entities, or from a per-customer index for customers with
+ *   a long transaction history.
+ * - Serves batch lookups of many customers with bounded IN-list queries.
  * - Returns structured responses for the controller layer.
+ * <p>
+ * Reward queries run in read-only transactions, which are served by a read replica when
+ * replicas are configured; each such query reads from a single database.
  */
 @Service
 public class RewardServiceImpl implements RewardService {
 
     private static final Logger logger = LoggerFactory.getLogger(RewardServiceImpl.class);
 
+    /**
+     * Largest number of distinct customer IDs accepted by one batch lookup.
+     */
+    static final int MAX_BATCH_CUSTOMERS = 1000;
+
+    /**
+     * Customer IDs per IN-list query of a batch lookup.
+     */
+    static final int BATCH_CHUNK_SIZE = 200;
+
     private final CustomerRepositoryHelper customerRepositoryHelper;
     private final RewardValidationUtil rewardValidationUtil;
     private final TransactionRepositoryHelper transactionRepositoryHelper;
+    private final RewardLedgerService rewardLedgerService;
+    private final ParallelRewardCalculator parallelRewardCalculator;
+    private final RewardMetrics rewardMetrics;
+    private final RewardRuleService rewardRuleService;
+    private final CustomerRewardIndexCache customerRewardIndexCache;
+    private final CustomerDirectory customerDirectory;
+    private final TransactionTemplate readOnlyTransaction;
 
     public RewardServiceImpl(
             CustomerRepositoryHelper customerRepositoryHelper,
             RewardValidationUtil rewardValidationUtil,
-            TransactionRepositoryHelper transactionRepositoryHelper) {
+            TransactionRepositoryHelper transactionRepositoryHelper,
+            RewardLedgerService rewardLedgerService,
+            ParallelRewardCalculator parallelRewardCalculator,
+            RewardMetrics rewardMetrics,
+            RewardRuleService rewardRuleService,
+            CustomerRewardIndexCache customerRewardIndexCache,
+            CustomerDirectory customerDirectory,
+            PlatformTransactionManager transactionManager) {
         this.customerRepositoryHelper = customerRepositoryHelper;
         this.rewardValidationUtil = rewardValidationUtil;
         this.transactionRepositoryHelper = transactionRepositoryHelper;
+        this.rewardLedgerService = rewardLedgerService;
+        this.parallelRewardCalculator = parallelRewardCalculator;
+        this.rewardMetrics = rewardMetrics;
+        this.rewardRuleService = rewardRuleService;
+        this.customerRewardIndexCache = customerRewardIndexCache;
+        this.customerDirectory = customerDirectory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
      * Retrieves reward points for all customers for the given time period.
      * Calculates monthly and total reward points for each customer.
+     * <p>
+     * Customers come from the customer directory and their in-range transactions from one query,
+     * both ordered by customer ID, and are merged in a single pass. The number of SQL statements issued is
+     * therefore independent of the number of customers. When parallel computation is enabled
+     * the work is delegated to {@link ParallelRewardCalculator}, which does the same per partition
+     * of the customer list.
+     * <p>
+     * The read-only transaction is opened only once the path is chosen: the parallel path runs
+     * without one, so the request thread holds no connection while its partitions query.
      *
      * @param startDate Start of the transaction period.
      * @param endDate   End of the transaction period.
@@ -63,48 +132,78 @@ public class RewardServiceImpl implements RewardService {
         DateValidatorUtil.validateDates(startDate, endDate);
         rewardValidationUtil.validateDate(startDate);
         rewardValidationUtil.validateDate(endDate);
+        RewardRules rules = rewardRuleService.currentRules();
+
+        if (parallelRewardCalculator.isEnabled()) {
+            long phaseStart = System.nanoTime();
+            List<Customer> customers = customerDirectory.getCustomers();
+            rewardMetrics.recordPhase(Operation.ALL_CUSTOMERS, Phase.CUSTOMER_FETCH, phaseStart);
+            rewardValidationUtil.validateCustomerList(customers);
+            List<CustomerRewardResponse> responses = parallelRewardCalculator.calculate(customers, startDate, endDate, rules);
+            logger.debug("Computed rewards for {} customers in parallel", responses.size());
+            return responses;
+        }
+        return readOnlyTransaction.execute(status -> calculateAllCustomerRewards(startDate, endDate, rules));
+    }
 
-        List<Customer> customers = customerRepositoryHelper.fetchAllCustomers();
+    private List<CustomerRewardResponse> calculateAllCustomerRewards(LocalDate startDate, LocalDate endDate, RewardRules rules) {
+        long phaseStart = System.nanoTime();
+        List<Customer> customers = customerDirectory.getCustomers();
         logger.debug("Fetched {} customers", customers.size());
+        phaseStart = rewardMetrics.recordPhase(Operation.ALL_CUSTOMERS, Phase.CUSTOMER_FETCH, phaseStart);
 
         rewardValidationUtil.validateCustomerList(customers);
 
-        return customers.stream().map(customer -> {
-            logger.debug("Processing customer: {} (ID: {})", customer.getCustomerName(), customer.getCustomerId());
-
-            List<Transaction> transactions = transactionRepositoryHelper
-                    .findByCustomerIdAndTransactionDate(customer.getCustomerId(), startDate, endDate);
-            logger.debug("Found {} transactions for customer {}", transactions.size(), customer.getCustomerId());
+        List<Transaction> transactions = transactionRepositoryHelper.findAllByTransactionDate(startDate, endDate);
+        logger.debug("Fetched {} transactions for all customers", transactions.size());
+        phaseStart = rewardMetrics.recordPhase(Operation.ALL_CUSTOMERS, Phase.TRANSACTION_FETCH, phaseStart);
+        rewardMetrics.recordRowsFetched(Operation.ALL_CUSTOMERS, transactions.size());
 
-            Map<String, Integer> monthlyRewards = new HashMap<>();
-            AtomicInteger totalRewards = new AtomicInteger();
+        List<CustomerRewardResponse> responses =
+                RewardAggregationUtil.buildCustomerRewards(customers, transactions, rules, new MonthlyRewardAccumulator(startDate, endDate));
+        rewardMetrics.recordPhase(Operation.ALL_CUSTOMERS, Phase.POINTS_COMPUTATION, phaseStart);
+        return responses;
+    }
 
-            List<TransactionResponse> transactionResponses = transactions.stream().map(tx -> {
-                int points = RewardUtil.calculateRewardPoints(tx.getTransactionAmount());
-                String month = tx.getTransactionDate().getMonth().toString();
 
-                monthlyRewards.put(month, monthlyRewards.getOrDefault(month, 0) + points);
-                totalRewards.addAndGet(points);
+    /**
+     * Retrieves monthly and total reward points for all customers, without transaction details.
+     * <p>
+     * Points are summed per customer and month by the database, so no transaction entity is
+     * loaded and heap use grows with customers times months rather than with transactions.
+     *
+     * @param startDate Start of the transaction period.
+     * @param endDate   End of the transaction period.
+     * @return List of CustomerRewardResponse with monthly and total reward points and no transactions.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerRewardResponse> getAllCustomerRewardSummaries(LocalDate startDate, LocalDate endDate) {
+        logger.info("Initiating reward summary calculation for all customers from {} to {}", startDate, endDate);
 
-                logger.debug("Transaction ID {}: Amount = {}, Points = {}", tx.getTransactionId(), tx.getTransactionAmount(), points);
+        DateValidatorUtil.validateDates(startDate, endDate);
+        rewardValidationUtil.validateDate(startDate);
+        rewardValidationUtil.validateDate(endDate);
+        RewardRules rules = rewardRuleService.currentRules();
 
-                return new TransactionResponse(tx.getTransactionId(), tx.getTransactionAmount(), tx.getTransactionDate());
-            }).collect(Collectors.toList());
+        long phaseStart = System.nanoTime();
+        List<Customer> customers = customerDirectory.getCustomers();
+        logger.debug("Fetched {} customers", customers.size());
+        phaseStart = rewardMetrics.recordPhase(Operation.ALL_CUSTOMERS_SUMMARY, Phase.CUSTOMER_FETCH, phaseStart);
 
-            CustomerRewardResponse customerRewardResponse = new CustomerRewardResponse();
-            customerRewardResponse.setCustomerId(customer.getCustomerId());
-            customerRewardResponse.setCustomerName(customer.getCustomerName());
-            customerRewardResponse.setMonthlyRewards(monthlyRewards);
-            customerRewardResponse.setTotalRewards(totalRewards.get());
-            customerRewardResponse.setTransactions(transactionResponses);
+        rewardValidationUtil.validateCustomerList(customers);
 
-            logger.info("Total rewards for customer {} = {}", customer.getCustomerId(), totalRewards);
+        List<MonthlyRewardRow> monthlyRows = transactionRepositoryHelper.findAllMonthlyRewards(startDate, endDate, rules);
+        logger.debug("Fetched {} monthly reward rows for all customers", monthlyRows.size());
+        phaseStart = rewardMetrics.recordPhase(Operation.ALL_CUSTOMERS_SUMMARY, Phase.TRANSACTION_FETCH, phaseStart);
+        rewardMetrics.recordRowsFetched(Operation.ALL_CUSTOMERS_SUMMARY, monthlyRows.size());
 
-            return customerRewardResponse;
-        }).collect(Collectors.toList());
+        List<CustomerRewardResponse> responses = RewardAggregationUtil.buildCustomerSummaries(customers, monthlyRows,
+                new MonthlyRewardAccumulator(startDate, endDate));
+        rewardMetrics.recordPhase(Operation.ALL_CUSTOMERS_SUMMARY, Phase.POINTS_COMPUTATION, phaseStart);
+        return responses;
     }
 
-
     /**
      * Retrieves reward points for a specific customer over a given time frame.
      *
@@ -114,44 +213,282 @@ public class RewardServiceImpl implements RewardService {
      * @return CustomerRewardResponse containing the total reward points.
      */
     @Override
+    @Transactional(readOnly = true)
     public CustomerRewardResponse getCustomerRewardById(Long customerId, LocalDate startDate, LocalDate endDate) {
         logger.info("Calculating reward for customer ID: {} from {} to {}", customerId, startDate, endDate);
 
         DateValidatorUtil.validateDates(startDate, endDate);
         rewardValidationUtil.validateDate(startDate);
         rewardValidationUtil.validateDate(endDate);
+        RewardRules rules = rewardRuleService.currentRules();
 
-        Customer customer = customerRepositoryHelper.fetchCustomerById(customerId);
+        long phaseStart = System.nanoTime();
+        Customer customer = customerDirectory.getCustomer(customerId);
         logger.debug("Fetched customer: {}", customer.getCustomerName());
+        phaseStart = rewardMetrics.recordPhase(Operation.CUSTOMER, Phase.CUSTOMER_FETCH, phaseStart);
 
         List<Transaction> transactions = transactionRepositoryHelper
                 .findByCustomerIdAndTransactionDate(customerId, startDate, endDate);
         logger.debug("Found {} transactions for customer {}", transactions.size(), customerId);
+        phaseStart = rewardMetrics.recordPhase(Operation.CUSTOMER, Phase.TRANSACTION_FETCH, phaseStart);
+        rewardMetrics.recordRowsFetched(Operation.CUSTOMER, transactions.size());
 
-        Map<String, Integer> monthlyRewards = new HashMap<>();
-        AtomicInteger totalRewards = new AtomicInteger();
+        CustomerRewardResponse customerRewardResponse = RewardAggregationUtil.buildCustomerReward(customer, transactions, rules,
+                new MonthlyRewardAccumulator(startDate, endDate));
+        rewardMetrics.recordPhase(Operation.CUSTOMER, Phase.POINTS_COMPUTATION, phaseStart);
 
-        List<TransactionResponse> transactionResponses = transactions.stream().map(tx -> {
-            int points = RewardUtil.calculateRewardPoints(tx.getTransactionAmount());
-            String month = tx.getTransactionDate().getMonth().toString();
+        logger.info("Total rewards for customer ID {} = {}", customerId, customerRewardResponse.getTotalRewards());
 
-            monthlyRewards.put(month, monthlyRewards.getOrDefault(month, 0) + points);
-            totalRewards.addAndGet(points);
+        return customerRewardResponse;
+    }
+
+    /**
+     * Retrieves reward points for many customers at once.
+     * <p>
+     * Distinct IDs are sorted and processed in chunks of {@link #BATCH_CHUNK_SIZE}. Each chunk
+     * resolves its customers with one IN-list query and their in-range transactions with another,
+     * so a batch costs two statements per chunk instead of two per customer. IDs without a
+     * customer are reported as {@link RewardBatchEntry.Status#NOT_FOUND} entries rather than
+     * failing the batch.
+     *
+     * @param customerIds IDs of the customers; duplicates are answered once.
+     * @param startDate   Start of the transaction period.
+     * @param endDate     End of the transaction period.
+     * @return RewardBatchResponse with one entry per distinct ID, in request order.
+     * @throws IllegalArgumentException if the ID list is empty, contains nulls or exceeds {@link #MAX_BATCH_CUSTOMERS}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RewardBatchResponse getCustomerRewardsBatch(List<Long> customerIds, LocalDate startDate, LocalDate endDate) {
+        logger.info("Calculating rewards for a batch of {} customer IDs from {} to {}",
+                customerIds == null ? 0 : customerIds.size(), startDate, endDate);
 
-            logger.debug("Transaction ID {}: Amount = {}, Points = {}", tx.getTransactionId(), tx.getTransactionAmount(), points);
-            return new TransactionResponse(tx.getTransactionId(), tx.getTransactionAmount(), tx.getTransactionDate());
-        }).collect(Collectors.toList());
+        DateValidatorUtil.validateDates(startDate, endDate);
+        rewardValidationUtil.validateDate(startDate);
+        rewardValidationUtil.validateDate(endDate);
+        if (customerIds == null || customerIds.isEmpty()) {
+            throw new IllegalArgumentException("customerIds must not be empty.");
+        }
+        TreeSet<Long> sortedIds = new TreeSet<>();
+        for (Long customerId : customerIds) {
+            if (customerId == null) {
+                throw new IllegalArgumentException("customerIds must not contain null.");
+            }
+            sortedIds.add(customerId);
+        }
+        List<Long> distinctIds = new ArrayList<>(sortedIds);
+        if (distinctIds.size() > MAX_BATCH_CUSTOMERS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_CUSTOMERS + " customer IDs are allowed per batch.");
+        }
+        RewardRules rules = rewardRuleService.currentRules();
+
+        Map<Long, CustomerRewardResponse> rewards = new HashMap<>(distinctIds.size() * 2);
+        MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(startDate, endDate);
+        long customerFetchNanos = 0;
+        long transactionFetchNanos = 0;
+        long computationNanos = 0;
+        long rows = 0;
+        for (int from = 0; from < distinctIds.size(); from += BATCH_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + BATCH_CHUNK_SIZE, distinctIds.size()));
+
+            long phaseStart = System.nanoTime();
+            Map<Long, Customer> customersById = customerRepositoryHelper.fetchCustomersByIds(chunk);
+            List<Customer> customers = new ArrayList<>(customersById.size());
+            List<Long> foundIds = new ArrayList<>(customersById.size());
+            for (Long customerId : chunk) {
+                Customer customer = customersById.get(customerId);
+                if (customer != null) {
+                    customers.add(customer);
+                    foundIds.add(customerId);
+                }
+            }
+            long now = System.nanoTime();
+            customerFetchNanos += now - phaseStart;
+            if (customers.isEmpty()) {
+                continue;
+            }
+
+            phaseStart = now;
+            List<Transaction> transactions = transactionRepositoryHelper.findAllByCustomerIdsAndTransactionDate(foundIds, startDate, endDate);
+            rows += transactions.size();
+            now = System.nanoTime();
+            transactionFetchNanos += now - phaseStart;
+
+            for (CustomerRewardResponse reward : RewardAggregationUtil.buildCustomerRewards(customers, transactions, rules, accumulator)) {
+                rewards.put(reward.getCustomerId(), reward);
+            }
+            computationNanos += System.nanoTime() - now;
+        }
+        rewardMetrics.recordPhaseNanos(Operation.BATCH, Phase.CUSTOMER_FETCH, customerFetchNanos);
+        rewardMetrics.recordPhaseNanos(Operation.BATCH, Phase.TRANSACTION_FETCH, transactionFetchNanos);
+        rewardMetrics.recordPhaseNanos(Operation.BATCH, Phase.POINTS_COMPUTATION, computationNanos);
+        rewardMetrics.recordRowsFetched(Operation.BATCH, rows);
+
+        RewardBatchResponse response = new RewardBatchResponse();
+        for (Long customerId : customerIds) {
+            if (response.getResults().containsKey(customerId)) {
+                continue;
+            }
+            CustomerRewardResponse reward = rewards.get(customerId);
+            response.getResults().put(customerId, reward != null ? RewardBatchEntry.found(reward) : RewardBatchEntry.notFound(customerId));
+        }
+        response.setFound(rewards.size());
+        response.setNotFound(distinctIds.size() - rewards.size());
+
+        logger.info("Batch rewards: {} found, {} not found", response.getFound(), response.getNotFound());
+        return response;
+    }
+
+    /**
+     * Retrieves monthly and total reward points for a specific customer without transaction details.
+     * <p>
+     * Whole calendar months inside the range are answered from the monthly reward ledger.
+     * Partial months at either edge of the range are aggregated by the database, and so is the
+     * whole range while the ledger is stale after a change of reward rules. Customers with
+     * a long transaction history are answered from their {@link CustomerRewardIndex} instead,
+     * without querying transactions at all.
+     * <p>
+     * Unlike the other reward queries this one does not run in a single read-only transaction:
+     * building an index must read from the primary database, which a transaction already holding
+     * a replica connection could not do. Each of its queries is read-only on its own.
+     *
+     * @param customerId ID of the customer.
+     * @param startDate  Start of the transaction period.
+     * @param endDate    End of the transaction period.
+     * @return CustomerRewardResponse with monthly and total reward points and no transactions.
+     */
+    @Override
+    public CustomerRewardResponse getCustomerRewardSummary(Long customerId, LocalDate startDate, LocalDate endDate) {
+        logger.info("Calculating reward summary for customer ID: {} from {} to {}", customerId, startDate, endDate);
+
+        DateValidatorUtil.validateDates(startDate, endDate);
+        rewardValidationUtil.validateDate(startDate);
+        rewardValidationUtil.validateDate(endDate);
+        RewardRules rules = rewardRuleService.currentRules();
+
+        long phaseStart = System.nanoTime();
+        Customer customer = customerDirectory.getCustomer(customerId);
+        phaseStart = rewardMetrics.recordPhase(Operation.SUMMARY, Phase.CUSTOMER_FETCH, phaseStart);
+
+        YearMonth firstFullMonth = startDate.getDayOfMonth() == 1
+                ? YearMonth.from(startDate) : YearMonth.from(startDate).plusMonths(1);
+        YearMonth lastFullMonth = endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+                ? YearMonth.from(endDate) : YearMonth.from(endDate).minusMonths(1);
+
+        MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(startDate, endDate);
+        long rows = 0;
+
+        CustomerRewardIndex index = customerRewardIndexCache.getIndex(customerId);
+        // Ledger and edge rows are folded as they are read, so fetch and computation are timed together.
+        if (index != null) {
+            index.addTo(accumulator, startDate, endDate);
+        } else if (firstFullMonth.isAfter(lastFullMonth) || !rewardLedgerService.isCurrent()) {
+            rows += addMonthlyRewards(accumulator, customerId, startDate, endDate, rules);
+        } else {
+            List<MonthlyRewardLedger> ledgerRows = rewardLedgerService.findLedger(customerId, firstFullMonth, lastFullMonth);
+            for (MonthlyRewardLedger ledger : ledgerRows) {
+                accumulator.addMonth(YearMonth.from(ledger.getPeriodStart()), (int) ledger.getRewardPoints(), ledger.getTransactionCount());
+            }
+            rows += ledgerRows.size();
+            if (startDate.isBefore(firstFullMonth.atDay(1))) {
+                rows += addMonthlyRewards(accumulator, customerId, startDate, firstFullMonth.atDay(1).minusDays(1), rules);
+            }
+            if (endDate.isAfter(lastFullMonth.atEndOfMonth())) {
+                rows += addMonthlyRewards(accumulator, customerId, lastFullMonth.atEndOfMonth().plusDays(1), endDate, rules);
+            }
+        }
+        int totalRewards = accumulator.getTotalRewards();
+        rewardMetrics.recordPhase(Operation.SUMMARY, Phase.TRANSACTION_FETCH, phaseStart);
+        rewardMetrics.recordRowsFetched(Operation.SUMMARY, rows);
 
         CustomerRewardResponse customerRewardResponse = new CustomerRewardResponse();
         customerRewardResponse.setCustomerId(customer.getCustomerId());
         customerRewardResponse.setCustomerName(customer.getCustomerName());
-        customerRewardResponse.setMonthlyRewards(monthlyRewards);
-        customerRewardResponse.setTotalRewards(totalRewards.get());
-        customerRewardResponse.setTransactions(transactionResponses);
-
-        logger.info("Total rewards for customer ID {} = {}", customerId, totalRewards);
+        customerRewardResponse.setMonthlyRewards(accumulator.toMonthlyRewards());
+        customerRewardResponse.setTotalRewards(totalRewards);
 
+        logger.info("Total summary rewards for customer ID {} = {}", customerId, totalRewards);
         return customerRewardResponse;
     }
 
+    /**
+     * Checks the date range and the existence of customers for a streamed request.
+     * <p>
+     * Called before the response body is created, since an error raised while streaming
+     * arrives after the 200 status has been sent.
+     *
+     * @param startDate Start of the transaction period.
+     * @param endDate   End of the transaction period.
+     * @throws NoCustomerFoundException if there are no customers.
+     */
+    @Override
+    public void validateStreamRequest(LocalDate startDate, LocalDate endDate) {
+        DateValidatorUtil.validateDates(startDate, endDate);
+        rewardValidationUtil.validateDate(startDate);
+        rewardValidationUtil.validateDate(endDate);
+        if (!customerDirectory.hasCustomers()) {
+            throw new NoCustomerFoundException("No customers found in the system.");
+        }
+    }
+
+    /**
+     * Streams reward points for all customers for the given time period.
+     * <p>
+     * Customers and their transactions are read through a single database cursor ordered by
+     * customer ID. Each customer's reward is handed to the consumer as soon as the cursor moves
+     * past that customer, so only one customer's transactions are held in memory at a time.
+     *
+     * @param startDate Start of the transaction period.
+     * @param endDate   End of the transaction period.
+     * @param consumer  Receives each customer's reward in customer ID order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCustomerRewards(LocalDate startDate, LocalDate endDate, Consumer<CustomerRewardResponse> consumer) {
+        logger.info("Streaming rewards for all customers from {} to {}", startDate, endDate);
+
+        DateValidatorUtil.validateDates(startDate, endDate);
+        rewardValidationUtil.validateDate(startDate);
+        rewardValidationUtil.validateDate(endDate);
+        RewardRules rules = rewardRuleService.currentRules();
+
+        long customerCount = 0;
+        MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(startDate, endDate);
+        try (Stream<CustomerTransactionRow> rows = customerRepositoryHelper.streamCustomerTransactions(startDate, endDate)) {
+            Iterator<CustomerTransactionRow> iterator = rows.iterator();
+            CustomerTransactionRow current = null;
+            List<TransactionResponse> transactions = new ArrayList<>();
+
+            while (iterator.hasNext()) {
+                CustomerTransactionRow row = iterator.next();
+                if (current != null && !current.getCustomerId().equals(row.getCustomerId())) {
+                    consumer.accept(RewardAggregationUtil.buildCustomerReward(current.getCustomerId(), current.getCustomerName(), transactions, rules, accumulator));
+                    customerCount++;
+                    transactions = new ArrayList<>();
+                }
+                current = row;
+                if (row.getTransactionId() != null) {
+                    transactions.add(new TransactionResponse(row.getTransactionId(), row.getTransactionAmountCents(), row.getTransactionDate()));
+                }
+            }
+            if (current != null) {
+                consumer.accept(RewardAggregationUtil.buildCustomerReward(current.getCustomerId(), current.getCustomerName(), transactions, rules, accumulator));
+                customerCount++;
+            }
+        }
+
+        if (customerCount == 0) {
+            throw new NoCustomerFoundException("No customers found in the system.");
+        }
+        logger.info("Streamed rewards for {} customers", customerCount);
+    }
+
+    private int addMonthlyRewards(MonthlyRewardAccumulator accumulator, Long customerId, LocalDate from, LocalDate to, RewardRules rules) {
+        List<MonthlyRewardRow> monthlyRows = transactionRepositoryHelper.findMonthlyRewards(customerId, from, to, rules);
+        for (MonthlyRewardRow row : monthlyRows) {
+            RewardAggregationUtil.addMonth(accumulator, row);
+        }
+        return monthlyRows.size();
+    }
+
 }
@@ -0,0 +1,7 @@
+package com.retail.service;
+
+import java.time.LocalDate;
+
+public interface RewardVersionService {
+    String customerRewardETag(Long customerId, LocalDate startDate, LocalDate endDate, boolean summary);
+}
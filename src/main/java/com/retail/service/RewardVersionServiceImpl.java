@@ -0,0 +1,81 @@
+package com.retail.service;
+
+import com.retail.datasource.RecentWriteTracker;
+import com.retail.entity.Transaction;
+import com.retail.event.TransactionsRecordedEvent;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.util.DateValidatorUtil;
+import com.retail.util.RewardValidationUtil;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tracks when a customer's rewards change and turns that into ETags for reward responses.
+ * <p>
+ * Every customer row carries a reward version that is incremented in the same transaction
+ * as the transactions that change it. An ETag combines that version with the request
+ * parameters and a fingerprint of the reward rules in force, so it changes whenever the
+ * response could. Computing it reads a single column by primary key and never touches
+ * the transactions table. For a customer written within the replica lag the version is read
+ * from the primary, like the response itself, see {@link RecentWriteTracker}.
+ * <p>
+ * Callers compute the ETag before loading the response. A write that commits in between
+ * produces a newer body under the older tag, which only costs the client one more full
+ * response; a tag never describes data older than the body it is sent with.
+ */
+@Service
+public class RewardVersionServiceImpl implements RewardVersionService {
+
+    private final CustomerRepositoryHelper customerRepositoryHelper;
+    private final RewardRuleService rewardRuleService;
+    private final RewardValidationUtil rewardValidationUtil;
+    private final RecentWriteTracker recentWriteTracker;
+
+    public RewardVersionServiceImpl(CustomerRepositoryHelper customerRepositoryHelper,
+                                    RewardRuleService rewardRuleService,
+                                    RewardValidationUtil rewardValidationUtil,
+                                    RecentWriteTracker recentWriteTracker) {
+        this.customerRepositoryHelper = customerRepositoryHelper;
+        this.rewardRuleService = rewardRuleService;
+        this.rewardValidationUtil = rewardValidationUtil;
+        this.recentWriteTracker = recentWriteTracker;
+    }
+
+    /**
+     * Increments the reward version of every customer in the event, inside the writing transaction.
+     */
+    @EventListener
+    public void onTransactionsRecorded(TransactionsRecordedEvent event) {
+        Set<Long> customerIds = new HashSet<>();
+        for (Transaction transaction : event.getTransactions()) {
+            customerIds.add(transaction.getCustomer().getCustomerId());
+        }
+        customerRepositoryHelper.incrementRewardVersions(customerIds);
+    }
+
+    /**
+     * Computes the strong ETag of a single-customer reward response.
+     *
+     * @param customerId the ID of the customer
+     * @param startDate  start of the reward period
+     * @param endDate    end of the reward period
+     * @param summary    whether the response is the summary representation
+     * @return a quoted entity tag
+     * @throws com.retail.exceptionhandler.NoCustomerFoundException if the customer does not exist
+     */
+    @Override
+    public String customerRewardETag(Long customerId, LocalDate startDate, LocalDate endDate, boolean summary) {
+        DateValidatorUtil.validateDates(startDate, endDate);
+        rewardValidationUtil.validateDate(startDate);
+        rewardValidationUtil.validateDate(endDate);
+
+        long rewardVersion = recentWriteTracker.read(customerId, () -> customerRepositoryHelper.fetchRewardVersion(customerId));
+        long rulesFingerprint = rewardRuleService.currentRules().fingerprint();
+        return "\"" + customerId + '-' + rewardVersion + '-' + startDate.toEpochDay() + '-' + endDate.toEpochDay()
+                + (summary ? "-s-" : "-f-") + Long.toHexString(rulesFingerprint) + "\"";
+    }
+}
@@ -0,0 +1,9 @@
+package com.retail.service;
+
+import com.retail.dto.TransactionBackfillReport;
+
+import java.nio.file.Path;
+
+public interface TransactionBackfillService {
+    TransactionBackfillReport importFile(Path file);
+}
@@ -0,0 +1,453 @@
+package com.retail.service;
+
+import com.retail.backfill.CsvTransactionReader;
+import com.retail.dto.TransactionBackfillReport;
+import com.retail.entity.Transaction;
+import com.retail.event.CustomersRecordedEvent;
+import com.retail.event.TransactionsBackfilledEvent;
+import com.retail.helper.CustomerRepositoryHelper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk importer for historical transaction exports in the CSV format read by {@link CsvTransactionReader}.
+ * <p>
+ * The file is split into line-aligned chunks of about {@code rewards.backfill.chunk-size}, each
+ * memory-mapped on its own and parsed on one of {@code rewards.backfill.threads} workers:
+ * - First every chunk is scanned for its customers, and the ones not in the database yet are inserted
+ *   and published as a {@link CustomersRecordedEvent}.
+ * - Then every chunk is loaded with JDBC batch inserts in its own transaction, which also records the
+ *   chunk in {@code transaction_backfill_checkpoints}. Checkpoints are keyed by a SHA-256 digest of
+ *   the file's content, so a rerun of the same content after a failure or a kill skips the recorded
+ *   chunks and every row is loaded exactly once, while a different export is loaded in full even if
+ *   it has the same name and size.
+ * - Finally the monthly reward ledger is rebuilt, the reward versions of the imported customers are
+ *   bumped and a {@link TransactionsBackfilledEvent} drops this instance's cached rewards, indexes and
+ *   leaderboards. In-memory reward state of other running instances is not notified, so they should be
+ *   restarted after a backfill; their customer directories catch up on their own.
+ * <p>
+ * Invalid rows are skipped, counted and logged with their byte offset in the file.
+ */
+@Service
+public class TransactionBackfillServiceImpl implements TransactionBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionBackfillServiceImpl.class);
+
+    private static final String INSERT_TRANSACTION =
+            "insert into transactions (transaction_id, transaction_amount_cents, transaction_date, customer_id) values (?, ?, ?, ?)";
+    private static final String INSERT_CUSTOMER = "insert into customers (customer_id, customer_name) values (?, ?)";
+    private static final String INSERT_CHECKPOINT =
+            "insert into transaction_backfill_checkpoints (file_key, chunk_start, chunk_end, rows_loaded, completed_at) values (?, ?, ?, ?, ?)";
+    private static final String SELECT_CHECKPOINTS =
+            "select chunk_start, chunk_end from transaction_backfill_checkpoints where file_key = ?";
+
+    private static final int CUSTOMER_BATCH_SIZE = 1000;
+    private static final int MAX_LOGGED_REJECTIONS = 20;
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+    private static final int LINE_PROBE_SIZE = 8192;
+    private static final int DIGEST_BUFFER_SIZE = 1 << 20;
+
+    private final CustomerRepositoryHelper customerRepositoryHelper;
+    private final RewardLedgerService rewardLedgerService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long chunkSize;
+    private final int threads;
+    private final int batchSize;
+
+    public TransactionBackfillServiceImpl(
+            CustomerRepositoryHelper customerRepositoryHelper,
+            RewardLedgerService rewardLedgerService,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${rewards.backfill.chunk-size:16MB}") DataSize chunkSize,
+            @Value("${rewards.backfill.threads:4}") int threads,
+            @Value("${rewards.ingestion.batch-size:500}") int batchSize) {
+        if (chunkSize.toBytes() < 1 || chunkSize.toBytes() > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("rewards.backfill.chunk-size must be between 1B and 1GB.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("rewards.backfill.threads must be positive.");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("rewards.ingestion.batch-size must be positive.");
+        }
+        this.customerRepositoryHelper = customerRepositoryHelper;
+        this.rewardLedgerService = rewardLedgerService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize.toBytes();
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports a CSV export, resuming after the chunks a previous run of the same content already loaded.
+     *
+     * @param file the CSV file
+     * @return what this run loaded
+     * @throws IllegalStateException if loading a chunk fails; the chunks loaded so far stay recorded
+     */
+    @Override
+    public TransactionBackfillReport importFile(Path file) {
+        long startedNanos = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            String fileKey = contentKey(channel, size);
+            List<Chunk> chunks = split(channel, size, chunkSize);
+            List<Chunk> pending = pendingChunks(fileKey, chunks);
+            logger.info("Backfilling {} ({} bytes) in {} chunks, {} already loaded, with {} threads",
+                    file, size, chunks.size(), chunks.size() - pending.size(), threads);
+
+            Map<Long, String> customers = new ConcurrentHashMap<>();
+            runParallel(chunks, chunk -> collectCustomers(channel, chunk, customers));
+            int customersCreated = createMissingCustomers(customers);
+
+            IdentifierGenerator idGenerator = transactionIdGenerator();
+            AtomicLong rowsLoaded = new AtomicLong();
+            AtomicLong rowsRejected = new AtomicLong();
+            AtomicInteger chunksLoaded = new AtomicInteger();
+            runParallel(pending, chunk -> {
+                ChunkRows rows = parseChunk(channel, chunk, rowsRejected);
+                transactionTemplate.executeWithoutResult(status -> {
+                    insertTransactions(rows, idGenerator);
+                    jdbcTemplate.update(INSERT_CHECKPOINT, fileKey, chunk.start(), chunk.end(), rows.size,
+                            Timestamp.from(Instant.now()));
+                });
+                long loaded = rowsLoaded.addAndGet(rows.size);
+                logger.info("Loaded chunk {}/{} of {}: {} rows, {} rows/s so far", chunksLoaded.incrementAndGet(),
+                        pending.size(), file.getFileName(), rows.size, rowsPerSecond(loaded, startedNanos));
+            });
+
+            rewardLedgerService.rebuildLedger();
+            incrementRewardVersions(customers.keySet());
+            eventPublisher.publishEvent(new TransactionsBackfilledEvent(Set.copyOf(customers.keySet())));
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+            TransactionBackfillReport report = new TransactionBackfillReport(file.toString(), chunks.size(),
+                    chunks.size() - pending.size(), rowsLoaded.get(), rowsRejected.get(), customersCreated, elapsedMillis);
+            logger.info("Backfilled {}: {} rows loaded, {} rejected, {} customers created in {} ms ({} rows/s)",
+                    file, report.getRowsLoaded(), report.getRowsRejected(), customersCreated, elapsedMillis, report.getRowsPerSecond());
+            return report;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read backfill file " + file, ex);
+        }
+    }
+
+    /**
+     * @return {@code sha256:} followed by the hex SHA-256 digest of the first {@code size} bytes
+     */
+    static String contentKey(FileChannel channel, long size) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE);
+        long position = 0;
+        while (position < size) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), size - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            digest.update(buffer.flip());
+            position += read;
+        }
+        return "sha256:" + HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Splits a file into chunks of about {@code chunkSize} bytes, each ending after a line feed
+     * (or at the end of the file), so that no line spans two chunks.
+     */
+    static List<Chunk> split(FileChannel channel, long size, long chunkSize) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = size - start <= chunkSize ? size : nextLineStart(channel, start + chunkSize, size);
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Line at byte " + start + " is too long to be a transaction row.");
+            }
+            chunks.add(new Chunk(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * @return the offset of the first line starting at or after {@code from}
+     */
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(LINE_PROBE_SIZE);
+        long position = from - 1;
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * @return the chunks not recorded as loaded by an earlier run of the same content
+     * @throws IllegalStateException if the earlier run split the file differently
+     */
+    private List<Chunk> pendingChunks(String fileKey, List<Chunk> chunks) {
+        Map<Long, Long> loaded = new HashMap<>();
+        jdbcTemplate.query(SELECT_CHECKPOINTS, rs -> {
+            loaded.put(rs.getLong(1), rs.getLong(2));
+        }, fileKey);
+
+        List<Chunk> pending = new ArrayList<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            Long end = loaded.remove(chunk.start());
+            if (end == null) {
+                pending.add(chunk);
+            } else if (end != chunk.end()) {
+                loaded.put(chunk.start(), end);
+            }
+        }
+        if (!loaded.isEmpty()) {
+            throw new IllegalStateException("Checkpoints of this file (" + fileKey
+                    + ") were written with a different rewards.backfill.chunk-size; resume with the original chunk size.");
+        }
+        return pending;
+    }
+
+    private static void collectCustomers(FileChannel channel, Chunk chunk, Map<Long, String> customers) throws IOException {
+        CsvTransactionReader reader = new CsvTransactionReader(map(channel, chunk), chunk.start() == 0);
+        while (reader.next()) {
+            if (reader.isValid() && !customers.containsKey(reader.getCustomerId())) {
+                customers.putIfAbsent(reader.getCustomerId(), reader.customerName());
+            }
+        }
+    }
+
+    /**
+     * Inserts the customers that do not exist yet; existing customers keep their name.
+     *
+     * @return number of customers inserted
+     */
+    private int createMissingCustomers(Map<Long, String> customers) {
+        List<Long> ids = new ArrayList<>(customers.keySet());
+        int created = 0;
+        for (int from = 0; from < ids.size(); from += CUSTOMER_BATCH_SIZE) {
+            List<Long> slice = ids.subList(from, Math.min(from + CUSTOMER_BATCH_SIZE, ids.size()));
+            Set<Long> existing = customerRepositoryHelper.fetchCustomersByIds(slice).keySet();
+            List<Object[]> missing = new ArrayList<>();
+            Map<Long, String> missingNames = new HashMap<>();
+            for (Long id : slice) {
+                if (!existing.contains(id)) {
+                    missing.add(new Object[]{id, customers.get(id)});
+                    missingNames.put(id, customers.get(id));
+                }
+            }
+            if (!missing.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_CUSTOMER, missing);
+                    eventPublisher.publishEvent(new CustomersRecordedEvent(missingNames));
+                });
+                created += missing.size();
+            }
+        }
+        logger.info("Backfill found {} customers, created {}", customers.size(), created);
+        return created;
+    }
+
+    private static ChunkRows parseChunk(FileChannel channel, Chunk chunk, AtomicLong rowsRejected) throws IOException {
+        CsvTransactionReader reader = new CsvTransactionReader(map(channel, chunk), chunk.start() == 0);
+        ChunkRows rows = new ChunkRows((int) ((chunk.end() - chunk.start()) / 32) + 16);
+        while (reader.next()) {
+            if (reader.isValid()) {
+                rows.add(reader.getCustomerId(), reader.getAmountCents(), reader.getEpochDay());
+            } else if (rowsRejected.incrementAndGet() <= MAX_LOGGED_REJECTIONS) {
+                logger.warn("Skipping backfill row at byte {}: {}", chunk.start() + reader.getLineStart(), reader.getError());
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Inserts a chunk's rows inside the caller's transaction, with IDs from the entity's own sequence.
+     */
+    private void insertTransactions(ChunkRows rows, IdentifierGenerator idGenerator) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        long[] ids = new long[rows.size];
+        for (int i = 0; i < rows.size; i++) {
+            ids[i] = ((Number) idGenerator.generate(session, null)).longValue();
+        }
+        for (int from = 0; from < rows.size; from += batchSize) {
+            int offset = from;
+            int count = Math.min(batchSize, rows.size - from);
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int row = offset + i;
+                    ps.setLong(1, ids[row]);
+                    ps.setLong(2, rows.amountCents[row]);
+                    ps.setObject(3, LocalDate.ofEpochDay(rows.epochDays[row]));
+                    ps.setLong(4, rows.customerIds[row]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return count;
+                }
+            });
+        }
+    }
+
+    private IdentifierGenerator transactionIdGenerator() {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        return (IdentifierGenerator) sessionFactory.getMappingMetamodel().getEntityDescriptor(Transaction.class).getGenerator();
+    }
+
+    private void incrementRewardVersions(Iterable<Long> customerIds) {
+        List<Long> slice = new ArrayList<>(CUSTOMER_BATCH_SIZE);
+        for (Long customerId : customerIds) {
+            slice.add(customerId);
+            if (slice.size() == CUSTOMER_BATCH_SIZE) {
+                transactionTemplate.executeWithoutResult(status -> customerRepositoryHelper.incrementRewardVersions(slice));
+                slice.clear();
+            }
+        }
+        if (!slice.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> customerRepositoryHelper.incrementRewardVersions(slice));
+        }
+    }
+
+    /**
+     * Runs the task for every chunk on {@code threads} workers; the first failure cancels the rest.
+     */
+    private void runParallel(List<Chunk> chunks, ChunkTask task) {
+        if (chunks.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, chunks.size()));
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks.size());
+            for (Chunk chunk : chunks) {
+                futures.add(executor.submit(() -> {
+                    task.run(chunk);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Backfill failed; rerun it to resume after the chunks already loaded.", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Backfill interrupted; rerun it to resume after the chunks already loaded.", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, Chunk chunk) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.end() - chunk.start());
+    }
+
+    private static long rowsPerSecond(long rows, long startedNanos) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+        return rows * 1000 / elapsedMillis;
+    }
+
+    /**
+     * Byte range {@code [start, end)} of the file.
+     */
+    record Chunk(long start, long end) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(Chunk chunk) throws Exception;
+    }
+
+    /**
+     * Parsed rows of one chunk, column by column.
+     */
+    private static final class ChunkRows {
+        private long[] customerIds;
+        private long[] amountCents;
+        private long[] epochDays;
+        private int size;
+
+        private ChunkRows(int capacity) {
+            customerIds = new long[capacity];
+            amountCents = new long[capacity];
+            epochDays = new long[capacity];
+        }
+
+        private void add(long customerId, long cents, long epochDay) {
+            if (size == customerIds.length) {
+                int capacity = size * 2;
+                customerIds = Arrays.copyOf(customerIds, capacity);
+                amountCents = Arrays.copyOf(amountCents, capacity);
+                epochDays = Arrays.copyOf(epochDays, capacity);
+            }
+            customerIds[size] = customerId;
+            amountCents[size] = cents;
+            epochDays[size] = epochDay;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.retail.service;
+
+import com.retail.dto.TransactionEventPipelineStats;
+import com.retail.dto.TransactionEventResponse;
+import com.retail.dto.TransactionRequest;
+
+import java.util.List;
+
+public interface TransactionEventService {
+    TransactionEventResponse submit(List<TransactionRequest> events, boolean awaitCommit);
+
+    TransactionEventPipelineStats stats();
+}
@@ -0,0 +1,395 @@
+package com.retail.service;
+
+import com.retail.dto.TransactionEventPipelineStats;
+import com.retail.dto.TransactionEventResponse;
+import com.retail.dto.TransactionRequest;
+import com.retail.dto.TransactionRowError;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.exceptionhandler.IngestionBackpressureException;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.ingest.MpscRingBuffer;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous ingestion pipeline for point-of-sale transaction events.
+ * <p>
+ * Request threads validate events and append them to a bounded {@link MpscRingBuffer}; a single
+ * writer thread drains up to {@code rewards.ingestion.batch-size} events at a time and records
+ * them in one database transaction (group commit). Derived reward state is updated inside that
+ * transaction through the usual {@link com.retail.event.TransactionsRecordedEvent}.
+ * <p>
+ * Backpressure: a submission that does not fit into the buffer within
+ * {@code rewards.ingestion.pipeline.offer-timeout} is refused with
+ * {@link IngestionBackpressureException}, and nothing of it is queued.
+ * <p>
+ * Delivery is at-least-once with idempotent replay:
+ * - Every event carries a producer-assigned {@code externalRef}; an event whose reference is
+ *   already stored is counted as a duplicate and not recorded again.
+ * - Queued events live in memory only. A submission is durable once its events are committed,
+ *   which callers observe by awaiting the commit; events that were only queued are lost if the
+ *   process dies, so producers keep every event until it is confirmed and replay it otherwise.
+ * - A failed commit is retried with backoff. A batch that still fails after
+ *   {@value #COMMIT_ATTEMPTS} attempts is split in half and each half committed on its own, so
+ *   an event that cannot be stored is isolated and rejected instead of stalling the pipeline.
+ *   At shutdown the queue is drained; a batch that still cannot be committed is dropped and its
+ *   awaiting callers are failed.
+ */
+@Service
+public class TransactionEventServiceImpl implements TransactionEventService, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionEventServiceImpl.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long OFFER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int COMMIT_ATTEMPTS = 3;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000;
+
+    private final CustomerRepositoryHelper customerRepositoryHelper;
+    private final TransactionRepositoryHelper transactionRepositoryHelper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final long awaitTimeoutNanos;
+
+    private final MpscRingBuffer<PendingEvent> buffer;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedCommits = new AtomicLong();
+
+    /**
+     * {@link System#nanoTime()} at which the oldest event of the batch being committed was accepted, 0 when idle.
+     */
+    private volatile long oldestPendingNanos;
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public TransactionEventServiceImpl(
+            CustomerRepositoryHelper customerRepositoryHelper,
+            TransactionRepositoryHelper transactionRepositoryHelper,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager,
+            @Value("${rewards.ingestion.pipeline.capacity:65536}") int capacity,
+            @Value("${rewards.ingestion.batch-size:500}") int batchSize,
+            @Value("${rewards.ingestion.pipeline.offer-timeout:100ms}") Duration offerTimeout,
+            @Value("${rewards.ingestion.pipeline.await-timeout:5s}") Duration awaitTimeout) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("rewards.ingestion.batch-size must be positive.");
+        }
+        this.customerRepositoryHelper = customerRepositoryHelper;
+        this.transactionRepositoryHelper = transactionRepositoryHelper;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.awaitTimeoutNanos = awaitTimeout.toNanos();
+    }
+
+    /**
+     * Validates the events and queues them for the writer thread.
+     *
+     * @param events      events in producer order, each with an {@code externalRef}
+     * @param awaitCommit whether to wait, up to {@code rewards.ingestion.pipeline.await-timeout}, until the events are committed
+     * @return the accepted count, plus per-event outcomes when the commit was awaited and happened in time
+     * @throws IllegalArgumentException       if any event is invalid; none of them is queued
+     * @throws IngestionBackpressureException if the buffer stays full, the pipeline is stopped, or the events were dropped at shutdown
+     */
+    @Override
+    public TransactionEventResponse submit(List<TransactionRequest> events, boolean awaitCommit) {
+        if (events == null || events.isEmpty()) {
+            throw new IllegalArgumentException("At least one transaction event is required.");
+        }
+        if (events.size() > buffer.capacity()) {
+            throw new IllegalArgumentException("At most " + buffer.capacity() + " transaction events can be submitted at once.");
+        }
+        for (int i = 0; i < events.size(); i++) {
+            TransactionRequest event = events.get(i);
+            String error = event.getExternalRef() == null
+                    ? "externalRef is required." : TransactionIngestionServiceImpl.validateFields(event);
+            if (error != null) {
+                throw new IllegalArgumentException("Event " + (i + 1) + ": " + error);
+            }
+        }
+        if (!running) {
+            throw new IngestionBackpressureException("Transaction event pipeline is not running.");
+        }
+
+        long acceptedNanos = System.nanoTime();
+        Submission submission = new Submission(events.size());
+        List<PendingEvent> pending = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            pending.add(new PendingEvent(events.get(i), i + 1, acceptedNanos, submission));
+        }
+        offer(pending, acceptedNanos);
+        accepted.addAndGet(events.size());
+        LockSupport.unpark(writer);
+
+        if (awaitCommit) {
+            try {
+                return submission.result.get(awaitTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                logger.debug("{} transaction events not committed within the await timeout", events.size());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ex) {
+                throw new IngestionBackpressureException("Transaction events could not be committed; replay them later.");
+            }
+        }
+        TransactionEventResponse response = new TransactionEventResponse();
+        response.setAccepted(events.size());
+        return response;
+    }
+
+    @Override
+    public TransactionEventPipelineStats stats() {
+        TransactionEventPipelineStats stats = new TransactionEventPipelineStats();
+        stats.setCapacity(buffer.capacity());
+        stats.setAccepted(accepted.get());
+        stats.setRecorded(recorded.get());
+        stats.setDuplicates(duplicates.get());
+        stats.setRejected(rejected.get());
+        stats.setDropped(dropped.get());
+        stats.setBatches(batches.get());
+        stats.setFailedCommits(failedCommits.get());
+        long finished = stats.getRecorded() + stats.getDuplicates() + stats.getRejected() + stats.getDropped();
+        stats.setLag(Math.max(0, stats.getAccepted() - finished));
+        long oldest = oldestPendingNanos;
+        stats.setLagMillis(oldest == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest));
+        return stats;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::runWriter, "transaction-event-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+        logger.info("Transaction event pipeline started with capacity {} and batch size {}", buffer.capacity(), batchSize);
+    }
+
+    /**
+     * Stops accepting events and waits for the writer to commit everything already queued.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Transaction event pipeline stopped, {} events still queued", buffer.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void offer(List<PendingEvent> pending, long startNanos) {
+        int spins = 0;
+        while (!buffer.offerAll(pending)) {
+            if (System.nanoTime() - startNanos >= offerTimeoutNanos) {
+                logger.warn("Transaction event pipeline full, refusing {} events", pending.size());
+                throw new IngestionBackpressureException("Transaction event pipeline is full; retry later.");
+            }
+            LockSupport.unpark(writer);
+            if (++spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(OFFER_PARK_NANOS);
+            }
+        }
+    }
+
+    private void runWriter() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            oldestPendingNanos = batch.get(0).acceptedNanos();
+            commitWithRetry(batch);
+            batch.clear();
+            oldestPendingNanos = 0;
+        }
+    }
+
+    /**
+     * Commits a batch, retrying with backoff. A batch that keeps failing is bisected until the
+     * failing events are isolated; those are rejected.
+     */
+    private void commitWithRetry(List<PendingEvent> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Outcome[] outcomes = transactionTemplate.execute(status -> commit(batch));
+                complete(batch, outcomes);
+                return;
+            } catch (RuntimeException ex) {
+                failedCommits.incrementAndGet();
+                if (!running && attempt >= COMMIT_ATTEMPTS) {
+                    logger.error("Dropping {} uncommitted transaction events at shutdown; producers must replay them", batch.size(), ex);
+                    dropped.addAndGet(batch.size());
+                    for (PendingEvent event : batch) {
+                        event.submission().result.completeExceptionally(ex);
+                    }
+                    return;
+                }
+                if (attempt >= COMMIT_ATTEMPTS) {
+                    if (batch.size() == 1) {
+                        logger.error("Rejecting transaction event {} after {} failed commits",
+                                batch.get(0).request().getExternalRef(), attempt, ex);
+                        complete(batch, new Outcome[]{Outcome.FAILED});
+                        return;
+                    }
+                    logger.warn("Committing {} transaction events failed {} times, committing each half on its own",
+                            batch.size(), attempt);
+                    int half = batch.size() / 2;
+                    commitWithRetry(batch.subList(0, half));
+                    commitWithRetry(batch.subList(half, batch.size()));
+                    return;
+                }
+                long backoffNanos = Math.min(RETRY_BACKOFF_NANOS << Math.min(attempt - 1, 6), MAX_RETRY_BACKOFF_NANOS);
+                logger.warn("Committing {} transaction events failed (attempt {}), retrying in {} ms",
+                        batch.size(), attempt, TimeUnit.NANOSECONDS.toMillis(backoffNanos), ex);
+                LockSupport.parkNanos(this, backoffNanos);
+            }
+        }
+    }
+
+    /**
+     * Records one batch inside the caller's database transaction.
+     *
+     * @return the outcome of each event, in batch order
+     */
+    private Outcome[] commit(List<PendingEvent> batch) {
+        Set<Long> customerIds = new HashSet<>();
+        Set<String> externalRefs = new HashSet<>();
+        for (PendingEvent event : batch) {
+            customerIds.add(event.request().getCustomerId());
+            externalRefs.add(event.request().getExternalRef());
+        }
+        Map<Long, Customer> customers = customerRepositoryHelper.fetchCustomersByIds(customerIds);
+        Set<String> recordedRefs = new HashSet<>(transactionRepositoryHelper.findExistingExternalRefs(externalRefs));
+
+        Outcome[] outcomes = new Outcome[batch.size()];
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            TransactionRequest request = batch.get(i).request();
+            Customer customer = customers.get(request.getCustomerId());
+            if (customer == null) {
+                outcomes[i] = Outcome.REJECTED;
+            } else if (!recordedRefs.add(request.getExternalRef())) {
+                outcomes[i] = Outcome.DUPLICATE;
+            } else {
+                Transaction transaction = new Transaction(null, request.getTransactionAmountCents(), request.getTransactionDate(), customer);
+                transaction.setExternalRef(request.getExternalRef());
+                transactions.add(transaction);
+                outcomes[i] = Outcome.RECORDED;
+            }
+        }
+
+        if (!transactions.isEmpty()) {
+            transactionRepositoryHelper.saveTransactions(transactions);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return outcomes;
+    }
+
+    /**
+     * Publishes the outcomes of a committed batch to the counters and to awaiting callers.
+     */
+    private void complete(List<PendingEvent> batch, Outcome[] outcomes) {
+        for (int i = 0; i < batch.size(); i++) {
+            PendingEvent event = batch.get(i);
+            TransactionEventResponse response = event.submission().response;
+            switch (outcomes[i]) {
+                case RECORDED -> {
+                    recorded.incrementAndGet();
+                    response.setRecorded(response.getRecorded() + 1);
+                }
+                case DUPLICATE -> {
+                    duplicates.incrementAndGet();
+                    response.setDuplicates(response.getDuplicates() + 1);
+                }
+                case REJECTED -> {
+                    rejected.incrementAndGet();
+                    response.setRejected(response.getRejected() + 1);
+                    response.getErrors().add(new TransactionRowError(event.row(),
+                            "Customer not found with ID: " + event.request().getCustomerId()));
+                }
+                case FAILED -> {
+                    rejected.incrementAndGet();
+                    response.setRejected(response.getRejected() + 1);
+                    response.getErrors().add(new TransactionRowError(event.row(), "Transaction could not be recorded."));
+                }
+            }
+            if (--event.submission().remaining == 0) {
+                response.setCommitted(true);
+                event.submission().result.complete(response);
+            }
+        }
+        batches.incrementAndGet();
+        logger.debug("Committed batch of {} transaction events", batch.size());
+    }
+
+    /**
+     * {@code REJECTED}: the customer does not exist. {@code FAILED}: the event could not be committed.
+     */
+    private enum Outcome {
+        RECORDED, DUPLICATE, REJECTED, FAILED
+    }
+
+    private record PendingEvent(TransactionRequest request, long row, long acceptedNanos, Submission submission) {
+    }
+
+    /**
+     * Events submitted together. Only the writer thread updates it until {@link #result} completes.
+     */
+    private static final class Submission {
+        private final TransactionEventResponse response = new TransactionEventResponse();
+        private final CompletableFuture<TransactionEventResponse> result = new CompletableFuture<>();
+        private int remaining;
+
+        private Submission(int accepted) {
+            response.setAccepted(accepted);
+            remaining = accepted;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.retail.service;
+
+import com.retail.dto.TransactionBatchResponse;
+import com.retail.dto.TransactionRequest;
+
+import java.util.Iterator;
+
+public interface TransactionIngestionService {
+    TransactionBatchResponse ingest(Iterator<TransactionRequest> rows);
+}
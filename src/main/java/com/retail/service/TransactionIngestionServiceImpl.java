@@ -0,0 +1,189 @@
+package com.retail.service;
+
+import com.retail.dto.TransactionBatchResponse;
+import com.retail.dto.TransactionRequest;
+import com.retail.dto.TransactionRowError;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.helper.TransactionRepositoryHelper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk loader for point-of-sale transactions.
+ * <p>
+ * Responsibilities:
+ * - Reads rows lazily from the caller, so arbitrarily large payloads are never held in memory.
+ * - Validates each row and reports rejected rows by their position in the payload.
+ * - Resolves all customers of a chunk with one query.
+ * - Skips rows whose {@code externalRef} is already stored, so a replayed payload is not recorded twice.
+ * - Inserts each chunk in its own database transaction using JDBC batching.
+ * <p>
+ * Chunks commit independently: when a later chunk fails, earlier chunks stay committed.
+ */
+@Service
+public class TransactionIngestionServiceImpl implements TransactionIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionIngestionServiceImpl.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Width of the {@code transactions.external_ref} column.
+     */
+    static final int MAX_EXTERNAL_REF_LENGTH = 64;
+
+    private final CustomerRepositoryHelper customerRepositoryHelper;
+    private final TransactionRepositoryHelper transactionRepositoryHelper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public TransactionIngestionServiceImpl(
+            CustomerRepositoryHelper customerRepositoryHelper,
+            TransactionRepositoryHelper transactionRepositoryHelper,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager,
+            @Value("${rewards.ingestion.batch-size:500}") int batchSize) {
+        this.customerRepositoryHelper = customerRepositoryHelper;
+        this.transactionRepositoryHelper = transactionRepositoryHelper;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Validates and inserts the given rows in chunks of the configured batch size.
+     *
+     * @param rows transaction rows in payload order
+     * @return counts of received, inserted and rejected rows, rejected row details and throughput
+     */
+    @Override
+    public TransactionBatchResponse ingest(Iterator<TransactionRequest> rows) {
+        long started = System.nanoTime();
+        TransactionBatchResponse response = new TransactionBatchResponse();
+
+        List<TransactionRequest> chunk = new ArrayList<>(batchSize);
+        long chunkFirstRow = 1;
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == batchSize) {
+                insertChunk(chunk, chunkFirstRow, response);
+                chunkFirstRow += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, chunkFirstRow, response);
+        }
+
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        response.setElapsedMillis(elapsedNanos / 1_000_000);
+        response.setRowsPerSecond(response.getInserted() * 1_000_000_000L / elapsedNanos);
+
+        logger.info("Ingested {} of {} transactions ({} rejected) in {} ms, {} rows/sec",
+                response.getInserted(), response.getReceived(), response.getRejected(),
+                response.getElapsedMillis(), response.getRowsPerSecond());
+        return response;
+    }
+
+    private void insertChunk(List<TransactionRequest> chunk, long firstRow, TransactionBatchResponse response) {
+        response.setReceived(response.getReceived() + chunk.size());
+
+        Set<Long> customerIds = new HashSet<>();
+        Set<String> externalRefs = new HashSet<>();
+        for (TransactionRequest row : chunk) {
+            if (row.getCustomerId() != null) {
+                customerIds.add(row.getCustomerId());
+            }
+            if (row.getExternalRef() != null) {
+                externalRefs.add(row.getExternalRef());
+            }
+        }
+
+        Integer inserted = transactionTemplate.execute(status -> {
+            Map<Long, Customer> customers = customerRepositoryHelper.fetchCustomersByIds(customerIds);
+            Set<String> recordedRefs = new HashSet<>(transactionRepositoryHelper.findExistingExternalRefs(externalRefs));
+
+            List<Transaction> transactions = new ArrayList<>(chunk.size());
+            long rowNumber = firstRow;
+            for (TransactionRequest row : chunk) {
+                String error = validate(row, customers);
+                if (error == null && row.getExternalRef() != null && !recordedRefs.add(row.getExternalRef())) {
+                    error = "Transaction already recorded with externalRef: " + row.getExternalRef();
+                }
+                if (error != null) {
+                    reject(response, rowNumber, error);
+                } else {
+                    Transaction transaction = new Transaction(null, row.getTransactionAmountCents(), row.getTransactionDate(),
+                            customers.get(row.getCustomerId()));
+                    transaction.setExternalRef(row.getExternalRef());
+                    transactions.add(transaction);
+                }
+                rowNumber++;
+            }
+
+            transactionRepositoryHelper.saveTransactions(transactions);
+            entityManager.flush();
+            entityManager.clear();
+            return transactions.size();
+        });
+
+        response.setInserted(response.getInserted() + (inserted == null ? 0 : inserted));
+    }
+
+    /**
+     * Checks the fields of a row that do not depend on the database.
+     *
+     * @return the reason the row is invalid, or {@code null} when it is valid
+     */
+    static String validateFields(TransactionRequest row) {
+        if (row.getCustomerId() == null) {
+            return "customerId is required.";
+        }
+        if (row.getTransactionAmountCents() == null || row.getTransactionAmountCents() <= 0) {
+            return "transactionAmountCents must be greater than zero.";
+        }
+        if (row.getTransactionDate() == null) {
+            return "transactionDate is required.";
+        }
+        if (row.getTransactionDate().isAfter(LocalDate.now())) {
+            return "transactionDate cannot be in the future.";
+        }
+        if (row.getExternalRef() != null && (row.getExternalRef().isBlank() || row.getExternalRef().length() > MAX_EXTERNAL_REF_LENGTH)) {
+            return "externalRef must be between 1 and " + MAX_EXTERNAL_REF_LENGTH + " characters.";
+        }
+        return null;
+    }
+
+    private static String validate(TransactionRequest row, Map<Long, Customer> customers) {
+        String error = validateFields(row);
+        if (error != null) {
+            return error;
+        }
+        if (!customers.containsKey(row.getCustomerId())) {
+            return "Customer not found with ID: " + row.getCustomerId();
+        }
+        return null;
+    }
+
+    private static void reject(TransactionBatchResponse response, long rowNumber, String message) {
+        response.setRejected(response.getRejected() + 1);
+        if (response.getErrors().size() < MAX_REPORTED_ERRORS) {
+            response.getErrors().add(new TransactionRowError(rowNumber, message));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.retail.service;
+
+import com.retail.dto.RewardSnapshotReport;
+import com.retail.dto.TransactionSnapshotInfo;
+
+import java.time.LocalDate;
+
+public interface TransactionSnapshotService {
+    TransactionSnapshotInfo createSnapshot();
+
+    TransactionSnapshotInfo getSnapshotInfo();
+
+    int getCustomerRewardTotal(Long customerId, LocalDate startDate, LocalDate endDate);
+
+    RewardSnapshotReport getRewardReport(LocalDate startDate, LocalDate endDate);
+}
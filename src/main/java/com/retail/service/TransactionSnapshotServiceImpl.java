@@ -0,0 +1,180 @@
+package com.retail.service;
+
+import com.retail.dto.CustomerTransactionRow;
+import com.retail.dto.RewardSnapshotReport;
+import com.retail.dto.TransactionSnapshotInfo;
+import com.retail.exceptionhandler.NoSnapshotFoundException;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.snapshot.TransactionSnapshot;
+import com.retail.snapshot.TransactionSnapshotWriter;
+import com.retail.util.DateValidatorUtil;
+import com.retail.util.MonthlyRewardAccumulator;
+import com.retail.util.RewardRules;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Builds and queries the memory-mapped {@link TransactionSnapshot} used for bulk reporting.
+ * <p>
+ * A snapshot is built by streaming every transaction through a database cursor into
+ * {@link TransactionSnapshotWriter}, then swapped in with a single reference write, so running
+ * reports keep the snapshot they started on. Points are evaluated with the current reward rules
+ * at query time, so reports match {@link RewardService} for the transactions the snapshot holds.
+ */
+@Service
+public class TransactionSnapshotServiceImpl implements TransactionSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSnapshotServiceImpl.class);
+
+    static final String SNAPSHOT_FILE = "transactions.snapshot";
+
+    private final TransactionRepositoryHelper transactionRepositoryHelper;
+    private final RewardRuleService rewardRuleService;
+    private final Path snapshotFile;
+
+    private final AtomicReference<TransactionSnapshot> current = new AtomicReference<>();
+
+    public TransactionSnapshotServiceImpl(TransactionRepositoryHelper transactionRepositoryHelper,
+                                          RewardRuleService rewardRuleService,
+                                          @Value("${rewards.snapshot.directory:data/snapshots}") Path directory) {
+        this.transactionRepositoryHelper = transactionRepositoryHelper;
+        this.rewardRuleService = rewardRuleService;
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+    }
+
+    /**
+     * Maps the snapshot left by a previous run, if any. An unreadable file is logged and ignored
+     * so that a stale or corrupt snapshot never prevents startup.
+     */
+    @PostConstruct
+    void openExistingSnapshot() {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return;
+        }
+        try {
+            swap(TransactionSnapshot.open(snapshotFile));
+            logger.info("Opened transaction snapshot {} with {} transactions", snapshotFile, current.get().getRowCount());
+        } catch (IOException | IllegalStateException e) {
+            logger.warn("Ignoring unreadable transaction snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a new snapshot of every transaction and swaps it in.
+     *
+     * @return details of the new snapshot
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionSnapshotInfo createSnapshot() {
+        try {
+            long written;
+            try (Stream<CustomerTransactionRow> rows = transactionRepositoryHelper.streamAllTransactions()) {
+                written = TransactionSnapshotWriter.write(rows.iterator(), snapshotFile);
+            }
+            TransactionSnapshot snapshot = TransactionSnapshot.open(snapshotFile);
+            swap(snapshot);
+            logger.info("Wrote transaction snapshot {} with {} transactions", snapshotFile, written);
+            return describe(snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write transaction snapshot " + snapshotFile, e);
+        }
+    }
+
+    @Override
+    public TransactionSnapshotInfo getSnapshotInfo() {
+        return describe(requireSnapshot());
+    }
+
+    /**
+     * Calculates one customer's total reward points from the snapshot.
+     *
+     * @return total points; 0 if the snapshot has no transactions of the customer in the period
+     */
+    @Override
+    public int getCustomerRewardTotal(Long customerId, LocalDate startDate, LocalDate endDate) {
+        DateValidatorUtil.validateDates(startDate, endDate);
+        TransactionSnapshot snapshot = requireSnapshot();
+        return snapshot.customerRewards(customerId, startDate, endDate, rewardRuleService.currentRules(),
+                new MonthlyRewardAccumulator(startDate, endDate));
+    }
+
+    /**
+     * Aggregates the reward points of all customers in one sequential scan of the snapshot.
+     */
+    @Override
+    public RewardSnapshotReport getRewardReport(LocalDate startDate, LocalDate endDate) {
+        DateValidatorUtil.validateDates(startDate, endDate);
+        TransactionSnapshot snapshot = requireSnapshot();
+        RewardRules rules = rewardRuleService.currentRules();
+        MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(startDate, endDate);
+
+        long[] monthlyTotals = new long[accumulator.getMonthCount()];
+        long[] customerCount = new long[1];
+        snapshot.forEachCustomer(startDate, endDate, rules, accumulator, (customerId, customerRewards) -> {
+            customerCount[0]++;
+            for (int month = 0; month < monthlyTotals.length; month++) {
+                monthlyTotals[month] += customerRewards.getPoints(month);
+            }
+        });
+
+        RewardSnapshotReport report = new RewardSnapshotReport();
+        report.setSnapshotCreatedAt(snapshot.getCreatedAt());
+        report.setStartDate(startDate);
+        report.setEndDate(endDate);
+        report.setCustomerCount(customerCount[0]);
+        long total = 0;
+        for (int month = 0; month < monthlyTotals.length; month++) {
+            total += monthlyTotals[month];
+            report.getMonthlyRewards().put(accumulator.getFirstMonth().plusMonths(month), monthlyTotals[month]);
+        }
+        report.setTotalRewards(total);
+        return report;
+    }
+
+    private TransactionSnapshot requireSnapshot() {
+        TransactionSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            throw new NoSnapshotFoundException("No transaction snapshot has been created yet.");
+        }
+        return snapshot;
+    }
+
+    private void swap(TransactionSnapshot snapshot) {
+        TransactionSnapshot previous = current.getAndSet(snapshot);
+        closeQuietly(previous);
+    }
+
+    private static TransactionSnapshotInfo describe(TransactionSnapshot snapshot) {
+        return new TransactionSnapshotInfo(snapshot.getCreatedAt(), snapshot.getRowCount(), snapshot.getSizeBytes());
+    }
+
+    @PreDestroy
+    void close() {
+        closeQuietly(current.getAndSet(null));
+    }
+
+    private static void closeQuietly(TransactionSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            snapshot.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close transaction snapshot {}", snapshot.getPath(), e);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.retail.snapshot;
+
+import com.retail.util.MonthlyRewardAccumulator;
+import com.retail.util.RewardRules;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Read-only, memory-mapped columnar snapshot of all transactions.
+ * <p>
+ * File layout (little-endian):
+ * <pre>
+ * header      magic, format version, row count, creation time (epoch millis), padded to 32 bytes
+ * customer_id long[rows]  ascending
+ * amount      long[rows]  cents
+ * epoch_day   int[rows]   ascending within each customer
+ * </pre>
+ * Each column is mapped through {@link FileChannel#map} and read by index from a primitive
+ * buffer view, so the data stays off-heap in the page cache and queries allocate nothing per
+ * row. A customer's rows are found by binary search on the sorted customer column and the
+ * start of a date range by binary search within them. Points are evaluated at query time, so
+ * a snapshot stays valid when the reward rules change.
+ * <p>
+ * Instances are immutable and safe for concurrent readers.
+ */
+public final class TransactionSnapshot implements AutoCloseable {
+
+    static final int MAGIC = 0x52575453; // "RWTS"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    private static final int ROW_BYTES = 2 * Long.BYTES + Integer.BYTES;
+
+    /**
+     * A single mapping is limited to {@link Integer#MAX_VALUE} bytes, which bounds the long columns.
+     */
+    public static final long MAX_ROWS = Integer.MAX_VALUE / Long.BYTES;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int rows;
+    private final Instant createdAt;
+    private final LongBuffer customerIds;
+    private final LongBuffer amountsCents;
+    private final IntBuffer epochDays;
+
+    private TransactionSnapshot(Path path, FileChannel channel, int rows, Instant createdAt,
+                                LongBuffer customerIds, LongBuffer amountsCents, IntBuffer epochDays) {
+        this.path = path;
+        this.channel = channel;
+        this.rows = rows;
+        this.createdAt = createdAt;
+        this.customerIds = customerIds;
+        this.amountsCents = amountsCents;
+        this.epochDays = epochDays;
+    }
+
+    /**
+     * Maps a snapshot file written by {@link TransactionSnapshotWriter}.
+     *
+     * @param path the snapshot file
+     * @return the opened snapshot
+     * @throws IOException           if the file cannot be read
+     * @throws IllegalStateException if the file is not a complete snapshot of a supported version
+     */
+    public static TransactionSnapshot open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // read until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IllegalStateException(path + " is not a transaction snapshot.");
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported snapshot format version " + version + " in " + path + ".");
+            }
+            long rowCount = header.getLong();
+            Instant createdAt = Instant.ofEpochMilli(header.getLong());
+            if (rowCount < 0 || rowCount > MAX_ROWS
+                    || channel.size() != HEADER_BYTES + rowCount * ROW_BYTES) {
+                throw new IllegalStateException("Snapshot " + path + " is truncated or corrupt.");
+            }
+
+            int rows = (int) rowCount;
+            long offset = HEADER_BYTES;
+            LongBuffer customerIds = map(channel, offset, (long) rows * Long.BYTES).asLongBuffer();
+            offset += (long) rows * Long.BYTES;
+            LongBuffer amountsCents = map(channel, offset, (long) rows * Long.BYTES).asLongBuffer();
+            offset += (long) rows * Long.BYTES;
+            IntBuffer epochDays = map(channel, offset, (long) rows * Integer.BYTES).asIntBuffer();
+            return new TransactionSnapshot(path, channel, rows, createdAt, customerIds, amountsCents, epochDays);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * @return Size of the snapshot file in bytes.
+     */
+    public long getSizeBytes() {
+        return HEADER_BYTES + (long) rows * ROW_BYTES;
+    }
+
+    /**
+     * Folds one customer's transactions within a date range into the accumulator.
+     *
+     * @param customerId  the customer
+     * @param startDate   start of the period, inclusive
+     * @param endDate     end of the period, inclusive
+     * @param rules       reward rules to evaluate
+     * @param accumulator accumulator covering the period; it is reset before use
+     * @return the customer's total reward points in the period; 0 for unknown customers
+     */
+    public int customerRewards(long customerId, LocalDate startDate, LocalDate endDate, RewardRules rules,
+                               MonthlyRewardAccumulator accumulator) {
+        accumulator.reset();
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+        int customerStart = lowerBound(customerId);
+        int customerEnd = lowerBound(customerId + 1);
+        for (int row = lowerBoundDay(customerStart, customerEnd, startDay); row < customerEnd; row++) {
+            int epochDay = epochDays.get(row);
+            if (epochDay > endDay) {
+                break;
+            }
+            accumulator.addOnEpochDay(epochDay, rules.pointsOnEpochDay(amountsCents.get(row), epochDay));
+        }
+        return accumulator.getTotalRewards();
+    }
+
+    /**
+     * Scans every row once and reports each customer with at least one transaction in the range,
+     * in customer ID order.
+     *
+     * @param startDate   start of the period, inclusive
+     * @param endDate     end of the period, inclusive
+     * @param rules       reward rules to evaluate
+     * @param accumulator accumulator covering the period; it is reset per customer and passed to the visitor
+     * @param visitor     receives each customer's accumulated rewards; must not retain the accumulator
+     */
+    public void forEachCustomer(LocalDate startDate, LocalDate endDate, RewardRules rules,
+                                MonthlyRewardAccumulator accumulator, CustomerRewardVisitor visitor) {
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+        int row = 0;
+        while (row < rows) {
+            long customerId = customerIds.get(row);
+            boolean any = false;
+            accumulator.reset();
+            for (; row < rows && customerIds.get(row) == customerId; row++) {
+                int epochDay = epochDays.get(row);
+                if (epochDay >= startDay && epochDay <= endDay) {
+                    accumulator.addOnEpochDay(epochDay, rules.pointsOnEpochDay(amountsCents.get(row), epochDay));
+                    any = true;
+                }
+            }
+            if (any) {
+                visitor.visit(customerId, accumulator);
+            }
+        }
+    }
+
+    /**
+     * @return the first row whose customer ID is not less than {@code customerId}
+     */
+    private int lowerBound(long customerId) {
+        int low = 0;
+        int high = rows;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (customerIds.get(mid) < customerId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the first row in {@code [from, to)} whose epoch day is not less than {@code epochDay}
+     */
+    private int lowerBoundDay(int from, int to, long epochDay) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays.get(mid) < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Closes the file channel. The mappings are released by the garbage collector once the
+     * snapshot is no longer referenced, so queries already running on it complete normally.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Receives the accumulated rewards of one customer during a scan.
+     */
+    @FunctionalInterface
+    public interface CustomerRewardVisitor {
+        void visit(long customerId, MonthlyRewardAccumulator accumulator);
+    }
+}
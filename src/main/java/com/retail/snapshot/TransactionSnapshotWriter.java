@@ -0,0 +1,160 @@
+package com.retail.snapshot;
+
+import com.retail.dto.CustomerTransactionRow;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * Writes transactions into the columnar file format read by {@link TransactionSnapshot}.
+ * <p>
+ * Rows must arrive ordered by customer ID, then transaction date. Each column is first written
+ * to its own temporary file through a direct buffer, so memory use does not depend on the
+ * number of rows. The columns are then appended behind the header with
+ * {@link FileChannel#transferTo}, and the finished file is moved over the target atomically,
+ * so readers only ever open complete snapshots.
+ */
+public final class TransactionSnapshotWriter {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private TransactionSnapshotWriter() {
+    }
+
+    /**
+     * Writes a snapshot of the given rows.
+     *
+     * @param rows   transaction rows ordered by customer ID and transaction date; rows without a
+     *               transaction or date are skipped
+     * @param target file to create or replace
+     * @return the number of transactions written
+     * @throws IllegalStateException if rows are out of order or exceed {@link TransactionSnapshot#MAX_ROWS}
+     * @throws IOException           if the file cannot be written
+     */
+    public static long write(Iterator<CustomerTransactionRow> rows, Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path customerIds = Files.createTempFile(directory, "customer-id", ".col");
+        Path amounts = Files.createTempFile(directory, "amount-cents", ".col");
+        Path epochDays = Files.createTempFile(directory, "epoch-day", ".col");
+        Path assembled = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            long rowCount;
+            try (ColumnWriter customerIdColumn = new ColumnWriter(customerIds);
+                 ColumnWriter amountColumn = new ColumnWriter(amounts);
+                 ColumnWriter epochDayColumn = new ColumnWriter(epochDays)) {
+                rowCount = writeColumns(rows, customerIdColumn, amountColumn, epochDayColumn);
+            }
+            assemble(assembled, rowCount, customerIds, amounts, epochDays);
+            Files.move(assembled, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return rowCount;
+        } finally {
+            Files.deleteIfExists(customerIds);
+            Files.deleteIfExists(amounts);
+            Files.deleteIfExists(epochDays);
+            Files.deleteIfExists(assembled);
+        }
+    }
+
+    private static long writeColumns(Iterator<CustomerTransactionRow> rows, ColumnWriter customerIds,
+                                     ColumnWriter amounts, ColumnWriter epochDays) throws IOException {
+        long rowCount = 0;
+        long previousCustomerId = Long.MIN_VALUE;
+        long previousEpochDay = Long.MIN_VALUE;
+        while (rows.hasNext()) {
+            CustomerTransactionRow row = rows.next();
+            if (row.getTransactionId() == null || row.getTransactionDate() == null) {
+                continue;
+            }
+            long customerId = row.getCustomerId();
+            long epochDay = row.getTransactionDate().toEpochDay();
+            if (customerId < previousCustomerId || (customerId == previousCustomerId && epochDay < previousEpochDay)) {
+                throw new IllegalStateException("Snapshot rows must be ordered by customer ID and transaction date; "
+                        + "customer " + customerId + " on epoch day " + epochDay + " is out of order.");
+            }
+            if (++rowCount > TransactionSnapshot.MAX_ROWS) {
+                throw new IllegalStateException("Snapshot exceeds " + TransactionSnapshot.MAX_ROWS + " transactions.");
+            }
+            customerIds.putLong(customerId);
+            amounts.putLong(row.getTransactionAmountCents());
+            epochDays.putInt(Math.toIntExact(epochDay));
+            previousCustomerId = customerId;
+            previousEpochDay = epochDay;
+        }
+        return rowCount;
+    }
+
+    private static void assemble(Path file, long rowCount, Path... columns) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(TransactionSnapshot.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(TransactionSnapshot.MAGIC)
+                    .putInt(TransactionSnapshot.FORMAT_VERSION)
+                    .putLong(rowCount)
+                    .putLong(System.currentTimeMillis())
+                    .rewind();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (Path column : columns) {
+                try (FileChannel in = FileChannel.open(column, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+            out.force(true);
+        }
+    }
+
+    /**
+     * Appends little-endian primitives to one column file through a reusable direct buffer.
+     */
+    private static final class ColumnWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        ColumnWriter(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void putLong(long value) throws IOException {
+            if (buffer.remaining() < Long.BYTES) {
+                drain();
+            }
+            buffer.putLong(value);
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                drain();
+            }
+            buffer.putInt(value);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.retail.util;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Accumulates reward points per calendar month for a fixed date range.
+ * <p>
+ * Months are indexed by their offset from the first month of the range, so adding points is
+ * an array update with no boxing or hashing, and months of different years never collide.
+ * An instance can be {@link #reset() reset} and reused for the next customer over the same range.
+ */
+public class MonthlyRewardAccumulator {
+
+    private final YearMonth firstMonth;
+    private final int firstMonthIndex;
+    private final int[] points;
+    private final int[] transactionCounts;
+    private final long[] monthStartEpochDays;
+    private int totalRewards;
+
+    /**
+     * Creates an accumulator covering every month from {@code startDate} to {@code endDate} (inclusive).
+     *
+     * @param startDate Start of the reward period.
+     * @param endDate   End of the reward period.
+     */
+    public MonthlyRewardAccumulator(LocalDate startDate, LocalDate endDate) {
+        this.firstMonth = YearMonth.from(startDate);
+        this.firstMonthIndex = monthIndex(startDate.getYear(), startDate.getMonthValue());
+        int months = monthIndex(endDate.getYear(), endDate.getMonthValue()) - firstMonthIndex + 1;
+        if (months <= 0) {
+            throw new IllegalArgumentException("End date must not be before start date.");
+        }
+        this.points = new int[months];
+        this.transactionCounts = new int[months];
+        this.monthStartEpochDays = new long[months + 1];
+        for (int slot = 0; slot <= months; slot++) {
+            monthStartEpochDays[slot] = firstMonth.plusMonths(slot).atDay(1).toEpochDay();
+        }
+    }
+
+    /**
+     * Adds the points of a single transaction made on the given date.
+     *
+     * @param date   Transaction date, within the accumulator's range.
+     * @param reward Reward points earned by the transaction.
+     */
+    public void add(LocalDate date, int reward) {
+        int slot = slot(date.getYear(), date.getMonthValue());
+        points[slot] += reward;
+        transactionCounts[slot]++;
+        totalRewards += reward;
+    }
+
+    /**
+     * Adds the points of a single transaction made on the given epoch day, without allocating.
+     *
+     * @param epochDay Transaction date as {@link LocalDate#toEpochDay()}, within the accumulator's range.
+     * @param reward   Reward points earned by the transaction.
+     */
+    public void addOnEpochDay(long epochDay, int reward) {
+        int slot = Arrays.binarySearch(monthStartEpochDays, epochDay);
+        slot = slot >= 0 ? slot : -slot - 2;
+        if (slot < 0 || slot >= points.length) {
+            throw new IllegalArgumentException("Epoch day " + epochDay + " is outside the reward period.");
+        }
+        points[slot] += reward;
+        transactionCounts[slot]++;
+        totalRewards += reward;
+    }
+
+    /**
+     * Adds a pre-aggregated month, e.g. a ledger row.
+     *
+     * @param month            Month within the accumulator's range.
+     * @param reward           Reward points earned in the month.
+     * @param transactionCount Number of transactions behind the points.
+     */
+    public void addMonth(YearMonth month, int reward, long transactionCount) {
+        int slot = slot(month.getYear(), month.getMonthValue());
+        points[slot] += reward;
+        transactionCounts[slot] += (int) transactionCount;
+        totalRewards += reward;
+    }
+
+    public int getTotalRewards() {
+        return totalRewards;
+    }
+
+    public YearMonth getFirstMonth() {
+        return firstMonth;
+    }
+
+    /**
+     * @return Number of months covered by the accumulator.
+     */
+    public int getMonthCount() {
+        return points.length;
+    }
+
+    /**
+     * @param monthOffset Months since {@link #getFirstMonth()}.
+     * @return Points accumulated in that month.
+     */
+    public int getPoints(int monthOffset) {
+        return points[monthOffset];
+    }
+
+    /**
+     * @return Points per month in chronological order; months without transactions are absent.
+     */
+    public SortedMap<YearMonth, Integer> toMonthlyRewards() {
+        SortedMap<YearMonth, Integer> monthlyRewards = new TreeMap<>();
+        for (int slot = 0; slot < points.length; slot++) {
+            if (transactionCounts[slot] > 0) {
+                monthlyRewards.put(firstMonth.plusMonths(slot), points[slot]);
+            }
+        }
+        return monthlyRewards;
+    }
+
+    /**
+     * Clears all accumulated points so the instance can be reused for another customer.
+     */
+    public void reset() {
+        Arrays.fill(points, 0);
+        Arrays.fill(transactionCounts, 0);
+        totalRewards = 0;
+    }
+
+    private int slot(int year, int month) {
+        int slot = monthIndex(year, month) - firstMonthIndex;
+        if (slot < 0 || slot >= points.length) {
+            throw new IllegalArgumentException("Month " + YearMonth.of(year, month) + " is outside the reward period.");
+        }
+        return slot;
+    }
+
+    private static int monthIndex(int year, int month) {
+        return year * 12 + month - 1;
+    }
+}
@@ -0,0 +1,141 @@
+package com.retail.util;
+
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.MonthlyRewardRow;
+import com.retail.dto.TransactionResponse;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folds a customer's transactions into a {@link CustomerRewardResponse}.
+ * <p>
+ * Shared by the single-customer, all-customers and streaming reward paths so that
+ * they all produce identical monthly and total reward figures.
+ */
+public class RewardAggregationUtil {
+
+    /**
+     * Builds the reward response for one customer from the given transactions.
+     *
+     * @param customer     the customer the transactions belong to
+     * @param transactions the customer's transactions within the requested period
+     * @param rules        reward rules to evaluate
+     * @param accumulator  accumulator covering the requested period; it is reset before use
+     * @return the populated {@link CustomerRewardResponse}
+     */
+    public static CustomerRewardResponse buildCustomerReward(Customer customer, List<Transaction> transactions,
+                                                             RewardRules rules, MonthlyRewardAccumulator accumulator) {
+        List<TransactionResponse> transactionResponses = new ArrayList<>(transactions.size());
+        for (Transaction tx : transactions) {
+            transactionResponses.add(new TransactionResponse(tx.getTransactionId(), tx.getTransactionAmountCents(), tx.getTransactionDate()));
+        }
+        return buildCustomerReward(customer.getCustomerId(), customer.getCustomerName(), transactionResponses, rules, accumulator);
+    }
+
+    /**
+     * Builds the reward responses for a list of customers from their transactions in one pass.
+     * <p>
+     * Both lists must be ordered by customer ID. Transactions of customers missing from the
+     * customer list are skipped.
+     *
+     * @param customers    customers ordered by ID
+     * @param transactions the customers' transactions ordered by customer ID
+     * @param rules        reward rules to evaluate
+     * @param accumulator  accumulator covering the requested period; it is reused per customer
+     * @return one response per customer, in customer ID order
+     */
+    public static List<CustomerRewardResponse> buildCustomerRewards(List<Customer> customers, List<Transaction> transactions,
+                                                                    RewardRules rules, MonthlyRewardAccumulator accumulator) {
+        List<CustomerRewardResponse> responses = new ArrayList<>(customers.size());
+        int cursor = 0;
+        for (Customer customer : customers) {
+            Long customerId = customer.getCustomerId();
+
+            // Skip rows of customers missing from the customer list so the cursor cannot stall.
+            while (cursor < transactions.size() && customerIdOf(transactions.get(cursor)).compareTo(customerId) < 0) {
+                cursor++;
+            }
+            int from = cursor;
+            while (cursor < transactions.size() && customerIdOf(transactions.get(cursor)).equals(customerId)) {
+                cursor++;
+            }
+            responses.add(buildCustomerReward(customer, transactions.subList(from, cursor), rules, accumulator));
+        }
+        return responses;
+    }
+
+    /**
+     * Builds the reward response for one customer from already mapped transactions.
+     *
+     * @param customerId   the ID of the customer
+     * @param customerName the name of the customer
+     * @param transactions the customer's transactions within the requested period
+     * @param rules        reward rules to evaluate
+     * @param accumulator  accumulator covering the requested period; it is reset before use
+     * @return the populated {@link CustomerRewardResponse}
+     */
+    public static CustomerRewardResponse buildCustomerReward(Long customerId, String customerName, List<TransactionResponse> transactions,
+                                                             RewardRules rules, MonthlyRewardAccumulator accumulator) {
+        accumulator.reset();
+        for (TransactionResponse tx : transactions) {
+            accumulator.add(tx.getTransactionDate(), rules.points(tx.getTransactionAmountCents(), tx.getTransactionDate()));
+        }
+
+        CustomerRewardResponse customerRewardResponse = new CustomerRewardResponse();
+        customerRewardResponse.setCustomerId(customerId);
+        customerRewardResponse.setCustomerName(customerName);
+        customerRewardResponse.setMonthlyRewards(accumulator.toMonthlyRewards());
+        customerRewardResponse.setTotalRewards(accumulator.getTotalRewards());
+        customerRewardResponse.setTransactions(transactions);
+        return customerRewardResponse;
+    }
+
+    /**
+     * Builds summary responses, without transaction details, from per-month aggregates.
+     * <p>
+     * Both lists must be ordered by customer ID. Customers without rows get zero points.
+     *
+     * @param customers   customers ordered by ID
+     * @param monthlyRows monthly aggregates ordered by customer ID
+     * @param accumulator accumulator covering the requested period; it is reused per customer
+     * @return one response per customer, in customer ID order
+     */
+    public static List<CustomerRewardResponse> buildCustomerSummaries(List<Customer> customers, List<MonthlyRewardRow> monthlyRows,
+                                                                      MonthlyRewardAccumulator accumulator) {
+        List<CustomerRewardResponse> responses = new ArrayList<>(customers.size());
+        int cursor = 0;
+        for (Customer customer : customers) {
+            Long customerId = customer.getCustomerId();
+
+            while (cursor < monthlyRows.size() && monthlyRows.get(cursor).getCustomerId().compareTo(customerId) < 0) {
+                cursor++;
+            }
+            accumulator.reset();
+            while (cursor < monthlyRows.size() && monthlyRows.get(cursor).getCustomerId().equals(customerId)) {
+                addMonth(accumulator, monthlyRows.get(cursor++));
+            }
+
+            CustomerRewardResponse customerRewardResponse = new CustomerRewardResponse();
+            customerRewardResponse.setCustomerId(customerId);
+            customerRewardResponse.setCustomerName(customer.getCustomerName());
+            customerRewardResponse.setMonthlyRewards(accumulator.toMonthlyRewards());
+            customerRewardResponse.setTotalRewards(accumulator.getTotalRewards());
+            responses.add(customerRewardResponse);
+        }
+        return responses;
+    }
+
+    /**
+     * Adds one monthly aggregate to the accumulator.
+     */
+    public static void addMonth(MonthlyRewardAccumulator accumulator, MonthlyRewardRow row) {
+        accumulator.addMonth(row.getMonth(), (int) row.getRewardPoints(), row.getTransactionCount());
+    }
+
+    private static Long customerIdOf(Transaction transaction) {
+        return transaction.getCustomer().getCustomerId();
+    }
+}
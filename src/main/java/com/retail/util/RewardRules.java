@@ -0,0 +1,316 @@
+package com.retail.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, compiled set of reward tier rules.
+ * <p>
+ * A rule set holds one or more versions, each effective from a date until the next version
+ * starts. A version is a list of tiers: every whole dollar above a tier's threshold, up to the
+ * next threshold, earns that tier's points per dollar. Each version can also scale points per
+ * transaction category by an integer percentage.
+ * <p>
+ * Versions are compiled into parallel arrays holding, per tier, the lowest qualifying amount in
+ * cents, the points per dollar and a constant offset. The offset folds in the points of all
+ * lower tiers, so the points of an amount are {@code rate * dollars + offset} of the highest
+ * qualifying tier. Evaluation walks a few array slots and allocates nothing.
+ * <p>
+ * Instances are thread-safe and are meant to be swapped atomically as a whole.
+ */
+public final class RewardRules {
+
+    private static final long CENTS_PER_DOLLAR = 100;
+    private static final int PERCENT = 100;
+
+    /**
+     * The original program: 1 point per dollar over $50 and 2 points per dollar over $100.
+     */
+    public static final RewardRules DEFAULT = builder()
+            .version(LocalDate.of(1970, 1, 1))
+            .tier(50, 1)
+            .tier(100, 2)
+            .build();
+
+    private final long[] effectiveEpochDays;
+    private final Version[] versions;
+    private final long fingerprint;
+
+    private RewardRules(long[] effectiveEpochDays, Version[] versions) {
+        this.effectiveEpochDays = effectiveEpochDays;
+        this.versions = versions;
+        long hash = 17;
+        for (int i = 0; i < versions.length; i++) {
+            hash = 31 * hash + effectiveEpochDays[i];
+            hash = 31 * hash + versions[i].fingerprint();
+        }
+        this.fingerprint = hash;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Calculates the points of an amount under the latest version.
+     *
+     * @param amountCents Transaction amount in cents; cents are discarded before applying the tiers.
+     * @return Reward points.
+     */
+    public int points(long amountCents) {
+        return versions[versions.length - 1].points(amountCents);
+    }
+
+    /**
+     * Calculates the points of an amount under the version effective on the transaction date.
+     *
+     * @param amountCents     Transaction amount in cents.
+     * @param transactionDate Transaction date; dates before the first version use the first version.
+     * @return Reward points.
+     */
+    public int points(long amountCents, LocalDate transactionDate) {
+        return versionAt(transactionDate.toEpochDay()).points(amountCents);
+    }
+
+    /**
+     * Same as {@link #points(long, LocalDate)} for a date given as epoch day, for callers scanning
+     * primitive columns that must not allocate a {@link LocalDate} per row.
+     *
+     * @param amountCents Transaction amount in cents.
+     * @param epochDay    Transaction date as {@link LocalDate#toEpochDay()}.
+     * @return Reward points.
+     */
+    public int pointsOnEpochDay(long amountCents, long epochDay) {
+        return versionAt(epochDay).points(amountCents);
+    }
+
+    /**
+     * Calculates the points of an amount for a transaction category.
+     *
+     * @param amountCents     Transaction amount in cents.
+     * @param transactionDate Transaction date.
+     * @param category        Transaction category, or {@code null} for none.
+     * @return Reward points scaled by the category multiplier of the effective version, rounded down.
+     */
+    public int points(long amountCents, LocalDate transactionDate, String category) {
+        Version version = versionAt(transactionDate.toEpochDay());
+        int points = version.points(amountCents);
+        if (category == null) {
+            return points;
+        }
+        Integer percent = version.multiplierPercents.get(category);
+        return percent == null ? points : (int) ((long) points * percent / PERCENT);
+    }
+
+    /**
+     * Splits a date range by rule version, for callers that evaluate rules outside the JVM.
+     *
+     * @param startDate Start of the range.
+     * @param endDate   End of the range.
+     * @return Consecutive, non-overlapping ranges covering {@code startDate} to {@code endDate}, each with its version.
+     */
+    public List<VersionRange> versionsBetween(LocalDate startDate, LocalDate endDate) {
+        List<VersionRange> ranges = new ArrayList<>();
+        long from = startDate.toEpochDay();
+        long to = endDate.toEpochDay();
+        while (from <= to) {
+            int index = versionIndex(from);
+            long rangeEnd = index + 1 < versions.length ? Math.min(to, effectiveEpochDays[index + 1] - 1) : to;
+            ranges.add(new VersionRange(LocalDate.ofEpochDay(from), LocalDate.ofEpochDay(rangeEnd), versions[index]));
+            from = rangeEnd + 1;
+        }
+        return ranges;
+    }
+
+    /**
+     * @return A hash of the compiled tier definitions, equal for equal definitions across restarts and instances.
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return Number of versions in this rule set.
+     */
+    public int versionCount() {
+        return versions.length;
+    }
+
+    private Version versionAt(long epochDay) {
+        return versions[versionIndex(epochDay)];
+    }
+
+    private int versionIndex(long epochDay) {
+        // Most transactions fall under the latest version, so search from the end.
+        int index = versions.length - 1;
+        while (index > 0 && epochDay < effectiveEpochDays[index]) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * One compiled rule version.
+     */
+    public static final class Version {
+        private final long[] minCents;
+        private final long[] rates;
+        private final long[] offsets;
+        private final Map<String, Integer> multiplierPercents;
+
+        private Version(long[] minCents, long[] rates, long[] offsets, Map<String, Integer> multiplierPercents) {
+            this.minCents = minCents;
+            this.rates = rates;
+            this.offsets = offsets;
+            this.multiplierPercents = multiplierPercents;
+        }
+
+        int points(long amountCents) {
+            int tier = minCents.length - 1;
+            while (tier >= 0 && amountCents < minCents[tier]) {
+                tier--;
+            }
+            return tier < 0 ? 0 : (int) (rates[tier] * (amountCents / CENTS_PER_DOLLAR) + offsets[tier]);
+        }
+
+        private long fingerprint() {
+            long hash = 17;
+            for (int tier = 0; tier < minCents.length; tier++) {
+                hash = 31 * (31 * hash + minCents[tier]) + rates[tier];
+            }
+            // Multipliers are left out until transactions carry a category: they change no computed
+            // points, so a multiplier edit must not invalidate the ledger or the reward caches.
+            return hash;
+        }
+
+        /**
+         * Renders this version's points of a single transaction as an HQL expression over a cents-valued path.
+         * Only integer literals derived from the compiled arrays are emitted.
+         *
+         * @param amountCentsPath HQL path of the amount in cents, e.g. {@code t.transactionAmountCents}.
+         * @return A {@code case} expression equivalent to {@link #points(long)}.
+         */
+        public String toHql(String amountCentsPath) {
+            StringBuilder hql = new StringBuilder("case");
+            for (int tier = minCents.length - 1; tier >= 0; tier--) {
+                hql.append(" when ").append(amountCentsPath).append(" >= ").append(minCents[tier])
+                        .append(" then ").append(rates[tier]).append(" * floor(").append(amountCentsPath)
+                        .append(" / ").append(CENTS_PER_DOLLAR).append(") + (").append(offsets[tier]).append(')');
+            }
+            return hql.append(" else 0 end").toString();
+        }
+    }
+
+    /**
+     * A date range governed by a single version.
+     */
+    public record VersionRange(LocalDate startDate, LocalDate endDate, Version version) {
+    }
+
+    /**
+     * Collects tier definitions and compiles them into a {@link RewardRules}.
+     */
+    public static final class Builder {
+        private final TreeMap<LocalDate, TreeMap<Long, Long>> tiers = new TreeMap<>();
+        private final Map<LocalDate, Map<String, Integer>> multipliers = new HashMap<>();
+        private LocalDate current;
+
+        private Builder() {
+        }
+
+        /**
+         * Starts (or continues) the version effective from the given date.
+         */
+        public Builder version(LocalDate effectiveFrom) {
+            this.current = effectiveFrom;
+            tiers.computeIfAbsent(effectiveFrom, date -> new TreeMap<>());
+            return this;
+        }
+
+        /**
+         * Adds a tier to the current version: each whole dollar above {@code thresholdDollars} earns
+         * {@code pointsPerDollar} until the next tier's threshold.
+         */
+        public Builder tier(long thresholdDollars, long pointsPerDollar) {
+            requireVersion();
+            if (thresholdDollars < 0 || pointsPerDollar < 0) {
+                throw new IllegalArgumentException("Tier threshold and points per dollar must not be negative.");
+            }
+            if (tiers.get(current).put(thresholdDollars, pointsPerDollar) != null) {
+                throw new IllegalArgumentException("Duplicate tier threshold $" + thresholdDollars + " in version " + current + ".");
+            }
+            return this;
+        }
+
+        /**
+         * Scales the points of a category in the current version by {@code percent} (100 = unchanged).
+         */
+        public Builder multiplier(String category, int percent) {
+            requireVersion();
+            if (percent < 0) {
+                throw new IllegalArgumentException("Category multiplier must not be negative.");
+            }
+            multipliers.computeIfAbsent(current, date -> new HashMap<>()).put(category, percent);
+            return this;
+        }
+
+        public RewardRules build() {
+            if (tiers.isEmpty()) {
+                throw new IllegalArgumentException("At least one reward rule version is required.");
+            }
+            long[] effectiveEpochDays = new long[tiers.size()];
+            Version[] versions = new Version[tiers.size()];
+            int index = 0;
+            for (Map.Entry<LocalDate, TreeMap<Long, Long>> entry : tiers.entrySet()) {
+                if (entry.getValue().isEmpty()) {
+                    throw new IllegalArgumentException("Reward rule version " + entry.getKey() + " has no tiers.");
+                }
+                effectiveEpochDays[index] = entry.getKey().toEpochDay();
+                versions[index++] = compile(entry.getValue(), multipliers.getOrDefault(entry.getKey(), Map.of()));
+            }
+            return new RewardRules(effectiveEpochDays, versions);
+        }
+
+        private static Version compile(TreeMap<Long, Long> tiers, Map<String, Integer> multiplierPercents) {
+            int size = tiers.size();
+            long[] minCents = new long[size];
+            long[] rates = new long[size];
+            long[] offsets = new long[size];
+            int tier = 0;
+            long pointsAtThreshold = 0;
+            long previousThreshold = 0;
+            long previousRate = 0;
+            for (Map.Entry<Long, Long> entry : tiers.entrySet()) {
+                long threshold = entry.getKey();
+                pointsAtThreshold += previousRate * (threshold - previousThreshold);
+                minCents[tier] = (threshold + 1) * CENTS_PER_DOLLAR;
+                rates[tier] = entry.getValue();
+                offsets[tier] = pointsAtThreshold - entry.getValue() * threshold;
+                previousThreshold = threshold;
+                previousRate = entry.getValue();
+                tier++;
+            }
+            return new Version(minCents, rates, offsets, Collections.unmodifiableMap(new HashMap<>(multiplierPercents)));
+        }
+
+        private void requireVersion() {
+            if (current == null) {
+                throw new IllegalStateException("Call version(LocalDate) before adding tiers or multipliers.");
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        List<LocalDate> effectiveFrom = new ArrayList<>(effectiveEpochDays.length);
+        for (long epochDay : effectiveEpochDays) {
+            effectiveFrom.add(LocalDate.ofEpochDay(epochDay));
+        }
+        return "RewardRules{versions=" + effectiveFrom + "}";
+    }
+}
@@ -3,17 +3,15 @@ package com.retail.util;
 public class RewardUtil {
 
     /**
-     * Calculates reward points:
-     * - 2 points for every dollar spent over $100,
-     * - 1 point for every dollar spent between $50 and $100.
+     * Calculates reward points for an amount given in cents under the built-in tiers
+     * ({@link RewardRules#DEFAULT}):
+     * - 2 points for every whole dollar spent over $100,
+     * - 1 point for every whole dollar spent between $50 and $100.
+     * Cents are discarded before applying the tiers, so $120.75 earns 90 points.
+     * <p>
+     * Request paths use the configured rules from {@code RewardRuleService} instead.
      */
-    public static int calculateRewardPoints(double amount) {
-        if (amount > 100) {
-            return (int) Math.round(2 * (amount - 100) + 50);
-        } else if (amount > 50) {
-            return (int) Math.round(amount - 50);
-        } else {
-            return 0;
-        }
+    public static int calculateRewardPoints(long amountCents) {
+        return RewardRules.DEFAULT.points(amountCents);
     }
 }
@@ -0,0 +1,84 @@
+package com.retail.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Orders in-memory updates from committing transactions against reloads of the same state
+ * from the database.
+ * <p>
+ * A committing transaction holds the read lock from before its commit until its update has
+ * been applied. A reload holds the write lock around its queries. Every commit is therefore
+ * either visible to the reload or applied after it, never both and never neither.
+ */
+public class TransactionCommitBarrier {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Runs the update once the current transaction commits, or immediately when no transaction
+     * synchronization is active. The update is skipped if the transaction rolls back.
+     */
+    public void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.readLock().lock();
+            try {
+                update.run();
+            } finally {
+                lock.readLock().unlock();
+            }
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!locked) {
+                    return;
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        update.run();
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs a reload while no transaction is between its commit and its update.
+     */
+    public <T> T reload(Supplier<T> reload) {
+        lock.writeLock().lock();
+        try {
+            return reload.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs an action, e.g. clearing state, while no transaction is between its commit and its update.
+     */
+    public void exclusive(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
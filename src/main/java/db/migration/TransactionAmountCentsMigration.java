@@ -0,0 +1,61 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Moves a database created before amounts were stored as integer cents onto the V1 schema.
+ * <p>
+ * Such databases are baselined at V1, which assumes the cents columns already exist. The
+ * migration looks at the column metadata and converts only what is still in dollars, so it is
+ * a no-op on databases created from V1 and can be rerun after a partial failure. The ledger's
+ * spend totals are reset to zero; the ledger is rebuilt on first start, since
+ * {@code reward_ledger_state} (V7) records no rules fingerprint yet.
+ * <p>
+ * Vendor subclasses, found by Flyway under {@code db/migration/{vendor}}, supply the one
+ * statement whose syntax differs.
+ */
+public abstract class TransactionAmountCentsMigration extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            if (hasColumn(connection, "transactions", "transaction_amount")) {
+                if (!hasColumn(connection, "transactions", "transaction_amount_cents")) {
+                    statement.execute("ALTER TABLE transactions ADD COLUMN transaction_amount_cents BIGINT NULL");
+                }
+                statement.executeUpdate("UPDATE transactions SET transaction_amount_cents = ROUND(transaction_amount * 100) "
+                        + "WHERE transaction_amount_cents IS NULL");
+                statement.execute(setNotNull("transactions", "transaction_amount_cents", "BIGINT"));
+                statement.execute("ALTER TABLE transactions DROP COLUMN transaction_amount");
+            }
+            if (hasColumn(connection, "monthly_reward_ledger", "total_spend")) {
+                if (!hasColumn(connection, "monthly_reward_ledger", "total_spend_cents")) {
+                    statement.execute("ALTER TABLE monthly_reward_ledger ADD COLUMN total_spend_cents BIGINT NOT NULL DEFAULT 0");
+                }
+                statement.execute("ALTER TABLE monthly_reward_ledger DROP COLUMN total_spend");
+            }
+        }
+    }
+
+    /**
+     * @return A statement making an existing column {@code NOT NULL}.
+     */
+    protected abstract String setNotNull(String table, String column, String type);
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+        String columnName = metaData.storesUpperCaseIdentifiers() ? column.toUpperCase() : column;
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(), tableName, columnName)) {
+            return columns.next();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package db.migration.h2;
+
+import db.migration.TransactionAmountCentsMigration;
+
+/**
+ * Embedded (H2) counterpart of {@link db.migration.mysql.V1_1__TransactionAmountCents}.
+ */
+public class V1_1__TransactionAmountCents extends TransactionAmountCentsMigration {
+
+    @Override
+    protected String setNotNull(String table, String column, String type) {
+        return "ALTER TABLE " + table + " ALTER COLUMN " + column + " SET NOT NULL";
+    }
+}
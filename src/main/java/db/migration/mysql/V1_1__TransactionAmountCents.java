@@ -0,0 +1,14 @@
+package db.migration.mysql;
+
+import db.migration.TransactionAmountCentsMigration;
+
+/**
+ * Converts a pre-cents MySQL database baselined at V1; see {@link TransactionAmountCentsMigration}.
+ */
+public class V1_1__TransactionAmountCents extends TransactionAmountCentsMigration {
+
+    @Override
+    protected String setNotNull(String table, String column, String type) {
+        return "ALTER TABLE " + table + " MODIFY " + column + " " + type + " NOT NULL";
+    }
+}
@@ -0,0 +1,27 @@
+-- Embedded (H2) counterpart of db/migration/mysql/V1__initial_schema.sql.
+
+CREATE TABLE customers (
+    customer_id   BIGINT       NOT NULL,
+    customer_name VARCHAR(100) NOT NULL,
+    PRIMARY KEY (customer_id)
+);
+
+CREATE TABLE transactions (
+    transaction_id           BIGINT NOT NULL,
+    transaction_amount_cents BIGINT NOT NULL,
+    transaction_date         DATE,
+    customer_id              BIGINT,
+    PRIMARY KEY (transaction_id),
+    CONSTRAINT fk_transactions_customer FOREIGN KEY (customer_id) REFERENCES customers (customer_id)
+);
+
+CREATE SEQUENCE transaction_seq START WITH 1 INCREMENT BY 100;
+
+CREATE TABLE monthly_reward_ledger (
+    customer_id       BIGINT NOT NULL,
+    period_start      DATE   NOT NULL,
+    reward_points     BIGINT NOT NULL,
+    total_spend_cents BIGINT NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    PRIMARY KEY (customer_id, period_start)
+);
@@ -0,0 +1,8 @@
+-- Embedded (H2) counterpart of db/migration/mysql/V2__transaction_reward_indexes.sql.
+-- H2 does not append the primary key to secondary indexes, so transaction_id is listed explicitly.
+
+CREATE INDEX idx_transactions_customer_date
+    ON transactions (customer_id, transaction_date, transaction_amount_cents, transaction_id);
+
+CREATE INDEX idx_transactions_date_customer
+    ON transactions (transaction_date, customer_id, transaction_amount_cents, transaction_id);
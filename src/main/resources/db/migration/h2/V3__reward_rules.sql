@@ -0,0 +1,22 @@
+-- Embedded (H2) counterpart of db/migration/mysql/V3__reward_rules.sql.
+
+CREATE TABLE reward_tiers (
+    tier_id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    effective_from    DATE   NOT NULL,
+    threshold_dollars BIGINT NOT NULL,
+    points_per_dollar BIGINT NOT NULL,
+    PRIMARY KEY (tier_id),
+    CONSTRAINT uk_reward_tiers_version_threshold UNIQUE (effective_from, threshold_dollars)
+);
+
+CREATE TABLE reward_category_multipliers (
+    multiplier_id      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    effective_from     DATE        NOT NULL,
+    category           VARCHAR(32) NOT NULL,
+    multiplier_percent INT         NOT NULL,
+    PRIMARY KEY (multiplier_id),
+    CONSTRAINT uk_reward_category_multipliers_version_category UNIQUE (effective_from, category)
+);
+
+INSERT INTO reward_tiers (effective_from, threshold_dollars, points_per_dollar) VALUES (DATE '1970-01-01', 50, 1);
+INSERT INTO reward_tiers (effective_from, threshold_dollars, points_per_dollar) VALUES (DATE '1970-01-01', 100, 2);
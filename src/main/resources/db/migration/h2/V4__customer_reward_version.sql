@@ -0,0 +1,3 @@
+-- Embedded (H2) counterpart of db/migration/mysql/V4__customer_reward_version.sql.
+
+ALTER TABLE customers ADD COLUMN reward_version BIGINT NOT NULL DEFAULT 0;
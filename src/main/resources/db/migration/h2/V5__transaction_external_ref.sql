@@ -0,0 +1,5 @@
+-- Embedded (H2) counterpart of db/migration/mysql/V5__transaction_external_ref.sql.
+
+ALTER TABLE transactions ADD COLUMN external_ref VARCHAR(64);
+
+CREATE UNIQUE INDEX uk_transactions_external_ref ON transactions (external_ref);
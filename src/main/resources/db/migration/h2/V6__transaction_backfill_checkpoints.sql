@@ -0,0 +1,10 @@
+-- Embedded (H2) counterpart of db/migration/mysql/V6__transaction_backfill_checkpoints.sql.
+
+CREATE TABLE transaction_backfill_checkpoints (
+    file_key     VARCHAR(255) NOT NULL,
+    chunk_start  BIGINT       NOT NULL,
+    chunk_end    BIGINT       NOT NULL,
+    rows_loaded  BIGINT       NOT NULL,
+    completed_at TIMESTAMP    NOT NULL,
+    PRIMARY KEY (file_key, chunk_start)
+);
@@ -0,0 +1,10 @@
+-- Embedded (H2) counterpart of db/migration/mysql/V7__reward_ledger_state.sql.
+
+CREATE TABLE reward_ledger_state (
+    state_id          INT NOT NULL,
+    rules_fingerprint BIGINT,
+    rebuilt_at        TIMESTAMP,
+    PRIMARY KEY (state_id)
+);
+
+INSERT INTO reward_ledger_state (state_id) VALUES (1);
@@ -0,0 +1,33 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update), after the move to integer cents.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE customers (
+    customer_id   BIGINT       NOT NULL,
+    customer_name VARCHAR(100) NOT NULL,
+    PRIMARY KEY (customer_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE transactions (
+    transaction_id           BIGINT NOT NULL,
+    transaction_amount_cents BIGINT NOT NULL,
+    transaction_date         DATE,
+    customer_id              BIGINT,
+    PRIMARY KEY (transaction_id),
+    CONSTRAINT fk_transactions_customer FOREIGN KEY (customer_id) REFERENCES customers (customer_id)
+) ENGINE = InnoDB;
+
+-- MySQL has no sequences; Hibernate emulates transaction_seq with a single-row table.
+CREATE TABLE transaction_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO transaction_seq VALUES (1);
+
+CREATE TABLE monthly_reward_ledger (
+    customer_id       BIGINT NOT NULL,
+    period_start      DATE   NOT NULL,
+    reward_points     BIGINT NOT NULL,
+    total_spend_cents BIGINT NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    PRIMARY KEY (customer_id, period_start)
+) ENGINE = InnoDB;
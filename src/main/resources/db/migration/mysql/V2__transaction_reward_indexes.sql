@@ -0,0 +1,10 @@
+-- Covering indexes for the reward queries. InnoDB secondary indexes carry the primary key,
+-- so transaction_id is available without touching the clustered index.
+
+-- Single-customer range scans: customer_id = ? AND transaction_date BETWEEN ? AND ?
+CREATE INDEX idx_transactions_customer_date
+    ON transactions (customer_id, transaction_date, transaction_amount_cents);
+
+-- All-customer range scans and monthly aggregates: transaction_date BETWEEN ? AND ?
+CREATE INDEX idx_transactions_date_customer
+    ON transactions (transaction_date, customer_id, transaction_amount_cents);
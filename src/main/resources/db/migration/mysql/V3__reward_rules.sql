@@ -0,0 +1,23 @@
+-- Configurable reward tiers. Tiers sharing effective_from form one rule version.
+-- Seeded with the original program: 1 point per dollar over $50, 2 points per dollar over $100.
+
+CREATE TABLE reward_tiers (
+    tier_id           BIGINT NOT NULL AUTO_INCREMENT,
+    effective_from    DATE   NOT NULL,
+    threshold_dollars BIGINT NOT NULL,
+    points_per_dollar BIGINT NOT NULL,
+    PRIMARY KEY (tier_id),
+    CONSTRAINT uk_reward_tiers_version_threshold UNIQUE (effective_from, threshold_dollars)
+) ENGINE = InnoDB;
+
+CREATE TABLE reward_category_multipliers (
+    multiplier_id      BIGINT      NOT NULL AUTO_INCREMENT,
+    effective_from     DATE        NOT NULL,
+    category           VARCHAR(32) NOT NULL,
+    multiplier_percent INT         NOT NULL,
+    PRIMARY KEY (multiplier_id),
+    CONSTRAINT uk_reward_category_multipliers_version_category UNIQUE (effective_from, category)
+) ENGINE = InnoDB;
+
+INSERT INTO reward_tiers (effective_from, threshold_dollars, points_per_dollar) VALUES ('1970-01-01', 50, 1);
+INSERT INTO reward_tiers (effective_from, threshold_dollars, points_per_dollar) VALUES ('1970-01-01', 100, 2);
@@ -0,0 +1,5 @@
+-- Per-customer change counter, bumped in the same transaction as every write that changes the
+-- customer's rewards. Reward responses derive their ETag from it, so conditional GETs can be
+-- answered from this column without reading transactions.
+
+ALTER TABLE customers ADD COLUMN reward_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Producer-assigned identifier of a transaction event, e.g. the POS receipt number.
+-- Replaying an event whose reference is already stored is a no-op, which makes redelivery safe.
+-- NULL for transactions loaded without one; a unique index allows any number of NULLs.
+-- Binary collation: references are compared case-sensitively, as the ingestion pipeline dedups them.
+
+ALTER TABLE transactions ADD COLUMN external_ref VARCHAR(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NULL;
+
+CREATE UNIQUE INDEX uk_transactions_external_ref ON transactions (external_ref);
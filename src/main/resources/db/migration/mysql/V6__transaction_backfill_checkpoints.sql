@@ -0,0 +1,13 @@
+-- Chunks of a historical CSV export already loaded by the backfill importer.
+-- A row is written in the transaction that inserts the chunk's transactions, so a chunk is
+-- either loaded and recorded here or not loaded at all; an interrupted import resumes after it.
+-- file_key identifies the file by a SHA-256 digest of its content (sha256:<hex>).
+
+CREATE TABLE transaction_backfill_checkpoints (
+    file_key     VARCHAR(255) NOT NULL,
+    chunk_start  BIGINT       NOT NULL,
+    chunk_end    BIGINT       NOT NULL,
+    rows_loaded  BIGINT       NOT NULL,
+    completed_at TIMESTAMP    NOT NULL,
+    PRIMARY KEY (file_key, chunk_start)
+) ENGINE = InnoDB;
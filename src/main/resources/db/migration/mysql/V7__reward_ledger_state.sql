@@ -0,0 +1,13 @@
+-- Single row recording the reward rules the monthly reward ledger was last rebuilt under.
+-- rules_fingerprint is RewardRules.fingerprint(); NULL until the first rebuild, so an existing
+-- ledger of unknown origin is bypassed and rebuilt once. Rebuilds lock the row, so only one
+-- instance rebuilds at a time.
+
+CREATE TABLE reward_ledger_state (
+    state_id          INT       NOT NULL,
+    rules_fingerprint BIGINT    NULL,
+    rebuilt_at        TIMESTAMP NULL,
+    PRIMARY KEY (state_id)
+) ENGINE = InnoDB;
+
+INSERT INTO reward_ledger_state (state_id) VALUES (1);
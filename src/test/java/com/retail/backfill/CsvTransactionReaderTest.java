@@ -0,0 +1,104 @@
+package com.retail.backfill;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTransactionReaderTest {
+
+    @Test
+    void next_shouldParseRowsAndSkipTheHeaderAndBlankLines() {
+        CsvTransactionReader reader = reader("customer_id,customer_name,transaction_date,amount\r\n"
+                + "1042,Jane Smith,2021-03-14,120.50\r\n"
+                + "\n"
+                + "7,\"Smith, \"\"JJ\"\"\",2024-02-29,99\n"
+                + "8,Zoë,1999-12-31,0.5", true);
+
+        assertTrue(reader.next());
+        assertTrue(reader.isValid());
+        assertEquals(1042L, reader.getCustomerId());
+        assertEquals("Jane Smith", reader.customerName());
+        assertEquals(LocalDate.of(2021, 3, 14).toEpochDay(), reader.getEpochDay());
+        assertEquals(12050L, reader.getAmountCents());
+
+        assertTrue(reader.next());
+        assertEquals(7L, reader.getCustomerId());
+        assertEquals("Smith, \"JJ\"", reader.customerName());
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), reader.getEpochDay());
+        assertEquals(9900L, reader.getAmountCents());
+
+        assertTrue(reader.next());
+        assertEquals("Zoë", reader.customerName());
+        assertEquals(50L, reader.getAmountCents());
+
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void next_shouldOnlySkipAHeaderAtTheStartOfTheFile() {
+        CsvTransactionReader reader = reader("customer_id,customer_name,transaction_date,amount\n", false);
+
+        assertTrue(reader.next());
+        assertFalse(reader.isValid());
+    }
+
+    @Test
+    void next_shouldReportInvalidRowsAndCarryOn() {
+        List<String> errors = new ArrayList<>();
+        CsvTransactionReader reader = reader("0,John,2024-01-01,10.00\n"
+                + "1,,2024-01-01,10.00\n"
+                + "1,John,2023-02-29,10.00\n"
+                + "1,John,24-01-01,10.00\n"
+                + "1,John,2024-01-01,10.001\n"
+                + "1,John,2024-01-01,-5\n"
+                + "1,John,2024-01-01,0.00\n"
+                + "1,\"John,2024-01-01,10.00\n"
+                + "1,John,2024-01-01\n"
+                + "1," + "x".repeat(101) + ",2024-01-01,10.00\n"
+                + "1,John,2024-01-01,10.00\n", false);
+        while (reader.next()) {
+            errors.add(reader.getError());
+        }
+
+        assertEquals(11, errors.size());
+        assertEquals("Customer ID must be a positive number", errors.get(0));
+        assertEquals("Customer name is required", errors.get(1));
+        assertEquals("Transaction date must be yyyy-MM-dd", errors.get(2));
+        assertEquals("Transaction date must be yyyy-MM-dd", errors.get(3));
+        assertEquals("Amount must be a number with up to two decimals", errors.get(4));
+        assertEquals("Amount must be a number with up to two decimals", errors.get(5));
+        assertEquals("Amount must be positive", errors.get(6));
+        assertEquals("Unterminated quoted customer name", errors.get(7));
+        assertEquals("Transaction date must be yyyy-MM-dd", errors.get(8));
+        assertEquals("Customer name must be at most 100 characters", errors.get(9));
+        assertNull(errors.get(10));
+    }
+
+    @Test
+    void next_shouldReportLineOffsetsWithinTheBuffer() {
+        CsvTransactionReader reader = reader("1,A,2024-01-01,1\nbad\n", false);
+
+        assertTrue(reader.next());
+        assertEquals(0, reader.getLineStart());
+        assertTrue(reader.next());
+        assertEquals(17, reader.getLineStart());
+        assertFalse(reader.isValid());
+    }
+
+    @Test
+    void epochDay_shouldMatchLocalDate() {
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.isBefore(LocalDate.of(2101, 3, 1)); date = date.plusDays(1)) {
+            assertEquals(date.toEpochDay(), CsvTransactionReader.epochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()), date::toString);
+        }
+    }
+
+    private static CsvTransactionReader reader(String csv, boolean fileStart) {
+        return new CsvTransactionReader(ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8)), fileStart);
+    }
+}
@@ -0,0 +1,140 @@
+package com.retail.cache;
+
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.RewardCacheStats;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.event.RewardRulesChangedEvent;
+import com.retail.event.TransactionsRecordedEvent;
+import com.retail.util.RewardRules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RewardCacheTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 5, 31);
+
+    private AtomicLong clock;
+    private RewardCache rewardCache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        rewardCache = new RewardCache(2, Duration.ofMinutes(5), clock::get);
+    }
+
+    @Test
+    void get_shouldCountHitsAndMisses() {
+        RewardCacheKey key = key(1L);
+        assertNull(rewardCache.get(key));
+
+        rewardCache.put(key, reward(1L), rewardCache.version(1L));
+
+        assertNotNull(rewardCache.get(key));
+        RewardCacheStats stats = rewardCache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void get_shouldExpireEntriesAfterTtl() {
+        RewardCacheKey key = key(1L);
+        rewardCache.put(key, reward(1L), rewardCache.version(1L));
+
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        assertNull(rewardCache.get(key));
+        assertEquals(1, rewardCache.stats().getEvictions());
+        assertEquals(0, rewardCache.stats().getSize());
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        rewardCache.put(key(1L), reward(1L), rewardCache.version(1L));
+        rewardCache.put(key(2L), reward(2L), rewardCache.version(2L));
+        rewardCache.get(key(1L));
+
+        rewardCache.put(key(3L), reward(3L), rewardCache.version(3L));
+
+        assertNotNull(rewardCache.get(key(1L)));
+        assertNull(rewardCache.get(key(2L)));
+        assertNotNull(rewardCache.get(key(3L)));
+        assertEquals(1, rewardCache.stats().getEvictions());
+    }
+
+    @Test
+    void invalidateCustomer_shouldDropAllRangesOfThatCustomerOnly() {
+        RewardCache cache = new RewardCache(10, Duration.ofMinutes(5), clock::get);
+        RewardCacheKey march = new RewardCacheKey(1L, START, START.plusDays(30), false);
+        RewardCacheKey spring = key(1L);
+        RewardCacheKey other = key(2L);
+        cache.put(march, reward(1L), cache.version(1L));
+        cache.put(spring, reward(1L), cache.version(1L));
+        cache.put(other, reward(2L), cache.version(2L));
+
+        cache.invalidateCustomer(1L);
+
+        assertNull(cache.get(march));
+        assertNull(cache.get(spring));
+        assertNotNull(cache.get(other));
+    }
+
+    @Test
+    void put_shouldIgnoreValuesLoadedBeforeAnInvalidation() {
+        long version = rewardCache.version(1L);
+        rewardCache.invalidateCustomer(1L);
+
+        rewardCache.put(key(1L), reward(1L), version);
+
+        assertNull(rewardCache.get(key(1L)));
+    }
+
+    @Test
+    void onTransactionsRecorded_shouldInvalidateAffectedCustomers() {
+        rewardCache.put(key(1L), reward(1L), rewardCache.version(1L));
+        Customer customer = new Customer(1L, "John");
+
+        rewardCache.onTransactionsRecorded(new TransactionsRecordedEvent(
+                List.of(new Transaction(null, 12000, START, customer))));
+
+        assertNull(rewardCache.get(key(1L)));
+    }
+
+    @Test
+    void onRewardRulesChanged_shouldDropEveryEntryAndInFlightLoad() {
+        long inFlightVersion = rewardCache.version(2L);
+        rewardCache.put(key(1L), reward(1L), rewardCache.version(1L));
+
+        rewardCache.onRewardRulesChanged(new RewardRulesChangedEvent(RewardRules.DEFAULT));
+        rewardCache.put(key(2L), reward(2L), inFlightVersion);
+
+        assertNull(rewardCache.get(key(1L)));
+        assertNull(rewardCache.get(key(2L)));
+        assertEquals(0, rewardCache.stats().getSize());
+    }
+
+    @Test
+    void put_shouldNotStoreWhenDisabled() {
+        RewardCache disabled = new RewardCache(0, Duration.ofMinutes(5), clock::get);
+        disabled.put(key(1L), reward(1L), disabled.version(1L));
+        assertNull(disabled.get(key(1L)));
+    }
+
+    private static RewardCacheKey key(Long customerId) {
+        return new RewardCacheKey(customerId, START, END, false);
+    }
+
+    private static CustomerRewardResponse reward(Long customerId) {
+        return new CustomerRewardResponse(customerId, "Customer " + customerId, new TreeMap<>(), 0, List.of());
+    }
+}
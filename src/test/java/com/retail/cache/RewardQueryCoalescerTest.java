@@ -0,0 +1,134 @@
+package com.retail.cache;
+
+import com.retail.exceptionhandler.NoCustomerFoundException;
+import com.retail.exceptionhandler.RewardQueryTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RewardQueryCoalescerTest {
+
+    private static final RewardCacheKey KEY = new RewardCacheKey(1L, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 5, 31), false);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_shouldShareOneComputationBetweenConcurrentIdenticalCalls() throws Exception {
+        RewardQueryCoalescer coalescer = new RewardQueryCoalescer(true, Duration.ofSeconds(10));
+        Future<String> leader = executor.submit(() -> coalescer.execute(KEY, 0, this::blockingQuery));
+        awaitCondition(() -> computations.get() == 1);
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            followers.add(executor.submit(() -> coalescer.execute(KEY, 0, this::blockingQuery)));
+        }
+        awaitCondition(() -> coalescer.getDeduplicated() == 8);
+        release.countDown();
+
+        assertEquals("result-1", leader.get(10, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("result-1", follower.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(1, coalescer.getExecuted());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    void execute_shouldRethrowAFailureToEveryWaitingCall() throws Exception {
+        RewardQueryCoalescer coalescer = new RewardQueryCoalescer(true, Duration.ofSeconds(10));
+        Future<String> leader = executor.submit(() -> coalescer.execute(KEY, 0, () -> {
+            blockingQuery();
+            throw new NoCustomerFoundException("Customer not found with ID: 1");
+        }));
+        awaitCondition(() -> computations.get() == 1);
+        Future<String> follower = executor.submit(() -> coalescer.execute(KEY, 0, this::blockingQuery));
+        awaitCondition(() -> coalescer.getDeduplicated() == 1);
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(NoCustomerFoundException.class, leaderFailure.getCause());
+        assertInstanceOf(NoCustomerFoundException.class, followerFailure.getCause());
+
+        assertEquals("result-2", coalescer.execute(KEY, 0, () -> "result-" + computations.incrementAndGet()),
+                "a failed computation must not be shared with later calls");
+    }
+
+    @Test
+    void execute_shouldLetWaitingCallsTimeOutWithoutCancellingTheComputation() throws Exception {
+        RewardQueryCoalescer coalescer = new RewardQueryCoalescer(true, Duration.ofMillis(50));
+        Future<String> leader = executor.submit(() -> coalescer.execute(KEY, 0, this::blockingQuery));
+        awaitCondition(() -> computations.get() == 1);
+
+        assertThrows(RewardQueryTimeoutException.class, () -> coalescer.execute(KEY, 0, this::blockingQuery));
+        release.countDown();
+
+        assertEquals("result-1", leader.get(10, TimeUnit.SECONDS));
+        assertEquals(1, coalescer.getTimeouts());
+    }
+
+    @Test
+    void execute_shouldNotShareAComputationStartedBeforeTheCallersVersion() throws Exception {
+        RewardQueryCoalescer coalescer = new RewardQueryCoalescer(true, Duration.ofSeconds(10));
+        Future<String> stale = executor.submit(() -> coalescer.execute(KEY, 0, this::blockingQuery));
+        awaitCondition(() -> computations.get() == 1);
+
+        assertEquals("fresh", coalescer.execute(KEY, 1, () -> "fresh"));
+        release.countDown();
+
+        assertEquals("result-1", stale.get(10, TimeUnit.SECONDS));
+        assertEquals(0, coalescer.getDeduplicated());
+    }
+
+    @Test
+    void execute_shouldRunEveryCallWhenDisabled() {
+        RewardQueryCoalescer coalescer = new RewardQueryCoalescer(false, Duration.ofSeconds(10));
+
+        coalescer.execute(KEY, 0, () -> "result-" + computations.incrementAndGet());
+        coalescer.execute(KEY, 0, () -> "result-" + computations.incrementAndGet());
+
+        assertEquals(2, computations.get());
+        assertEquals(2, coalescer.getExecuted());
+    }
+
+    private String blockingQuery() {
+        int computation = computations.incrementAndGet();
+        try {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "result-" + computation;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(1);
+        }
+    }
+}
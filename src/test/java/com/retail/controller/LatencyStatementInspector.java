@@ -0,0 +1,23 @@
+package com.retail.controller;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Adds a fixed delay before every SQL statement so that load tests against the embedded
+ * database behave like a networked database, where request threads spend most of their
+ * time waiting on JDBC.
+ */
+public class LatencyStatementInspector implements StatementInspector {
+
+    static final long LATENCY_MILLIS = 20;
+
+    @Override
+    public String inspect(String sql) {
+        try {
+            Thread.sleep(LATENCY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,13 @@
+package com.retail.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Thread-per-request baseline: Tomcat's platform worker pool bounds request concurrency.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        "server.tomcat.threads.max=50"
+})
+class PlatformThreadRewardLoadTest extends RewardLoadTestSupport {
+}
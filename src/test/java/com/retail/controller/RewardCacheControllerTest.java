@@ -0,0 +1,38 @@
+package com.retail.controller;
+
+import com.retail.cache.RewardCache;
+import com.retail.dto.RewardCacheStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = RewardCacheController.class)
+public class RewardCacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RewardCache rewardCache;
+
+    @Test
+    @DisplayName("Should return reward cache counters")
+    void shouldReturnCacheStats() throws Exception {
+        when(rewardCache.stats()).thenReturn(new RewardCacheStats(12, 3, 1, 2));
+
+        mockMvc.perform(get("/api/rewards/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(12))
+                .andExpect(jsonPath("$.misses").value(3))
+                .andExpect(jsonPath("$.evictions").value(1))
+                .andExpect(jsonPath("$.size").value(2));
+    }
+}
@@ -0,0 +1,112 @@
+package com.retail.controller;
+
+import com.retail.dto.TransactionRequest;
+import com.retail.service.TransactionIngestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs of a customer's rewards against the full application and the embedded database.
+ * Every SQL statement is recorded to show that a 304 is answered without reading transactions.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.retail.controller.RecordingStatementInspector",
+        "rewards.cache.max-size=0"
+})
+@AutoConfigureMockMvc
+class RewardConditionalGetTest {
+
+    private static final String START = "2024-03-01";
+    private static final String END = "2024-05-31";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionIngestionService transactionIngestionService;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("delete from monthly_reward_ledger");
+        jdbcTemplate.update("delete from transactions");
+        jdbcTemplate.update("delete from customers");
+        jdbcTemplate.update("insert into customers (customer_id, customer_name) values (1, 'John')");
+        transactionIngestionService.ingest(List.of(
+                new TransactionRequest(1L, 12000L, LocalDate.of(2024, 3, 10)),
+                new TransactionRequest(1L, 7500L, LocalDate.of(2024, 4, 12))).iterator());
+    }
+
+    @Test
+    @DisplayName("A matching If-None-Match should be answered with 304 and no transaction queries")
+    void notModifiedIssuesNoTransactionQueries() throws Exception {
+        String eTag = fetchETag(null);
+
+        RecordingStatementInspector.STATEMENTS.clear();
+        mockMvc.perform(rewardRequest().header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        List<String> statements = List.copyOf(RecordingStatementInspector.STATEMENTS);
+        assertEquals(1, statements.size(), statements.toString());
+        assertTrue(statements.get(0).toLowerCase().contains("reward_version"), statements.toString());
+        assertFalse(statements.get(0).toLowerCase().contains("transactions"), statements.toString());
+    }
+
+    @Test
+    @DisplayName("A new transaction should change the ETag")
+    void newTransactionChangesETag() throws Exception {
+        String before = fetchETag(null);
+
+        transactionIngestionService.ingest(List.of(new TransactionRequest(1L, 20000L, LocalDate.of(2024, 5, 2))).iterator());
+
+        String after = fetchETag(before);
+        assertNotEquals(before, after);
+        mockMvc.perform(rewardRequest().header(HttpHeaders.IF_NONE_MATCH, after))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Full and summary representations should have different ETags")
+    void representationsHaveDifferentETags() throws Exception {
+        String full = fetchETag(null);
+        String summary = mockMvc.perform(rewardRequest().param("include", "summary"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotNull(summary);
+        assertNotEquals(full, summary);
+    }
+
+    private String fetchETag(String ifNoneMatch) throws Exception {
+        MockHttpServletRequestBuilder request = rewardRequest();
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        String eTag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    private static MockHttpServletRequestBuilder rewardRequest() {
+        return get("/api/rewards/1").param("startDate", START).param("endDate", END);
+    }
+}
@@ -1,24 +1,49 @@
 package com.retail.controller;
 
 import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.RewardBatchEntry;
+import com.retail.dto.RewardBatchResponse;
 import com.retail.dto.TransactionResponse;
+import com.retail.exceptionhandler.NoCustomerFoundException;
 import com.retail.service.RewardService;
+import com.retail.service.RewardVersionService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = RewardController.class)
@@ -27,24 +52,34 @@ public class RewardControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    private static final String ETAG = "\"1-7-19783-19875-f-2a\"";
+
     @MockBean
     private RewardService rewardService;
 
+    @MockBean
+    private RewardVersionService rewardVersionService;
+
+    @BeforeEach
+    void setUp() {
+        when(rewardVersionService.customerRewardETag(any(), any(), any(), anyBoolean())).thenReturn(ETAG);
+    }
+
     @Test
     @DisplayName("Should return rewards for all customers")
     void shouldReturnAllCustomerRewards() throws Exception {
         List<TransactionResponse> johnTransactions = asList(
-                new TransactionResponse(101L, 120.75, LocalDate.of(2024, 3, 15)),
-                new TransactionResponse(102L, 90.50, LocalDate.of(2024, 4, 10))
+                new TransactionResponse(101L, 12075, LocalDate.of(2024, 3, 15)),
+                new TransactionResponse(102L, 9050, LocalDate.of(2024, 4, 10))
         );
 
         List<TransactionResponse> janeTransactions = List.of(
-                new TransactionResponse(103L, 70.00, LocalDate.of(2024, 3, 20))
+                new TransactionResponse(103L, 7000, LocalDate.of(2024, 3, 20))
         );
 
         List<CustomerRewardResponse> mockResponse = asList(
-                new CustomerRewardResponse(1L, "John", Map.of("MARCH", 70, "APRIL", 50), 120, johnTransactions),
-                new CustomerRewardResponse(2L, "Jane", Map.of("MARCH", 80), 80, janeTransactions)
+                new CustomerRewardResponse(1L, "John", new TreeMap<>(Map.of(YearMonth.of(2024, 3), 70, YearMonth.of(2024, 4), 50)), 120, johnTransactions),
+                new CustomerRewardResponse(2L, "Jane", new TreeMap<>(Map.of(YearMonth.of(2024, 3), 80)), 80, janeTransactions)
         );
 
         LocalDate startDate = LocalDate.of(2024, 3, 1);
@@ -68,12 +103,12 @@ public class RewardControllerTest {
     @DisplayName("Should return rewards for a specific customer")
     void shouldReturnCustomerRewardById() throws Exception {
         List<TransactionResponse> transactions = asList(
-                new TransactionResponse(101L, 120.75, LocalDate.of(2024, 3, 15)),
-                new TransactionResponse(102L, 90.00, LocalDate.of(2024, 4, 10))
+                new TransactionResponse(101L, 12075, LocalDate.of(2024, 3, 15)),
+                new TransactionResponse(102L, 9000, LocalDate.of(2024, 4, 10))
         );
 
         CustomerRewardResponse mockResponse = new CustomerRewardResponse(
-                1L, "John",Map.of("MARCH", 70, "APRIL", 80), 150, transactions
+                1L, "John",new TreeMap<>(Map.of(YearMonth.of(2024, 3), 70, YearMonth.of(2024, 4), 80)), 150, transactions
         );
 
         LocalDate startDate = LocalDate.of(2024, 3, 1);
@@ -89,11 +124,231 @@ public class RewardControllerTest {
                 .andExpect(jsonPath("$.customerId").value(1))
                 .andExpect(jsonPath("$.customerName").value("John"))
                 .andExpect(jsonPath("$.totalRewards").value(150))
-                .andExpect(jsonPath("$.monthlyRewards.MARCH").value(70))
-                .andExpect(jsonPath("$.monthlyRewards.APRIL").value(80))
+                .andExpect(jsonPath("$.monthlyRewards['2024-03']").value(70))
+                .andExpect(jsonPath("$.monthlyRewards['2024-04']").value(80))
                 .andExpect(jsonPath("$.transactions.size()").value(2));
     }
 
+    @Test
+    @DisplayName("Should tag a customer's reward with its ETag")
+    void shouldReturnETagForCustomerReward() throws Exception {
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        LocalDate endDate = LocalDate.of(2024, 6, 1);
+
+        when(rewardService.getCustomerRewardById(1L, startDate, endDate)).thenReturn(
+                new CustomerRewardResponse(1L, "John", new TreeMap<>(), 0, List.of()));
+
+        mockMvc.perform(get("/api/rewards/1")
+                        .param("startDate", startDate.toString())
+                        .param("endDate", endDate.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without computing rewards when If-None-Match matches")
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        mockMvc.perform(get("/api/rewards/1")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-06-01")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/rewards/1")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-06-01")
+                        .param("include", "summary")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified());
+
+        verify(rewardService, never()).getCustomerRewardById(any(), any(), any());
+        verify(rewardService, never()).getCustomerRewardSummary(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return reward summaries without transactions when include=summary")
+    void shouldReturnAllCustomerRewardSummaries() throws Exception {
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        LocalDate endDate = LocalDate.of(2024, 6, 1);
+
+        when(rewardService.getAllCustomerRewardSummaries(startDate, endDate)).thenReturn(List.of(
+                new CustomerRewardResponse(1L, "John", new TreeMap<>(Map.of(YearMonth.of(2024, 3), 70)), 70, null)));
+
+        mockMvc.perform(get("/api/rewards")
+                        .param("startDate", startDate.toString())
+                        .param("endDate", endDate.toString())
+                        .param("include", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].totalRewards").value(70))
+                .andExpect(jsonPath("$[0].monthlyRewards['2024-03']").value(70))
+                .andExpect(jsonPath("$[0].transactions").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return a customer's reward summary when include=summary")
+    void shouldReturnCustomerRewardSummary() throws Exception {
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        LocalDate endDate = LocalDate.of(2024, 6, 1);
+
+        when(rewardService.getCustomerRewardSummary(1L, startDate, endDate)).thenReturn(
+                new CustomerRewardResponse(1L, "John", new TreeMap<>(Map.of(YearMonth.of(2024, 4), 80)), 80, null));
+
+        mockMvc.perform(get("/api/rewards/1")
+                        .param("startDate", startDate.toString())
+                        .param("endDate", endDate.toString())
+                        .param("include", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRewards").value(80))
+                .andExpect(jsonPath("$.transactions").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should stream rewards for all customers as NDJSON when requested via Accept header")
+    void shouldStreamAllCustomerRewardsAsNdjson() throws Exception {
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        LocalDate endDate = LocalDate.of(2024, 6, 1);
+        stubStreamedRewards(startDate, endDate);
+
+        MvcResult result = mockMvc.perform(get("/api/rewards")
+                        .param("startDate", startDate.toString())
+                        .param("endDate", endDate.toString())
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"customerId\":1,"));
+        assertTrue(lines[1].startsWith("{\"customerId\":2,"));
+    }
+
+    @Test
+    @DisplayName("Should stream rewards for all customers when stream=true is passed")
+    void shouldStreamAllCustomerRewardsWithStreamParam() throws Exception {
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        LocalDate endDate = LocalDate.of(2024, 6, 1);
+        stubStreamedRewards(startDate, endDate);
+
+        MvcResult result = mockMvc.perform(get("/api/rewards")
+                        .param("startDate", startDate.toString())
+                        .param("endDate", endDate.toString())
+                        .param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(2, body.split("\n").length);
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid date range on the NDJSON endpoint before streaming starts")
+    void shouldReturnBadRequestOnInvalidRangeWhenStreaming() throws Exception {
+        doThrow(new IllegalArgumentException("Start date must be before or equal to end date."))
+                .when(rewardService).validateStreamRequest(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 3, 1));
+
+        mockMvc.perform(get("/api/rewards")
+                        .param("startDate", "2024-06-01")
+                        .param("endDate", "2024-03-01")
+                        .param("stream", "true"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Start date must be before or equal to end date."));
+
+        mockMvc.perform(get("/api/rewards")
+                        .param("startDate", "2024-06-01")
+                        .param("endDate", "2024-03-01")
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Start date must be before or equal to end date."));
+
+        verify(rewardService, never()).streamAllCustomerRewards(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return NOT_FOUND on the NDJSON endpoint before streaming starts when there are no customers")
+    void shouldReturnNotFoundWhenStreamingWithoutCustomers() throws Exception {
+        doThrow(new NoCustomerFoundException("No customers found in the system."))
+                .when(rewardService).validateStreamRequest(any(), any());
+
+        mockMvc.perform(get("/api/rewards")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-06-01")
+                        .param("stream", "true"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+
+        verify(rewardService, never()).streamAllCustomerRewards(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject stream=true combined with include=summary")
+    void shouldRejectStreamedSummaries() throws Exception {
+        mockMvc.perform(get("/api/rewards")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-06-01")
+                        .param("stream", "true")
+                        .param("include", "summary"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("stream=true cannot be combined with include=summary."));
+
+        verifyNoInteractions(rewardService);
+    }
+
+    @Test
+    @DisplayName("Should return batch rewards keyed by customer ID with per-entry NOT_FOUND")
+    void shouldReturnBatchRewards() throws Exception {
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        LocalDate endDate = LocalDate.of(2024, 6, 1);
+        RewardBatchResponse batch = new RewardBatchResponse();
+        batch.getResults().put(1L, RewardBatchEntry.found(
+                new CustomerRewardResponse(1L, "John", new TreeMap<>(Map.of(YearMonth.of(2024, 3), 90)), 90, List.of())));
+        batch.getResults().put(99L, RewardBatchEntry.notFound(99L));
+        batch.setFound(1);
+        batch.setNotFound(1);
+
+        when(rewardService.getCustomerRewardsBatch(List.of(1L, 99L), startDate, endDate)).thenReturn(batch);
+
+        mockMvc.perform(post("/api/rewards/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerIds\":[1,99],\"startDate\":\"2024-03-01\",\"endDate\":\"2024-06-01\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found").value(1))
+                .andExpect(jsonPath("$.notFound").value(1))
+                .andExpect(jsonPath("$.results['1'].status").value("OK"))
+                .andExpect(jsonPath("$.results['1'].reward.totalRewards").value(90))
+                .andExpect(jsonPath("$.results['99'].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results['99'].error").value("Customer not found with ID: 99"))
+                .andExpect(jsonPath("$.results['99'].reward").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed batch request")
+    void shouldReturnBadRequestOnMalformedBatch() throws Exception {
+        mockMvc.perform(post("/api/rewards/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerIds\":[1,"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/rewards/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerIds\":[1]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should fail when startDate is missing")
     void shouldReturnBadRequestOnMissingStartDate() throws Exception {
@@ -112,4 +367,13 @@ public class RewardControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
+
+    private void stubStreamedRewards(LocalDate startDate, LocalDate endDate) {
+        doAnswer(invocation -> {
+            Consumer<CustomerRewardResponse> consumer = invocation.getArgument(2);
+            consumer.accept(new CustomerRewardResponse(1L, "John", new TreeMap<>(Map.of(YearMonth.of(2024, 3), 90)), 90, List.of()));
+            consumer.accept(new CustomerRewardResponse(2L, "Jane", new TreeMap<>(), 0, List.of()));
+            return null;
+        }).when(rewardService).streamAllCustomerRewards(eq(startDate), eq(endDate), any());
+    }
 }
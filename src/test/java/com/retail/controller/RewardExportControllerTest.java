@@ -0,0 +1,110 @@
+package com.retail.controller;
+
+import com.retail.dto.RewardExportInfo;
+import com.retail.exceptionhandler.NoExportFoundException;
+import com.retail.export.StatementFormat;
+import com.retail.service.RewardExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = RewardExportController.class)
+public class RewardExportControllerTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+    private static final String FILE_NAME = "rewards-2024-03-01-2024-03-31-part-00001.csv.gz";
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RewardExportService rewardExportService;
+
+    @Test
+    @DisplayName("Should start an export and answer 202 Accepted")
+    void shouldStartExport() throws Exception {
+        when(rewardExportService.startExport(START, END, StatementFormat.CSV))
+                .thenReturn(new RewardExportInfo("export-1", START, END, StatementFormat.CSV, Instant.EPOCH));
+
+        mockMvc.perform(post("/api/rewards/exports")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31")
+                        .param("format", "csv"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.exportId").value("export-1"))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown export format")
+    void shouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(post("/api/rewards/exports")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should stream an export file through its channel when sendfile is unavailable")
+    void shouldDownloadExportFile() throws Exception {
+        byte[] bytes = new byte[200_000];
+        new Random(1).nextBytes(bytes);
+        Path file = Files.write(directory.resolve(FILE_NAME), bytes);
+        when(rewardExportService.getExportFile("export-1", FILE_NAME)).thenReturn(file);
+
+        mockMvc.perform(get("/api/rewards/exports/export-1/files/" + FILE_NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andExpect(header().string("Content-Length", String.valueOf(bytes.length)))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"" + FILE_NAME + "\""))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    @DisplayName("Should hand an export file to the container when it supports sendfile")
+    void shouldUseSendfileWhenSupported() throws Exception {
+        Path file = Files.write(directory.resolve(FILE_NAME), new byte[1024]);
+        when(rewardExportService.getExportFile("export-1", FILE_NAME)).thenReturn(file);
+
+        mockMvc.perform(get("/api/rewards/exports/export-1/files/" + FILE_NAME)
+                        .requestAttr(RewardExportController.SENDFILE_SUPPORT, Boolean.TRUE))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Length", "1024"))
+                .andExpect(request().attribute(RewardExportController.SENDFILE_FILENAME, file.toAbsolutePath().toString()))
+                .andExpect(request().attribute(RewardExportController.SENDFILE_END, 1024L))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for a file of an unknown export")
+    void shouldReturnNotFoundForUnknownExport() throws Exception {
+        when(rewardExportService.getExportFile("missing", FILE_NAME)).thenThrow(new NoExportFoundException("Reward export not found: missing"));
+
+        mockMvc.perform(get("/api/rewards/exports/missing/files/" + FILE_NAME))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,71 @@
+package com.retail.controller;
+
+import com.retail.dto.RewardLeaderboardEntry;
+import com.retail.dto.RewardLeaderboardResponse;
+import com.retail.leaderboard.LeaderboardPeriod;
+import com.retail.service.RewardLeaderboardService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = RewardLeaderboardController.class)
+public class RewardLeaderboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RewardLeaderboardService rewardLeaderboardService;
+
+    @Test
+    @DisplayName("Should return the top customers of the requested quarter")
+    void shouldReturnLeaderboard() throws Exception {
+        RewardLeaderboardResponse response = new RewardLeaderboardResponse();
+        response.setPeriod(LeaderboardPeriod.QUARTER);
+        response.setStartDate(LocalDate.of(2024, 4, 1));
+        response.setEndDate(LocalDate.of(2024, 6, 30));
+        response.setCustomerCount(40);
+        response.getEntries().add(new RewardLeaderboardEntry(1, 2L, "Ravi Kumar", 480));
+        when(rewardLeaderboardService.getLeaderboard(LeaderboardPeriod.QUARTER, LocalDate.of(2024, 5, 15), 1)).thenReturn(response);
+
+        mockMvc.perform(get("/api/rewards/leaderboard")
+                        .param("period", "QUARTER")
+                        .param("date", "2024-05-15")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.startDate").value("2024-04-01"))
+                .andExpect(jsonPath("$.entries[0].rank").value(1))
+                .andExpect(jsonPath("$.entries[0].customerId").value(2))
+                .andExpect(jsonPath("$.entries[0].rewardPoints").value(480));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown period")
+    void shouldRejectUnknownPeriod() throws Exception {
+        mockMvc.perform(get("/api/rewards/leaderboard").param("period", "DECADE"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a limit above the leaderboard capacity")
+    void shouldRejectLimitAboveCapacity() throws Exception {
+        when(rewardLeaderboardService.getLeaderboard(eq(LeaderboardPeriod.MONTH), any(), eq(5000)))
+                .thenThrow(new IllegalArgumentException("Limit must be between 1 and 1000."));
+
+        mockMvc.perform(get("/api/rewards/leaderboard").param("limit", "5000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Limit must be between 1 and 1000."));
+    }
+}
@@ -0,0 +1,146 @@
+package com.retail.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Closed-loop load test for {@code GET /api/rewards/{customerId}} at increasing concurrency.
+ * <p>
+ * Every SQL statement is delayed by {@link LatencyStatementInspector} to model JDBC waits.
+ * For each concurrency level the test reports throughput and p99 latency; the highest level
+ * whose p99 stays within {@link #P99_BUDGET_MILLIS} without errors is the maximum sustainable
+ * concurrency. Subclasses choose the request execution model. Tagged {@code load} and only
+ * run with {@code mvn test -Pload-test}.
+ */
+@Tag("load")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.retail.controller.LatencyStatementInspector",
+        "spring.datasource.hikari.maximum-pool-size=400",
+        "rewards.cache.max-size=0",
+        "logging.level.com.retail=WARN",
+        "logging.level.com.retail.controller.RewardLoadTestSupport=INFO"
+})
+abstract class RewardLoadTestSupport {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewardLoadTestSupport.class);
+
+    private static final int[] CONCURRENCY_LEVELS = {25, 50, 100, 200, 400};
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int CUSTOMERS = 100;
+    private static final long P99_BUDGET_MILLIS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newCachedThreadPool())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("delete from transactions");
+        jdbcTemplate.update("delete from customers");
+        List<Object[]> customers = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        for (long id = 1; id <= CUSTOMERS; id++) {
+            customers.add(new Object[]{id, "Customer " + id});
+            transactions.add(new Object[]{id, 12000L, Date.valueOf("2024-03-10"), id});
+        }
+        jdbcTemplate.batchUpdate("insert into customers (customer_id, customer_name) values (?, ?)", customers);
+        jdbcTemplate.batchUpdate("insert into transactions (transaction_id, transaction_amount_cents, transaction_date, customer_id) "
+                + "values (?, ?, ?, ?)", transactions);
+    }
+
+    @Test
+    void reportSustainableConcurrency() throws Exception {
+        int sustainable = 0;
+        logger.info("{} load report", getClass().getSimpleName());
+        logger.info(String.format("%12s %12s %12s %8s", "concurrency", "req/s", "p99 (ms)", "errors"));
+        for (int concurrency : CONCURRENCY_LEVELS) {
+            LevelResult result = runLevel(concurrency);
+            logger.info(String.format("%12d %12.0f %12d %8d", concurrency, result.throughput(), result.p99Millis(), result.errors()));
+            if (result.errors() == 0 && result.p99Millis() <= P99_BUDGET_MILLIS) {
+                sustainable = concurrency;
+            }
+        }
+        logger.info("{} max sustainable concurrency (p99 <= {} ms): {}", getClass().getSimpleName(), P99_BUDGET_MILLIS, sustainable);
+
+        assertTrue(sustainable >= CONCURRENCY_LEVELS[0], "the lowest concurrency level must be sustainable");
+    }
+
+    private LevelResult runLevel(int concurrency) throws Exception {
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[concurrency * REQUESTS_PER_CLIENT];
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int client = 0; client < concurrency; client++) {
+                int offset = client * REQUESTS_PER_CLIENT;
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        latencies[offset + i] = timeRequest(1 + (offset + i) % CUSTOMERS, errors);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        Arrays.sort(latencies);
+        long p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+        return new LevelResult(latencies.length / elapsedSeconds, p99 / 1_000_000, errors.get());
+    }
+
+    private long timeRequest(long customerId, AtomicInteger errors) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/rewards/" + customerId
+                        + "?startDate=2024-03-01&endDate=2024-05-31"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long started = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                errors.incrementAndGet();
+            }
+        } catch (Exception e) {
+            errors.incrementAndGet();
+        }
+        return System.nanoTime() - started;
+    }
+
+    private record LevelResult(double throughput, long p99Millis, int errors) {
+    }
+}
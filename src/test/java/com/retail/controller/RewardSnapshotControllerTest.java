@@ -0,0 +1,69 @@
+package com.retail.controller;
+
+import com.retail.dto.RewardSnapshotReport;
+import com.retail.dto.TransactionSnapshotInfo;
+import com.retail.exceptionhandler.NoSnapshotFoundException;
+import com.retail.service.TransactionSnapshotService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = RewardSnapshotController.class)
+public class RewardSnapshotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionSnapshotService transactionSnapshotService;
+
+    @Test
+    @DisplayName("Should create a snapshot and return its details")
+    void shouldCreateSnapshot() throws Exception {
+        when(transactionSnapshotService.createSnapshot()).thenReturn(new TransactionSnapshotInfo(Instant.EPOCH, 3, 92));
+
+        mockMvc.perform(post("/api/rewards/snapshot"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionCount").value(3))
+                .andExpect(jsonPath("$.sizeBytes").value(92));
+    }
+
+    @Test
+    @DisplayName("Should return the snapshot reward report")
+    void shouldReturnReport() throws Exception {
+        RewardSnapshotReport report = new RewardSnapshotReport();
+        report.setCustomerCount(2);
+        report.setTotalRewards(180);
+        report.getMonthlyRewards().put(YearMonth.of(2024, 3), 180L);
+        when(transactionSnapshotService.getRewardReport(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31))).thenReturn(report);
+
+        mockMvc.perform(get("/api/rewards/snapshot/report")
+                        .param("startDate", "2024-03-01")
+                        .param("endDate", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerCount").value(2))
+                .andExpect(jsonPath("$.totalRewards").value(180));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when no snapshot exists")
+    void shouldReturnNotFoundWithoutSnapshot() throws Exception {
+        when(transactionSnapshotService.getSnapshotInfo()).thenThrow(new NoSnapshotFoundException("No transaction snapshot has been created yet."));
+
+        mockMvc.perform(get("/api/rewards/snapshot"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,144 @@
+package com.retail.controller;
+
+import com.retail.dto.TransactionBatchResponse;
+import com.retail.dto.TransactionRequest;
+import com.retail.dto.TransactionEventResponse;
+import com.retail.exceptionhandler.IngestionBackpressureException;
+import com.retail.service.TransactionEventService;
+import com.retail.service.TransactionIngestionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = TransactionController.class)
+public class TransactionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionIngestionService transactionIngestionService;
+
+    @MockBean
+    private TransactionEventService transactionEventService;
+
+    @Test
+    @DisplayName("Should ingest a JSON array of transactions")
+    void shouldIngestJsonArray() throws Exception {
+        List<TransactionRequest> received = stubIngestion();
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"customerId\":1,\"transactionAmountCents\":12075,\"transactionDate\":\"2024-03-10\"},"
+                                + "{\"customerId\":2,\"transactionAmountCents\":7500,\"transactionDate\":\"2024-04-10\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(2));
+
+        assertEquals(2, received.size());
+        assertEquals(1L, received.get(0).getCustomerId());
+        assertEquals(LocalDate.of(2024, 4, 10), received.get(1).getTransactionDate());
+    }
+
+    @Test
+    @DisplayName("Should ingest newline-delimited JSON transactions")
+    void shouldIngestNdjson() throws Exception {
+        List<TransactionRequest> received = stubIngestion();
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"customerId\":1,\"transactionAmountCents\":12075,\"transactionDate\":\"2024-03-10\"}\n"
+                                + "{\"customerId\":2,\"transactionAmountCents\":7500,\"transactionDate\":\"2024-04-10\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(2));
+
+        assertEquals(2, received.size());
+        assertEquals(7500L, received.get(1).getTransactionAmountCents());
+    }
+
+    @Test
+    @DisplayName("Should fail on a malformed payload")
+    void shouldReturnBadRequestOnMalformedPayload() throws Exception {
+        stubIngestion();
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"customerId\":\"abc\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should accept queued transaction events with 202")
+    void shouldQueueEvents() throws Exception {
+        TransactionEventResponse queued = new TransactionEventResponse();
+        queued.setAccepted(1);
+        when(transactionEventService.submit(anyList(), eq(false))).thenReturn(queued);
+
+        mockMvc.perform(post("/api/transactions/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"externalRef\":\"pos-1\",\"customerId\":1,\"transactionAmountCents\":12075,\"transactionDate\":\"2024-03-10\"}]"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.committed").value(false));
+    }
+
+    @Test
+    @DisplayName("Should answer 200 once awaited transaction events are committed")
+    void shouldAwaitCommittedEvents() throws Exception {
+        TransactionEventResponse committed = new TransactionEventResponse();
+        committed.setAccepted(1);
+        committed.setCommitted(true);
+        committed.setDuplicates(1);
+        when(transactionEventService.submit(anyList(), eq(true))).thenReturn(committed);
+
+        mockMvc.perform(post("/api/transactions/events?await=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"externalRef\":\"pos-1\",\"customerId\":1,\"transactionAmountCents\":12075,\"transactionDate\":\"2024-03-10\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.duplicates").value(1));
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After when the event pipeline is full")
+    void shouldReportBackpressure() throws Exception {
+        when(transactionEventService.submit(anyList(), eq(false)))
+                .thenThrow(new IngestionBackpressureException("Transaction event pipeline is full; retry later."));
+
+        mockMvc.perform(post("/api/transactions/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"externalRef\":\"pos-1\",\"customerId\":1,\"transactionAmountCents\":12075,\"transactionDate\":\"2024-03-10\"}]"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    private List<TransactionRequest> stubIngestion() {
+        List<TransactionRequest> received = new ArrayList<>();
+        when(transactionIngestionService.ingest(any())).thenAnswer(invocation -> {
+            Iterator<TransactionRequest> rows = invocation.getArgument(0);
+            rows.forEachRemaining(received::add);
+            TransactionBatchResponse response = new TransactionBatchResponse();
+            response.setReceived(received.size());
+            response.setInserted(received.size());
+            return response;
+        });
+        return received;
+    }
+}
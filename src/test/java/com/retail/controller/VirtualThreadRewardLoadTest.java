@@ -0,0 +1,16 @@
+package com.retail.controller;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Virtual-thread mode: every request runs on its own virtual thread and database concurrency
+ * is bounded only by the connection pool. Requires a Java 21+ runtime.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true"
+})
+class VirtualThreadRewardLoadTest extends RewardLoadTestSupport {
+}
@@ -0,0 +1,130 @@
+package com.retail.datasource;
+
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.event.TransactionsRecordedEvent;
+import com.retail.helper.CustomerRepositoryHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routes against two embedded databases: the primary the application migrates and a replica
+ * migrated here. Both hold customer 1 under different names, so every read shows where it went.
+ * Routing happens per transaction, so the test does not run inside one.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingDataJpaTest.PRIMARY_URL,
+        "rewards.datasource.replica.urls=" + ReadReplicaRoutingDataJpaTest.REPLICA_URL
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReadReplicaConfiguration.class, RecentWriteTracker.class, CustomerRepositoryHelper.class})
+class ReadReplicaRoutingDataJpaTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+
+    private static final DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+    private static final JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(replica);
+
+    @Autowired
+    private CustomerRepositoryHelper customerRepositoryHelper;
+
+    @Autowired
+    private RecentWriteTracker recentWriteTracker;
+
+    @Autowired
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies the H2 migration scripts in version order, as replication would.
+     */
+    @BeforeAll
+    static void migrateReplica() throws IOException {
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/h2/V*__*.sql");
+        Arrays.sort(scripts, Comparator.comparingInt(script ->
+                Integer.parseInt(script.getFilename().substring(1, script.getFilename().indexOf("__")))));
+        new ResourceDatabasePopulator(scripts).execute(replica);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into customers (customer_id, customer_name) values (1, 'Primary')");
+        replicaJdbcTemplate.update("insert into customers (customer_id, customer_name) values (1, 'Replica')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from customers");
+        replicaJdbcTemplate.update("delete from customers");
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should read from the replica")
+    void readOnlyTransactionsUseTheReplica() {
+        long replicaConnections = routingDataSource.getReplicaConnections();
+
+        assertEquals("Replica", inTransaction(true, this::customerName));
+        assertEquals("Replica", customerName(), "repository reads run in read-only transactions of their own");
+        assertTrue(routingDataSource.getReplicaConnections() >= replicaConnections + 2);
+    }
+
+    @Test
+    @DisplayName("Read-write transactions should read from the primary")
+    void readWriteTransactionsUseThePrimary() {
+        assertEquals("Primary", inTransaction(false, this::customerName));
+    }
+
+    @Test
+    @DisplayName("Pinned reads and reads of recently written customers should go to the primary")
+    void readYourWritesUseThePrimary() {
+        assertEquals("Primary", inTransaction(true, () -> PrimaryReads.call(this::customerName)));
+
+        recentWriteTracker.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                new Transaction(null, 12000L, LocalDate.of(2024, 3, 10), new Customer(1L, "Primary")))));
+
+        assertEquals("Primary", recentWriteTracker.read(1L, () -> inTransaction(true, this::customerName)));
+    }
+
+    private String customerName() {
+        return customerRepositoryHelper.fetchCustomerById(1L).getCustomerName();
+    }
+
+    private String inTransaction(boolean readOnly, Supplier<String> query) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> query.get());
+    }
+}
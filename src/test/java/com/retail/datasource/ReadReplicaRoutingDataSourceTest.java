@@ -0,0 +1,118 @@
+package com.retail.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = dataSource();
+    private final DataSource replica1 = dataSource();
+    private final DataSource replica2 = dataSource();
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_shouldUsePrimaryOutsideReadOnlyTransactions() throws SQLException {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(replica1, replica2),
+                ReplicaSelection.ROUND_ROBIN);
+
+        routing.getConnection();
+
+        verify(primary).getConnection();
+        verifyNoInteractions(replica1, replica2);
+        assertEquals(1, routing.getPrimaryConnections());
+    }
+
+    @Test
+    void getConnection_shouldRotateReadOnlyTransactionsOverReplicas() throws SQLException {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(replica1, replica2),
+                ReplicaSelection.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        for (int i = 0; i < 4; i++) {
+            routing.getConnection();
+        }
+
+        verify(replica1, times(2)).getConnection();
+        verify(replica2, times(2)).getConnection();
+        verifyNoInteractions(primary);
+        assertEquals(4, routing.getReplicaConnections());
+    }
+
+    @Test
+    void getConnection_shouldPreferTheLeastLoadedReplica() throws SQLException {
+        Map<DataSource, Integer> loads = Map.of(replica1, 5, replica2, 1);
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(replica1, replica2),
+                ReplicaSelection.LEAST_LOADED, loads::get);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        for (int i = 0; i < 3; i++) {
+            routing.getConnection();
+        }
+
+        verify(replica2, times(3)).getConnection();
+        verifyNoInteractions(replica1);
+    }
+
+    @Test
+    void getConnection_shouldUsePrimaryForPinnedReads() {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(replica1),
+                ReplicaSelection.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        List<Connection> connections = new ArrayList<>();
+        PrimaryReads.call(() -> connections.add(connection(routing)));
+
+        assertFalse(PrimaryReads.isActive());
+        verifyNoInteractions(replica1);
+        assertEquals(1, routing.getPrimaryConnections());
+    }
+
+    @Test
+    void getConnection_shouldUsePrimaryWithoutReplicas() throws SQLException {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(), ReplicaSelection.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routing.getConnection();
+
+        verify(primary).getConnection();
+    }
+
+    @Test
+    void fromPropertyValue_shouldRejectUnknownSelections() {
+        assertEquals(ReplicaSelection.LEAST_LOADED, ReplicaSelection.fromPropertyValue("Least-Loaded"));
+        assertThrows(IllegalArgumentException.class, () -> ReplicaSelection.fromPropertyValue("random"));
+    }
+
+    private static DataSource dataSource() {
+        DataSource dataSource = mock(DataSource.class);
+        try {
+            when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return dataSource;
+    }
+
+    private static Connection connection(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.retail.datasource;
+
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.event.TransactionsRecordedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentWriteTrackerTest {
+
+    private static final List<String> REPLICAS = List.of("jdbc:h2:mem:replica");
+
+    @Test
+    void read_shouldPinRecentlyWrittenCustomersToThePrimary() {
+        RecentWriteTracker tracker = new RecentWriteTracker(REPLICAS, Duration.ofMinutes(1));
+        tracker.onTransactionsRecorded(event(1L));
+
+        assertTrue(tracker.read(1L, PrimaryReads::isActive));
+        assertFalse(tracker.read(2L, PrimaryReads::isActive));
+        assertTrue(tracker.read(List.of(2L, 1L), PrimaryReads::isActive));
+        assertFalse(tracker.read(List.of(2L, 3L), PrimaryReads::isActive));
+        assertFalse(PrimaryReads.isActive());
+    }
+
+    @Test
+    void read_shouldStopPinningOnceTheReplicaLagHasPassed() throws InterruptedException {
+        RecentWriteTracker tracker = new RecentWriteTracker(REPLICAS, Duration.ofMillis(20));
+        tracker.onTransactionsRecorded(event(1L));
+        Thread.sleep(50);
+
+        assertFalse(tracker.isRecentlyWritten(1L));
+    }
+
+    @Test
+    void onTransactionsRecorded_shouldRestartTheLagWindowAtCommit() throws InterruptedException {
+        RecentWriteTracker tracker = new RecentWriteTracker(REPLICAS, Duration.ofMillis(200));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tracker.onTransactionsRecorded(event(1L));
+            assertTrue(tracker.isRecentlyWritten(1L), "a reader must not use a replica while the write is committing");
+            Thread.sleep(250);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(tracker.isRecentlyWritten(1L));
+    }
+
+    @Test
+    void read_shouldNeverPinWithoutReplicas() {
+        RecentWriteTracker tracker = new RecentWriteTracker(List.of(), Duration.ofMinutes(1));
+        tracker.onTransactionsRecorded(event(1L));
+
+        assertFalse(tracker.read(1L, PrimaryReads::isActive));
+        assertEquals(0, tracker.size());
+    }
+
+    private static TransactionsRecordedEvent event(Long customerId) {
+        return new TransactionsRecordedEvent(List.of(
+                new Transaction(null, 12000L, LocalDate.of(2024, 3, 10), new Customer(customerId, "John"))));
+    }
+}
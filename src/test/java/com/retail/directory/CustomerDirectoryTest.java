@@ -0,0 +1,149 @@
+package com.retail.directory;
+
+import com.retail.dto.CustomerNameRow;
+import com.retail.entity.Customer;
+import com.retail.event.CustomersRecordedEvent;
+import com.retail.exceptionhandler.NoCustomerFoundException;
+import com.retail.helper.CustomerRepositoryHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomerDirectoryTest {
+
+    private CustomerRepositoryHelper customerRepositoryHelper;
+
+    @BeforeEach
+    void setUp() {
+        customerRepositoryHelper = mock(CustomerRepositoryHelper.class);
+        when(customerRepositoryHelper.countCustomers()).thenReturn(3L);
+        when(customerRepositoryHelper.streamCustomerNames()).thenAnswer(invocation -> Stream.of(
+                new CustomerNameRow(3L, "Ravi"), new CustomerNameRow(1L, "John"), new CustomerNameRow(2L, "Jane")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getCustomers_shouldListCustomersByIdFromOneLoad() {
+        CustomerDirectory directory = directory(true);
+
+        List<Customer> customers = directory.getCustomers();
+
+        assertEquals(List.of(1L, 2L, 3L), customers.stream().map(Customer::getCustomerId).toList());
+        assertEquals(List.of("John", "Jane", "Ravi"), customers.stream().map(Customer::getCustomerName).toList());
+        assertEquals("Jane", directory.getCustomer(2L).getCustomerName());
+        verify(customerRepositoryHelper, times(1)).streamCustomerNames();
+        verify(customerRepositoryHelper, never()).fetchAllCustomers();
+        verify(customerRepositoryHelper, never()).fetchCustomerById(any());
+    }
+
+    @Test
+    void getCustomer_shouldFallBackToTheDatabaseForUnknownIds() {
+        CustomerDirectory directory = directory(true);
+        when(customerRepositoryHelper.fetchCustomerById(4L)).thenReturn(new Customer(4L, "Mia"));
+        when(customerRepositoryHelper.fetchCustomerById(5L)).thenThrow(new NoCustomerFoundException("Customer not found with ID: 5"));
+
+        assertEquals("Mia", directory.getCustomer(4L).getCustomerName());
+        assertEquals("Mia", directory.getCustomer(4L).getCustomerName());
+        assertThrows(NoCustomerFoundException.class, () -> directory.getCustomer(5L));
+
+        verify(customerRepositoryHelper, times(1)).fetchCustomerById(4L);
+        assertEquals(4, directory.getCustomers().size());
+    }
+
+    @Test
+    void onCustomersRecorded_shouldAddCustomersOnlyOnceCommitted() {
+        CustomerDirectory directory = directory(true);
+        List<Customer> before = directory.getCustomers();
+
+        TransactionSynchronizationManager.initSynchronization();
+        directory.onCustomersRecorded(new CustomersRecordedEvent(Map.of(10L, "Noah")));
+        assertEquals(3, directory.size(), "uncommitted customers must not be visible");
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(3, before.size(), "a list already handed out must not change");
+        assertEquals(List.of(1L, 2L, 3L, 10L), directory.getCustomers().stream().map(Customer::getCustomerId).toList());
+        assertEquals("Noah", directory.getCustomer(10L).getCustomerName());
+
+        TransactionSynchronizationManager.initSynchronization();
+        directory.onCustomersRecorded(new CustomersRecordedEvent(Map.of(11L, "Emma")));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(4, directory.size());
+    }
+
+    @Test
+    void refreshIfChanged_shouldReloadOnlyWhenTheCustomerCountDiffers() {
+        CustomerDirectory directory = directory(true);
+        assertFalse(directory.refreshIfChanged(), "an unused directory is not loaded");
+        directory.getCustomers();
+
+        assertFalse(directory.refreshIfChanged());
+        when(customerRepositoryHelper.countCustomers()).thenReturn(4L);
+        when(customerRepositoryHelper.streamCustomerNames()).thenAnswer(invocation -> Stream.of(
+                new CustomerNameRow(1L, "John"), new CustomerNameRow(2L, "Jane"),
+                new CustomerNameRow(3L, "Ravi"), new CustomerNameRow(7L, "Lena")));
+        assertTrue(directory.refreshIfChanged());
+
+        assertEquals(4, directory.size());
+        assertEquals("Lena", directory.getCustomer(7L).getCustomerName());
+        verify(customerRepositoryHelper, times(2)).streamCustomerNames();
+    }
+
+    @Test
+    void hasCustomers_shouldConfirmAnEmptyDirectoryAgainstTheDatabase() {
+        CustomerDirectory directory = directory(true);
+        assertTrue(directory.hasCustomers());
+        verify(customerRepositoryHelper, times(1)).countCustomers();
+
+        when(customerRepositoryHelper.countCustomers()).thenReturn(0L);
+        when(customerRepositoryHelper.streamCustomerNames()).thenAnswer(invocation -> Stream.empty());
+        CustomerDirectory empty = directory(true);
+        assertFalse(empty.hasCustomers());
+
+        when(customerRepositoryHelper.countCustomers()).thenReturn(1L);
+        assertTrue(empty.hasCustomers(), "customers created elsewhere must be seen");
+    }
+
+    @Test
+    void disabledDirectory_shouldDelegateToTheDatabase() {
+        CustomerDirectory directory = directory(false);
+        Customer john = new Customer(1L, "John");
+        when(customerRepositoryHelper.fetchAllCustomers()).thenReturn(List.of(john));
+        when(customerRepositoryHelper.fetchCustomerById(1L)).thenReturn(john);
+
+        assertEquals(List.of(john), directory.getCustomers());
+        assertSame(john, directory.getCustomer(1L));
+        assertFalse(directory.refreshIfChanged());
+        verify(customerRepositoryHelper, never()).streamCustomerNames();
+    }
+
+    private CustomerDirectory directory(boolean enabled) {
+        return new CustomerDirectory(customerRepositoryHelper, mock(PlatformTransactionManager.class), enabled);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.beforeCommit(false);
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+}
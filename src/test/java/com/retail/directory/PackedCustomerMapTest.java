@@ -0,0 +1,89 @@
+package com.retail.directory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedCustomerMapTest {
+
+    @Test
+    void put_shouldStoreNamesAndReportNewCustomers() {
+        PackedCustomerMap map = new PackedCustomerMap(0);
+
+        assertTrue(map.put(1L, "John"));
+        assertTrue(map.put(42L, "Jane"));
+        assertFalse(map.put(1L, "Johnny"));
+
+        assertEquals(2, map.size());
+        assertEquals("Johnny", map.name(1L));
+        assertEquals("Jane", map.name(42L));
+        assertNull(map.name(7L));
+        assertTrue(map.contains(42L));
+        assertFalse(map.contains(7L));
+        assertFalse(map.contains(0L));
+    }
+
+    @Test
+    void put_shouldGrowTableAndArenaWithoutLosingCustomers() {
+        PackedCustomerMap map = new PackedCustomerMap(4);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            // Multiples of a large power of two collide under weak hashes.
+            long id = random.nextBoolean() ? (i + 1L) << 20 : 1 + random.nextInt(1_000_000_000);
+            String name = "Customer " + id;
+            assertEquals(!expected.containsKey(id), map.put(id, name));
+            expected.put(id, name);
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((id, name) -> assertEquals(name, map.name(id)));
+    }
+
+    @Test
+    void name_shouldRoundTripMultiByteCharacters() {
+        PackedCustomerMap map = new PackedCustomerMap(1);
+        String name = "Zoë Ångström 山田 🎁".repeat(5);
+
+        map.put(9L, name);
+        map.put(10L, "");
+
+        assertEquals(name, map.name(9L));
+        assertEquals("", map.name(10L));
+    }
+
+    @Test
+    void sortedIds_shouldReturnEveryIdInAscendingOrder() {
+        PackedCustomerMap map = new PackedCustomerMap(8);
+        for (long id : new long[]{30, 5, 1L << 40, 17, 2}) {
+            map.put(id, "c" + id);
+        }
+
+        assertArrayEquals(new long[]{2, 5, 17, 30, 1L << 40}, map.sortedIds());
+    }
+
+    @Test
+    void put_shouldRejectIdsThatCannotBeStored() {
+        PackedCustomerMap map = new PackedCustomerMap(1);
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, "Zero"));
+        assertThrows(IllegalArgumentException.class, () -> map.put(-3L, "Negative"));
+        assertThrows(IllegalArgumentException.class, () -> new PackedCustomerMap(-1));
+    }
+
+    @Test
+    void memoryBytes_shouldStayFarBelowOneEntityPerCustomer() {
+        int customers = 100_000;
+        PackedCustomerMap map = new PackedCustomerMap(customers);
+        for (long id = 1; id <= customers; id++) {
+            map.put(id, "Customer " + id);
+        }
+
+        // A HashMap<Long, Customer> holds a Long, a node, a Customer and a String per customer: well over 100 bytes.
+        assertTrue(map.memoryBytes() < customers * 64L, "footprint was " + map.memoryBytes());
+    }
+}
@@ -0,0 +1,100 @@
+package com.retail.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GzipChannelWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void write_shouldProduceAFileGzipCanRead() throws IOException {
+        Random random = new Random(3);
+        byte[] text = new byte[300_000];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = (byte) ('a' + random.nextInt(6));
+        }
+        byte[] noise = new byte[100_000];
+        random.nextBytes(noise);
+        Path file = directory.resolve("data.gz");
+
+        try (GzipChannelWriter writer = open(file)) {
+            writer.write(ByteBuffer.wrap(text));
+            ByteBuffer direct = ByteBuffer.allocateDirect(noise.length);
+            direct.put(noise).flip();
+            writer.write(direct);
+            assertFalse(direct.hasRemaining(), "all input must be consumed");
+        }
+
+        byte[] expected = new byte[text.length + noise.length];
+        System.arraycopy(text, 0, expected, 0, text.length);
+        System.arraycopy(noise, 0, expected, text.length, noise.length);
+        assertArrayEquals(expected, gunzip(file));
+    }
+
+    @Test
+    void write_shouldAllowTheInputBufferToBeReused() throws IOException {
+        Path file = directory.resolve("data.gz");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+
+        try (GzipChannelWriter writer = open(file)) {
+            buffer.put("first line\n".getBytes()).flip();
+            writer.write(buffer);
+            buffer.clear();
+            buffer.put("second line\n".getBytes()).flip();
+            writer.write(buffer);
+            buffer.clear();
+        }
+
+        assertEquals("first line\nsecond line\n", new String(gunzip(file)));
+    }
+
+    @Test
+    void close_shouldWriteAValidFileWithoutInput() throws IOException {
+        Path file = directory.resolve("empty.gz");
+
+        open(file).close();
+
+        assertEquals(0, gunzip(file).length);
+    }
+
+    @Test
+    void compressedBytes_shouldGrowWithTheOutput() throws IOException {
+        Path file = directory.resolve("data.gz");
+        byte[] noise = new byte[200_000];
+        new Random(5).nextBytes(noise);
+
+        GzipChannelWriter writer = open(file);
+        long before = writer.compressedBytes();
+        writer.write(ByteBuffer.wrap(noise));
+        long after = writer.compressedBytes();
+        writer.close();
+
+        assertEquals(10, before, "only the header is written before any input");
+        assertTrue(after > noise.length / 2, "incompressible input must show up in the size: " + after);
+        assertTrue(Files.size(file) >= after);
+    }
+
+    private static GzipChannelWriter open(Path file) throws IOException {
+        return new GzipChannelWriter(FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), 4096);
+    }
+
+    private static byte[] gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.retail.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.dto.CustomerRewardResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RewardStatementWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void write_shouldRotateNdjsonPartsWithoutSplittingStatements() throws IOException {
+        RewardStatementWriter writer = new RewardStatementWriter(directory, "rewards", StatementFormat.NDJSON, 16 * 1024, objectMapper);
+        try (writer) {
+            for (long id = 1; id <= 5_000; id++) {
+                writer.write(reward(id, "Customer " + id));
+            }
+        }
+
+        List<Path> files = writer.getFiles();
+        assertTrue(files.size() > 1, "a small size limit must produce several parts");
+        assertEquals(directory.resolve("rewards-part-00001.ndjson.gz"), files.get(0));
+        List<String> lines = new ArrayList<>();
+        for (Path file : files) {
+            String content = gunzip(file);
+            assertTrue(content.endsWith("\n"), "a part must end with a whole statement");
+            lines.addAll(content.lines().toList());
+        }
+        assertEquals(5_000, writer.getStatements());
+        assertEquals(5_000, lines.size());
+        JsonNode last = objectMapper.readTree(lines.get(4_999));
+        assertEquals(5_000, last.get("customerId").asLong());
+        assertEquals(120, last.get("monthlyRewards").get("2024-03").asInt());
+    }
+
+    @Test
+    void write_shouldStartEveryCsvPartWithTheHeader() throws IOException {
+        RewardStatementWriter writer = new RewardStatementWriter(directory, "rewards", StatementFormat.CSV, 4 * 1024, objectMapper);
+        try (writer) {
+            writer.write(reward(1L, "Smith, \"JJ\""));
+            for (long id = 2; id <= 20_000; id++) {
+                writer.write(reward(id, "Customer " + id));
+            }
+        }
+
+        assertTrue(writer.getFiles().size() > 1);
+        List<String> rows = new ArrayList<>();
+        for (Path file : writer.getFiles()) {
+            List<String> lines = gunzip(file).lines().toList();
+            assertEquals(RewardStatementWriter.CSV_HEADER.trim(), lines.get(0));
+            rows.addAll(lines.subList(1, lines.size()));
+        }
+        assertEquals(20_000, rows.size());
+        assertEquals("1,\"Smith, \"\"JJ\"\"\",210,2024-02=90;2024-03=120", rows.get(0));
+    }
+
+    @Test
+    void close_shouldLeaveOneEmptyPartWithoutStatements() throws IOException {
+        RewardStatementWriter writer = new RewardStatementWriter(directory, "rewards", StatementFormat.NDJSON, 1024, objectMapper);
+        writer.close();
+
+        assertEquals(1, writer.getFiles().size());
+        assertEquals("", gunzip(writer.getFiles().get(0)));
+    }
+
+    private static CustomerRewardResponse reward(Long id, String name) {
+        TreeMap<YearMonth, Integer> monthly = new TreeMap<>();
+        monthly.put(YearMonth.of(2024, 2), 90);
+        monthly.put(YearMonth.of(2024, 3), 120);
+        return new CustomerRewardResponse(id, name, monthly, 210, null);
+    }
+
+    private static String gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
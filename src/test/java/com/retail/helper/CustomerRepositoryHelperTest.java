@@ -1,14 +1,20 @@
 package com.retail.helper;
 
 import com.retail.entity.Customer;
+import com.retail.exceptionhandler.NoCustomerFoundException;
 import com.retail.repository.CustomerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class CustomerRepositoryHelperTest {
@@ -31,21 +37,49 @@ class CustomerRepositoryHelperTest {
         customer2.setCustomerId(2L);
         customer2.setCustomerName("Bob");
         List<Customer> mockCustomers = Arrays.asList(customer1, customer2);
-        when(customerRepository.findAll()).thenReturn(mockCustomers);
+        when(customerRepository.findAll(any(Sort.class))).thenReturn(mockCustomers);
         List<Customer> result = customerRepositoryHelper.fetchAllCustomers();
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals("Alice", result.get(0).getCustomerName());
         assertEquals("Bob", result.get(1).getCustomerName());
-        verify(customerRepository, times(1)).findAll();
+        verify(customerRepository, times(1)).findAll(Sort.by(Sort.Direction.ASC, "customerId"));
     }
 
     @Test
     void fetchAllCustomers_shouldReturnEmptyListWhenNoCustomers() {
-        when(customerRepository.findAll()).thenReturn(List.of());
+        when(customerRepository.findAll(any(Sort.class))).thenReturn(List.of());
         List<Customer> result = customerRepositoryHelper.fetchAllCustomers();
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(customerRepository, times(1)).findAll();
+        verify(customerRepository, times(1)).findAll(Sort.by(Sort.Direction.ASC, "customerId"));
+    }
+
+    @Test
+    void fetchRewardVersion_shouldReturnVersionOrThrowForUnknownCustomer() {
+        when(customerRepository.findRewardVersionByCustomerId(1L)).thenReturn(Optional.of(4L));
+        when(customerRepository.findRewardVersionByCustomerId(2L)).thenReturn(Optional.empty());
+        assertEquals(4L, customerRepositoryHelper.fetchRewardVersion(1L));
+        assertThrows(NoCustomerFoundException.class, () -> customerRepositoryHelper.fetchRewardVersion(2L));
+    }
+
+    @Test
+    void incrementRewardVersions_shouldSkipTheQueryWhenNoCustomersChanged() {
+        customerRepositoryHelper.incrementRewardVersions(Set.of());
+        verify(customerRepository, never()).incrementRewardVersions(any());
+
+        customerRepositoryHelper.incrementRewardVersions(Set.of(1L, 2L));
+        verify(customerRepository).incrementRewardVersions(Set.of(1L, 2L));
+    }
+
+    @Test
+    void fetchCustomersByIds_shouldReturnFoundCustomersKeyedById() {
+        Customer customer1 = new Customer(1L, "Alice");
+        when(customerRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(customer1));
+        Map<Long, Customer> result = customerRepositoryHelper.fetchCustomersByIds(Set.of(1L, 2L));
+        assertEquals(1, result.size());
+        assertEquals("Alice", result.get(1L).getCustomerName());
+        assertFalse(result.containsKey(2L));
+        verify(customerRepository, times(1)).findAllById(Set.of(1L, 2L));
     }
 }
@@ -2,9 +2,12 @@ package com.retail.helper;
 
 import com.retail.entity.Customer;
 import com.retail.entity.Transaction;
+import com.retail.event.TransactionsRecordedEvent;
 import com.retail.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -17,12 +20,14 @@ import static org.mockito.Mockito.*;
 class TransactionRepositoryHelperTest {
 
     private TransactionRepository transactionRepository;
+    private ApplicationEventPublisher eventPublisher;
     private TransactionRepositoryHelper transactionRepositoryHelper;
 
     @BeforeEach
     void setUp() {
         transactionRepository = mock(TransactionRepository.class);
-        transactionRepositoryHelper = new TransactionRepositoryHelper(transactionRepository);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        transactionRepositoryHelper = new TransactionRepositoryHelper(transactionRepository, eventPublisher);
     }
 
     @Test
@@ -33,8 +38,8 @@ class TransactionRepositoryHelperTest {
 
         Customer customer = new Customer(customerId, "John Doe");
 
-        Transaction transaction1 = new Transaction(1L, 120.0, LocalDate.of(2023, 2, 15), customer);
-        Transaction transaction2 = new Transaction(2L, 75.0, LocalDate.of(2023, 3, 10), customer);
+        Transaction transaction1 = new Transaction(1L, 12000, LocalDate.of(2023, 2, 15), customer);
+        Transaction transaction2 = new Transaction(2L, 7500, LocalDate.of(2023, 3, 10), customer);
 
         List<Transaction> expectedTransactions = Arrays.asList(transaction1, transaction2);
 
@@ -78,4 +83,39 @@ class TransactionRepositoryHelperTest {
         assertNull(result);
         verify(transactionRepository, times(1)).findByCustomerIdAndTransactionDateBetween(customerId, startDate, endDate);
     }
+
+    @Test
+    void testFindAllByTransactionDate_returnsTransactionsForAllCustomers() {
+        LocalDate startDate = LocalDate.of(2023, 1, 1);
+        LocalDate endDate = LocalDate.of(2023, 3, 31);
+
+        Transaction transaction1 = new Transaction(1L, 12000, LocalDate.of(2023, 2, 15), new Customer(1L, "John Doe"));
+        Transaction transaction2 = new Transaction(2L, 7500, LocalDate.of(2023, 3, 10), new Customer(2L, "Jane Doe"));
+
+        List<Transaction> expectedTransactions = Arrays.asList(transaction1, transaction2);
+
+        when(transactionRepository.findAllByTransactionDateBetweenOrderByCustomer(startDate, endDate))
+                .thenReturn(expectedTransactions);
+
+        List<Transaction> result = transactionRepositoryHelper.findAllByTransactionDate(startDate, endDate);
+
+        assertEquals(expectedTransactions, result);
+        verify(transactionRepository, times(1)).findAllByTransactionDateBetweenOrderByCustomer(startDate, endDate);
+        verify(transactionRepository, never()).findByCustomerIdAndTransactionDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void testSaveTransactions_publishesRecordedEvent() {
+        Customer customer = new Customer(1L, "John Doe");
+        List<Transaction> transactions = List.of(new Transaction(null, 12000, LocalDate.of(2023, 2, 15), customer));
+
+        when(transactionRepository.saveAll(transactions)).thenReturn(transactions);
+
+        List<Transaction> result = transactionRepositoryHelper.saveTransactions(transactions);
+
+        ArgumentCaptor<TransactionsRecordedEvent> event = ArgumentCaptor.forClass(TransactionsRecordedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(transactions, result);
+        assertEquals(transactions, event.getValue().getTransactions());
+    }
 }
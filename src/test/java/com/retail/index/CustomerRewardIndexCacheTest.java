@@ -0,0 +1,220 @@
+package com.retail.index;
+
+import com.retail.dto.DailyRewardRow;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.event.RewardRulesChangedEvent;
+import com.retail.event.TransactionsRecordedEvent;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.service.RewardRuleService;
+import com.retail.util.RewardRules;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CustomerRewardIndexCacheTest {
+
+    private static final LocalDate MAY = LocalDate.of(2024, 5, 1);
+
+    private TransactionRepositoryHelper transactionRepositoryHelper;
+    private RewardRuleService rewardRuleService;
+
+    private final Customer alice = new Customer(1L, "Alice");
+    private final Customer bob = new Customer(2L, "Bob");
+
+    @BeforeEach
+    void setUp() {
+        transactionRepositoryHelper = mock(TransactionRepositoryHelper.class);
+        rewardRuleService = mock(RewardRuleService.class);
+        when(rewardRuleService.currentRules()).thenReturn(RewardRules.DEFAULT);
+        when(transactionRepositoryHelper.findDailyRewards(eq(1L), any(), any(), any())).thenReturn(List.of(
+                new DailyRewardRow(MAY, 90, 12_000, 2),
+                new DailyRewardRow(MAY.plusDays(40), 25, 7_500, 1)));
+        when(transactionRepositoryHelper.findDailyRewards(eq(2L), any(), any(), any())).thenReturn(List.of(
+                new DailyRewardRow(MAY, 45, 9_500, 2)));
+        when(transactionRepositoryHelper.countTransactions(1L)).thenReturn(3L);
+        when(transactionRepositoryHelper.countTransactions(2L)).thenReturn(2L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getIndex_shouldBuildOnceForCustomersAboveTheThreshold() {
+        CustomerRewardIndexCache cache = cache(DataSize.ofMegabytes(1), 3);
+
+        CustomerRewardIndex index = cache.getIndex(1L);
+
+        assertNotNull(index);
+        assertSame(index, cache.getIndex(1L));
+        assertEquals(90 + 25, index.rewardPointsBetween(MAY, MAY.plusDays(40)));
+        assertEquals(3, index.getTransactionCount());
+        assertEquals(index.memoryBytes(), cache.usedBytes());
+        verify(transactionRepositoryHelper, times(1)).findDailyRewards(eq(1L), any(), any(), any());
+    }
+
+    @Test
+    void getIndex_shouldRememberCustomersBelowTheThresholdUntilTheyReachIt() {
+        CustomerRewardIndexCache cache = cache(DataSize.ofMegabytes(1), 3);
+
+        assertNull(cache.getIndex(2L));
+        assertNull(cache.getIndex(2L));
+        verify(transactionRepositoryHelper, times(1)).countTransactions(2L);
+        verify(transactionRepositoryHelper, never()).findDailyRewards(eq(2L), any(), any(), any());
+
+        cache.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(new Transaction(10L, 12_000, MAY.plusDays(1), bob))));
+        when(transactionRepositoryHelper.countTransactions(2L)).thenReturn(3L);
+        when(transactionRepositoryHelper.findDailyRewards(eq(2L), any(), any(), any())).thenReturn(List.of(
+                new DailyRewardRow(MAY, 45, 9_500, 2),
+                new DailyRewardRow(MAY.plusDays(1), 90, 12_000, 1)));
+
+        assertNotNull(cache.getIndex(2L));
+        verify(transactionRepositoryHelper, times(1)).findDailyRewards(eq(2L), any(), any(), any());
+    }
+
+    @Test
+    void getIndex_shouldEvictTheLeastRecentlyUsedCustomerToStayWithinTheBudget() {
+        long oneIndex = CustomerRewardIndex.estimateMemoryBytes(41);
+        CustomerRewardIndexCache cache = cache(DataSize.ofBytes(oneIndex + 100), 1);
+
+        CustomerRewardIndex alicesIndex = cache.getIndex(1L);
+        assertNotNull(cache.getIndex(2L));
+
+        assertEquals(1, cache.size());
+        assertTrue(cache.usedBytes() <= oneIndex + 100);
+        assertNotSame(alicesIndex, cache.getIndex(1L), "Alice's index must have been evicted and rebuilt");
+        verify(transactionRepositoryHelper, times(2)).findDailyRewards(eq(1L), any(), any(), any());
+    }
+
+    @Test
+    void getIndex_shouldRememberCustomersWhoseHistoryExceedsTheBudget() {
+        CustomerRewardIndexCache cache = cache(DataSize.ofBytes(CustomerRewardIndex.estimateMemoryBytes(41) - 1), 1);
+
+        assertNull(cache.getIndex(1L));
+        assertNull(cache.getIndex(1L));
+        cache.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(new Transaction(10L, 12_000, MAY.plusDays(1), alice))));
+        assertNull(cache.getIndex(1L));
+
+        verify(transactionRepositoryHelper, times(1)).findDailyRewards(eq(1L), any(), any(), any());
+    }
+
+    @Test
+    void getIndex_shouldNotHoldUpCommitsWhileQueryingAndCountThemOnce() throws Exception {
+        CustomerRewardIndexCache cache = cache(DataSize.ofMegabytes(1), 1);
+        Transaction late = new Transaction(10L, 12_000, MAY.plusDays(3), alice);
+        when(transactionRepositoryHelper.findDailyRewards(eq(1L), any(), any(), any())).thenAnswer(invocation -> {
+            Thread committer = new Thread(() -> cache.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(late))));
+            committer.start();
+            committer.join(5_000);
+            assertFalse(committer.isAlive(), "a commit must not wait for the query");
+            when(transactionRepositoryHelper.countTransactions(1L)).thenReturn(4L);
+            return List.of(new DailyRewardRow(MAY, 90, 12_000, 2), new DailyRewardRow(MAY.plusDays(40), 25, 7_500, 1));
+        });
+
+        CustomerRewardIndex index = cache.getIndex(1L);
+
+        assertEquals(4, index.getTransactionCount());
+        assertEquals(90 + 90 + 25, index.rewardPointsBetween(MAY, MAY.plusDays(40)));
+    }
+
+    @Test
+    void getIndex_shouldNotCountACommitTwiceWhenTheQuerySawIt() {
+        CustomerRewardIndexCache cache = cache(DataSize.ofMegabytes(1), 1);
+        Transaction late = new Transaction(10L, 12_000, MAY.plusDays(3), alice);
+        when(transactionRepositoryHelper.findDailyRewards(eq(1L), any(), any(), any())).thenAnswer(invocation -> {
+            cache.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(late)));
+            when(transactionRepositoryHelper.countTransactions(1L)).thenReturn(4L);
+            return List.of(new DailyRewardRow(MAY, 90, 12_000, 2), new DailyRewardRow(MAY.plusDays(3), 90, 12_000, 1),
+                    new DailyRewardRow(MAY.plusDays(40), 25, 7_500, 1));
+        });
+
+        CustomerRewardIndex index = cache.getIndex(1L);
+
+        assertEquals(4, index.getTransactionCount());
+        assertEquals(90 + 90 + 25, index.rewardPointsBetween(MAY, MAY.plusDays(40)));
+    }
+
+    @Test
+    void getIndex_shouldReturnNullWhenDisabled() {
+        CustomerRewardIndexCache cache = cache(DataSize.ofBytes(0), 1);
+
+        assertFalse(cache.isEnabled());
+        assertNull(cache.getIndex(1L));
+        verifyNoInteractions(transactionRepositoryHelper);
+    }
+
+    @Test
+    void onTransactionsRecorded_shouldUpdateIndexesOnlyAfterCommit() {
+        CustomerRewardIndexCache cache = cache(DataSize.ofMegabytes(1), 1);
+        CustomerRewardIndex index = cache.getIndex(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(new Transaction(10L, 12_000, MAY.plusDays(3), alice))));
+        assertEquals(90 + 25, index.rewardPointsBetween(MAY, MAY.plusDays(40)), "uncommitted points must not be visible");
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(90 + 25 + 90, index.rewardPointsBetween(MAY, MAY.plusDays(40)));
+        assertEquals(4, index.getTransactionCount());
+    }
+
+    @Test
+    void onTransactionsRecorded_shouldIgnoreRolledBackTransactions() {
+        CustomerRewardIndexCache cache = cache(DataSize.ofMegabytes(1), 1);
+        CustomerRewardIndex index = cache.getIndex(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(new Transaction(10L, 12_000, MAY.plusDays(3), alice))));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(3, index.getTransactionCount());
+    }
+
+    @Test
+    void onRewardRulesChanged_shouldDropEveryIndex() {
+        CustomerRewardIndexCache cache = cache(DataSize.ofMegabytes(1), 1);
+        cache.getIndex(1L);
+
+        cache.onRewardRulesChanged(new RewardRulesChangedEvent(RewardRules.DEFAULT));
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.usedBytes());
+        cache.getIndex(1L);
+        verify(transactionRepositoryHelper, times(2)).findDailyRewards(eq(1L), any(), any(), any());
+    }
+
+    @Test
+    void constructor_shouldRejectANonPositiveThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> cache(DataSize.ofMegabytes(1), 0));
+    }
+
+    private CustomerRewardIndexCache cache(DataSize maxMemory, long minTransactions) {
+        return new CustomerRewardIndexCache(transactionRepositoryHelper, rewardRuleService, maxMemory, minTransactions);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.beforeCommit(false);
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+}
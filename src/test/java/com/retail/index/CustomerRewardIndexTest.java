@@ -0,0 +1,105 @@
+package com.retail.index;
+
+import com.retail.util.MonthlyRewardAccumulator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerRewardIndexTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+    private static final int DAYS = 730;
+
+    @Test
+    void rangeSums_shouldMatchABruteForceSumOverRandomRanges() {
+        CustomerRewardIndex index = new CustomerRewardIndex(FIRST_DAY, DAYS);
+        long[] points = new long[DAYS];
+        long[] spend = new long[DAYS];
+        Random random = new Random(19);
+
+        for (int i = 0; i < 5_000; i++) {
+            int day = random.nextInt(DAYS);
+            long amount = random.nextInt(50_000);
+            long reward = amount / 100;
+            index.add(FIRST_DAY.plusDays(day), reward, amount, 1);
+            points[day] += reward;
+            spend[day] += amount;
+        }
+
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(DAYS);
+            int to = from + random.nextInt(DAYS - from);
+            long expectedPoints = 0;
+            long expectedSpend = 0;
+            for (int day = from; day <= to; day++) {
+                expectedPoints += points[day];
+                expectedSpend += spend[day];
+            }
+            assertEquals(expectedPoints, index.rewardPointsBetween(FIRST_DAY.plusDays(from), FIRST_DAY.plusDays(to)));
+            assertEquals(expectedSpend, index.spendCentsBetween(FIRST_DAY.plusDays(from), FIRST_DAY.plusDays(to)));
+        }
+        assertEquals(5_000, index.getTransactionCount());
+    }
+
+    @Test
+    void add_shouldGrowTheCoveredRangeInBothDirections() {
+        CustomerRewardIndex index = new CustomerRewardIndex(FIRST_DAY, 30);
+        index.add(FIRST_DAY.plusDays(10), 90, 12_000, 1);
+        long before = index.memoryBytes();
+
+        index.add(FIRST_DAY.minusDays(400), 25, 7_500, 1);
+        index.add(FIRST_DAY.plusDays(900), 45, 9_500, 1);
+
+        assertTrue(index.memoryBytes() > before);
+        assertEquals(90 + 25 + 45, index.rewardPointsBetween(LocalDate.of(1900, 1, 1), LocalDate.of(2100, 1, 1)));
+        assertEquals(25, index.rewardPointsBetween(FIRST_DAY.minusDays(400), FIRST_DAY.minusDays(400)));
+        assertEquals(90, index.rewardPointsBetween(FIRST_DAY, FIRST_DAY.plusDays(899)));
+        assertEquals(45, index.rewardPointsBetween(FIRST_DAY.plusDays(900), FIRST_DAY.plusDays(900)));
+        assertEquals(12_000 + 7_500 + 9_500, index.spendCentsBetween(FIRST_DAY.minusDays(400), FIRST_DAY.plusDays(900)));
+    }
+
+    @Test
+    void addTo_shouldMatchAFoldOverTheTransactions() {
+        CustomerRewardIndex index = new CustomerRewardIndex(FIRST_DAY, DAYS);
+        LocalDate start = LocalDate.of(2023, 2, 15);
+        LocalDate end = LocalDate.of(2024, 7, 10);
+        MonthlyRewardAccumulator expected = new MonthlyRewardAccumulator(start, end);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate date = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            int reward = random.nextInt(300);
+            index.add(date, reward, reward * 100L, 1);
+            if (!date.isBefore(start) && !date.isAfter(end)) {
+                expected.add(date, reward);
+            }
+        }
+
+        MonthlyRewardAccumulator actual = new MonthlyRewardAccumulator(start, end);
+        index.addTo(actual, start, end);
+
+        assertEquals(expected.toMonthlyRewards(), actual.toMonthlyRewards());
+        assertEquals(expected.getTotalRewards(), actual.getTotalRewards());
+    }
+
+    @Test
+    void addTo_shouldSkipMonthsWithoutTransactions() {
+        CustomerRewardIndex index = new CustomerRewardIndex(FIRST_DAY, DAYS);
+        index.add(LocalDate.of(2023, 3, 10), 90, 12_000, 1);
+
+        MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(FIRST_DAY, LocalDate.of(2023, 6, 30));
+        index.addTo(accumulator, FIRST_DAY, LocalDate.of(2023, 6, 30));
+
+        assertEquals(1, accumulator.toMonthlyRewards().size());
+        assertEquals(90, accumulator.getTotalRewards());
+    }
+
+    @Test
+    void estimateMemoryBytes_shouldMatchTheBuiltIndex() {
+        assertEquals(CustomerRewardIndex.estimateMemoryBytes(DAYS), new CustomerRewardIndex(FIRST_DAY, DAYS).memoryBytes());
+        assertThrows(IllegalArgumentException.class, () -> new CustomerRewardIndex(FIRST_DAY, 0));
+    }
+}
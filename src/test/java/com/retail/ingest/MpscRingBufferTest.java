@@ -0,0 +1,106 @@
+package com.retail.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscRingBufferTest {
+
+    @Test
+    void drainTo_shouldReturnElementsInOfferOrder() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+        assertTrue(buffer.offerAll(List.of(1, 2, 3)));
+        assertTrue(buffer.offerAll(List.of(4)));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertEquals(2, buffer.drainTo(drained, 10));
+
+        assertEquals(List.of(1, 2, 3, 4), drained);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void offerAll_shouldRejectAWholeBatchThatDoesNotFit() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        assertTrue(buffer.offerAll(List.of(1, 2, 3)));
+
+        assertFalse(buffer.offerAll(List.of(4, 5)));
+        assertEquals(3, buffer.size());
+        assertTrue(buffer.offerAll(List.of(4)));
+        assertFalse(buffer.offerAll(List.of(5)));
+
+        List<Integer> drained = new ArrayList<>();
+        buffer.drainTo(drained, 2);
+        assertTrue(buffer.offerAll(List.of(5, 6)), "slots freed by the consumer must be reusable");
+        buffer.drainTo(drained, 10);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), drained);
+    }
+
+    @Test
+    void constructor_shouldRoundCapacityUpToAPowerOfTwo() {
+        assertEquals(8, new MpscRingBuffer<>(5).capacity());
+        assertEquals(1, new MpscRingBuffer<>(1).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<Integer>(2).offerAll(List.of(1, 2, 3)));
+    }
+
+    @Test
+    void concurrentProducers_shouldNeitherLoseNorReorderTheirElements() throws Exception {
+        int producers = 4;
+        int batchesPerProducer = 5_000;
+        int batchSize = 3;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long next = 0;
+                    for (int b = 0; b < batchesPerProducer; b++) {
+                        List<long[]> batch = new ArrayList<>(batchSize);
+                        for (int i = 0; i < batchSize; i++) {
+                            batch.add(new long[]{producer, next++});
+                        }
+                        while (!buffer.offerAll(batch)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            long[] expectedNext = new long[producers];
+            long total = (long) producers * batchesPerProducer * batchSize;
+            List<long[]> drained = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            for (long received = 0; received < total; ) {
+                assertTrue(System.nanoTime() < deadline, "consumer timed out after " + received + " elements");
+                drained.clear();
+                buffer.drainTo(drained, 16);
+                for (long[] element : drained) {
+                    assertEquals(expectedNext[(int) element[0]]++, element[1], "producer " + element[0] + " out of order");
+                    received++;
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertTrue(buffer.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
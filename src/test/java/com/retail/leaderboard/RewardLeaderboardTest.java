@@ -0,0 +1,80 @@
+package com.retail.leaderboard;
+
+import com.retail.leaderboard.RewardLeaderboard.Standing;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RewardLeaderboardTest {
+
+    @Test
+    void top_shouldMatchAFullSortAfterRandomIncrements() {
+        RewardLeaderboard leaderboard = new RewardLeaderboard(10);
+        Map<Long, Long> totals = new HashMap<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 5_000; i++) {
+            long customerId = 1 + random.nextInt(300);
+            long points = random.nextInt(4) == 0 ? 0 : random.nextInt(250);
+            leaderboard.add(customerId, points);
+            totals.merge(customerId, points, Long::sum);
+
+            if (i % 250 == 0) {
+                assertEquals(expectedTop(totals, 10), leaderboard.top(10), "after " + i + " updates");
+            }
+        }
+        assertEquals(expectedTop(totals, 10), leaderboard.top(10));
+        assertEquals(expectedTop(totals, 3), leaderboard.top(3));
+        assertEquals(totals.size(), leaderboard.customerCount());
+    }
+
+    @Test
+    void top_shouldBreakTiesByCustomerId() {
+        RewardLeaderboard leaderboard = new RewardLeaderboard(2);
+        leaderboard.add(9, 50);
+        leaderboard.add(4, 50);
+        leaderboard.add(7, 50);
+
+        assertEquals(List.of(new Standing(4, 50), new Standing(7, 50)), leaderboard.top(2));
+
+        leaderboard.add(9, 1);
+        assertEquals(List.of(new Standing(9, 51), new Standing(4, 50)), leaderboard.top(2));
+    }
+
+    @Test
+    void top_shouldReturnFewerStandingsThanRequestedWhenFewCustomersEarnedPoints() {
+        RewardLeaderboard leaderboard = new RewardLeaderboard(5);
+        leaderboard.add(1, 10);
+
+        assertEquals(List.of(new Standing(1, 10)), leaderboard.top(5));
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.top(6));
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.add(1, -1));
+    }
+
+    @Test
+    void period_shouldCoverTheCalendarMonthOrQuarterOfADate() {
+        LocalDate date = LocalDate.of(2024, 8, 17);
+
+        assertEquals(LocalDate.of(2024, 8, 1), LeaderboardPeriod.MONTH.startOf(date));
+        assertEquals(LocalDate.of(2024, 8, 31), LeaderboardPeriod.MONTH.endOf(LocalDate.of(2024, 8, 1)));
+        assertEquals(LocalDate.of(2024, 7, 1), LeaderboardPeriod.QUARTER.startOf(date));
+        assertEquals(LocalDate.of(2024, 9, 30), LeaderboardPeriod.QUARTER.endOf(LocalDate.of(2024, 7, 1)));
+        assertEquals(LocalDate.of(2024, 1, 1), LeaderboardPeriod.QUARTER.startOf(LocalDate.of(2024, 3, 31)));
+        assertEquals(LocalDate.of(2024, 10, 1), LeaderboardPeriod.QUARTER.startOf(LocalDate.of(2024, 12, 31)));
+    }
+
+    private static List<Standing> expectedTop(Map<Long, Long> totals, int limit) {
+        List<Standing> standings = new ArrayList<>();
+        totals.forEach((customerId, points) -> standings.add(new Standing(customerId, points)));
+        standings.sort(Comparator.comparingLong(Standing::rewardPoints).reversed().thenComparingLong(Standing::customerId));
+        return standings.subList(0, Math.min(limit, standings.size()));
+    }
+}
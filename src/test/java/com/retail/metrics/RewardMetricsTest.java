@@ -0,0 +1,54 @@
+package com.retail.metrics;
+
+import com.retail.metrics.RewardMetrics.Operation;
+import com.retail.metrics.RewardMetrics.Phase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RewardMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private RewardMetrics rewardMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        rewardMetrics = new RewardMetrics(registry);
+    }
+
+    @Test
+    void recordPhase_shouldTimeThePhaseAndReturnItsEnd() {
+        long start = System.nanoTime();
+
+        long end = rewardMetrics.recordPhase(Operation.CUSTOMER, Phase.TRANSACTION_FETCH, start);
+
+        Timer timer = registry.get("rewards.phase").tags("operation", "customer", "phase", "transaction_fetch").timer();
+        assertEquals(1, timer.count());
+        assertTrue(end >= start);
+    }
+
+    @Test
+    void recordRowsFetched_shouldRecordPerOperation() {
+        rewardMetrics.recordRowsFetched(Operation.SUMMARY, 12);
+
+        DistributionSummary summary = registry.get("rewards.rows.fetched").tag("operation", "summary").summary();
+        assertEquals(1, summary.count());
+        assertEquals(12, summary.totalAmount());
+    }
+
+    @Test
+    void recordSqlStatements_shouldTagByUri() {
+        rewardMetrics.recordSqlStatements("/api/rewards/{customerId}", 2);
+        rewardMetrics.recordSqlStatements("/api/rewards/{customerId}", 4);
+
+        DistributionSummary summary = registry.get("rewards.sql.statements").tag("uri", "/api/rewards/{customerId}").summary();
+        assertEquals(2, summary.count());
+        assertEquals(6, summary.totalAmount());
+    }
+}
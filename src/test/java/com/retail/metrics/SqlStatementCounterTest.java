@@ -0,0 +1,28 @@
+package com.retail.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SqlStatementCounterTest {
+
+    @Test
+    void inspect_shouldCountStatementsBetweenBeginAndEnd() {
+        SqlStatementCounter counter = new SqlStatementCounter(null);
+
+        counter.inspect("select 1");
+        SqlStatementCounter.begin();
+        counter.inspect("select 2");
+        counter.inspect("select 3");
+
+        assertEquals(2, SqlStatementCounter.end());
+        assertEquals(0, SqlStatementCounter.end());
+    }
+
+    @Test
+    void inspect_shouldApplyDelegate() {
+        SqlStatementCounter counter = new SqlStatementCounter(sql -> sql + " /* tagged */");
+
+        assertEquals("select 1 /* tagged */", counter.inspect("select 1"));
+    }
+}
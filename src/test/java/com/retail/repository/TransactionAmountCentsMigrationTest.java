@@ -0,0 +1,92 @@
+package com.retail.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Baselines a database in the shape left by {@code ddl-auto=update} before amounts moved to
+ * integer cents, and checks that the migrations bring it onto the current schema.
+ */
+class TransactionAmountCentsMigrationTest {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:pre_cents_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table customers (customer_id bigint not null, customer_name varchar(100) not null, primary key (customer_id))");
+        jdbcTemplate.execute("create table transactions (transaction_id bigint not null, transaction_amount double precision not null, "
+                + "transaction_date date, customer_id bigint, primary key (transaction_id), "
+                + "constraint fk_transactions_customer foreign key (customer_id) references customers (customer_id))");
+        jdbcTemplate.execute("create sequence transaction_seq start with 1 increment by 100");
+        jdbcTemplate.execute("create table monthly_reward_ledger (customer_id bigint not null, period_start date not null, "
+                + "reward_points bigint not null, total_spend double precision not null, transaction_count bigint not null, "
+                + "primary key (customer_id, period_start))");
+        jdbcTemplate.update("insert into customers values (1, 'John')");
+        jdbcTemplate.update("insert into transactions values (1, 120.75, date '2024-03-10', 1)");
+        jdbcTemplate.update("insert into transactions values (2, 0.1, date '2024-03-11', 1)");
+        jdbcTemplate.update("insert into monthly_reward_ledger values (1, date '2024-03-01', 91, 120.85, 2)");
+    }
+
+    @Test
+    @DisplayName("Should convert dollar amounts to cents when a pre-cents database is baselined")
+    void convertsDollarAmountsOfABaselinedDatabase() {
+        migrate();
+
+        assertEquals(List.of(12075L, 10L),
+                jdbcTemplate.queryForList("select transaction_amount_cents from transactions order by transaction_id", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject("select total_spend_cents from monthly_reward_ledger", Long.class));
+        assertEquals(0, columns("TRANSACTIONS", "TRANSACTION_AMOUNT"));
+        assertEquals(0, columns("MONTHLY_REWARD_LEDGER", "TOTAL_SPEND"));
+        assertEquals("NO", jdbcTemplate.queryForObject("select is_nullable from information_schema.columns "
+                + "where table_name = 'TRANSACTIONS' and column_name = 'TRANSACTION_AMOUNT_CENTS'", String.class));
+        assertTrue(columns("TRANSACTIONS", "EXTERNAL_REF") > 0, "later migrations must apply on top of the conversion");
+    }
+
+    @Test
+    @DisplayName("Should be a no-op on a database created from the migrations")
+    void skipsDatabasesCreatedInCents() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:cents_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Flyway flyway = flyway();
+        flyway.migrate();
+
+        assertEquals(1, columns("TRANSACTIONS", "TRANSACTION_AMOUNT_CENTS"));
+        assertEquals(1, columns("MONTHLY_REWARD_LEDGER", "TOTAL_SPEND_CENTS"));
+        assertTrue(Arrays.stream(flyway.info().applied())
+                .anyMatch(info -> "1.1".equals(info.getVersion().getVersion()) && info.getState() == MigrationState.SUCCESS));
+    }
+
+    private void migrate() {
+        flyway().migrate();
+    }
+
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private int columns(String table, String column) {
+        return jdbcTemplate.queryForObject("select count(*) from information_schema.columns where table_name = ? and column_name = ?",
+                Integer.class, table, column);
+    }
+}
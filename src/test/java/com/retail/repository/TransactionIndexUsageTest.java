@@ -0,0 +1,65 @@
+package com.retail.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the reward range scans against the Flyway-migrated embedded schema and
+ * checks that they use the covering indexes rather than scanning the table.
+ */
+@DataJpaTest
+class TransactionIndexUsageTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> customers = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        long transactionId = 1;
+        for (long customerId = 1; customerId <= 50; customerId++) {
+            customers.add(new Object[]{customerId, "Customer " + customerId});
+            for (int day = 0; day < 40; day++) {
+                transactions.add(new Object[]{transactionId++, 5000 + day * 250L,
+                        Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(day * 9L)), customerId});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into customers (customer_id, customer_name) values (?, ?)", customers);
+        jdbcTemplate.batchUpdate("insert into transactions (transaction_id, transaction_amount_cents, transaction_date, customer_id) "
+                + "values (?, ?, ?, ?)", transactions);
+    }
+
+    @Test
+    @DisplayName("Single-customer range scan should use the (customer_id, transaction_date) index")
+    void customerRangeScanUsesCompositeIndex() {
+        String plan = explain("select transaction_id, transaction_amount_cents, transaction_date from transactions "
+                + "where customer_id = 7 and transaction_date between date '2024-03-01' and date '2024-05-31'");
+
+        assertTrue(plan.contains("IDX_TRANSACTIONS_CUSTOMER_DATE"), plan);
+    }
+
+    @Test
+    @DisplayName("All-customer range scan should use the (transaction_date, customer_id) index")
+    void dateRangeScanUsesDateIndex() {
+        String plan = explain("select customer_id, transaction_amount_cents from transactions "
+                + "where transaction_date between date '2024-03-01' and date '2024-03-31'");
+
+        assertTrue(plan.contains("IDX_TRANSACTIONS_DATE_CUSTOMER"), plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class).toUpperCase();
+    }
+}
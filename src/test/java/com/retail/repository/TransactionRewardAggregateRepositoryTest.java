@@ -0,0 +1,107 @@
+package com.retail.repository;
+
+import com.retail.dto.DailyRewardRow;
+import com.retail.dto.MonthlyRewardRow;
+import com.retail.util.RewardRules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the generated aggregate queries award the same points as evaluating the rules in Java.
+ */
+@DataJpaTest
+class TransactionRewardAggregateRepositoryTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate END = LocalDate.of(2024, 7, 31);
+
+    private static final RewardRules DATED_RULES = RewardRules.builder()
+            .version(LocalDate.of(1970, 1, 1)).tier(50, 1).tier(100, 2)
+            .version(LocalDate.of(2024, 7, 15)).tier(25, 1).tier(75, 3).tier(200, 4)
+            .build();
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Object[]> transactions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into customers (customer_id, customer_name) values (1, 'John'), (2, 'Jane')");
+        long transactionId = 1;
+        for (long customerId = 1; customerId <= 2; customerId++) {
+            for (int day = 0; day < 61; day += 3) {
+                transactions.add(new Object[]{transactionId++, 2_550 + day * 517L * customerId,
+                        Date.valueOf(START.plusDays(day)), customerId});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into transactions (transaction_id, transaction_amount_cents, transaction_date, customer_id) "
+                + "values (?, ?, ?, ?)", transactions);
+    }
+
+    @Test
+    @DisplayName("Aggregates across a rule change should match per-transaction evaluation")
+    void allMonthlyRewardsMatchJavaEvaluation() {
+        List<MonthlyRewardRow> rows = transactionRepository.findAllMonthlyRewards(START, END, DATED_RULES);
+
+        long[][] expected = new long[3][13];
+        for (Object[] tx : transactions) {
+            LocalDate date = ((Date) tx[2]).toLocalDate();
+            expected[(int) (long) (Long) tx[3]][date.getMonthValue()] += DATED_RULES.points((Long) tx[1], date);
+        }
+        long[][] actual = new long[3][13];
+        long previousCustomerId = 0;
+        for (MonthlyRewardRow row : rows) {
+            assertTrue(row.getCustomerId() >= previousCustomerId, "rows must be ordered by customer ID");
+            previousCustomerId = row.getCustomerId();
+            actual[row.getCustomerId().intValue()][row.getMonth().getMonthValue()] += row.getRewardPoints();
+        }
+        for (int customerId = 1; customerId <= 2; customerId++) {
+            assertEquals(expected[customerId][6], actual[customerId][6]);
+            assertEquals(expected[customerId][7], actual[customerId][7]);
+        }
+    }
+
+    @Test
+    @DisplayName("Single-customer aggregates should only cover that customer")
+    void customerMonthlyRewardsCoverOneCustomer() {
+        List<MonthlyRewardRow> rows = transactionRepository.findMonthlyRewards(2L, START, START.plusDays(29), RewardRules.DEFAULT);
+
+        assertEquals(1, rows.size());
+        assertEquals(YearMonth.of(2024, 6), rows.get(0).getMonth());
+        assertEquals(10L, rows.get(0).getTransactionCount());
+    }
+
+    @Test
+    @DisplayName("Daily aggregates across a rule change should match per-transaction evaluation, ordered by date")
+    void customerDailyRewardsMatchJavaEvaluation() {
+        List<DailyRewardRow> rows = transactionRepository.findDailyRewards(1L, START, END, DATED_RULES);
+
+        List<Object[]> expected = transactions.stream().filter(tx -> (Long) tx[3] == 1L).toList();
+        assertEquals(expected.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            LocalDate date = ((Date) expected.get(i)[2]).toLocalDate();
+            long amount = (Long) expected.get(i)[1];
+            assertEquals(date, rows.get(i).getTransactionDate());
+            assertEquals(DATED_RULES.points(amount, date), rows.get(i).getRewardPoints());
+            assertEquals(amount, rows.get(i).getSpendCents());
+            assertEquals(1L, rows.get(i).getTransactionCount());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.retail.service;
+
+import com.retail.cache.RewardCache;
+import com.retail.cache.RewardQueryCoalescer;
+import com.retail.datasource.PrimaryReads;
+import com.retail.datasource.RecentWriteTracker;
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.event.TransactionsRecordedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class CachingRewardServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 5, 31);
+
+    private RewardServiceImpl rewardServiceImpl;
+    private RewardCache rewardCache;
+    private RewardQueryCoalescer coalescer;
+    private RecentWriteTracker recentWriteTracker;
+    private CachingRewardService cachingRewardService;
+
+    @BeforeEach
+    void setUp() {
+        rewardServiceImpl = mock(RewardServiceImpl.class);
+        rewardCache = new RewardCache(100, Duration.ofMinutes(5));
+        coalescer = new RewardQueryCoalescer(true, Duration.ofSeconds(10));
+        recentWriteTracker = new RecentWriteTracker(List.of("jdbc:h2:mem:replica"), Duration.ofMinutes(1));
+        cachingRewardService = new CachingRewardService(rewardServiceImpl, rewardCache, coalescer, recentWriteTracker);
+    }
+
+    @Test
+    @DisplayName("Should compute a customer's reward once and serve repeats from the cache")
+    void testGetCustomerRewardByIdIsCached() {
+        CustomerRewardResponse reward = reward(90);
+        when(rewardServiceImpl.getCustomerRewardById(1L, START, END)).thenReturn(reward);
+
+        assertSame(reward, cachingRewardService.getCustomerRewardById(1L, START, END));
+        assertSame(reward, cachingRewardService.getCustomerRewardById(1L, START, END));
+
+        verify(rewardServiceImpl, times(1)).getCustomerRewardById(1L, START, END);
+        assertEquals(1, rewardCache.stats().getHits());
+    }
+
+    @Test
+    @DisplayName("Should recompute after the customer is invalidated")
+    void testInvalidationForcesReload() {
+        when(rewardServiceImpl.getCustomerRewardById(1L, START, END)).thenReturn(reward(90), reward(135));
+
+        cachingRewardService.getCustomerRewardById(1L, START, END);
+        rewardCache.invalidateCustomer(1L);
+
+        assertEquals(135, cachingRewardService.getCustomerRewardById(1L, START, END).getTotalRewards());
+    }
+
+    @Test
+    @DisplayName("Should not cache a value computed while a write for the customer committed")
+    void testConcurrentWriteDuringLoadIsNotCached() {
+        when(rewardServiceImpl.getCustomerRewardById(1L, START, END))
+                .thenAnswer(invocation -> {
+                    rewardCache.invalidateCustomer(1L);
+                    return reward(90);
+                })
+                .thenReturn(reward(135));
+
+        assertEquals(90, cachingRewardService.getCustomerRewardById(1L, START, END).getTotalRewards());
+        assertEquals(135, cachingRewardService.getCustomerRewardById(1L, START, END).getTotalRewards());
+    }
+
+    @Test
+    @DisplayName("Should cache summaries separately from full responses")
+    void testSummaryAndFullResponsesUseSeparateEntries() {
+        when(rewardServiceImpl.getCustomerRewardById(1L, START, END)).thenReturn(reward(90));
+        when(rewardServiceImpl.getCustomerRewardSummary(1L, START, END)).thenReturn(reward(90));
+
+        cachingRewardService.getCustomerRewardById(1L, START, END);
+        cachingRewardService.getCustomerRewardSummary(1L, START, END);
+
+        verify(rewardServiceImpl).getCustomerRewardSummary(1L, START, END);
+        assertEquals(2, rewardCache.stats().getSize());
+    }
+
+    @Test
+    @DisplayName("Should share one all-customer computation between concurrent identical requests")
+    void testConcurrentAllCustomerRequestsAreCoalesced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CustomerRewardResponse> rewards = List.of(reward(90));
+        when(rewardServiceImpl.getAllCustomerRewards(START, END)).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return rewards;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<CustomerRewardResponse>> first = executor.submit(() -> cachingRewardService.getAllCustomerRewards(START, END));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<List<CustomerRewardResponse>> second = executor.submit(() -> cachingRewardService.getAllCustomerRewards(START, END));
+            while (coalescer.getDeduplicated() == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertSame(rewards, first.get(10, TimeUnit.SECONDS));
+            assertSame(rewards, second.get(10, TimeUnit.SECONDS));
+            verify(rewardServiceImpl, times(1)).getAllCustomerRewards(START, END);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute the reward of a recently written customer on the primary database")
+    void testRecentlyWrittenCustomerIsReadFromPrimary() {
+        List<Boolean> pinned = new ArrayList<>();
+        when(rewardServiceImpl.getCustomerRewardById(anyLong(), eq(START), eq(END))).thenAnswer(invocation -> {
+            pinned.add(PrimaryReads.isActive());
+            return reward(90);
+        });
+
+        cachingRewardService.getCustomerRewardById(1L, START, END);
+        TransactionsRecordedEvent event = new TransactionsRecordedEvent(List.of(
+                new Transaction(1L, 12000L, START, new Customer(1L, "John"))));
+        rewardCache.onTransactionsRecorded(event);
+        recentWriteTracker.onTransactionsRecorded(event);
+        cachingRewardService.getCustomerRewardById(1L, START, END);
+        cachingRewardService.getCustomerRewardById(2L, START, END);
+
+        assertEquals(List.of(false, true, false), pinned);
+        assertFalse(PrimaryReads.isActive());
+    }
+
+    private static CustomerRewardResponse reward(int points) {
+        return new CustomerRewardResponse(1L, "John", new TreeMap<>(), points, List.of());
+    }
+}
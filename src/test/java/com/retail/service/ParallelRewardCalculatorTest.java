@@ -0,0 +1,142 @@
+package com.retail.service;
+
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.metrics.RewardMetrics;
+import com.retail.metrics.RewardMetrics.Operation;
+import com.retail.metrics.RewardMetrics.Phase;
+import com.retail.util.RewardRules;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParallelRewardCalculatorTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 5, 31);
+
+    private TransactionRepositoryHelper transactionRepoHelper;
+    private RewardMetrics rewardMetrics;
+    private ParallelRewardCalculator calculator;
+
+    private final AtomicInteger activeLoads = new AtomicInteger();
+    private final AtomicInteger maxActiveLoads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        transactionRepoHelper = mock(TransactionRepositoryHelper.class);
+        rewardMetrics = mock(RewardMetrics.class);
+        calculator = new ParallelRewardCalculator(transactionRepoHelper,
+                mock(PlatformTransactionManager.class), rewardMetrics, true, 4, 10, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        calculator.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should merge partition results in customer ID order")
+    void calculateMergesPartitionsInCustomerIdOrder() {
+        when(transactionRepoHelper.findAllByCustomerRangeAndTransactionDate(anyLong(), anyLong(), any(), any()))
+                .thenAnswer(invocation -> {
+                    long from = invocation.getArgument(0);
+                    long to = invocation.getArgument(1);
+                    return trackLoad(() -> {
+                        List<Transaction> transactions = new ArrayList<>();
+                        for (Customer customer : customers(from, to)) {
+                            transactions.add(new Transaction(customer.getCustomerId(), 12000, LocalDate.of(2024, 3, 10), customer));
+                        }
+                        return transactions;
+                    });
+                });
+
+        List<CustomerRewardResponse> responses = calculator.calculate(customers(1, 25), START, END, RewardRules.DEFAULT);
+
+        assertEquals(25, responses.size());
+        for (int i = 0; i < responses.size(); i++) {
+            assertEquals(i + 1L, responses.get(i).getCustomerId());
+            assertEquals(90, responses.get(i).getTotalRewards());
+        }
+        assertTrue(maxActiveLoads.get() <= 2, "at most two partitions may query the database at once");
+        verify(rewardMetrics).recordPhase(eq(Operation.ALL_CUSTOMERS), eq(Phase.PARTITIONED_COMPUTATION), anyLong());
+        verify(rewardMetrics).recordRowsFetched(Operation.ALL_CUSTOMERS, 25);
+    }
+
+    @Test
+    @DisplayName("Should query each partition by the ID range of its customers")
+    void calculateQueriesTheIdRangeOfEachPartition() {
+        List<Customer> customers = List.of(new Customer(3L, "C3"), new Customer(40L, "C40"), new Customer(41L, "C41"), new Customer(900L, "C900"));
+        when(transactionRepoHelper.findAllByCustomerRangeAndTransactionDate(anyLong(), anyLong(), any(), any())).thenReturn(List.of());
+
+        ParallelRewardCalculator twoPartitions = new ParallelRewardCalculator(transactionRepoHelper,
+                mock(PlatformTransactionManager.class), rewardMetrics, true, 2, 2, 2);
+        try {
+            assertEquals(4, twoPartitions.calculate(customers, START, END, RewardRules.DEFAULT).size());
+        } finally {
+            twoPartitions.shutdown();
+        }
+        verify(transactionRepoHelper).findAllByCustomerRangeAndTransactionDate(3L, 40L, START, END);
+        verify(transactionRepoHelper).findAllByCustomerRangeAndTransactionDate(41L, 900L, START, END);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the failure of a partition")
+    void calculatePropagatesPartitionFailure() {
+        when(transactionRepoHelper.findAllByCustomerRangeAndTransactionDate(anyLong(), anyLong(), any(), any()))
+                .thenThrow(new IllegalStateException("boom"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> calculator.calculate(customers(1, 4), START, END, RewardRules.DEFAULT));
+        assertEquals("boom", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should split a range into contiguous ranges")
+    void splitCoversTheWholeRange() {
+        List<long[]> ranges = ParallelRewardCalculator.split(1, 10, 3);
+
+        assertEquals(3, ranges.size());
+        assertArrayEquals(new long[]{1, 4}, ranges.get(0));
+        assertArrayEquals(new long[]{5, 7}, ranges.get(1));
+        assertArrayEquals(new long[]{8, 10}, ranges.get(2));
+        assertEquals(2, ParallelRewardCalculator.split(7, 8, 16).size());
+    }
+
+    private List<Transaction> trackLoad(Supplier<List<Transaction>> load) throws InterruptedException {
+        int active = activeLoads.incrementAndGet();
+        maxActiveLoads.accumulateAndGet(active, Math::max);
+        try {
+            Thread.sleep(20);
+            return load.get();
+        } finally {
+            activeLoads.decrementAndGet();
+        }
+    }
+
+    private static List<Customer> customers(long from, long to) {
+        List<Customer> customers = new ArrayList<>();
+        for (long id = from; id <= to; id++) {
+            customers.add(new Customer(id, "Customer " + id));
+        }
+        return customers;
+    }
+}
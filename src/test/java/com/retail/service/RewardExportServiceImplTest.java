@@ -0,0 +1,154 @@
+package com.retail.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.RewardExportInfo;
+import com.retail.exceptionhandler.NoExportFoundException;
+import com.retail.export.StatementFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class RewardExportServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private RewardService rewardService;
+    private RewardExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        rewardService = mock(RewardService.class);
+        doAnswer(invocation -> {
+            Consumer<CustomerRewardResponse> consumer = invocation.getArgument(2);
+            for (long id = 1; id <= 3; id++) {
+                TreeMap<YearMonth, Integer> monthly = new TreeMap<>();
+                monthly.put(YearMonth.of(2024, 3), 90);
+                consumer.accept(new CustomerRewardResponse(id, "Customer " + id, monthly, 90, null));
+            }
+            return null;
+        }).when(rewardService).streamAllCustomerRewards(eq(START), eq(END), any());
+        exportService = service();
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportService.shutdown();
+    }
+
+    @Test
+    void startExport_shouldWriteTheStatementsAndAManifest() throws Exception {
+        RewardExportInfo started = exportService.startExport(START, END, StatementFormat.CSV);
+        assertEquals(RewardExportInfo.Status.RUNNING, started.getStatus());
+
+        RewardExportInfo export = awaitCompletion(started.getExportId());
+
+        assertEquals(RewardExportInfo.Status.COMPLETED, export.getStatus());
+        assertEquals(3, export.getStatementCount());
+        assertEquals(List.of("rewards-2024-03-01-2024-03-31-part-00001.csv.gz"), export.getFiles());
+        Path file = exportService.getExportFile(export.getExportId(), export.getFiles().get(0));
+        assertEquals(Files.size(file), export.getSizeBytes());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals(4, new String(in.readAllBytes()).lines().count());
+        }
+        assertTrue(Files.isRegularFile(directory.resolve(export.getExportId()).resolve(RewardExportServiceImpl.MANIFEST)));
+    }
+
+    @Test
+    void getExport_shouldFindFinishedExportsAfterARestart() throws Exception {
+        String exportId = exportService.startExport(START, END, StatementFormat.NDJSON).getExportId();
+        awaitCompletion(exportId);
+
+        RewardExportServiceImpl restarted = service();
+        try {
+            RewardExportInfo export = restarted.getExport(exportId);
+            assertEquals(RewardExportInfo.Status.COMPLETED, export.getStatus());
+            assertEquals(3, export.getStatementCount());
+            assertEquals(List.of(exportId), restarted.listExports().stream().map(RewardExportInfo::getExportId).toList());
+        } finally {
+            restarted.shutdown();
+        }
+    }
+
+    @Test
+    void startExport_shouldReportAFailureAndRemoveItsFiles() throws Exception {
+        doThrow(new IllegalStateException("database unavailable"))
+                .when(rewardService).streamAllCustomerRewards(eq(START), eq(END), any());
+
+        RewardExportInfo export = awaitCompletion(exportService.startExport(START, END, StatementFormat.NDJSON).getExportId());
+
+        assertEquals(RewardExportInfo.Status.FAILED, export.getStatus());
+        assertEquals("database unavailable", export.getError());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+        assertThrows(NoExportFoundException.class, () -> exportService.getExportFile(export.getExportId(), "anything.gz"));
+    }
+
+    @Test
+    void getExportFile_shouldOnlyServeFilesOfTheExport() throws Exception {
+        RewardExportInfo export = awaitCompletion(exportService.startExport(START, END, StatementFormat.NDJSON).getExportId());
+
+        assertThrows(NoExportFoundException.class, () -> exportService.getExportFile(export.getExportId(), RewardExportServiceImpl.MANIFEST));
+        assertThrows(NoExportFoundException.class, () -> exportService.getExportFile(export.getExportId(), "../" + export.getExportId()));
+        assertThrows(NoExportFoundException.class, () -> exportService.getExport(".."));
+        assertThrows(NoExportFoundException.class, () -> exportService.getExport("unknown"));
+    }
+
+    @Test
+    void removeUnfinishedExports_shouldDeleteLeftoversOfAnInterruptedRun() throws IOException {
+        Path leftover = Files.createDirectories(directory.resolve("20240401T000000000-2024-03-01-2024-03-31-csv.tmp"));
+        Files.writeString(leftover.resolve("rewards-part-00001.csv.gz"), "partial");
+
+        exportService.removeUnfinishedExports();
+
+        assertFalse(Files.exists(leftover));
+    }
+
+    @Test
+    void startExport_shouldRejectInvalidDates() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.startExport(END, START, StatementFormat.CSV));
+    }
+
+    private RewardExportServiceImpl service() {
+        return new RewardExportServiceImpl(rewardService, objectMapper, directory, DataSize.ofMegabytes(1));
+    }
+
+    private RewardExportInfo awaitCompletion(String exportId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        RewardExportInfo export = exportService.getExport(exportId);
+        while (export.getStatus() == RewardExportInfo.Status.RUNNING) {
+            assertTrue(System.currentTimeMillis() < deadline, "export did not finish in time");
+            Thread.sleep(10);
+            export = exportService.getExport(exportId);
+        }
+        return export;
+    }
+}
@@ -0,0 +1,169 @@
+package com.retail.service;
+
+import com.retail.dto.MonthlyRewardRow;
+import com.retail.dto.RewardLeaderboardResponse;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.event.RewardRulesChangedEvent;
+import com.retail.event.TransactionsRecordedEvent;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.leaderboard.LeaderboardPeriod;
+import com.retail.util.RewardRules;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class RewardLeaderboardServiceImplTest {
+
+    private static final LocalDate MAY = LocalDate.of(2024, 5, 1);
+    private static final LocalDate MAY_END = LocalDate.of(2024, 5, 31);
+
+    private TransactionRepositoryHelper transactionRepositoryHelper;
+    private CustomerRepositoryHelper customerRepositoryHelper;
+    private RewardLeaderboardServiceImpl leaderboardService;
+
+    private final Customer alice = new Customer(1L, "Alice");
+    private final Customer bob = new Customer(2L, "Bob");
+    private final Customer carol = new Customer(3L, "Carol");
+
+    @BeforeEach
+    void setUp() {
+        transactionRepositoryHelper = mock(TransactionRepositoryHelper.class);
+        customerRepositoryHelper = mock(CustomerRepositoryHelper.class);
+        RewardRuleService rewardRuleService = mock(RewardRuleService.class);
+        when(rewardRuleService.currentRules()).thenReturn(RewardRules.DEFAULT);
+        when(customerRepositoryHelper.fetchCustomersByIds(anyCollection()))
+                .thenReturn(Map.of(1L, alice, 2L, bob, 3L, carol));
+        when(transactionRepositoryHelper.findAllMonthlyRewards(eq(MAY), eq(MAY_END), any())).thenReturn(List.of(
+                new MonthlyRewardRow(1L, 2024, 5, 90, 1),
+                new MonthlyRewardRow(2L, 2024, 5, 250, 3),
+                new MonthlyRewardRow(3L, 2024, 5, 25, 1)));
+        leaderboardService = new RewardLeaderboardServiceImpl(transactionRepositoryHelper, customerRepositoryHelper,
+                rewardRuleService, 10, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getLeaderboard_shouldRankCustomersFromTheDatabaseOnFirstUse() {
+        RewardLeaderboardResponse response = leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, LocalDate.of(2024, 5, 20), 2);
+
+        assertEquals(MAY, response.getStartDate());
+        assertEquals(MAY_END, response.getEndDate());
+        assertEquals(3, response.getCustomerCount());
+        assertEquals(2, response.getEntries().size());
+        assertEquals(1, response.getEntries().get(0).getRank());
+        assertEquals("Bob", response.getEntries().get(0).getCustomerName());
+        assertEquals(250, response.getEntries().get(0).getRewardPoints());
+        assertEquals("Alice", response.getEntries().get(1).getCustomerName());
+
+        leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3);
+        verify(transactionRepositoryHelper, times(1)).findAllMonthlyRewards(eq(MAY), eq(MAY_END), any());
+    }
+
+    @Test
+    void onTransactionsRecorded_shouldMoveCustomersUpOnlyAfterCommit() {
+        leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3);
+
+        TransactionSynchronizationManager.initSynchronization();
+        leaderboardService.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                new Transaction(10L, 20_000, LocalDate.of(2024, 5, 21), carol))));
+        assertEquals(3L, leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3).getEntries().get(2).getCustomerId(),
+                "uncommitted points must not be visible");
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        RewardLeaderboardResponse response = leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3);
+        assertEquals(3L, response.getEntries().get(0).getCustomerId());
+        assertEquals(25 + 250, response.getEntries().get(0).getRewardPoints());
+    }
+
+    @Test
+    void onTransactionsRecorded_shouldIgnoreRolledBackTransactions() {
+        leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3);
+
+        TransactionSynchronizationManager.initSynchronization();
+        leaderboardService.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                new Transaction(10L, 20_000, LocalDate.of(2024, 5, 21), carol))));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(25, leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3).getEntries().get(2).getRewardPoints());
+    }
+
+    @Test
+    void onRewardRulesChanged_shouldRebuildOnNextRequest() {
+        leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3);
+        leaderboardService.onRewardRulesChanged(new RewardRulesChangedEvent(RewardRules.DEFAULT));
+        leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3);
+
+        verify(transactionRepositoryHelper, times(2)).findAllMonthlyRewards(eq(MAY), eq(MAY_END), any());
+    }
+
+    @Test
+    void refreshLeaderboards_shouldPickUpTransactionsRecordedElsewhere() {
+        leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3);
+        // Recorded by another instance, so no event reaches this one.
+        when(transactionRepositoryHelper.findAllMonthlyRewards(eq(MAY), eq(MAY_END), any())).thenReturn(List.of(
+                new MonthlyRewardRow(1L, 2024, 5, 90, 1),
+                new MonthlyRewardRow(2L, 2024, 5, 250, 3),
+                new MonthlyRewardRow(3L, 2024, 5, 400, 2)));
+
+        assertEquals(1, leaderboardService.refreshLeaderboards());
+
+        RewardLeaderboardResponse response = leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3);
+        assertEquals(3L, response.getEntries().get(0).getCustomerId());
+        assertEquals(400, response.getEntries().get(0).getRewardPoints());
+        verify(transactionRepositoryHelper, times(2)).findAllMonthlyRewards(eq(MAY), eq(MAY_END), any());
+    }
+
+    @Test
+    void refreshLeaderboards_shouldSkipPeriodsNotLoaded() {
+        assertEquals(0, leaderboardService.refreshLeaderboards());
+        verifyNoInteractions(transactionRepositoryHelper);
+    }
+
+    @Test
+    void getLeaderboard_shouldEvictTheLeastRecentlyUsedPeriod() {
+        leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3);
+        leaderboardService.getLeaderboard(LeaderboardPeriod.QUARTER, MAY, 3);
+        leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY.minusMonths(1), 3);
+        leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 3);
+
+        verify(transactionRepositoryHelper, times(2)).findAllMonthlyRewards(eq(MAY), eq(MAY_END), any());
+    }
+
+    @Test
+    void getLeaderboard_shouldRejectLimitsOutsideTheCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 0));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, MAY, 11));
+        verifyNoInteractions(transactionRepositoryHelper);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.beforeCommit(false);
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+}
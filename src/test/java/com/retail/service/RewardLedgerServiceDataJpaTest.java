@@ -0,0 +1,84 @@
+package com.retail.service;
+
+import com.retail.entity.Customer;
+import com.retail.entity.MonthlyRewardLedger;
+import com.retail.entity.Transaction;
+import com.retail.helper.TransactionRepositoryHelper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({RewardLedgerServiceImpl.class, RewardRuleServiceImpl.class, TransactionRepositoryHelper.class})
+class RewardLedgerServiceDataJpaTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepositoryHelper transactionRepositoryHelper;
+
+    @Autowired
+    private RewardLedgerService rewardLedgerService;
+
+    @Autowired
+    private RewardRuleService rewardRuleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should keep the ledger in step with saved transactions and match a full rebuild")
+    void ledgerIsMaintainedIncrementallyAndRebuildable() {
+        Customer john = entityManager.persist(new Customer(1L, "John"));
+
+        transactionRepositoryHelper.saveTransactions(List.of(
+                new Transaction(null, 12000, LocalDate.of(2024, 3, 10), john),
+                new Transaction(null, 7500, LocalDate.of(2024, 4, 12), john)));
+        transactionRepositoryHelper.saveTransactions(List.of(
+                new Transaction(null, 9500, LocalDate.of(2024, 3, 20), john)));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<MonthlyRewardLedger> incremental = rewardLedgerService.findLedger(1L, YearMonth.of(2024, 1), YearMonth.of(2024, 12));
+        assertEquals(2, incremental.size());
+        assertEquals(135, incremental.get(0).getRewardPoints());
+        assertEquals(2, incremental.get(0).getTransactionCount());
+        assertEquals(25, incremental.get(1).getRewardPoints());
+
+        assertEquals(2, rewardLedgerService.rebuildLedger());
+        entityManager.clear();
+
+        List<MonthlyRewardLedger> rebuilt = rewardLedgerService.findLedger(1L, YearMonth.of(2024, 1), YearMonth.of(2024, 12));
+        assertEquals(2, rebuilt.size());
+        assertEquals(135, rebuilt.get(0).getRewardPoints());
+        assertEquals(21500, rebuilt.get(0).getTotalSpendCents());
+        assertEquals(25, rebuilt.get(1).getRewardPoints());
+    }
+
+    @Test
+    @DisplayName("Should record the rules of a rebuild in the ledger state and rebuild only when they differ")
+    void rebuildIfStaleRecordsTheRulesFingerprint() {
+        assertNull(jdbcTemplate.queryForObject("select rules_fingerprint from reward_ledger_state", Long.class));
+
+        assertTrue(rewardLedgerService.rebuildLedgerIfStale());
+
+        assertEquals(rewardRuleService.currentRules().fingerprint(),
+                jdbcTemplate.queryForObject("select rules_fingerprint from reward_ledger_state", Long.class));
+        assertTrue(rewardLedgerService.isCurrent());
+        assertFalse(rewardLedgerService.rebuildLedgerIfStale());
+    }
+}
@@ -0,0 +1,220 @@
+package com.retail.service;
+
+import com.retail.dto.CustomerTransactionRow;
+import com.retail.entity.Customer;
+import com.retail.entity.MonthlyRewardLedger;
+import com.retail.entity.Transaction;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.repository.MonthlyRewardLedgerRepository;
+import com.retail.util.RewardRules;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class RewardLedgerServiceImplTest {
+
+    private MonthlyRewardLedgerRepository ledgerRepository;
+    private TransactionRepositoryHelper transactionRepoHelper;
+    private RewardRuleService rewardRuleService;
+    private JdbcTemplate jdbcTemplate;
+    private RewardLedgerServiceImpl rewardLedgerService;
+
+    /**
+     * Stands in for the reward_ledger_state row.
+     */
+    private Long storedFingerprint;
+
+    @BeforeEach
+    void setUp() {
+        ledgerRepository = mock(MonthlyRewardLedgerRepository.class);
+        transactionRepoHelper = mock(TransactionRepositoryHelper.class);
+        rewardRuleService = mock(RewardRuleService.class);
+        when(rewardRuleService.currentRules()).thenReturn(RewardRules.DEFAULT);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(startsWith("select rules_fingerprint"), eq(Long.class)))
+                .thenAnswer(invocation -> storedFingerprint);
+        when(jdbcTemplate.queryForList(startsWith("select rules_fingerprint"), eq(Long.class)))
+                .thenAnswer(invocation -> Arrays.asList(storedFingerprint));
+        when(jdbcTemplate.update(startsWith("update reward_ledger_state"), any(Long.class), any(Timestamp.class))).thenAnswer(invocation -> {
+            storedFingerprint = invocation.getArgument(1);
+            return 1;
+        });
+        rewardLedgerService = new RewardLedgerServiceImpl(ledgerRepository, transactionRepoHelper, mock(EntityManager.class),
+                rewardRuleService, jdbcTemplate);
+        when(transactionRepoHelper.streamAllTransactions()).thenAnswer(invocation -> Stream.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should update each affected month once and insert months without a rollup")
+    void testRecordTransactionsGroupsByCustomerAndMonth() {
+        Customer john = new Customer(1L, "John");
+        Customer jane = new Customer(2L, "Jane");
+        List<Transaction> transactions = List.of(
+                new Transaction(101L, 12000, LocalDate.of(2024, 3, 10), john),
+                new Transaction(102L, 7500, LocalDate.of(2024, 3, 22), john),
+                new Transaction(103L, 9500, LocalDate.of(2024, 4, 15), jane)
+        );
+
+        when(ledgerRepository.incrementPeriod(eq(1L), eq(LocalDate.of(2024, 3, 1)), anyLong(), anyLong(), anyLong()))
+                .thenReturn(1);
+        when(ledgerRepository.incrementPeriod(eq(2L), eq(LocalDate.of(2024, 4, 1)), anyLong(), anyLong(), anyLong()))
+                .thenReturn(0);
+
+        rewardLedgerService.recordTransactions(transactions);
+
+        verify(ledgerRepository).incrementPeriod(1L, LocalDate.of(2024, 3, 1), 115, 19500L, 2);
+        verify(ledgerRepository).incrementPeriod(2L, LocalDate.of(2024, 4, 1), 45, 9500L, 1);
+
+        ArgumentCaptor<MonthlyRewardLedger> inserted = ArgumentCaptor.forClass(MonthlyRewardLedger.class);
+        verify(ledgerRepository, times(1)).save(inserted.capture());
+        assertEquals(2L, inserted.getValue().getCustomerId());
+        assertEquals(45, inserted.getValue().getRewardPoints());
+        assertEquals(1, inserted.getValue().getTransactionCount());
+    }
+
+    @Test
+    @DisplayName("Should rebuild one ledger row per customer and month from raw transactions")
+    @SuppressWarnings("unchecked")
+    void testRebuildLedger() {
+        when(transactionRepoHelper.streamAllTransactions()).thenReturn(Stream.of(
+                new CustomerTransactionRow(1L, "John", 101L, 12000L, LocalDate.of(2024, 3, 10)),
+                new CustomerTransactionRow(1L, "John", 102L, 7500L, LocalDate.of(2024, 3, 22)),
+                new CustomerTransactionRow(1L, "John", 103L, 9500L, LocalDate.of(2024, 4, 2)),
+                new CustomerTransactionRow(2L, "Jane", 104L, 6000L, LocalDate.of(2024, 4, 15))
+        ));
+        List<MonthlyRewardLedger> saved = new ArrayList<>();
+        when(ledgerRepository.saveAll(any(Iterable.class))).thenAnswer(invocation -> {
+            ((Iterable<MonthlyRewardLedger>) invocation.getArgument(0)).forEach(saved::add);
+            return saved;
+        });
+
+        long rows = rewardLedgerService.rebuildLedger();
+
+        verify(ledgerRepository).deleteAllInBatch();
+        assertEquals(3, rows);
+        assertEquals(3, saved.size());
+        assertEquals(115, saved.get(0).getRewardPoints());
+        assertEquals(2, saved.get(0).getTransactionCount());
+        assertEquals(LocalDate.of(2024, 4, 1), saved.get(1).getPeriodStart());
+        assertEquals(45, saved.get(1).getRewardPoints());
+        assertEquals(2L, saved.get(2).getCustomerId());
+        assertEquals(10, saved.get(2).getRewardPoints());
+    }
+
+    @Test
+    @DisplayName("Should look up the ledger by the first day of each month")
+    void testFindLedger() {
+        rewardLedgerService.findLedger(1L, YearMonth.of(2024, 3), YearMonth.of(2024, 5));
+
+        verify(ledgerRepository).findByCustomerIdAndPeriodStartBetweenOrderByPeriodStart(
+                1L, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 5, 1));
+    }
+
+    @Test
+    @DisplayName("Should bypass a ledger of unknown rules until a rebuild commits")
+    void testLedgerIsStaleUntilRebuilt() {
+        assertFalse(rewardLedgerService.isCurrent());
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(rewardLedgerService.rebuildLedgerIfStale());
+        assertFalse(rewardLedgerService.isCurrent(), "an uncommitted rebuild must not count");
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        storedFingerprint = null;
+        assertFalse(rewardLedgerService.isCurrent());
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(rewardLedgerService.rebuildLedgerIfStale());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(RewardRules.DEFAULT.fingerprint(), storedFingerprint);
+        assertTrue(rewardLedgerService.isCurrent());
+        assertFalse(rewardLedgerService.rebuildLedgerIfStale());
+        verify(ledgerRepository, times(2)).deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should turn stale when the rules in force differ from the stored ones, also after a restart")
+    void testRuleChangeMarksLedgerStale() {
+        storedFingerprint = RewardRules.DEFAULT.fingerprint();
+        assertTrue(rewardLedgerService.isCurrent());
+
+        RewardRules changed = RewardRules.builder().version(LocalDate.of(1970, 1, 1)).tier(50, 2).build();
+        when(rewardRuleService.currentRules()).thenReturn(changed);
+        assertFalse(rewardLedgerService.isCurrent());
+        RewardLedgerServiceImpl restarted = new RewardLedgerServiceImpl(ledgerRepository, transactionRepoHelper,
+                mock(EntityManager.class), rewardRuleService, jdbcTemplate);
+        assertFalse(restarted.isCurrent(), "the stored rollup must not be trusted for rules loaded at startup");
+
+        assertTrue(restarted.rebuildLedgerIfStale());
+        assertEquals(changed.fingerprint(), storedFingerprint);
+        assertTrue(restarted.isCurrent());
+    }
+
+    @Test
+    @DisplayName("Should pick up a rebuild made by another instance without rebuilding again")
+    void testRebuildByAnotherInstanceIsSeen() {
+        storedFingerprint = RewardRules.DEFAULT.fingerprint();
+        RewardRules changed = RewardRules.builder().version(LocalDate.of(1970, 1, 1)).tier(50, 2).build();
+        when(rewardRuleService.currentRules()).thenReturn(changed);
+        assertFalse(rewardLedgerService.isCurrent());
+
+        storedFingerprint = changed.fingerprint();
+        assertFalse(rewardLedgerService.rebuildLedgerIfStale());
+
+        assertTrue(rewardLedgerService.isCurrent());
+        verify(ledgerRepository, never()).deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should skip the rebuild while another instance holds the ledger state")
+    void testRebuildSkippedWhileLocked() {
+        when(jdbcTemplate.queryForList(endsWith("skip locked"), eq(Long.class))).thenReturn(List.of());
+
+        assertFalse(rewardLedgerService.rebuildLedgerIfStale());
+
+        verify(ledgerRepository, never()).deleteAllInBatch();
+        assertFalse(rewardLedgerService.isCurrent());
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+}
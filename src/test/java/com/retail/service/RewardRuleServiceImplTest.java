@@ -0,0 +1,90 @@
+package com.retail.service;
+
+import com.retail.entity.RewardCategoryMultiplier;
+import com.retail.entity.RewardTier;
+import com.retail.event.RewardRulesChangedEvent;
+import com.retail.repository.RewardCategoryMultiplierRepository;
+import com.retail.repository.RewardTierRepository;
+import com.retail.util.RewardRules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RewardRuleServiceImplTest {
+
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+    private static final LocalDate JUL_2024 = LocalDate.of(2024, 7, 1);
+
+    private RewardTierRepository tierRepository;
+    private RewardCategoryMultiplierRepository multiplierRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private RewardRuleServiceImpl rewardRuleService;
+
+    @BeforeEach
+    void setUp() {
+        tierRepository = mock(RewardTierRepository.class);
+        multiplierRepository = mock(RewardCategoryMultiplierRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        rewardRuleService = new RewardRuleServiceImpl(tierRepository, multiplierRepository, eventPublisher);
+    }
+
+    @Test
+    void reloadRules_shouldSwapInCompiledRulesAndPublishAnEvent() {
+        when(tierRepository.findAllByOrderByEffectiveFromAscThresholdDollarsAsc()).thenReturn(List.of(
+                new RewardTier(EPOCH, 50, 1), new RewardTier(EPOCH, 100, 2),
+                new RewardTier(JUL_2024, 50, 1), new RewardTier(JUL_2024, 100, 3)));
+        when(multiplierRepository.findAll()).thenReturn(List.of(new RewardCategoryMultiplier(JUL_2024, "GROCERY", 200)));
+
+        assertTrue(rewardRuleService.reloadRules());
+
+        RewardRules rules = rewardRuleService.currentRules();
+        assertEquals(2, rules.versionCount());
+        assertEquals(90, rules.points(12_000, JUL_2024.minusDays(1)));
+        assertEquals(110, rules.points(12_000, JUL_2024));
+        assertEquals(220, rules.points(12_000, JUL_2024, "GROCERY"));
+        verify(eventPublisher).publishEvent(any(RewardRulesChangedEvent.class));
+    }
+
+    @Test
+    void reloadRules_shouldKeepCurrentRulesWhenDefinitionsAreUnchanged() {
+        when(tierRepository.findAllByOrderByEffectiveFromAscThresholdDollarsAsc())
+                .thenReturn(List.of(new RewardTier(EPOCH, 50, 1)));
+        when(multiplierRepository.findAll()).thenReturn(List.of());
+        rewardRuleService.reloadRules();
+        RewardRules loaded = rewardRuleService.currentRules();
+
+        assertFalse(rewardRuleService.reloadRules());
+
+        assertSame(loaded, rewardRuleService.currentRules());
+        verify(eventPublisher, times(1)).publishEvent(any(RewardRulesChangedEvent.class));
+    }
+
+    @Test
+    void reloadRules_shouldKeepBuiltInRulesWhenNoTiersAreDefined() {
+        when(tierRepository.findAllByOrderByEffectiveFromAscThresholdDollarsAsc()).thenReturn(List.of());
+        when(multiplierRepository.findAll()).thenReturn(List.of());
+
+        assertFalse(rewardRuleService.reloadRules());
+
+        assertSame(RewardRules.DEFAULT, rewardRuleService.currentRules());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void reloadRules_shouldRejectInvalidDefinitionsAndKeepCurrentRules() {
+        when(tierRepository.findAllByOrderByEffectiveFromAscThresholdDollarsAsc())
+                .thenReturn(List.of(new RewardTier(EPOCH, -5, 1)));
+        when(multiplierRepository.findAll()).thenReturn(List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> rewardRuleService.reloadRules());
+
+        assertSame(RewardRules.DEFAULT, rewardRuleService.currentRules());
+    }
+}
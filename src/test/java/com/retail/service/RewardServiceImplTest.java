@@ -1,21 +1,43 @@
 package com.retail.service;
 
+import com.retail.directory.CustomerDirectory;
 import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.CustomerTransactionRow;
+import com.retail.dto.MonthlyRewardRow;
+import com.retail.dto.RewardBatchEntry;
+import com.retail.dto.RewardBatchResponse;
 import com.retail.entity.Customer;
+import com.retail.entity.MonthlyRewardLedger;
 import com.retail.entity.Transaction;
+import com.retail.exceptionhandler.NoCustomerFoundException;
 import com.retail.helper.CustomerRepositoryHelper;
 import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.index.CustomerRewardIndex;
+import com.retail.index.CustomerRewardIndexCache;
+import com.retail.metrics.RewardMetrics;
+import com.retail.util.RewardRules;
 import com.retail.util.RewardValidationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class RewardServiceImplTest {
@@ -23,6 +45,11 @@ class RewardServiceImplTest {
     private CustomerRepositoryHelper customerRepoHelper;
     private TransactionRepositoryHelper transactionRepoHelper;
     private RewardValidationUtil rewardValidationUtil;
+    private RewardLedgerService rewardLedgerService;
+    private ParallelRewardCalculator parallelRewardCalculator;
+    private RewardRuleService rewardRuleService;
+    private CustomerRewardIndexCache customerRewardIndexCache;
+    private PlatformTransactionManager transactionManager;
     private RewardServiceImpl rewardService;
 
     @BeforeEach
@@ -30,7 +57,16 @@ class RewardServiceImplTest {
         customerRepoHelper = mock(CustomerRepositoryHelper.class);
         transactionRepoHelper = mock(TransactionRepositoryHelper.class);
         rewardValidationUtil = mock(RewardValidationUtil.class);
-        rewardService = new RewardServiceImpl(customerRepoHelper, rewardValidationUtil, transactionRepoHelper);
+        rewardLedgerService = mock(RewardLedgerService.class);
+        parallelRewardCalculator = mock(ParallelRewardCalculator.class);
+        rewardRuleService = mock(RewardRuleService.class);
+        customerRewardIndexCache = mock(CustomerRewardIndexCache.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(rewardRuleService.currentRules()).thenReturn(RewardRules.DEFAULT);
+        when(rewardLedgerService.isCurrent()).thenReturn(true);
+        rewardService = new RewardServiceImpl(customerRepoHelper, rewardValidationUtil, transactionRepoHelper, rewardLedgerService,
+                parallelRewardCalculator, mock(RewardMetrics.class), rewardRuleService, customerRewardIndexCache,
+                new CustomerDirectory(customerRepoHelper, mock(PlatformTransactionManager.class), false), transactionManager);
     }
 
     @Test
@@ -46,11 +82,12 @@ class RewardServiceImplTest {
 
         Transaction tx1 = new Transaction();
         tx1.setTransactionId(101L);
-        tx1.setTransactionAmount(120.0);
+        tx1.setTransactionAmountCents(12000L);
         tx1.setTransactionDate(LocalDate.of(2024, 3, 10));
+        tx1.setCustomer(customer);
 
         when(customerRepoHelper.fetchAllCustomers()).thenReturn(List.of(customer));
-        when(transactionRepoHelper.findByCustomerIdAndTransactionDate(1L, start, end))
+        when(transactionRepoHelper.findAllByTransactionDate(start, end))
                 .thenReturn(List.of(tx1));
 
         List<CustomerRewardResponse> responses = rewardService.getAllCustomerRewards(start, end);
@@ -61,7 +98,54 @@ class RewardServiceImplTest {
         assertEquals("John", response.getCustomerName());
         assertEquals(90, response.getTotalRewards()); // 120 => 50 between 50-100 + 20 * 2
         assertEquals(1, response.getMonthlyRewards().size());
-        assertTrue(response.getMonthlyRewards().containsKey("MARCH"));
+        assertTrue(response.getMonthlyRewards().containsKey(YearMonth.of(2024, 3)));
+    }
+
+    @Test
+    @DisplayName("Should assign ordered transactions to their customers in a single pass")
+    void testGetAllCustomerRewardsMergesTransactionsByCustomer() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 6, 1);
+
+        Customer john = new Customer(1L, "John");
+        Customer jane = new Customer(2L, "Jane");
+        Customer ravi = new Customer(3L, "Ravi");
+
+        Transaction tx1 = new Transaction(101L, 12000, LocalDate.of(2024, 3, 10), john);
+        Transaction tx2 = new Transaction(102L, 7500, LocalDate.of(2024, 4, 10), john);
+        Transaction tx3 = new Transaction(103L, 9500, LocalDate.of(2024, 4, 15), ravi);
+
+        when(customerRepoHelper.fetchAllCustomers()).thenReturn(List.of(john, jane, ravi));
+        when(transactionRepoHelper.findAllByTransactionDate(start, end))
+                .thenReturn(List.of(tx1, tx2, tx3));
+
+        List<CustomerRewardResponse> responses = rewardService.getAllCustomerRewards(start, end);
+
+        assertEquals(3, responses.size());
+        assertEquals(115, responses.get(0).getTotalRewards());
+        assertEquals(2, responses.get(0).getTransactions().size());
+        assertEquals(0, responses.get(1).getTotalRewards());
+        assertTrue(responses.get(1).getTransactions().isEmpty());
+        assertEquals(45, responses.get(2).getTotalRewards());
+        assertEquals(1, responses.get(2).getTransactions().size());
+        verify(transactionRepoHelper, never()).findByCustomerIdAndTransactionDate(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should delegate to the parallel calculator when it is enabled")
+    void testGetAllCustomerRewardsInParallel() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 6, 1);
+        List<Customer> customers = List.of(new Customer(1L, "John"));
+        List<CustomerRewardResponse> partitioned = List.of(new CustomerRewardResponse());
+
+        when(parallelRewardCalculator.isEnabled()).thenReturn(true);
+        when(customerRepoHelper.fetchAllCustomers()).thenReturn(customers);
+        when(parallelRewardCalculator.calculate(customers, start, end, RewardRules.DEFAULT)).thenReturn(partitioned);
+
+        assertSame(partitioned, rewardService.getAllCustomerRewards(start, end));
+        verify(transactionRepoHelper, never()).findAllByTransactionDate(any(), any());
+        verify(transactionManager, never()).getTransaction(any());
     }
 
     @Test
@@ -76,7 +160,7 @@ class RewardServiceImplTest {
 
         Transaction tx1 = new Transaction();
         tx1.setTransactionId(102L);
-        tx1.setTransactionAmount(95.0);
+        tx1.setTransactionAmountCents(9500L);
         tx1.setTransactionDate(LocalDate.of(2024, 4, 15));
 
         when(customerRepoHelper.fetchCustomerById(2L)).thenReturn(customer);
@@ -90,7 +174,27 @@ class RewardServiceImplTest {
         assertEquals("Jane", response.getCustomerName());
         assertEquals(45, response.getTotalRewards()); // 95 => 45 points (45 between 50-100)
         assertEquals(1, response.getMonthlyRewards().size());
-        assertTrue(response.getMonthlyRewards().containsKey("APRIL"));
+        assertTrue(response.getMonthlyRewards().containsKey(YearMonth.of(2024, 4)));
+    }
+
+    @Test
+    @DisplayName("Should keep the same month of different years apart")
+    void testGetCustomerRewardByIdAcrossYears() {
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        LocalDate end = LocalDate.of(2024, 2, 29);
+        Customer customer = new Customer(1L, "John");
+
+        when(customerRepoHelper.fetchCustomerById(1L)).thenReturn(customer);
+        when(transactionRepoHelper.findByCustomerIdAndTransactionDate(1L, start, end)).thenReturn(List.of(
+                new Transaction(101L, 12000, LocalDate.of(2023, 1, 10), customer),
+                new Transaction(102L, 7500, LocalDate.of(2024, 1, 10), customer)));
+
+        CustomerRewardResponse response = rewardService.getCustomerRewardById(1L, start, end);
+
+        assertEquals(List.of(YearMonth.of(2023, 1), YearMonth.of(2024, 1)), new ArrayList<>(response.getMonthlyRewards().keySet()));
+        assertEquals(90, response.getMonthlyRewards().get(YearMonth.of(2023, 1)));
+        assertEquals(25, response.getMonthlyRewards().get(YearMonth.of(2024, 1)));
+        assertEquals(115, response.getTotalRewards());
     }
 
     @Test
@@ -127,4 +231,250 @@ class RewardServiceImplTest {
         assertTrue(result.getTransactions().isEmpty());
         assertTrue(result.getMonthlyRewards().isEmpty());
     }
+
+    @Test
+    @DisplayName("Should stream one reward per customer from ordered rows")
+    void testStreamAllCustomerRewards() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 6, 1);
+
+        when(customerRepoHelper.streamCustomerTransactions(start, end)).thenReturn(Stream.of(
+                new CustomerTransactionRow(1L, "John", 101L, 12000L, LocalDate.of(2024, 3, 10)),
+                new CustomerTransactionRow(1L, "John", 102L, 7500L, LocalDate.of(2024, 4, 10)),
+                new CustomerTransactionRow(2L, "Jane", null, null, null),
+                new CustomerTransactionRow(3L, "Ravi", 103L, 9500L, LocalDate.of(2024, 4, 15))
+        ));
+
+        List<CustomerRewardResponse> streamed = new ArrayList<>();
+        rewardService.streamAllCustomerRewards(start, end, streamed::add);
+
+        assertEquals(3, streamed.size());
+        assertEquals(1L, streamed.get(0).getCustomerId());
+        assertEquals(115, streamed.get(0).getTotalRewards());
+        assertEquals(2, streamed.get(0).getTransactions().size());
+        assertEquals("Jane", streamed.get(1).getCustomerName());
+        assertTrue(streamed.get(1).getTransactions().isEmpty());
+        assertEquals(45, streamed.get(2).getTotalRewards());
+    }
+
+    @Test
+    @DisplayName("Should fail streaming when there are no customers")
+    void testStreamAllCustomerRewardsWithNoCustomers() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 2, 1);
+
+        when(customerRepoHelper.streamCustomerTransactions(start, end)).thenReturn(Stream.empty());
+
+        assertThrows(NoCustomerFoundException.class,
+                () -> rewardService.streamAllCustomerRewards(start, end, reward -> { }));
+    }
+
+    @Test
+    @DisplayName("Should validate a stream request before any reward is read")
+    void testValidateStreamRequest() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 2, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> rewardService.validateStreamRequest(end, start));
+
+        when(customerRepoHelper.countCustomers()).thenReturn(0L);
+        assertThrows(NoCustomerFoundException.class, () -> rewardService.validateStreamRequest(start, end));
+
+        when(customerRepoHelper.countCustomers()).thenReturn(3L);
+        assertDoesNotThrow(() -> rewardService.validateStreamRequest(start, end));
+        verify(customerRepoHelper, never()).streamCustomerTransactions(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should answer whole months from the ledger and scan raw rows only at the edges")
+    void testGetCustomerRewardSummaryUsesLedgerForWholeMonths() {
+        LocalDate start = LocalDate.of(2024, 2, 15);
+        LocalDate end = LocalDate.of(2024, 5, 10);
+
+        when(customerRepoHelper.fetchCustomerById(1L)).thenReturn(new Customer(1L, "John"));
+        when(rewardLedgerService.findLedger(1L, YearMonth.of(2024, 3), YearMonth.of(2024, 4))).thenReturn(List.of(
+                new MonthlyRewardLedger(1L, LocalDate.of(2024, 3, 1), 90, 12000, 1),
+                new MonthlyRewardLedger(1L, LocalDate.of(2024, 4, 1), 25, 7500, 1)
+        ));
+        when(transactionRepoHelper.findMonthlyRewards(1L, start, LocalDate.of(2024, 2, 29), RewardRules.DEFAULT))
+                .thenReturn(List.of(new MonthlyRewardRow(1L, 2024, 2, 45L, 1L)));
+        when(transactionRepoHelper.findMonthlyRewards(1L, LocalDate.of(2024, 5, 1), end, RewardRules.DEFAULT))
+                .thenReturn(List.of(new MonthlyRewardRow(1L, 2024, 5, 70L, 1L)));
+
+        CustomerRewardResponse response = rewardService.getCustomerRewardSummary(1L, start, end);
+
+        assertEquals(45 + 90 + 25 + 70, response.getTotalRewards());
+        assertEquals(4, response.getMonthlyRewards().size());
+        assertEquals(90, response.getMonthlyRewards().get(YearMonth.of(2024, 3)));
+        assertEquals(45, response.getMonthlyRewards().get(YearMonth.of(2024, 2)));
+        assertEquals(70, response.getMonthlyRewards().get(YearMonth.of(2024, 5)));
+        assertNull(response.getTransactions());
+    }
+
+    @Test
+    @DisplayName("Should aggregate the whole range while the ledger is stale after a rule change")
+    void testGetCustomerRewardSummaryBypassesStaleLedger() {
+        LocalDate start = LocalDate.of(2024, 2, 15);
+        LocalDate end = LocalDate.of(2024, 5, 10);
+
+        when(customerRepoHelper.fetchCustomerById(1L)).thenReturn(new Customer(1L, "John"));
+        when(rewardLedgerService.isCurrent()).thenReturn(false);
+        when(transactionRepoHelper.findMonthlyRewards(1L, start, end, RewardRules.DEFAULT)).thenReturn(List.of(
+                new MonthlyRewardRow(1L, 2024, 2, 45L, 1L),
+                new MonthlyRewardRow(1L, 2024, 3, 180L, 1L)));
+
+        CustomerRewardResponse response = rewardService.getCustomerRewardSummary(1L, start, end);
+
+        assertEquals(45 + 180, response.getTotalRewards());
+        verify(rewardLedgerService, never()).findLedger(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should answer the summary from the customer's index without querying transactions")
+    void testGetCustomerRewardSummaryUsesIndex() {
+        LocalDate start = LocalDate.of(2024, 2, 15);
+        LocalDate end = LocalDate.of(2024, 5, 10);
+        CustomerRewardIndex index = new CustomerRewardIndex(LocalDate.of(2024, 1, 1), 200);
+        index.add(LocalDate.of(2024, 2, 14), 500, 50000, 1);
+        index.add(LocalDate.of(2024, 2, 15), 45, 9500, 1);
+        index.add(LocalDate.of(2024, 3, 10), 90, 12000, 1);
+        index.add(LocalDate.of(2024, 5, 10), 70, 11000, 1);
+        index.add(LocalDate.of(2024, 5, 11), 500, 50000, 1);
+
+        when(customerRepoHelper.fetchCustomerById(1L)).thenReturn(new Customer(1L, "John"));
+        when(customerRewardIndexCache.getIndex(1L)).thenReturn(index);
+
+        CustomerRewardResponse response = rewardService.getCustomerRewardSummary(1L, start, end);
+
+        assertEquals(45 + 90 + 70, response.getTotalRewards());
+        assertEquals(3, response.getMonthlyRewards().size());
+        assertEquals(90, response.getMonthlyRewards().get(YearMonth.of(2024, 3)));
+        verify(rewardLedgerService, never()).findLedger(any(), any(), any());
+        verify(transactionRepoHelper, never()).findMonthlyRewards(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should aggregate raw rows only when the range covers no whole month")
+    void testGetCustomerRewardSummaryWithinSingleMonth() {
+        LocalDate start = LocalDate.of(2024, 3, 5);
+        LocalDate end = LocalDate.of(2024, 3, 20);
+
+        when(customerRepoHelper.fetchCustomerById(1L)).thenReturn(new Customer(1L, "John"));
+        when(transactionRepoHelper.findMonthlyRewards(1L, start, end, RewardRules.DEFAULT))
+                .thenReturn(List.of(new MonthlyRewardRow(1L, 2024, 3, 90L, 1L)));
+
+        CustomerRewardResponse response = rewardService.getCustomerRewardSummary(1L, start, end);
+
+        assertEquals(90, response.getTotalRewards());
+        verify(rewardLedgerService, never()).findLedger(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not aggregate raw rows when the range is made of whole months")
+    void testGetCustomerRewardSummaryForWholeMonthsOnly() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 4, 30);
+
+        when(customerRepoHelper.fetchCustomerById(1L)).thenReturn(new Customer(1L, "John"));
+        when(rewardLedgerService.findLedger(1L, YearMonth.of(2024, 3), YearMonth.of(2024, 4))).thenReturn(List.of(
+                new MonthlyRewardLedger(1L, LocalDate.of(2024, 3, 1), 90, 12000, 1)
+        ));
+
+        CustomerRewardResponse response = rewardService.getCustomerRewardSummary(1L, start, end);
+
+        assertEquals(90, response.getTotalRewards());
+        verify(transactionRepoHelper, never()).findMonthlyRewards(any(), any(), any(), any());
+        verify(transactionRepoHelper, never()).findByCustomerIdAndTransactionDate(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should build summaries for all customers from monthly aggregates")
+    void testGetAllCustomerRewardSummaries() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 5, 31);
+
+        when(customerRepoHelper.fetchAllCustomers()).thenReturn(List.of(
+                new Customer(1L, "John"), new Customer(2L, "Jane"), new Customer(3L, "Ravi")));
+        when(transactionRepoHelper.findAllMonthlyRewards(start, end, RewardRules.DEFAULT)).thenReturn(List.of(
+                new MonthlyRewardRow(1L, 2024, 3, 90L, 1L),
+                new MonthlyRewardRow(1L, 2024, 4, 25L, 2L),
+                new MonthlyRewardRow(3L, 2024, 5, 45L, 1L)));
+
+        List<CustomerRewardResponse> responses = rewardService.getAllCustomerRewardSummaries(start, end);
+
+        assertEquals(3, responses.size());
+        assertEquals(115, responses.get(0).getTotalRewards());
+        assertEquals(25, responses.get(0).getMonthlyRewards().get(YearMonth.of(2024, 4)));
+        assertEquals(0, responses.get(1).getTotalRewards());
+        assertTrue(responses.get(1).getMonthlyRewards().isEmpty());
+        assertEquals(45, responses.get(2).getTotalRewards());
+        assertNull(responses.get(0).getTransactions());
+        verify(transactionRepoHelper, never()).findAllByTransactionDate(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should answer a batch in request order and report missing customers per entry")
+    void testGetCustomerRewardsBatch() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 5, 31);
+        Customer john = new Customer(1L, "John");
+        Customer jane = new Customer(2L, "Jane");
+
+        when(customerRepoHelper.fetchCustomersByIds(List.of(1L, 2L, 99L))).thenReturn(Map.of(1L, john, 2L, jane));
+        when(transactionRepoHelper.findAllByCustomerIdsAndTransactionDate(List.of(1L, 2L), start, end)).thenReturn(List.of(
+                new Transaction(101L, 12000, LocalDate.of(2024, 3, 10), john),
+                new Transaction(102L, 7500, LocalDate.of(2024, 4, 12), jane)));
+
+        RewardBatchResponse response = rewardService.getCustomerRewardsBatch(List.of(99L, 2L, 1L, 2L), start, end);
+
+        assertEquals(List.of(99L, 2L, 1L), new ArrayList<>(response.getResults().keySet()));
+        assertEquals(2, response.getFound());
+        assertEquals(1, response.getNotFound());
+        assertEquals(RewardBatchEntry.Status.NOT_FOUND, response.getResults().get(99L).getStatus());
+        assertNull(response.getResults().get(99L).getReward());
+        assertEquals(RewardBatchEntry.Status.OK, response.getResults().get(1L).getStatus());
+        assertEquals(90, response.getResults().get(1L).getReward().getTotalRewards());
+        assertEquals(25, response.getResults().get(2L).getReward().getTotalRewards());
+    }
+
+    @Test
+    @DisplayName("Should resolve a large batch with two IN-list queries per chunk")
+    void testGetCustomerRewardsBatchIsChunked() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 5, 31);
+        int ids = RewardServiceImpl.BATCH_CHUNK_SIZE * 2 + 1;
+        List<Long> customerIds = new ArrayList<>();
+        for (long id = 1; id <= ids; id++) {
+            customerIds.add(id);
+        }
+        when(customerRepoHelper.fetchCustomersByIds(any())).thenAnswer(invocation -> {
+            Map<Long, Customer> customers = new HashMap<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                customers.put(id, new Customer(id, "Customer " + id));
+            }
+            return customers;
+        });
+        when(transactionRepoHelper.findAllByCustomerIdsAndTransactionDate(any(), any(), any())).thenReturn(List.of());
+
+        RewardBatchResponse response = rewardService.getCustomerRewardsBatch(customerIds, start, end);
+
+        assertEquals(ids, response.getFound());
+        verify(customerRepoHelper, times(3)).fetchCustomersByIds(any());
+        verify(transactionRepoHelper, times(3)).findAllByCustomerIdsAndTransactionDate(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches")
+    void testGetCustomerRewardsBatchRejectsInvalidIdLists() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 5, 31);
+        List<Long> tooMany = new ArrayList<>();
+        for (long id = 0; id <= RewardServiceImpl.MAX_BATCH_CUSTOMERS; id++) {
+            tooMany.add(id);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> rewardService.getCustomerRewardsBatch(List.of(), start, end));
+        assertThrows(IllegalArgumentException.class, () -> rewardService.getCustomerRewardsBatch(tooMany, start, end));
+        verify(customerRepoHelper, never()).fetchCustomersByIds(any());
+    }
 }
@@ -0,0 +1,153 @@
+package com.retail.service;
+
+import com.retail.directory.CustomerDirectory;
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.RewardBatchEntry;
+import com.retail.dto.RewardBatchResponse;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.index.CustomerRewardIndexCache;
+import com.retail.metrics.RewardMetrics;
+import com.retail.util.RewardValidationUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Counts the statements of the database path; the customer directory would serve customers from memory.
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true", "rewards.directory.enabled=false"})
+@Import({RewardServiceImpl.class, CustomerDirectory.class, CustomerRewardIndexCache.class, ParallelRewardCalculator.class, RewardMetrics.class, SimpleMeterRegistry.class, RewardLedgerServiceImpl.class, RewardRuleServiceImpl.class, CustomerRepositoryHelper.class, TransactionRepositoryHelper.class, RewardValidationUtil.class})
+class RewardServiceQueryCountTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 5, 31);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RewardService rewardService;
+
+    private Statistics statistics;
+    private long seededCustomers;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        seededCustomers = 0;
+    }
+
+    @Test
+    @DisplayName("Should issue the same number of SQL statements regardless of customer count")
+    void sqlStatementCountStaysConstantAsCustomersGrow() {
+        long statementsForFewCustomers = countStatementsWithCustomers(5);
+        long statementsForManyCustomers = countStatementsWithCustomers(200);
+
+        assertEquals(2, statementsForFewCustomers);
+        assertEquals(statementsForFewCustomers, statementsForManyCustomers);
+    }
+
+    @Test
+    @DisplayName("Should attribute each transaction to its own customer")
+    void rewardsAreAttributedPerCustomer() {
+        seedCustomersUpTo(3);
+        entityManager.persist(new Transaction(null, 4000, LocalDate.of(2024, 6, 1), entityManager.find(Customer.class, 1L)));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<CustomerRewardResponse> responses = rewardService.getAllCustomerRewards(START, END);
+
+        assertEquals(3, responses.size());
+        for (CustomerRewardResponse response : responses) {
+            assertEquals(90 + 25 + 45, response.getTotalRewards());
+            assertEquals(3, response.getTransactions().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute the same summaries in the database as in Java")
+    void summariesMatchFullRewards() {
+        seedCustomersUpTo(3);
+        Customer customer = entityManager.find(Customer.class, 2L);
+        for (long cents : new long[]{5099, 5100, 10099, 10100, 12075, 4999}) {
+            entityManager.persist(new Transaction(null, cents, LocalDate.of(2024, 4, 20), customer));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<CustomerRewardResponse> full = rewardService.getAllCustomerRewards(START, END);
+        // The full call left the customers managed; detach them so the summaries call has to hydrate them itself.
+        entityManager.clear();
+        statistics.clear();
+        List<CustomerRewardResponse> summaries = rewardService.getAllCustomerRewardSummaries(START, END);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(3, statistics.getEntityLoadCount(), "only the customers should be hydrated");
+        assertEquals(full.size(), summaries.size());
+        for (int i = 0; i < full.size(); i++) {
+            assertEquals(full.get(i).getTotalRewards(), summaries.get(i).getTotalRewards());
+            assertEquals(full.get(i).getMonthlyRewards(), summaries.get(i).getMonthlyRewards());
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve a batch with two statements per chunk of customer IDs")
+    void batchIssuesTwoStatementsPerChunk() {
+        seedCustomersUpTo(RewardServiceImpl.BATCH_CHUNK_SIZE + 10);
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> customerIds = new ArrayList<>();
+        for (long id = 1; id <= RewardServiceImpl.BATCH_CHUNK_SIZE + 10; id++) {
+            customerIds.add(id);
+        }
+        customerIds.add(-1L);
+        statistics.clear();
+
+        RewardBatchResponse response = rewardService.getCustomerRewardsBatch(customerIds, START, END);
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(RewardServiceImpl.BATCH_CHUNK_SIZE + 10, response.getFound());
+        assertEquals(RewardBatchEntry.Status.NOT_FOUND, response.getResults().get(-1L).getStatus());
+        assertEquals(90 + 25 + 45, response.getResults().get(7L).getReward().getTotalRewards());
+    }
+
+    private long countStatementsWithCustomers(int customerCount) {
+        seedCustomersUpTo(customerCount);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<CustomerRewardResponse> responses = rewardService.getAllCustomerRewards(START, END);
+
+        assertEquals(customerCount, responses.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedCustomersUpTo(int customerCount) {
+        while (seededCustomers < customerCount) {
+            seededCustomers++;
+            Customer customer = entityManager.persist(new Customer(seededCustomers, "Customer " + seededCustomers));
+            entityManager.persist(new Transaction(null, 12000, LocalDate.of(2024, 3, 10), customer));
+            entityManager.persist(new Transaction(null, 7500, LocalDate.of(2024, 4, 12), customer));
+            entityManager.persist(new Transaction(null, 9500, LocalDate.of(2024, 5, 20), customer));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.retail.service;
+
+import com.retail.datasource.RecentWriteTracker;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.event.TransactionsRecordedEvent;
+import com.retail.exceptionhandler.NoCustomerFoundException;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.util.RewardRules;
+import com.retail.util.RewardValidationUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RewardVersionServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 5, 31);
+
+    private CustomerRepositoryHelper customerRepositoryHelper;
+    private RewardRuleService rewardRuleService;
+    private RewardVersionServiceImpl rewardVersionService;
+
+    @BeforeEach
+    void setUp() {
+        customerRepositoryHelper = mock(CustomerRepositoryHelper.class);
+        rewardRuleService = mock(RewardRuleService.class);
+        when(rewardRuleService.currentRules()).thenReturn(RewardRules.DEFAULT);
+        rewardVersionService = new RewardVersionServiceImpl(customerRepositoryHelper, rewardRuleService, new RewardValidationUtil(),
+                new RecentWriteTracker(List.of(), Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void customerRewardETag_shouldChangeWithTheRewardVersion() {
+        when(customerRepositoryHelper.fetchRewardVersion(1L)).thenReturn(3L, 3L, 4L);
+
+        String first = rewardVersionService.customerRewardETag(1L, START, END, false);
+        String unchanged = rewardVersionService.customerRewardETag(1L, START, END, false);
+        String changed = rewardVersionService.customerRewardETag(1L, START, END, false);
+
+        assertTrue(first.startsWith("\"") && first.endsWith("\""), "a strong ETag is a quoted string");
+        assertEquals(first, unchanged);
+        assertNotEquals(first, changed);
+    }
+
+    @Test
+    void customerRewardETag_shouldDifferPerRepresentationPeriodAndRules() {
+        when(customerRepositoryHelper.fetchRewardVersion(1L)).thenReturn(3L);
+        String full = rewardVersionService.customerRewardETag(1L, START, END, false);
+
+        assertNotEquals(full, rewardVersionService.customerRewardETag(1L, START, END, true));
+        assertNotEquals(full, rewardVersionService.customerRewardETag(1L, START, END.minusDays(1), false));
+
+        when(rewardRuleService.currentRules()).thenReturn(RewardRules.builder()
+                .version(LocalDate.of(1970, 1, 1)).tier(50, 1).tier(100, 3).build());
+        assertNotEquals(full, rewardVersionService.customerRewardETag(1L, START, END, false));
+    }
+
+    @Test
+    void customerRewardETag_shouldRejectUnknownCustomersAndInvalidDates() {
+        when(customerRepositoryHelper.fetchRewardVersion(9L)).thenThrow(new NoCustomerFoundException("Customer not found with ID: 9"));
+
+        assertThrows(NoCustomerFoundException.class, () -> rewardVersionService.customerRewardETag(9L, START, END, false));
+        assertThrows(IllegalArgumentException.class, () -> rewardVersionService.customerRewardETag(1L, END, START, false));
+        verify(customerRepositoryHelper, never()).fetchRewardVersion(1L);
+    }
+
+    @Test
+    void onTransactionsRecorded_shouldIncrementEachAffectedCustomerOnce() {
+        Customer john = new Customer(1L, "John");
+        Customer jane = new Customer(2L, "Jane");
+
+        rewardVersionService.onTransactionsRecorded(new TransactionsRecordedEvent(List.of(
+                new Transaction(null, 12000, START, john),
+                new Transaction(null, 7500, START, john),
+                new Transaction(null, 9000, START, jane))));
+
+        verify(customerRepositoryHelper).incrementRewardVersions(Set.of(1L, 2L));
+    }
+}
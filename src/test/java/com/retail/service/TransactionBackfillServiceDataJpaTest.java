@@ -0,0 +1,218 @@
+package com.retail.service;
+
+import com.retail.cache.RewardCache;
+import com.retail.cache.RewardQueryCoalescer;
+import com.retail.datasource.RecentWriteTracker;
+import com.retail.directory.CustomerDirectory;
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.RewardLeaderboardResponse;
+import com.retail.dto.TransactionBackfillReport;
+import com.retail.entity.Transaction;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.index.CustomerRewardIndexCache;
+import com.retail.leaderboard.LeaderboardPeriod;
+import com.retail.metrics.RewardMetrics;
+import com.retail.util.RewardValidationUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the backfill against the database. Chunks are committed by worker threads in their own
+ * transactions, so the test does not run inside one and cleans up after itself.
+ */
+@DataJpaTest(properties = {"rewards.backfill.chunk-size=1KB", "rewards.backfill.threads=3", "rewards.ingestion.batch-size=50",
+        "rewards.index.min-transactions=1"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TransactionBackfillServiceImpl.class, RewardLedgerServiceImpl.class, RewardRuleServiceImpl.class,
+        CustomerRepositoryHelper.class, TransactionRepositoryHelper.class,
+        CachingRewardService.class, RewardServiceImpl.class, RewardCache.class, RewardQueryCoalescer.class, RecentWriteTracker.class,
+        CustomerDirectory.class, CustomerRewardIndexCache.class, ParallelRewardCalculator.class, RewardMetrics.class,
+        SimpleMeterRegistry.class, RewardValidationUtil.class, RewardLeaderboardServiceImpl.class})
+class TransactionBackfillServiceDataJpaTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+    private static final int ROWS = 300;
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private TransactionBackfillService transactionBackfillService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CustomerRepositoryHelper customerRepositoryHelper;
+
+    @Autowired
+    private TransactionRepositoryHelper transactionRepositoryHelper;
+
+    @Autowired
+    private CachingRewardService rewardService;
+
+    @Autowired
+    private RewardServiceImpl uncachedRewardService;
+
+    @Autowired
+    private RewardLeaderboardService rewardLeaderboardService;
+
+    @Autowired
+    private CustomerRewardIndexCache customerRewardIndexCache;
+
+    private Path file;
+    private long totalCents;
+
+    /**
+     * Writes one transaction per day, so a row can be told apart by its date, plus one invalid row.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        jdbcTemplate.update("insert into customers (customer_id, customer_name) values (1, 'John')");
+        StringBuilder csv = new StringBuilder("customer_id,customer_name,transaction_date,amount\n");
+        for (int i = 0; i < ROWS; i++) {
+            int customerId = i % 9 + 1;
+            csv.append(customerId).append(",Customer ").append(customerId).append(',')
+                    .append(START.plusDays(i)).append(',').append(100 + i).append(".25\n");
+            totalCents += (100 + i) * 100L + 25;
+        }
+        csv.append("9,Customer 9,2020-13-01,100.00\n");
+        file = directory.resolve("history.csv");
+        Files.writeString(file, csv);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from transaction_backfill_checkpoints");
+        jdbcTemplate.update("delete from monthly_reward_ledger");
+        jdbcTemplate.update("delete from transactions");
+        jdbcTemplate.update("delete from customers");
+    }
+
+    @Test
+    @DisplayName("Should load every valid row, create missing customers and rebuild the ledger")
+    void importsFile() {
+        TransactionBackfillReport report = transactionBackfillService.importFile(file);
+
+        assertTrue(report.getChunks() > 5, "the file must span several chunks: " + report.getChunks());
+        assertEquals(0, report.getSkippedChunks());
+        assertEquals(ROWS, report.getRowsLoaded());
+        assertEquals(1, report.getRowsRejected());
+        assertEquals(8, report.getCustomersCreated());
+        assertDatabaseHoldsFile();
+        assertEquals("John", jdbcTemplate.queryForObject("select customer_name from customers where customer_id = 1", String.class));
+        assertEquals("Customer 2", jdbcTemplate.queryForObject("select customer_name from customers where customer_id = 2", String.class));
+        assertEquals(1L, jdbcTemplate.queryForObject("select reward_version from customers where customer_id = 2", Long.class));
+    }
+
+    @Test
+    @DisplayName("Rerunning a finished import should load nothing again")
+    void rerunIsIdempotent() {
+        TransactionBackfillReport first = transactionBackfillService.importFile(file);
+
+        TransactionBackfillReport second = transactionBackfillService.importFile(file);
+
+        assertEquals(first.getChunks(), second.getSkippedChunks());
+        assertEquals(0, second.getRowsLoaded());
+        assertEquals(0, second.getCustomersCreated());
+        assertDatabaseHoldsFile();
+    }
+
+    @Test
+    @DisplayName("A different export with the same name and size should be loaded in full")
+    void loadsNewContentUnderAReusedFileName() throws IOException {
+        transactionBackfillService.importFile(file);
+        jdbcTemplate.update("delete from transactions");
+        // Same name and length, other content: amounts from 100 to 199 become 200 to 299.
+        Files.writeString(file, Files.readString(file).replace(",1", ",2"));
+
+        TransactionBackfillReport second = transactionBackfillService.importFile(file);
+
+        assertEquals(0, second.getSkippedChunks());
+        assertEquals(ROWS, second.getRowsLoaded());
+        assertEquals(2L, jdbcTemplate.queryForObject(
+                "select count(distinct file_key) from transaction_backfill_checkpoints", Long.class));
+    }
+
+    @Test
+    @DisplayName("Should resume an interrupted import after the last loaded chunk")
+    void resumesInterruptedImport() {
+        transactionBackfillService.importFile(file);
+        // Roll the database back to a crash after the first half of the chunks had committed.
+        List<Map<String, Object>> checkpoints = jdbcTemplate.queryForList(
+                "select chunk_start, rows_loaded from transaction_backfill_checkpoints order by chunk_start");
+        int committedChunks = checkpoints.size() / 2;
+        long committedRows = 0;
+        for (int i = 0; i < committedChunks; i++) {
+            committedRows += ((Number) checkpoints.get(i).get("rows_loaded")).longValue();
+        }
+        long firstLostChunk = ((Number) checkpoints.get(committedChunks).get("chunk_start")).longValue();
+        jdbcTemplate.update("delete from transactions where transaction_date >= ?", Date.valueOf(START.plusDays(committedRows)));
+        jdbcTemplate.update("delete from transaction_backfill_checkpoints where chunk_start >= ?", firstLostChunk);
+        jdbcTemplate.update("delete from monthly_reward_ledger");
+
+        TransactionBackfillReport resumed = transactionBackfillService.importFile(file);
+
+        assertEquals(committedChunks, resumed.getSkippedChunks());
+        assertEquals(ROWS - committedRows, resumed.getRowsLoaded());
+        assertDatabaseHoldsFile();
+    }
+
+    @Test
+    @DisplayName("Rewards read before a backfill should not be served from stale caches, indexes or leaderboards after it")
+    void readsAfterBackfillIncludeImportedHistory() {
+        LocalDate end = START.plusDays(ROWS);
+        transactionTemplate.executeWithoutResult(status -> transactionRepositoryHelper.saveTransactions(List.of(
+                new Transaction(null, 12000, START, customerRepositoryHelper.fetchCustomerById(1L)))));
+
+        assertEquals(90, rewardService.getCustomerRewardSummary(1L, START, end).getTotalRewards());
+        assertEquals(90, rewardLeaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, START, 10)
+                .getEntries().get(0).getRewardPoints());
+        assertEquals(1, customerRewardIndexCache.size());
+
+        transactionBackfillService.importFile(file);
+
+        CustomerRewardResponse expected = uncachedRewardService.getCustomerRewardById(1L, START, end);
+        assertTrue(expected.getTotalRewards() > 90);
+        assertEquals(expected.getTotalRewards(), rewardService.getCustomerRewardSummary(1L, START, end).getTotalRewards());
+        RewardLeaderboardResponse january = rewardLeaderboardService.getLeaderboard(LeaderboardPeriod.MONTH, START, 10);
+        assertEquals(9, january.getCustomerCount());
+        assertEquals(expected.getMonthlyRewards().get(YearMonth.from(START)).longValue(), january.getEntries().stream()
+                .filter(entry -> entry.getCustomerId() == 1L).findFirst().orElseThrow().getRewardPoints());
+    }
+
+    private void assertDatabaseHoldsFile() {
+        assertEquals(ROWS, jdbcTemplate.queryForObject("select count(distinct transaction_date) from transactions", Long.class));
+        assertEquals(ROWS, jdbcTemplate.queryForObject("select count(*) from transactions", Long.class));
+        assertEquals(9, jdbcTemplate.queryForObject("select count(*) from customers", Long.class));
+        assertEquals(ROWS, jdbcTemplate.queryForObject("select sum(transaction_count) from monthly_reward_ledger", Long.class));
+        assertEquals(totalCents, jdbcTemplate.queryForObject("select sum(total_spend_cents) from monthly_reward_ledger", Long.class));
+    }
+}
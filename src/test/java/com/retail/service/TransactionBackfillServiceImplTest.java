@@ -0,0 +1,51 @@
+package com.retail.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionBackfillServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void split_shouldCutChunksAfterLineFeeds() throws IOException {
+        // Lines of 10, 5, 12 and 3 bytes; the last one has no line feed.
+        List<TransactionBackfillServiceImpl.Chunk> chunks = split("123456789\n1234\n12345678901\n123", 8);
+
+        assertEquals(List.of(new TransactionBackfillServiceImpl.Chunk(0, 10),
+                new TransactionBackfillServiceImpl.Chunk(10, 27),
+                new TransactionBackfillServiceImpl.Chunk(27, 30)), chunks);
+    }
+
+    @Test
+    void split_shouldKeepAChunkEndingExactlyAtALineFeed() throws IOException {
+        List<TransactionBackfillServiceImpl.Chunk> chunks = split("1234\n1234\n1234\n", 5);
+
+        assertEquals(List.of(new TransactionBackfillServiceImpl.Chunk(0, 5),
+                new TransactionBackfillServiceImpl.Chunk(5, 10),
+                new TransactionBackfillServiceImpl.Chunk(10, 15)), chunks);
+    }
+
+    @Test
+    void split_shouldReturnNoChunksForAnEmptyFile() throws IOException {
+        assertTrue(split("", 8).isEmpty());
+    }
+
+    private List<TransactionBackfillServiceImpl.Chunk> split(String content, long chunkSize) throws IOException {
+        Path file = directory.resolve("history.csv");
+        Files.writeString(file, content);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return TransactionBackfillServiceImpl.split(channel, channel.size(), chunkSize);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.retail.service;
+
+import com.retail.dto.TransactionEventResponse;
+import com.retail.dto.TransactionRequest;
+import com.retail.entity.MonthlyRewardLedger;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the event pipeline against the database. The writer thread commits its own transactions,
+ * so the test does not run inside one and cleans up after itself.
+ */
+@DataJpaTest(properties = "rewards.ingestion.batch-size=50")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TransactionEventServiceImpl.class, RewardLedgerServiceImpl.class, RewardRuleServiceImpl.class,
+        CustomerRepositoryHelper.class, TransactionRepositoryHelper.class})
+class TransactionEventServiceDataJpaTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    @Autowired
+    private TransactionEventService transactionEventService;
+
+    @Autowired
+    private CustomerRepositoryHelper customerRepositoryHelper;
+
+    @Autowired
+    private TransactionRepositoryHelper transactionRepositoryHelper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RewardLedgerService rewardLedgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into customers (customer_id, customer_name) values (1, 'John')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from monthly_reward_ledger");
+        jdbcTemplate.update("delete from transactions");
+        jdbcTemplate.update("delete from customers");
+    }
+
+    @Test
+    @DisplayName("Replaying events after a restart should record each of them, and its rewards, exactly once")
+    void replayAfterRestartIsIdempotent() {
+        TransactionEventResponse first = transactionEventService.submit(List.of(
+                event("pos-1"), event("pos-2"), event("pos-3")), true);
+        assertTrue(first.isCommitted());
+        assertEquals(3, first.getRecorded());
+
+        // A restarted process has an empty queue; the producer replays everything it has not seen confirmed.
+        TransactionEventServiceImpl restarted = new TransactionEventServiceImpl(customerRepositoryHelper,
+                transactionRepositoryHelper, transactionTemplate, entityManager, 16, 50, Duration.ofMillis(100), Duration.ofSeconds(10));
+        restarted.start();
+        TransactionEventResponse replay;
+        try {
+            replay = restarted.submit(List.of(event("pos-1"), event("pos-2"), event("pos-3"), event("pos-4")), true);
+        } finally {
+            restarted.stop();
+        }
+
+        assertTrue(replay.isCommitted());
+        assertEquals(1, replay.getRecorded());
+        assertEquals(3, replay.getDuplicates());
+        assertEquals(4, transactionRepository.count());
+
+        List<MonthlyRewardLedger> ledger = rewardLedgerService.findLedger(1L, YearMonth.of(2024, 3), YearMonth.of(2024, 3));
+        assertEquals(1, ledger.size());
+        assertEquals(4 * 90, ledger.get(0).getRewardPoints());
+        assertEquals(4, ledger.get(0).getTransactionCount());
+    }
+
+    @Test
+    @DisplayName("The database should refuse a second transaction with the same externalRef")
+    void externalRefIsUnique() {
+        jdbcTemplate.update("insert into transactions (transaction_id, transaction_amount_cents, transaction_date, customer_id, external_ref) "
+                + "values (1, 12000, DATE '2024-03-10', 1, 'pos-1')");
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into transactions (transaction_id, transaction_amount_cents, transaction_date, customer_id, external_ref) "
+                        + "values (2, 12000, DATE '2024-03-10', 1, 'pos-1')"));
+    }
+
+    private static TransactionRequest event(String externalRef) {
+        return new TransactionRequest(externalRef, 1L, 12000L, DAY);
+    }
+}
@@ -0,0 +1,243 @@
+package com.retail.service;
+
+import com.retail.dto.TransactionEventPipelineStats;
+import com.retail.dto.TransactionEventResponse;
+import com.retail.dto.TransactionRequest;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.exceptionhandler.IngestionBackpressureException;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.helper.TransactionRepositoryHelper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TransactionEventServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    private CustomerRepositoryHelper customerRepoHelper;
+    private TransactionRepositoryHelper transactionRepoHelper;
+    private TransactionEventServiceImpl eventService;
+
+    /**
+     * Stands in for the transactions table: external references of committed transactions.
+     */
+    private final Set<String> storedRefs = new HashSet<>();
+    private final List<Integer> committedBatchSizes = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        customerRepoHelper = mock(CustomerRepositoryHelper.class);
+        transactionRepoHelper = mock(TransactionRepositoryHelper.class);
+        when(customerRepoHelper.fetchCustomersByIds(any())).thenReturn(Map.of(1L, new Customer(1L, "John")));
+        when(transactionRepoHelper.findExistingExternalRefs(any())).thenAnswer(invocation -> {
+            Set<String> existing = new HashSet<>(invocation.<Collection<String>>getArgument(0));
+            synchronized (storedRefs) {
+                existing.retainAll(storedRefs);
+            }
+            return existing;
+        });
+        when(transactionRepoHelper.saveTransactions(anyList())).thenAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            synchronized (storedRefs) {
+                transactions.forEach(transaction -> storedRefs.add(transaction.getExternalRef()));
+                committedBatchSizes.add(transactions.size());
+            }
+            return transactions;
+        });
+        eventService = service(1024, 100, Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventService.stop();
+    }
+
+    @Test
+    @DisplayName("Should commit awaited events and report their outcomes")
+    void testSubmitAwaitsCommit() {
+        eventService.start();
+
+        TransactionEventResponse response = eventService.submit(List.of(
+                event("pos-1", 1L), event("pos-2", 1L), event("pos-3", 99L)), true);
+
+        assertTrue(response.isCommitted());
+        assertEquals(3, response.getAccepted());
+        assertEquals(2, response.getRecorded());
+        assertEquals(1, response.getRejected());
+        assertEquals(3, response.getErrors().get(0).getRow());
+        assertEquals(Set.of("pos-1", "pos-2"), storedRefs);
+    }
+
+    @Test
+    @DisplayName("Should record a replayed event only once")
+    void testReplayIsIdempotent() {
+        eventService.start();
+        eventService.submit(List.of(event("pos-1", 1L), event("pos-2", 1L)), true);
+
+        // The producer never saw the acknowledgement and sends everything again, plus a new event.
+        TransactionEventResponse replay = eventService.submit(List.of(
+                event("pos-1", 1L), event("pos-2", 1L), event("pos-3", 1L), event("pos-3", 1L)), true);
+
+        assertEquals(1, replay.getRecorded());
+        assertEquals(3, replay.getDuplicates());
+        assertEquals(Set.of("pos-1", "pos-2", "pos-3"), storedRefs);
+        verify(transactionRepoHelper, times(2)).saveTransactions(anyList());
+    }
+
+    @Test
+    @DisplayName("Should group events queued while the writer is busy into one commit")
+    void testGroupCommit() throws Exception {
+        CountDownLatch commitStarted = new CountDownLatch(1);
+        CountDownLatch releaseCommit = new CountDownLatch(1);
+        when(customerRepoHelper.fetchCustomersByIds(any())).thenAnswer(invocation -> {
+            commitStarted.countDown();
+            assertTrue(releaseCommit.await(10, TimeUnit.SECONDS));
+            return Map.of(1L, new Customer(1L, "John"));
+        });
+        eventService.start();
+
+        eventService.submit(List.of(event("pos-0", 1L)), false);
+        assertTrue(commitStarted.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            assertFalse(eventService.submit(List.of(event("pos-" + i, 1L)), false).isCommitted());
+        }
+        releaseCommit.countDown();
+        TransactionEventResponse last = eventService.submit(List.of(event("pos-6", 1L)), true);
+
+        assertTrue(last.isCommitted());
+        assertEquals(7, storedRefs.size());
+        assertEquals(1, committedBatchSizes.get(0));
+        assertTrue(committedBatchSizes.get(1) >= 5, "events queued during a commit must share the next one: " + committedBatchSizes);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed commit without losing or duplicating events")
+    void testRetryAfterFailedCommit() {
+        AtomicInteger attempts = new AtomicInteger();
+        when(customerRepoHelper.fetchCustomersByIds(any())).thenAnswer(invocation -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            return Map.of(1L, new Customer(1L, "John"));
+        });
+        eventService.start();
+
+        TransactionEventResponse response = eventService.submit(List.of(event("pos-1", 1L), event("pos-2", 1L)), true);
+
+        assertTrue(response.isCommitted());
+        assertEquals(2, response.getRecorded());
+        assertEquals(List.of(2), committedBatchSizes);
+        TransactionEventPipelineStats stats = eventService.stats();
+        assertEquals(1, stats.getFailedCommits());
+        assertEquals(0, stats.getLag());
+    }
+
+    @Test
+    @DisplayName("Should reject an event that can never be committed and keep recording the rest")
+    void testRejectsEventThatKeepsFailing() {
+        when(transactionRepoHelper.saveTransactions(anyList())).thenAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            if (transactions.stream().anyMatch(transaction -> transaction.getExternalRef().equals("POS-2"))) {
+                throw new DataIntegrityViolationException("Duplicate entry 'POS-2' for key 'uk_transactions_external_ref'");
+            }
+            synchronized (storedRefs) {
+                transactions.forEach(transaction -> storedRefs.add(transaction.getExternalRef()));
+            }
+            return transactions;
+        });
+        eventService.start();
+
+        TransactionEventResponse response = eventService.submit(List.of(
+                event("pos-1", 1L), event("POS-2", 1L), event("pos-3", 1L)), true);
+
+        assertTrue(response.isCommitted());
+        assertEquals(2, response.getRecorded());
+        assertEquals(1, response.getRejected());
+        assertEquals(2, response.getErrors().get(0).getRow());
+        assertEquals(Set.of("pos-1", "pos-3"), storedRefs);
+        assertEquals(1, eventService.submit(List.of(event("pos-4", 1L)), true).getRecorded(),
+                "later events must not wait behind the failing one");
+        assertEquals(0, eventService.stats().getLag());
+    }
+
+    @Test
+    @DisplayName("Should refuse a submission that does not fit into a full buffer")
+    void testBackpressure() throws Exception {
+        CountDownLatch commitStarted = new CountDownLatch(1);
+        CountDownLatch releaseCommit = new CountDownLatch(1);
+        when(customerRepoHelper.fetchCustomersByIds(any())).thenAnswer(invocation -> {
+            commitStarted.countDown();
+            assertTrue(releaseCommit.await(10, TimeUnit.SECONDS));
+            return Map.of(1L, new Customer(1L, "John"));
+        });
+        eventService = service(4, 1, Duration.ofMillis(20));
+        eventService.start();
+
+        eventService.submit(List.of(event("pos-0", 1L)), false);
+        assertTrue(commitStarted.await(10, TimeUnit.SECONDS));
+        eventService.submit(List.of(event("pos-1", 1L), event("pos-2", 1L), event("pos-3", 1L), event("pos-4", 1L)), false);
+
+        assertThrows(IngestionBackpressureException.class, () -> eventService.submit(List.of(event("pos-5", 1L)), false));
+        assertEquals(5, eventService.stats().getLag());
+
+        releaseCommit.countDown();
+        eventService.stop();
+        assertEquals(0, eventService.stats().getLag(), "queued events must be committed at shutdown");
+        assertEquals(5, storedRefs.size());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid events without queuing any of the submission")
+    void testRejectsInvalidSubmissions() {
+        eventService.start();
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.submit(List.of(
+                event("pos-1", 1L), new TransactionRequest(1L, 12000L, DAY)), false));
+        assertThrows(IllegalArgumentException.class, () -> eventService.submit(List.of(
+                new TransactionRequest("pos-2", 1L, -5L, DAY)), false));
+        assertThrows(IllegalArgumentException.class, () -> eventService.submit(List.of(), false));
+        assertEquals(0, eventService.stats().getAccepted());
+    }
+
+    @Test
+    @DisplayName("Should refuse events while the pipeline is stopped")
+    void testRefusesEventsWhenStopped() {
+        assertThrows(IngestionBackpressureException.class, () -> eventService.submit(List.of(event("pos-1", 1L)), false));
+    }
+
+    private TransactionEventServiceImpl service(int capacity, int batchSize, Duration offerTimeout) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        return new TransactionEventServiceImpl(customerRepoHelper, transactionRepoHelper, transactionTemplate,
+                mock(EntityManager.class), capacity, batchSize, offerTimeout, Duration.ofSeconds(10));
+    }
+
+    private static TransactionRequest event(String externalRef, Long customerId) {
+        return new TransactionRequest(externalRef, customerId, 12000L, DAY);
+    }
+}
@@ -0,0 +1,75 @@
+package com.retail.service;
+
+import com.retail.dto.TransactionBatchResponse;
+import com.retail.dto.TransactionRequest;
+import com.retail.entity.Customer;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.repository.TransactionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "rewards.ingestion.batch-size=50"
+})
+@Import({TransactionIngestionServiceImpl.class, RewardLedgerServiceImpl.class, RewardRuleServiceImpl.class,
+        CustomerRepositoryHelper.class, TransactionRepositoryHelper.class})
+class TransactionIngestionBatchingTest {
+
+    private static final int ROWS = 500;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionIngestionService transactionIngestionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Should insert rows through JDBC batches instead of one statement per row")
+    void ingestUsesBatchedInserts() {
+        entityManager.persist(new Customer(1L, "John"));
+        entityManager.persist(new Customer(2L, "Jane"));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TransactionRequest> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new TransactionRequest(i % 2 == 0 ? 1L : 2L, 6000L + i % 100 * 100, LocalDate.of(2024, 3, 1 + i % 28)));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TransactionBatchResponse response = transactionIngestionService.ingest(rows.iterator());
+
+        assertEquals(ROWS, response.getInserted());
+        assertEquals(ROWS, transactionRepository.count());
+        // 10 chunks: a customer lookup, ledger upserts and a handful of batched inserts each,
+        // plus a sequence call per 100 IDs. Unbatched inserts alone would need 500 statements.
+        assertTrue(statistics.getPrepareStatementCount() < 80,
+                "Expected batched inserts but saw " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
@@ -0,0 +1,119 @@
+package com.retail.service;
+
+import com.retail.dto.TransactionBatchResponse;
+import com.retail.dto.TransactionRequest;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.helper.TransactionRepositoryHelper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TransactionIngestionServiceImplTest {
+
+    private CustomerRepositoryHelper customerRepoHelper;
+    private TransactionRepositoryHelper transactionRepoHelper;
+    private TransactionIngestionServiceImpl ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        customerRepoHelper = mock(CustomerRepositoryHelper.class);
+        transactionRepoHelper = mock(TransactionRepositoryHelper.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        ingestionService = new TransactionIngestionServiceImpl(customerRepoHelper, transactionRepoHelper,
+                transactionTemplate, mock(EntityManager.class), 2);
+    }
+
+    @Test
+    @DisplayName("Should insert valid rows in chunks of the configured batch size")
+    @SuppressWarnings("unchecked")
+    void testIngestInsertsInChunks() {
+        Customer john = new Customer(1L, "John");
+        when(customerRepoHelper.fetchCustomersByIds(any())).thenReturn(Map.of(1L, john));
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(transactionRepoHelper.saveTransactions(anyList())).thenAnswer(invocation -> {
+            List<Transaction> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return chunk;
+        });
+
+        TransactionBatchResponse response = ingestionService.ingest(List.of(
+                new TransactionRequest(1L, 12000L, LocalDate.of(2024, 3, 10)),
+                new TransactionRequest(1L, 7500L, LocalDate.of(2024, 3, 11)),
+                new TransactionRequest(1L, 9500L, LocalDate.of(2024, 3, 12))
+        ).iterator());
+
+        assertEquals(3, response.getReceived());
+        assertEquals(3, response.getInserted());
+        assertEquals(0, response.getRejected());
+        assertEquals(List.of(2, 1), chunkSizes);
+
+        ArgumentCaptor<Set<Long>> ids = ArgumentCaptor.forClass(Set.class);
+        verify(customerRepoHelper, times(2)).fetchCustomersByIds(ids.capture());
+        assertEquals(Set.of(1L), ids.getValue());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid rows and report them by payload position")
+    void testIngestRejectsInvalidRows() {
+        when(customerRepoHelper.fetchCustomersByIds(any())).thenReturn(Map.of(1L, new Customer(1L, "John")));
+        when(transactionRepoHelper.saveTransactions(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionBatchResponse response = ingestionService.ingest(List.of(
+                new TransactionRequest(1L, 12000L, LocalDate.of(2024, 3, 10)),
+                new TransactionRequest(null, 7500L, LocalDate.of(2024, 3, 11)),
+                new TransactionRequest(1L, -500L, LocalDate.of(2024, 3, 12)),
+                new TransactionRequest(9L, 9500L, LocalDate.of(2024, 3, 12)),
+                new TransactionRequest(1L, 9500L, LocalDate.now().plusDays(1))
+        ).iterator());
+
+        assertEquals(5, response.getReceived());
+        assertEquals(1, response.getInserted());
+        assertEquals(4, response.getRejected());
+        assertEquals(2, response.getErrors().get(0).getRow());
+        assertEquals("customerId is required.", response.getErrors().get(0).getMessage());
+        assertEquals(3, response.getErrors().get(1).getRow());
+        assertEquals("Customer not found with ID: 9", response.getErrors().get(2).getMessage());
+        assertEquals(5, response.getErrors().get(3).getRow());
+    }
+
+    @Test
+    @DisplayName("Should skip rows whose externalRef is already recorded or repeated in the payload")
+    void testIngestSkipsRecordedExternalRefs() {
+        when(customerRepoHelper.fetchCustomersByIds(any())).thenReturn(Map.of(1L, new Customer(1L, "John")));
+        when(transactionRepoHelper.findExistingExternalRefs(Set.of("pos-1", "pos-2"))).thenReturn(Set.of("pos-1"));
+        when(transactionRepoHelper.saveTransactions(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionBatchResponse response = ingestionService.ingest(List.of(
+                new TransactionRequest("pos-1", 1L, 12000L, LocalDate.of(2024, 3, 10)),
+                new TransactionRequest("pos-2", 1L, 7500L, LocalDate.of(2024, 3, 11))
+        ).iterator());
+
+        assertEquals(1, response.getInserted());
+        assertEquals("Transaction already recorded with externalRef: pos-1", response.getErrors().get(0).getMessage());
+
+        TransactionBatchResponse repeated = ingestionService.ingest(List.of(
+                new TransactionRequest("pos-3", 1L, 12000L, LocalDate.of(2024, 3, 10)),
+                new TransactionRequest("pos-3", 1L, 12000L, LocalDate.of(2024, 3, 10))
+        ).iterator());
+
+        assertEquals(1, repeated.getInserted());
+        assertEquals(1, repeated.getRejected());
+    }
+}
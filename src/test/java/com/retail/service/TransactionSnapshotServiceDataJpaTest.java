@@ -0,0 +1,78 @@
+package com.retail.service;
+
+import com.retail.directory.CustomerDirectory;
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.RewardSnapshotReport;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.helper.CustomerRepositoryHelper;
+import com.retail.helper.TransactionRepositoryHelper;
+import com.retail.index.CustomerRewardIndexCache;
+import com.retail.metrics.RewardMetrics;
+import com.retail.util.RewardValidationUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "rewards.snapshot.directory=target/test-snapshots")
+@Import({TransactionSnapshotServiceImpl.class, RewardServiceImpl.class, CustomerDirectory.class, CustomerRewardIndexCache.class, ParallelRewardCalculator.class, RewardMetrics.class, SimpleMeterRegistry.class,
+        RewardLedgerServiceImpl.class, RewardRuleServiceImpl.class, CustomerRepositoryHelper.class, TransactionRepositoryHelper.class, RewardValidationUtil.class})
+class TransactionSnapshotServiceDataJpaTest {
+
+    private static final LocalDate START = LocalDate.of(2023, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 6, 30);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RewardService rewardService;
+
+    @Autowired
+    private TransactionSnapshotService transactionSnapshotService;
+
+    @Test
+    @DisplayName("Should report the same rewards from the snapshot as the reward service")
+    void snapshotMatchesRewardService() {
+        Random random = new Random(7);
+        int transactions = 0;
+        for (long id = 1; id <= 30; id++) {
+            Customer customer = entityManager.persist(new Customer(id, "Customer " + id));
+            for (int i = 0; i < 20; i++) {
+                entityManager.persist(new Transaction(null, random.nextInt(30_000), START.plusDays(random.nextInt(547)), customer));
+                transactions++;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(transactions, transactionSnapshotService.createSnapshot().getTransactionCount());
+
+        List<CustomerRewardResponse> expected = rewardService.getAllCustomerRewards(START, END);
+        long expectedTotal = 0;
+        for (CustomerRewardResponse response : expected) {
+            assertEquals(response.getTotalRewards(),
+                    transactionSnapshotService.getCustomerRewardTotal(response.getCustomerId(), START, END));
+            expectedTotal += response.getTotalRewards();
+        }
+
+        RewardSnapshotReport report = transactionSnapshotService.getRewardReport(START, END);
+        assertEquals(expected.size(), report.getCustomerCount());
+        assertEquals(expectedTotal, report.getTotalRewards());
+
+        YearMonth march = YearMonth.of(2024, 3);
+        long expectedMarch = expected.stream().mapToLong(response -> response.getMonthlyRewards().getOrDefault(march, 0)).sum();
+        assertEquals(expectedMarch, report.getMonthlyRewards().get(march));
+    }
+}
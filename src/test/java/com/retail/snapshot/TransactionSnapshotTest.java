@@ -0,0 +1,186 @@
+package com.retail.snapshot;
+
+import com.retail.dto.CustomerRewardResponse;
+import com.retail.dto.CustomerTransactionRow;
+import com.retail.entity.Customer;
+import com.retail.entity.Transaction;
+import com.retail.util.MonthlyRewardAccumulator;
+import com.retail.util.RewardAggregationUtil;
+import com.retail.util.RewardRules;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSnapshotTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2022, 11, 1);
+    private static final RewardRules RULES = RewardRules.builder()
+            .version(LocalDate.of(2022, 1, 1)).tier(50, 1).tier(100, 2)
+            .version(LocalDate.of(2023, 6, 15)).tier(25, 1).tier(100, 3)
+            .build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should produce the same rewards as the entity fold for every customer and range")
+    void customerRewardsMatchTheEntityFold() throws IOException {
+        List<CustomerTransactionRow> rows = randomRows(40, 1_500, 42);
+        Path file = directory.resolve("transactions.snapshot");
+
+        assertEquals(rows.size(), TransactionSnapshotWriter.write(rows.iterator(), file));
+
+        try (TransactionSnapshot snapshot = TransactionSnapshot.open(file)) {
+            assertEquals(rows.size(), snapshot.getRowCount());
+            assertEquals(Files.size(file), snapshot.getSizeBytes());
+            assertRangeMatches(snapshot, rows, LocalDate.of(2022, 11, 1), LocalDate.of(2024, 2, 29));
+            assertRangeMatches(snapshot, rows, LocalDate.of(2023, 6, 10), LocalDate.of(2023, 6, 20));
+            assertRangeMatches(snapshot, rows, LocalDate.of(2023, 1, 15), LocalDate.of(2023, 12, 14));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report zero points for customers without transactions")
+    void unknownCustomerHasNoRewards() throws IOException {
+        Path file = directory.resolve("transactions.snapshot");
+        TransactionSnapshotWriter.write(List.of(
+                row(2L, 1L, 12_000, FIRST_DAY),
+                row(5L, 2L, 12_000, FIRST_DAY)).iterator(), file);
+
+        try (TransactionSnapshot snapshot = TransactionSnapshot.open(file)) {
+            MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(FIRST_DAY, FIRST_DAY.plusMonths(1));
+            assertEquals(0, snapshot.customerRewards(1L, FIRST_DAY, FIRST_DAY.plusMonths(1), RULES, accumulator));
+            assertEquals(0, snapshot.customerRewards(3L, FIRST_DAY, FIRST_DAY.plusMonths(1), RULES, accumulator));
+            assertEquals(0, snapshot.customerRewards(9L, FIRST_DAY, FIRST_DAY.plusMonths(1), RULES, accumulator));
+            assertEquals(90, snapshot.customerRewards(5L, FIRST_DAY, FIRST_DAY.plusMonths(1), RULES, accumulator));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write and read an empty snapshot")
+    void emptySnapshot() throws IOException {
+        Path file = directory.resolve("transactions.snapshot");
+        TransactionSnapshotWriter.write(List.<CustomerTransactionRow>of().iterator(), file);
+
+        try (TransactionSnapshot snapshot = TransactionSnapshot.open(file)) {
+            assertEquals(0, snapshot.getRowCount());
+            snapshot.forEachCustomer(FIRST_DAY, FIRST_DAY, RULES, new MonthlyRewardAccumulator(FIRST_DAY, FIRST_DAY),
+                    (customerId, accumulator) -> fail("no customer expected"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject rows that are not ordered by customer and date, keeping the previous snapshot")
+    void unorderedRowsAreRejected() throws IOException {
+        Path file = directory.resolve("transactions.snapshot");
+        TransactionSnapshotWriter.write(List.of(row(1L, 1L, 12_000, FIRST_DAY)).iterator(), file);
+
+        List<CustomerTransactionRow> unordered = List.of(
+                row(2L, 1L, 12_000, FIRST_DAY.plusDays(1)),
+                row(2L, 2L, 12_000, FIRST_DAY));
+        assertThrows(IllegalStateException.class, () -> TransactionSnapshotWriter.write(unordered.iterator(), file));
+
+        try (TransactionSnapshot snapshot = TransactionSnapshot.open(file)) {
+            assertEquals(1, snapshot.getRowCount());
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count(), "temporary column files must be removed");
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse files that are not complete snapshots")
+    void corruptFilesAreRejected() throws IOException {
+        Path file = directory.resolve("transactions.snapshot");
+        TransactionSnapshotWriter.write(List.of(row(1L, 1L, 12_000, FIRST_DAY)).iterator(), file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        assertThrows(IllegalStateException.class, () -> TransactionSnapshot.open(file));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 0}), 0);
+        }
+        assertThrows(IllegalStateException.class, () -> TransactionSnapshot.open(file));
+
+        Path tooShort = Files.write(directory.resolve("short.snapshot"), new byte[3]);
+        assertThrows(IllegalStateException.class, () -> TransactionSnapshot.open(tooShort));
+    }
+
+    private static void assertRangeMatches(TransactionSnapshot snapshot, List<CustomerTransactionRow> rows,
+                                           LocalDate start, LocalDate end) {
+        Map<Long, CustomerRewardResponse> expected = expectedRewards(rows, start, end);
+        MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(start, end);
+
+        for (Map.Entry<Long, CustomerRewardResponse> entry : expected.entrySet()) {
+            int total = snapshot.customerRewards(entry.getKey(), start, end, RULES, accumulator);
+            assertEquals(entry.getValue().getTotalRewards(), total, "customer " + entry.getKey());
+            assertEquals(entry.getValue().getMonthlyRewards(), accumulator.toMonthlyRewards(), "customer " + entry.getKey());
+        }
+
+        Map<Long, SortedMap<YearMonth, Integer>> scanned = new TreeMap<>();
+        snapshot.forEachCustomer(start, end, RULES, accumulator,
+                (customerId, customerRewards) -> scanned.put(customerId, customerRewards.toMonthlyRewards()));
+        Map<Long, SortedMap<YearMonth, Integer>> expectedMonthly = new TreeMap<>();
+        expected.forEach((customerId, response) -> {
+            if (!response.getMonthlyRewards().isEmpty()) {
+                expectedMonthly.put(customerId, response.getMonthlyRewards());
+            }
+        });
+        assertEquals(expectedMonthly, scanned);
+    }
+
+    private static Map<Long, CustomerRewardResponse> expectedRewards(List<CustomerTransactionRow> rows, LocalDate start, LocalDate end) {
+        Map<Long, List<Transaction>> byCustomer = new TreeMap<>();
+        for (CustomerTransactionRow row : rows) {
+            List<Transaction> transactions = byCustomer.computeIfAbsent(row.getCustomerId(), id -> new ArrayList<>());
+            if (!row.getTransactionDate().isBefore(start) && !row.getTransactionDate().isAfter(end)) {
+                transactions.add(new Transaction(row.getTransactionId(), row.getTransactionAmountCents(), row.getTransactionDate(),
+                        new Customer(row.getCustomerId(), row.getCustomerName())));
+            }
+        }
+        Map<Long, CustomerRewardResponse> expected = new TreeMap<>();
+        MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(start, end);
+        byCustomer.forEach((customerId, transactions) -> expected.put(customerId, RewardAggregationUtil.buildCustomerReward(
+                new Customer(customerId, "Customer " + customerId), transactions, RULES, accumulator)));
+        return expected;
+    }
+
+    private static List<CustomerTransactionRow> randomRows(int customers, int transactions, long seed) {
+        Random random = new Random(seed);
+        List<CustomerTransactionRow> rows = new ArrayList<>(transactions);
+        long transactionId = 1;
+        for (int i = 0; i < transactions; i++) {
+            long customerId = 1 + 3L * random.nextInt(customers);
+            long cents = random.nextInt(40_000);
+            LocalDate date = FIRST_DAY.plusDays(random.nextInt(480));
+            rows.add(row(customerId, transactionId++, cents, date));
+        }
+        rows.sort((a, b) -> a.getCustomerId().equals(b.getCustomerId())
+                ? a.getTransactionDate().compareTo(b.getTransactionDate())
+                : a.getCustomerId().compareTo(b.getCustomerId()));
+        return rows;
+    }
+
+    private static CustomerTransactionRow row(Long customerId, Long transactionId, long cents, LocalDate date) {
+        return new CustomerTransactionRow(customerId, "Customer " + customerId, transactionId, cents, date);
+    }
+}
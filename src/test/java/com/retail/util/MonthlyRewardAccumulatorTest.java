@@ -0,0 +1,80 @@
+package com.retail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonthlyRewardAccumulatorTest {
+
+    @Test
+    void add_whenRangeSpansYears_shouldKeepMonthsApartAndOrdered() {
+        MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(LocalDate.of(2023, 11, 15), LocalDate.of(2024, 11, 2));
+
+        accumulator.add(LocalDate.of(2024, 11, 1), 10);
+        accumulator.add(LocalDate.of(2023, 11, 20), 20);
+        accumulator.add(LocalDate.of(2023, 11, 30), 5);
+        accumulator.add(LocalDate.of(2024, 2, 29), 0);
+
+        SortedMap<YearMonth, Integer> monthlyRewards = accumulator.toMonthlyRewards();
+        assertEquals(List.of(YearMonth.of(2023, 11), YearMonth.of(2024, 2), YearMonth.of(2024, 11)), List.copyOf(monthlyRewards.keySet()));
+        assertEquals(25, monthlyRewards.get(YearMonth.of(2023, 11)));
+        assertEquals(0, monthlyRewards.get(YearMonth.of(2024, 2)));
+        assertEquals(10, monthlyRewards.get(YearMonth.of(2024, 11)));
+        assertEquals(35, accumulator.getTotalRewards());
+    }
+
+    @Test
+    void addMonth_shouldMergeWithTransactionsOfTheSameMonth() {
+        MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 5, 31));
+
+        accumulator.addMonth(YearMonth.of(2024, 4), 40, 2);
+        accumulator.add(LocalDate.of(2024, 4, 30), 5);
+
+        assertEquals(45, accumulator.toMonthlyRewards().get(YearMonth.of(2024, 4)));
+        assertEquals(1, accumulator.toMonthlyRewards().size());
+    }
+
+    @Test
+    void addOnEpochDay_shouldMatchAddForEveryDayOfTheRange() {
+        LocalDate start = LocalDate.of(2023, 12, 1);
+        LocalDate end = LocalDate.of(2024, 3, 31);
+        MonthlyRewardAccumulator byDate = new MonthlyRewardAccumulator(start, end);
+        MonthlyRewardAccumulator byEpochDay = new MonthlyRewardAccumulator(start, end);
+
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            byDate.add(date, date.getDayOfMonth());
+            byEpochDay.addOnEpochDay(date.toEpochDay(), date.getDayOfMonth());
+        }
+
+        assertEquals(byDate.toMonthlyRewards(), byEpochDay.toMonthlyRewards());
+        assertEquals(byDate.getTotalRewards(), byEpochDay.getTotalRewards());
+        assertThrows(IllegalArgumentException.class, () -> byEpochDay.addOnEpochDay(end.plusDays(1).toEpochDay(), 1));
+        assertThrows(IllegalArgumentException.class, () -> byEpochDay.addOnEpochDay(start.minusDays(1).toEpochDay(), 1));
+    }
+
+    @Test
+    void reset_shouldClearAllMonths() {
+        MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 5, 31));
+        accumulator.add(LocalDate.of(2024, 3, 10), 90);
+
+        accumulator.reset();
+
+        assertTrue(accumulator.toMonthlyRewards().isEmpty());
+        assertEquals(0, accumulator.getTotalRewards());
+    }
+
+    @Test
+    void add_whenDateOutsideRange_shouldThrow() {
+        MonthlyRewardAccumulator accumulator = new MonthlyRewardAccumulator(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 5, 31));
+
+        assertThrows(IllegalArgumentException.class, () -> accumulator.add(LocalDate.of(2024, 6, 1), 10));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.add(LocalDate.of(2023, 5, 1), 10));
+    }
+}
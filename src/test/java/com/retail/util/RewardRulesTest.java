@@ -0,0 +1,113 @@
+package com.retail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RewardRulesTest {
+
+    private static final LocalDate JAN_2024 = LocalDate.of(2024, 1, 1);
+    private static final LocalDate JUL_2024 = LocalDate.of(2024, 7, 1);
+
+    @Test
+    void defaultRules_shouldMatchTheOriginalTiersForEveryAmount() {
+        for (long cents = 0; cents <= 50_000; cents++) {
+            long dollars = cents / 100;
+            int expected = dollars > 100 ? (int) (2 * (dollars - 100) + 50) : dollars > 50 ? (int) (dollars - 50) : 0;
+            assertEquals(expected, RewardRules.DEFAULT.points(cents), "cents=" + cents);
+        }
+    }
+
+    @Test
+    void points_shouldApplyEveryTierOfAMultiTierVersion() {
+        RewardRules rules = RewardRules.builder()
+                .version(JAN_2024).tier(0, 1).tier(50, 2).tier(100, 3).tier(200, 5)
+                .build();
+
+        assertEquals(40, rules.points(4_099));
+        assertEquals(50 + 2 * 25, rules.points(7_500));
+        assertEquals(50 + 100 + 3 * 100, rules.points(20_000));
+        assertEquals(50 + 100 + 300 + 5 * 10, rules.points(21_050));
+    }
+
+    @Test
+    void points_shouldUseTheVersionEffectiveOnTheTransactionDate() {
+        RewardRules rules = twoVersions();
+
+        assertEquals(70, rules.points(12_000, JAN_2024.minusDays(1)), "dates before the first version use the first version");
+        assertEquals(70, rules.points(12_000, JUL_2024.minusDays(1)));
+        assertEquals(90, rules.points(12_000, JUL_2024));
+        assertEquals(90, rules.points(12_000), "undated lookups use the latest version");
+    }
+
+    @Test
+    void fingerprint_shouldIgnoreMultipliersWhileTransactionsHaveNoCategory() {
+        RewardRules plain = RewardRules.builder().version(JAN_2024).tier(50, 1).tier(100, 2).build();
+        RewardRules withMultiplier = RewardRules.builder()
+                .version(JAN_2024).tier(50, 1).tier(100, 2).multiplier("GROCERY", 150)
+                .build();
+
+        assertEquals(plain.fingerprint(), withMultiplier.fingerprint());
+    }
+
+    @Test
+    void points_shouldScaleByTheCategoryMultiplierOfTheEffectiveVersion() {
+        RewardRules rules = RewardRules.builder()
+                .version(JAN_2024).tier(50, 1).tier(100, 2).multiplier("GROCERY", 150)
+                .build();
+
+        assertEquals(135, rules.points(12_000, JUL_2024, "GROCERY"));
+        assertEquals(90, rules.points(12_000, JUL_2024, "FUEL"));
+        assertEquals(90, rules.points(12_000, JUL_2024, null));
+    }
+
+    @Test
+    void versionsBetween_shouldSplitTheRangeAtVersionBoundaries() {
+        RewardRules rules = twoVersions();
+
+        List<RewardRules.VersionRange> ranges = rules.versionsBetween(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31));
+
+        assertEquals(2, ranges.size());
+        assertEquals(LocalDate.of(2024, 6, 1), ranges.get(0).startDate());
+        assertEquals(LocalDate.of(2024, 6, 30), ranges.get(0).endDate());
+        assertEquals(JUL_2024, ranges.get(1).startDate());
+        assertEquals(LocalDate.of(2024, 8, 31), ranges.get(1).endDate());
+        assertEquals(1, RewardRules.DEFAULT.versionsBetween(JAN_2024, JUL_2024).size());
+    }
+
+    @Test
+    void toHql_shouldOnlyEmitIntegerLiterals() {
+        String hql = RewardRules.DEFAULT.versionsBetween(JAN_2024, JAN_2024).get(0).version().toHql("t.amount");
+
+        assertEquals("case when t.amount >= 10100 then 2 * floor(t.amount / 100) + (-150)"
+                + " when t.amount >= 5100 then 1 * floor(t.amount / 100) + (-50) else 0 end", hql);
+    }
+
+    @Test
+    void build_shouldRejectInvalidDefinitions() {
+        assertThrows(IllegalArgumentException.class, () -> RewardRules.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> RewardRules.builder().version(JAN_2024).build());
+        assertThrows(IllegalArgumentException.class, () -> RewardRules.builder().version(JAN_2024).tier(50, 1).tier(50, 2));
+        assertThrows(IllegalArgumentException.class, () -> RewardRules.builder().version(JAN_2024).tier(-1, 1));
+        assertThrows(IllegalStateException.class, () -> RewardRules.builder().tier(50, 1));
+    }
+
+    @Test
+    void pointsOnEpochDay_shouldMatchDatedPointsAcrossVersionBoundaries() {
+        RewardRules rules = twoVersions();
+
+        for (LocalDate date = JAN_2024.minusDays(3); date.isBefore(JUL_2024.plusDays(3)); date = date.plusDays(1)) {
+            assertEquals(rules.points(12_000, date), rules.pointsOnEpochDay(12_000, date.toEpochDay()), "date=" + date);
+        }
+    }
+
+    private static RewardRules twoVersions() {
+        return RewardRules.builder()
+                .version(JAN_2024).tier(50, 1).tier(100, 1)
+                .version(JUL_2024).tier(50, 1).tier(100, 2)
+                .build();
+    }
+}
@@ -8,37 +8,44 @@ class RewardUtilTest {
 
     @Test
     void calculateRewardPoints_whenAmountLessThan50_shouldReturnZero() {
-        int points = RewardUtil.calculateRewardPoints(45.0);
+        int points = RewardUtil.calculateRewardPoints(4500L);
         assertEquals(0, points);
     }
 
     @Test
     void calculateRewardPoints_whenAmountExactly50_shouldReturnZero() {
-        int points = RewardUtil.calculateRewardPoints(50.0);
+        int points = RewardUtil.calculateRewardPoints(5000L);
         assertEquals(0, points);
     }
 
     @Test
     void calculateRewardPoints_whenAmountBetween50And100_shouldReturnCorrectPoints() {
-        int points = RewardUtil.calculateRewardPoints(75.0);
+        int points = RewardUtil.calculateRewardPoints(7500L);
         assertEquals(25, points);
     }
 
     @Test
     void calculateRewardPoints_whenAmountExactly100_shouldReturn50Points() {
-        int points = RewardUtil.calculateRewardPoints(100.0);
+        int points = RewardUtil.calculateRewardPoints(10000L);
         assertEquals(50, points);
     }
 
     @Test
     void calculateRewardPoints_whenAmountAbove100_shouldReturnCorrectPoints() {
-        int points = RewardUtil.calculateRewardPoints(120.0);
+        int points = RewardUtil.calculateRewardPoints(12000L);
         assertEquals(90, points);
     }
 
     @Test
     void calculateRewardPoints_whenAmountIsLarge_shouldReturnCorrectPoints() {
-        int points = RewardUtil.calculateRewardPoints(250.0);
+        int points = RewardUtil.calculateRewardPoints(25000L);
         assertEquals(350, points);
     }
+
+    @Test
+    void calculateRewardPoints_whenAmountHasCents_shouldFloorToWholeDollars() {
+        assertEquals(90, RewardUtil.calculateRewardPoints(12075L));
+        assertEquals(50, RewardUtil.calculateRewardPoints(10099L));
+        assertEquals(0, RewardUtil.calculateRewardPoints(5099L));
+    }
 }